@@ -0,0 +1,62 @@
+package org.camunda.bpm.demo.activitytiming;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution times of one activity in microseconds. Writers record into a lock-free HdrHistogram {@link Recorder};
+ * readers fold the interval recorded since the last read into a cumulative histogram.
+ */
+public class ActivityHistogram {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String processDefinitionKey;
+    private final String activityId;
+    private final String activityName;
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+    private final LongAdder canceled = new LongAdder();
+    private Histogram interval;
+
+    ActivityHistogram(String processDefinitionKey, String activityId, String activityName) {
+        this.processDefinitionKey = processDefinitionKey;
+        this.activityId = activityId;
+        this.activityName = activityName;
+    }
+
+    void record(long nanos) {
+        recorder.recordValue(Math.max(0, nanos / 1_000));
+    }
+
+    void canceled() {
+        canceled.increment();
+    }
+
+    /**
+     * Copy of the cumulative histogram including everything recorded so far
+     */
+    public synchronized Histogram snapshot() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return total.copy();
+    }
+
+    public String getProcessDefinitionKey() {
+        return processDefinitionKey;
+    }
+
+    public String getActivityId() {
+        return activityId;
+    }
+
+    public String getActivityName() {
+        return activityName;
+    }
+
+    public long getCanceled() {
+        return canceled.sum();
+    }
+}
@@ -0,0 +1,35 @@
+package org.camunda.bpm.demo.activitytiming;
+
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.impl.pvm.runtime.PvmExecutionImpl;
+
+/**
+ * Built-in start and end listener of one activity. Bound to its {@link ActivityHistogram} at parse time, so timing an
+ * activity instance costs a clock read and a map update, without lookups or database access.
+ */
+public class ActivityTimingListener implements ExecutionListener {
+
+    private final ActivityTimings timings;
+    private final ActivityHistogram histogram;
+
+    ActivityTimingListener(ActivityTimings timings, ActivityHistogram histogram) {
+        this.timings = timings;
+        this.histogram = histogram;
+    }
+
+    @Override
+    public void notify(DelegateExecution execution) {
+        long now = System.nanoTime();
+        String activityInstanceId = execution.getActivityInstanceId();
+        if (activityInstanceId == null) {
+            return;
+        }
+        if (EVENTNAME_START.equals(execution.getEventName())) {
+            timings.started(activityInstanceId, now);
+        } else {
+            boolean canceled = execution instanceof PvmExecutionImpl && ((PvmExecutionImpl) execution).isCanceled();
+            timings.ended(histogram, activityInstanceId, canceled, now);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.camunda.bpm.demo.activitytiming;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.demo.engine.ParseListeners;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+
+import java.util.List;
+
+/**
+ * Adds an {@link ActivityTimingListener} as built-in start and end listener to every activity of the timed processes,
+ * including activities of sub processes, once a process has been parsed completely
+ */
+@Slf4j
+public class ActivityTimingPlugin extends AbstractProcessEnginePlugin {
+
+    private final ActivityTimings timings;
+    private final ActivityTimingProperties properties;
+
+    public ActivityTimingPlugin(ActivityTimings timings, ActivityTimingProperties properties) {
+        this.timings = timings;
+        this.properties = properties;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        ParseListeners.addPostParseListener(configuration, new AbstractBpmnParseListener() {
+            @Override
+            public void parseProcess(Element processElement, ProcessDefinitionEntity processDefinition) {
+                if (properties.getProcesses().isEmpty() || properties.getProcesses().contains(processDefinition.getKey())) {
+                    addListeners(processDefinition.getKey(), processDefinition.getActivities());
+                    log.debug("Timing activities of process {}", processDefinition.getKey());
+                }
+            }
+        });
+    }
+
+    private void addListeners(String processDefinitionKey, List<ActivityImpl> activities) {
+        for (ActivityImpl activity : activities) {
+            String name = activity.getName() != null ? activity.getName() : activity.getId();
+            ExecutionListener listener = new ActivityTimingListener(timings,
+                    timings.histogram(processDefinitionKey, activity.getId(), name));
+            activity.addBuiltInListener(ExecutionListener.EVENTNAME_START, listener);
+            activity.addBuiltInListener(ExecutionListener.EVENTNAME_END, listener);
+            addListeners(processDefinitionKey, activity.getActivities());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.camunda.bpm.demo.activitytiming;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-activity execution time histograms, configured under {@code activity-timing}
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "activity-timing")
+public class ActivityTimingProperties {
+
+    private boolean enabled = true;
+
+    /** Process definition keys to time; empty times all processes */
+    private List<String> processes = new ArrayList<>();
+
+    /**
+     * Activities started but not yet ended that are tracked at most, e.g. waiting user tasks; beyond that the oldest
+     * starts are evicted
+     */
+    private int maxOpenActivities = 100_000;
+
+    /**
+     * Starts older than this are evicted, as their end is not expected on this node any more; activities that wait
+     * longer are not timed
+     */
+    private Duration openActivityTimeToLive = Duration.ofDays(7);
+}
@@ -0,0 +1,113 @@
+package org.camunda.bpm.demo.activitytiming;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@link ActivityHistogram}s by process definition key and activity id, and the start times of the activity
+ * instances currently running. Activities that span transactions, like user tasks, are timed as long as start and
+ * end happen on this node.
+ * <p>
+ * Some starts never see their end: rolled back transactions and retried jobs start the activity again under a new
+ * instance id, and instances may end on another node or after a restart. Starts live in a concurrent map by activity
+ * instance id, so starts and ends of different instances never wait for each other. Every tenth of
+ * {@code open-activity-time-to-live}, or once more than {@code max-open-activities} are open, one starting thread
+ * sweeps the map: it evicts the starts older than the time to live and, still over the limit, the oldest starts down
+ * to nine tenths of it. Evicted starts are counted; their end, should it still come, is not timed.
+ */
+public class ActivityTimings {
+
+    private final Map<String, Map<String, ActivityHistogram>> histograms = new ConcurrentHashMap<>();
+    private final Map<String, Long> openActivities = new ConcurrentHashMap<>();
+    private final Lock sweeping = new ReentrantLock();
+    private final LongAdder evicted = new LongAdder();
+    private final int maxOpenActivities;
+    private final long timeToLiveNanos;
+    private final long sweepIntervalNanos;
+
+    private volatile long lastSweep = System.nanoTime();
+
+    public ActivityTimings(int maxOpenActivities, Duration openActivityTimeToLive) {
+        this.maxOpenActivities = maxOpenActivities;
+        this.timeToLiveNanos = openActivityTimeToLive.toNanos();
+        this.sweepIntervalNanos = Math.max(1, timeToLiveNanos / 10);
+    }
+
+    ActivityHistogram histogram(String processDefinitionKey, String activityId, String activityName) {
+        return histograms.computeIfAbsent(processDefinitionKey, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(activityId, key -> new ActivityHistogram(processDefinitionKey, activityId, activityName));
+    }
+
+    void started(String activityInstanceId, long nanos) {
+        openActivities.put(activityInstanceId, nanos);
+        if ((nanos - lastSweep >= sweepIntervalNanos || openActivities.size() > maxOpenActivities) && sweeping.tryLock()) {
+            try {
+                sweep(nanos);
+            } finally {
+                sweeping.unlock();
+            }
+        }
+    }
+
+    void ended(ActivityHistogram histogram, String activityInstanceId, boolean canceled, long nanos) {
+        Long start = openActivities.remove(activityInstanceId);
+        if (start == null) {
+            return;
+        }
+        if (canceled) {
+            histogram.canceled();
+        } else {
+            histogram.record(nanos - start);
+        }
+    }
+
+    private void sweep(long nanos) {
+        lastSweep = nanos;
+        openActivities.forEach((activityInstanceId, start) -> {
+            if (nanos - start > timeToLiveNanos) {
+                evict(activityInstanceId, start);
+            }
+        });
+        int surplus = openActivities.size() - (maxOpenActivities - maxOpenActivities / 10);
+        if (openActivities.size() > maxOpenActivities) {
+            List<Map.Entry<String, Long>> starts = new ArrayList<>(openActivities.entrySet());
+            starts.sort((a, b) -> Long.signum(a.getValue() - b.getValue()));
+            for (Map.Entry<String, Long> start : starts.subList(0, Math.min(surplus, starts.size()))) {
+                evict(start.getKey(), start.getValue());
+            }
+        }
+    }
+
+    private void evict(String activityInstanceId, long start) {
+        // Only if the activity did not end meanwhile
+        if (openActivities.remove(activityInstanceId, start)) {
+            evicted.increment();
+        }
+    }
+
+    public Collection<String> getProcessDefinitionKeys() {
+        return histograms.keySet();
+    }
+
+    public Collection<ActivityHistogram> getHistograms(String processDefinitionKey) {
+        Map<String, ActivityHistogram> activities = histograms.get(processDefinitionKey);
+        return activities != null ? activities.values() : Collections.emptyList();
+    }
+
+    public int getOpenActivities() {
+        return openActivities.size();
+    }
+
+    /** Starts dropped without their end, because they expired or the open limit was reached */
+    public long getEvicted() {
+        return evicted.sum();
+    }
+}
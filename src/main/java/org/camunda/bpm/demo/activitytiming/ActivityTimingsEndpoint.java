@@ -0,0 +1,64 @@
+package org.camunda.bpm.demo.activitytiming;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@code /actuator/activitytimings}: execution time percentiles in milliseconds per process definition key and
+ * activity id since startup, read from memory only
+ */
+@Endpoint(id = "activitytimings")
+public class ActivityTimingsEndpoint {
+
+    private final ActivityTimings timings;
+
+    public ActivityTimingsEndpoint(ActivityTimings timings) {
+        this.timings = timings;
+    }
+
+    @ReadOperation
+    public Map<String, Object> timings() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Map<String, Map<String, Map<String, Object>>> processes = new TreeMap<>();
+        for (String processDefinitionKey : timings.getProcessDefinitionKeys()) {
+            processes.put(processDefinitionKey, activities(processDefinitionKey));
+        }
+        result.put("processes", processes);
+        result.put("openActivities", timings.getOpenActivities());
+        result.put("evicted", timings.getEvicted());
+        return result;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> activities(@Selector String processDefinitionKey) {
+        Map<String, Map<String, Object>> activities = new TreeMap<>();
+        for (ActivityHistogram histogram : timings.getHistograms(processDefinitionKey)) {
+            activities.put(histogram.getActivityId(), summary(histogram));
+        }
+        return activities;
+    }
+
+    private static Map<String, Object> summary(ActivityHistogram activity) {
+        Histogram histogram = activity.snapshot();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("name", activity.getActivityName());
+        summary.put("count", histogram.getTotalCount());
+        summary.put("canceled", activity.getCanceled());
+        summary.put("meanMs", histogram.getTotalCount() > 0 ? histogram.getMean() / 1_000 : 0.0);
+        summary.put("p50Ms", millis(histogram, 50));
+        summary.put("p99Ms", millis(histogram, 99));
+        summary.put("p999Ms", millis(histogram, 99.9));
+        summary.put("maxMs", histogram.getMaxValue() / 1_000.0);
+        return summary;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+}
@@ -0,0 +1,35 @@
+package org.camunda.bpm.demo.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link HistoryArchiver} and {@link ArchiveStore} settings, configured under {@code history-archive}
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "history-archive")
+public class ArchiveProperties {
+
+    private boolean enabled = false;
+    private String directory;
+
+    /** Process definition keys to archive; empty archives all processes */
+    private List<String> processes = new ArrayList<>();
+
+    /** Finished instances older than this are moved to the archive; keep it below the history time to live */
+    private Duration archiveAfter = Duration.ofDays(7);
+
+    private Duration interval = Duration.ofHours(1);
+
+    /** Process instances archived and deleted per transaction */
+    private int batchSize = 200;
+
+    /** Size at which the archive rolls over to a new segment file */
+    private long segmentSizeBytes = 64L * 1024 * 1024;
+}
@@ -0,0 +1,396 @@
+package org.camunda.bpm.demo.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only archive of {@link ArchivedInstance}s on the local file system.
+ * <p>
+ * Every instance is stored as one deflated JSON record in the current segment file ({@code segment-000001.dat}, ...),
+ * which is rolled over at {@code segmentSizeBytes}; records are never rewritten. A memory-mapped index file holds one
+ * fixed-size entry per record: process instance id, business key hash, the record's segment, offset and length, and
+ * the previous entry with the same business key hash. The entry count in the index header is only advanced after
+ * records and entries are forced to disk, so a crash leaves at most unreferenced bytes at the end of a segment.
+ * <p>
+ * Lookups go through two memory-mapped {@link SlotTable}s, from process instance id to its latest entry and from
+ * business key hash to the newest entry of its chain, so the heap holds nothing per record; after a crash both are
+ * rebuilt from the index on open. A point lookup costs a few mapped reads, one positional read and one inflate.
+ * Index and tables are mapped in chunks and may grow past 2 GB. Archiving an instance again supersedes its earlier
+ * record.
+ */
+@Slf4j
+public class ArchiveStore implements Closeable {
+
+    static final int ENTRY_SIZE = 128;
+
+    private static final int MAGIC = 0x43415232;
+    // The header fills one entry, so no entry crosses a mapped chunk
+    private static final int HEADER_SIZE = ENTRY_SIZE;
+    private static final int ID_BYTES = 64;
+    private static final int BUSINESS_KEY_HASH = 64;
+    private static final int OFFSET = 72;
+    private static final int SEGMENT = 80;
+    private static final int LENGTH = 84;
+    private static final int RAW_LENGTH = 88;
+    private static final int HAS_BUSINESS_KEY = 92;
+    private static final int PREVIOUS = 96;
+    private static final int INITIAL_ENTRIES = 4096;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{6})\\.dat");
+
+    private final Path directory;
+    private final long segmentSizeBytes;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Integer, FileChannel> segments = new ConcurrentHashMap<>();
+    private final MappedFile index;
+    private final SlotTable byProcessInstanceId;
+    private final SlotTable byBusinessKey;
+    // Readers share the tables, appends take them exclusively only to register their entries
+    private final ReadWriteLock tables = new ReentrantReadWriteLock();
+
+    private int entryCount;
+    private int currentSegment;
+    private volatile long rawBytes;
+    private volatile long compressedBytes;
+
+    public ArchiveStore(Path directory, long segmentSizeBytes) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.index = new MappedFile(directory.resolve("index.idx"), HEADER_SIZE + (long) INITIAL_ENTRIES * ENTRY_SIZE);
+        int magic = index.getInt(0);
+        if (magic == 0) {
+            index.putInt(0, MAGIC);
+            index.putInt(4, 0);
+            index.force();
+        } else if (magic != MAGIC) {
+            throw new IOException("Not an archive index of this version: " + directory.resolve("index.idx"));
+        }
+        openSegments();
+        this.entryCount = index.getInt(4);
+        this.byProcessInstanceId = new SlotTable(directory.resolve("process-instance-ids.idx"));
+        this.byBusinessKey = new SlotTable(directory.resolve("business-keys.idx"));
+        if (!byProcessInstanceId.covers(entryCount) || !byBusinessKey.covers(entryCount)) {
+            log.info("Rebuilding archive lookup tables from {} index entries", entryCount);
+            rebuild(entryCount);
+        }
+        byProcessInstanceId.markDirty();
+        byBusinessKey.markDirty();
+        log.info("Archive in {} holds {} records in {} segments", directory.toAbsolutePath(), entryCount, segments.size());
+    }
+
+    /**
+     * Appends the instances and makes them visible to lookups once they are durable
+     */
+    public synchronized void append(List<ArchivedInstance> instances) throws IOException {
+        long raw = 0;
+        long compressed = 0;
+        List<long[]> locations = new ArrayList<>(instances.size());
+        for (ArchivedInstance instance : instances) {
+            byte[] json = objectMapper.writeValueAsBytes(instance);
+            byte[] record = deflate(json);
+            FileChannel segment = segments.get(currentSegment);
+            if (segment.size() > 0 && segment.size() + record.length > segmentSizeBytes) {
+                segment.force(false);
+                segment = newSegment(currentSegment + 1);
+            }
+            long offset = segment.size();
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            while (buffer.hasRemaining()) {
+                segment.write(buffer, offset + buffer.position());
+            }
+            locations.add(new long[]{currentSegment, offset, record.length, json.length});
+            raw += json.length;
+            compressed += record.length;
+        }
+        segments.get(currentSegment).force(false);
+
+        int first = entryCount;
+        int count = first + instances.size();
+        index.ensureCapacity(entryPosition(count));
+        Map<Long, Integer> newestByBusinessKey = new HashMap<>();
+        for (int i = 0; i < instances.size(); i++) {
+            ArchivedInstance instance = instances.get(i);
+            int previous = -1;
+            if (instance.getBusinessKey() != null) {
+                long businessKeyHash = hash(instance.getBusinessKey());
+                Integer inBatch = newestByBusinessKey.put(businessKeyHash, first + i);
+                previous = inBatch != null ? inBatch : byBusinessKey.find(businessKeyHash, slot -> true);
+            }
+            writeEntry(first + i, instance, locations.get(i), previous);
+        }
+        index.force();
+        index.putInt(4, count);
+        index.force();
+
+        tables.writeLock().lock();
+        try {
+            if (byProcessInstanceId.fits(instances.size()) && byBusinessKey.fits(instances.size())) {
+                for (int slot = first; slot < count; slot++) {
+                    register(slot);
+                }
+            } else {
+                rebuild(count);
+            }
+        } finally {
+            tables.writeLock().unlock();
+        }
+        entryCount = count;
+        rawBytes += raw;
+        compressedBytes += compressed;
+    }
+
+    public Optional<ArchivedInstance> findByProcessInstanceId(String processInstanceId) {
+        tables.readLock().lock();
+        try {
+            int slot = slotOf(processInstanceId);
+            return slot >= 0 ? Optional.of(read(slot)) : Optional.empty();
+        } finally {
+            tables.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the latest record of each instance with the business key, oldest first
+     */
+    public List<ArchivedInstance> findByBusinessKey(String businessKey) {
+        List<ArchivedInstance> instances = new ArrayList<>();
+        tables.readLock().lock();
+        try {
+            for (int slot = byBusinessKey.find(hash(businessKey), stored -> true); slot >= 0; slot = previous(slot)) {
+                // Skip superseded records and hash collisions
+                if (slot == slotOf(readId(slot))) {
+                    ArchivedInstance instance = read(slot);
+                    if (businessKey.equals(instance.getBusinessKey())) {
+                        instances.add(instance);
+                    }
+                }
+            }
+        } finally {
+            tables.readLock().unlock();
+        }
+        Collections.reverse(instances);
+        return instances;
+    }
+
+    public boolean contains(String processInstanceId) {
+        tables.readLock().lock();
+        try {
+            return slotOf(processInstanceId) >= 0;
+        } finally {
+            tables.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        tables.readLock().lock();
+        try {
+            return byProcessInstanceId.keys();
+        } finally {
+            tables.readLock().unlock();
+        }
+    }
+
+    /** JSON bytes appended since open */
+    public long getRawBytes() {
+        return rawBytes;
+    }
+
+    /** Bytes written to segments since open */
+    public long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        tables.writeLock().lock();
+        try {
+            for (FileChannel segment : segments.values()) {
+                segment.close();
+            }
+            byProcessInstanceId.close(entryCount);
+            byBusinessKey.close(entryCount);
+            index.close();
+        } finally {
+            tables.writeLock().unlock();
+        }
+    }
+
+    private ArchivedInstance read(int slot) {
+        long base = entryPosition(slot);
+        FileChannel segment = segments.get(index.getInt(base + SEGMENT));
+        long offset = index.getLong(base + OFFSET);
+        int length = index.getInt(base + LENGTH);
+        int rawLength = index.getInt(base + RAW_LENGTH);
+        try {
+            ByteBuffer record = ByteBuffer.allocate(length);
+            while (record.hasRemaining()) {
+                if (segment.read(record, offset + record.position()) < 0) {
+                    throw new IOException("Archive record " + slot + " is truncated");
+                }
+            }
+            return objectMapper.readValue(inflate(record.array(), rawLength), ArchivedInstance.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeEntry(int slot, ArchivedInstance instance, long[] location, int previous) {
+        byte[] id = instance.getProcessInstanceId().getBytes(StandardCharsets.US_ASCII);
+        if (id.length > ID_BYTES) {
+            throw new IllegalArgumentException("Process instance id too long for the archive index: " + instance.getProcessInstanceId());
+        }
+        long base = entryPosition(slot);
+        for (int i = 0; i < ID_BYTES; i++) {
+            index.put(base + i, i < id.length ? id[i] : 0);
+        }
+        index.putLong(base + BUSINESS_KEY_HASH, hash(instance.getBusinessKey()));
+        index.putLong(base + OFFSET, location[1]);
+        index.putInt(base + SEGMENT, (int) location[0]);
+        index.putInt(base + LENGTH, (int) location[2]);
+        index.putInt(base + RAW_LENGTH, (int) location[3]);
+        index.putInt(base + HAS_BUSINESS_KEY, instance.getBusinessKey() != null ? 1 : 0);
+        index.putInt(base + PREVIOUS, previous + 1);
+    }
+
+    private String readId(int slot) {
+        long base = entryPosition(slot);
+        byte[] id = new byte[ID_BYTES];
+        int length = 0;
+        while (length < ID_BYTES && index.get(base + length) != 0) {
+            id[length] = index.get(base + length);
+            length++;
+        }
+        return new String(id, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    private int slotOf(String processInstanceId) {
+        return byProcessInstanceId.find(hash(processInstanceId), slot -> processInstanceId.equals(readId(slot)));
+    }
+
+    private int previous(int slot) {
+        return index.getInt(entryPosition(slot) + PREVIOUS) - 1;
+    }
+
+    private void register(int slot) {
+        String processInstanceId = readId(slot);
+        long base = entryPosition(slot);
+        byProcessInstanceId.put(hash(processInstanceId), slot, stored -> processInstanceId.equals(readId(stored)));
+        if (index.getInt(base + HAS_BUSINESS_KEY) == 1) {
+            byBusinessKey.put(index.getLong(base + BUSINESS_KEY_HASH), slot, stored -> true);
+        }
+    }
+
+    /**
+     * Refills both lookup tables from the first {@code entries} index entries, growing them as needed
+     */
+    private void rebuild(int entries) throws IOException {
+        byProcessInstanceId.reset(entries);
+        byBusinessKey.reset(entries);
+        for (int slot = 0; slot < entries; slot++) {
+            register(slot);
+        }
+    }
+
+    private void openSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    int number = Integer.parseInt(matcher.group(1));
+                    segments.put(number, FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE));
+                    currentSegment = Math.max(currentSegment, number);
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            newSegment(1);
+        }
+    }
+
+    private FileChannel newSegment(int number) throws IOException {
+        FileChannel segment = FileChannel.open(directory.resolve(String.format("segment-%06d.dat", number)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segments.put(number, segment);
+        currentSegment = number;
+        return segment;
+    }
+
+    private static long entryPosition(int slot) {
+        return HEADER_SIZE + (long) slot * ENTRY_SIZE;
+    }
+
+    static long hash(String businessKey) {
+        if (businessKey == null) {
+            return 0;
+        }
+        // 64 bit FNV-1a
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : businessKey.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            byte[] raw = new byte[rawLength];
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, rawLength - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Archive record is truncated");
+                }
+                length += inflated;
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive record", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.camunda.bpm.demo.archive;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A completed process instance with its activity, task and variable history, as stored in the {@link ArchiveStore}
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedInstance {
+
+    private String processInstanceId;
+    private String businessKey;
+    private String processDefinitionKey;
+    private String processDefinitionId;
+    private String state;
+    private Date startTime;
+    private Date endTime;
+    private Long durationInMillis;
+    private String deleteReason;
+
+    @Builder.Default
+    private List<Activity> activities = new ArrayList<>();
+
+    @Builder.Default
+    private List<Task> tasks = new ArrayList<>();
+
+    @Builder.Default
+    private List<Variable> variables = new ArrayList<>();
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Activity {
+        private String id;
+        private String activityId;
+        private String activityName;
+        private String activityType;
+        private String assignee;
+        private Date startTime;
+        private Date endTime;
+        private Long durationInMillis;
+        private boolean canceled;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Task {
+        private String id;
+        private String taskDefinitionKey;
+        private String name;
+        private String assignee;
+        private Date startTime;
+        private Date endTime;
+        private String deleteReason;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Variable {
+        private String name;
+        private String typeName;
+        private Object value;
+        private String activityInstanceId;
+    }
+}
@@ -0,0 +1,252 @@
+package org.camunda.bpm.demo.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.demo.datasource.DataSourceRouting;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.camunda.bpm.engine.history.HistoricTaskInstance;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.variable.value.FileValue;
+import org.camunda.bpm.engine.variable.value.SerializableValue;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.camunda.bpm.spring.boot.starter.event.PostDeployEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Moves finished process instances older than {@code history-archive.archive-after} out of the history tables into
+ * the {@link ArchiveStore}. Each batch is read with one query per history table, appended and forced to disk, and
+ * only then deleted from the database, so a failure in between leaves an instance in both places rather than in none;
+ * the archive serves the latest copy.
+ * <p>
+ * Reports instances archived, bytes before and after compression and the duration of runs.
+ */
+@Component
+@ConditionalOnProperty(prefix = "history-archive", name = "enabled", havingValue = "true")
+@Slf4j
+public class HistoryArchiver {
+
+    private final HistoryService historyService;
+    private final ArchiveStore store;
+    private final ArchiveProperties properties;
+    private final Counter instancesArchived;
+    private final Timer runDuration;
+
+    private ScheduledExecutorService scheduler;
+
+    public HistoryArchiver(ProcessEngine processEngine, ArchiveStore store, ArchiveProperties properties, MeterRegistry registry) {
+        this.historyService = processEngine.getHistoryService();
+        this.store = store;
+        this.properties = properties;
+        this.instancesArchived = Counter.builder("camunda.history.archive.instances").register(registry);
+        FunctionCounter.builder("camunda.history.archive.bytes", store, ArchiveStore::getRawBytes).tag("form", "raw").register(registry);
+        FunctionCounter.builder("camunda.history.archive.bytes", store, ArchiveStore::getCompressedBytes).tag("form", "compressed").register(registry);
+        this.runDuration = Timer.builder("camunda.history.archive.duration").register(registry);
+        Gauge.builder("camunda.history.archive.entries", store, ArchiveStore::size).register(registry);
+    }
+
+    @EventListener
+    public void onPostDeploy(PostDeployEvent event) {
+        start();
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "history-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                archive();
+            } catch (RuntimeException e) {
+                log.error("History archiving failed", e);
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("History archiving scheduled every {} for instances finished {} ago", properties.getInterval(), properties.getArchiveAfter());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Archives all instances due now and returns how many were moved
+     */
+    public long archive() {
+        long start = System.nanoTime();
+        Date finishedBefore = new Date(System.currentTimeMillis() - properties.getArchiveAfter().toMillis());
+        long archived = 0;
+        if (properties.getProcesses().isEmpty()) {
+            archived = archive(null, finishedBefore);
+        } else {
+            for (String processDefinitionKey : properties.getProcesses()) {
+                archived += archive(processDefinitionKey, finishedBefore);
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        runDuration.record(nanos, TimeUnit.NANOSECONDS);
+        log.info("History archiving moved {} instances in {} ms", archived, TimeUnit.NANOSECONDS.toMillis(nanos));
+        return archived;
+    }
+
+    private long archive(String processDefinitionKey, Date finishedBefore) {
+        long archived = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            HistoricProcessInstanceQuery query = historyService.createHistoricProcessInstanceQuery().finishedBefore(finishedBefore);
+            if (processDefinitionKey != null) {
+                query.processDefinitionKey(processDefinitionKey);
+            }
+            // Read on the primary: a lagging replica would still return the batch deleted last
+            List<HistoricProcessInstance> processInstances = DataSourceRouting.onPrimary(() -> query.listPage(0, properties.getBatchSize()));
+            if (processInstances.isEmpty()) {
+                break;
+            }
+            List<ArchivedInstance> instances = DataSourceRouting.onPrimary(() -> load(processInstances));
+            try {
+                store.append(instances);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            historyService.deleteHistoricProcessInstancesBulk(instances.stream()
+                    .map(ArchivedInstance::getProcessInstanceId)
+                    .collect(Collectors.toList()));
+            instancesArchived.increment(instances.size());
+            archived += instances.size();
+            if (processInstances.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    private List<ArchivedInstance> load(List<HistoricProcessInstance> processInstances) {
+        String[] ids = processInstances.stream().map(HistoricProcessInstance::getId).toArray(String[]::new);
+        Map<String, List<HistoricActivityInstance>> activities = historyService.createHistoricActivityInstanceQuery()
+                .processInstanceIdIn(ids).list().stream()
+                .collect(Collectors.groupingBy(HistoricActivityInstance::getProcessInstanceId));
+        Map<String, List<HistoricTaskInstance>> tasks = historyService.createHistoricTaskInstanceQuery()
+                .processInstanceIdIn(ids).list().stream()
+                .collect(Collectors.groupingBy(HistoricTaskInstance::getProcessInstanceId));
+        Map<String, List<HistoricVariableInstance>> variables = historyService.createHistoricVariableInstanceQuery()
+                .processInstanceIdIn(ids).disableCustomObjectDeserialization().list().stream()
+                .collect(Collectors.groupingBy(HistoricVariableInstance::getProcessInstanceId));
+
+        List<ArchivedInstance> instances = new ArrayList<>(processInstances.size());
+        for (HistoricProcessInstance processInstance : processInstances) {
+            String id = processInstance.getId();
+            instances.add(ArchivedInstance.builder()
+                    .processInstanceId(id)
+                    .businessKey(processInstance.getBusinessKey())
+                    .processDefinitionKey(processInstance.getProcessDefinitionKey())
+                    .processDefinitionId(processInstance.getProcessDefinitionId())
+                    .state(processInstance.getState())
+                    .startTime(processInstance.getStartTime())
+                    .endTime(processInstance.getEndTime())
+                    .durationInMillis(processInstance.getDurationInMillis())
+                    .deleteReason(processInstance.getDeleteReason())
+                    .activities(activities.getOrDefault(id, new ArrayList<>()).stream()
+                            .map(HistoryArchiver::toActivity).collect(Collectors.toList()))
+                    .tasks(tasks.getOrDefault(id, new ArrayList<>()).stream()
+                            .map(HistoryArchiver::toTask).collect(Collectors.toList()))
+                    .variables(variables.getOrDefault(id, new ArrayList<>()).stream()
+                            .map(HistoryArchiver::toVariable).collect(Collectors.toList()))
+                    .build());
+        }
+        return instances;
+    }
+
+    private static ArchivedInstance.Activity toActivity(HistoricActivityInstance activity) {
+        return ArchivedInstance.Activity.builder()
+                .id(activity.getId())
+                .activityId(activity.getActivityId())
+                .activityName(activity.getActivityName())
+                .activityType(activity.getActivityType())
+                .assignee(activity.getAssignee())
+                .startTime(activity.getStartTime())
+                .endTime(activity.getEndTime())
+                .durationInMillis(activity.getDurationInMillis())
+                .canceled(activity.isCanceled())
+                .build();
+    }
+
+    private static ArchivedInstance.Task toTask(HistoricTaskInstance task) {
+        return ArchivedInstance.Task.builder()
+                .id(task.getId())
+                .taskDefinitionKey(task.getTaskDefinitionKey())
+                .name(task.getName())
+                .assignee(task.getAssignee())
+                .startTime(task.getStartTime())
+                .endTime(task.getEndTime())
+                .deleteReason(task.getDeleteReason())
+                .build();
+    }
+
+    static ArchivedInstance.Variable toVariable(HistoricVariableInstance variable) {
+        return ArchivedInstance.Variable.builder()
+                .name(variable.getName())
+                .typeName(variable.getTypeName())
+                .value(archivedValue(variable.getTypedValue()))
+                .activityInstanceId(variable.getActivityInstanceId())
+                .build();
+    }
+
+    /**
+     * Primitives as they are, dates as epoch millis, serializable values (objects, json, xml) in their serialized form
+     * and bytes and files Base64 encoded. Other value types fail the batch, so their history stays in the database.
+     */
+    private static Object archivedValue(TypedValue typedValue) {
+        if (typedValue == null) {
+            return null;
+        }
+        if (typedValue instanceof SerializableValue) {
+            return ((SerializableValue) typedValue).getValueSerialized();
+        }
+        Object value = typedValue.getValue();
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        } else if (value instanceof Date) {
+            return ((Date) value).getTime();
+        } else if (value instanceof byte[]) {
+            return Base64.getEncoder().encodeToString((byte[]) value);
+        } else if (typedValue instanceof FileValue) {
+            try (InputStream content = ((FileValue) typedValue).getValue()) {
+                return Base64.getEncoder().encodeToString(content.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read file variable", e);
+            }
+        }
+        throw new IllegalArgumentException("Cannot archive variable value of type " + typedValue.getType());
+    }
+}
@@ -0,0 +1,106 @@
+package org.camunda.bpm.demo.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A file mapped into memory in chunks of at most {@link #CHUNK_BYTES}, so it can grow past the 2 GB a single mapping
+ * holds. The last chunk doubles as the file grows. Callers keep every value inside one chunk by aligning fields to
+ * their size.
+ */
+final class MappedFile implements Closeable {
+
+    static final long CHUNK_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+
+    private volatile MappedByteBuffer[] chunks;
+
+    MappedFile(Path file, long initialBytes) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.chunks = new MappedByteBuffer[0];
+        ensureCapacity(Math.max(channel.size(), initialBytes));
+    }
+
+    long capacity() {
+        MappedByteBuffer[] mapped = chunks;
+        return mapped.length == 0 ? 0 : (mapped.length - 1) * CHUNK_BYTES + mapped[mapped.length - 1].capacity();
+    }
+
+    synchronized void ensureCapacity(long bytes) throws IOException {
+        MappedByteBuffer[] mapped = chunks;
+        while (capacity() < bytes) {
+            int last = mapped.length - 1;
+            if (last >= 0 && mapped[last].capacity() < CHUNK_BYTES) {
+                long start = last * CHUNK_BYTES;
+                long size = Math.min(CHUNK_BYTES, Math.max(bytes - start, mapped[last].capacity() * 2L));
+                mapped[last].force();
+                mapped = mapped.clone();
+                mapped[last] = channel.map(FileChannel.MapMode.READ_WRITE, start, size);
+            } else {
+                long start = mapped.length * CHUNK_BYTES;
+                long size = Math.min(CHUNK_BYTES, bytes - start);
+                mapped = Arrays.copyOf(mapped, mapped.length + 1);
+                mapped[mapped.length - 1] = channel.map(FileChannel.MapMode.READ_WRITE, start, size);
+            }
+            chunks = mapped;
+        }
+    }
+
+    byte get(long position) {
+        return chunk(position).get(offset(position));
+    }
+
+    void put(long position, byte value) {
+        chunk(position).put(offset(position), value);
+    }
+
+    int getInt(long position) {
+        return chunk(position).getInt(offset(position));
+    }
+
+    void putInt(long position, int value) {
+        chunk(position).putInt(offset(position), value);
+    }
+
+    long getLong(long position) {
+        return chunk(position).getLong(offset(position));
+    }
+
+    void putLong(long position, long value) {
+        chunk(position).putLong(offset(position), value);
+    }
+
+    /**
+     * Zeroes the bytes from {@code from} up to {@code to}, both multiples of 8
+     */
+    void clear(long from, long to) {
+        for (long position = from; position < to; position += 8) {
+            putLong(position, 0);
+        }
+    }
+
+    void force() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private MappedByteBuffer chunk(long position) {
+        return chunks[(int) (position / CHUNK_BYTES)];
+    }
+
+    private static int offset(long position) {
+        return (int) (position % CHUNK_BYTES);
+    }
+}
@@ -0,0 +1,138 @@
+package org.camunda.bpm.demo.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.IntPredicate;
+
+/**
+ * Memory-mapped open addressing hash table from a 64 bit key hash to the index slot of an archive record. Equal hashes
+ * of different keys are told apart by the caller, which checks the record in the slot. The table is derived from the
+ * index: its header holds the number of index entries it covers, which is only written by a clean {@link #close}, so
+ * after a crash {@link #covers} is false and the owner rebuilds it.
+ */
+final class SlotTable implements Closeable {
+
+    private static final int MAGIC = 0x43534c54;
+    private static final int HEADER_SIZE = 16;
+    private static final int BUCKET_SIZE = 16;
+    private static final int INITIAL_BUCKETS = 8192;
+    private static final int DIRTY = -1;
+
+    private final MappedFile file;
+
+    private int buckets;
+    private int keys;
+
+    SlotTable(Path path) throws IOException {
+        this.file = new MappedFile(path, HEADER_SIZE + (long) INITIAL_BUCKETS * BUCKET_SIZE);
+        if (file.getInt(0) != MAGIC) {
+            reset(0);
+        }
+        this.buckets = file.getInt(4);
+        this.keys = file.getInt(12);
+    }
+
+    /**
+     * Whether the table holds exactly the first {@code entries} index entries
+     */
+    boolean covers(int entries) {
+        return file.getInt(8) == entries;
+    }
+
+    /**
+     * Marks the table as out of date on disk until the next clean close
+     */
+    void markDirty() {
+        file.putInt(8, DIRTY);
+        file.force();
+    }
+
+    /**
+     * Empties the table with room for at least {@code expectedKeys} keys at half load
+     */
+    void reset(int expectedKeys) throws IOException {
+        int capacity = INITIAL_BUCKETS;
+        while (capacity < expectedKeys * 2L) {
+            capacity <<= 1;
+        }
+        long bytes = HEADER_SIZE + (long) capacity * BUCKET_SIZE;
+        file.ensureCapacity(bytes);
+        file.putInt(8, DIRTY);
+        file.clear(HEADER_SIZE, bytes);
+        file.putInt(0, MAGIC);
+        file.putInt(4, capacity);
+        file.putInt(12, 0);
+        buckets = capacity;
+        keys = 0;
+    }
+
+    /**
+     * Whether {@code added} more keys fit without exceeding half load
+     */
+    boolean fits(int added) {
+        return (keys + (long) added) * 2 <= buckets;
+    }
+
+    int keys() {
+        return keys;
+    }
+
+    /**
+     * Returns the slot stored for the key, or -1
+     */
+    int find(long hash, IntPredicate sameKey) {
+        int mask = buckets - 1;
+        for (int bucket = start(hash, mask); ; bucket = (bucket + 1) & mask) {
+            long position = HEADER_SIZE + (long) bucket * BUCKET_SIZE;
+            int stored = file.getInt(position + 8);
+            if (stored == 0) {
+                return -1;
+            }
+            if (file.getLong(position) == hash && sameKey.test(stored - 1)) {
+                return stored - 1;
+            }
+        }
+    }
+
+    /**
+     * Stores the slot for the key, replacing the slot stored for the same key
+     */
+    void put(long hash, int slot, IntPredicate sameKey) {
+        int mask = buckets - 1;
+        for (int bucket = start(hash, mask); ; bucket = (bucket + 1) & mask) {
+            long position = HEADER_SIZE + (long) bucket * BUCKET_SIZE;
+            int stored = file.getInt(position + 8);
+            if (stored == 0) {
+                file.putLong(position, hash);
+                file.putInt(position + 8, slot + 1);
+                file.putInt(12, ++keys);
+                return;
+            }
+            if (file.getLong(position) == hash && sameKey.test(stored - 1)) {
+                file.putInt(position + 8, slot + 1);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records that the table covers the first {@code entries} index entries, then closes it
+     */
+    void close(int entries) throws IOException {
+        file.force();
+        file.putInt(8, entries);
+        file.force();
+        close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private static int start(long hash, int mask) {
+        long mixed = hash * 0x9e3779b97f4a7c15L;
+        return (int) (mixed >>> 32) & mask;
+    }
+}
@@ -0,0 +1,95 @@
+package org.camunda.bpm.demo.businesskey;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps business keys to the ids of the active process instances started with them, so correlations and lookups
+ * can address instances by id instead of filtering the runtime tables by business key.
+ * <p>
+ * Entries are maintained by the {@link BusinessKeyCachePlugin} listeners once the transaction that started or ended
+ * an instance commits, and are bounded by {@code business-key-cache.max-entries} in LRU order. A missing entry only
+ * means "unknown": callers fall back to the business key. The cache sees the instances started on this node since it
+ * came up, so it assumes that a business key identifies one active instance, as it does in the demo processes.
+ */
+@Component
+public class BusinessKeyCache {
+
+    private final Map<String, Set<String>> instancesByBusinessKey;
+    private final Counter hits;
+    private final Counter misses;
+
+    public BusinessKeyCache(@Value("${business-key-cache.max-entries}") int maxEntries, MeterRegistry registry) {
+        this.instancesByBusinessKey = Collections.synchronizedMap(new LinkedHashMap<String, Set<String>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Set<String>> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.hits = Counter.builder("camunda.business.key.cache.hits").register(registry);
+        this.misses = Counter.builder("camunda.business.key.cache.misses").register(registry);
+        Gauge.builder("camunda.business.key.cache.size", instancesByBusinessKey, Map::size).register(registry);
+        Gauge.builder("camunda.business.key.cache.hit.ratio", this, BusinessKeyCache::getHitRatio).register(registry);
+    }
+
+    /**
+     * Returns the id of the single active instance with the business key, or null if it is unknown or ambiguous
+     */
+    public String getProcessInstanceId(String businessKey) {
+        Set<String> processInstanceIds = instancesByBusinessKey.get(businessKey);
+        String processInstanceId = null;
+        if (processInstanceIds != null) {
+            synchronized (instancesByBusinessKey) {
+                if (processInstanceIds.size() == 1) {
+                    processInstanceId = processInstanceIds.iterator().next();
+                }
+            }
+        }
+        if (processInstanceId != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return processInstanceId;
+    }
+
+    void started(String businessKey, String processInstanceId) {
+        synchronized (instancesByBusinessKey) {
+            instancesByBusinessKey.computeIfAbsent(businessKey, key -> new LinkedHashSet<>()).add(processInstanceId);
+        }
+    }
+
+    void ended(String businessKey, String processInstanceId) {
+        evict(businessKey, processInstanceId);
+    }
+
+    /**
+     * Forgets an instance the caller found to be gone, e.g. because it ended on another node
+     */
+    public void evict(String businessKey, String processInstanceId) {
+        synchronized (instancesByBusinessKey) {
+            Set<String> processInstanceIds = instancesByBusinessKey.get(businessKey);
+            if (processInstanceIds != null && processInstanceIds.remove(processInstanceId) && processInstanceIds.isEmpty()) {
+                instancesByBusinessKey.remove(businessKey);
+            }
+        }
+    }
+
+    public int size() {
+        return instancesByBusinessKey.size();
+    }
+
+    public double getHitRatio() {
+        double lookups = hits.count() + misses.count();
+        return lookups == 0 ? 0 : hits.count() / lookups;
+    }
+}
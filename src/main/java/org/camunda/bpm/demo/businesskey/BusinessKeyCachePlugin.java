@@ -0,0 +1,56 @@
+package org.camunda.bpm.demo.businesskey;
+
+import lombok.RequiredArgsConstructor;
+import org.camunda.bpm.demo.engine.ParseListeners;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.springframework.stereotype.Component;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps the {@link BusinessKeyCache} up to date: every process definition gets built-in start and end listeners
+ * that add or remove the instance once the transaction commits. Built-in listeners also run when an instance is
+ * cancelled with {@code skipCustomListeners}, so deleted instances are removed as well.
+ */
+@Component
+@RequiredArgsConstructor
+public class BusinessKeyCachePlugin extends AbstractProcessEnginePlugin {
+
+    private final BusinessKeyCache cache;
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        ExecutionListener onStart = onCommit(cache::started);
+        ExecutionListener onEnd = onCommit(cache::ended);
+        ParseListeners.addPostParseListener(configuration, new AbstractBpmnParseListener() {
+            @Override
+            public void parseProcess(Element processElement, ProcessDefinitionEntity processDefinition) {
+                processDefinition.addBuiltInListener(ExecutionListener.EVENTNAME_START, onStart);
+                processDefinition.addBuiltInListener(ExecutionListener.EVENTNAME_END, onEnd);
+            }
+        });
+    }
+
+    private static ExecutionListener onCommit(BiConsumer<String, String> update) {
+        return execution -> {
+            String businessKey = execution.getProcessBusinessKey();
+            if (businessKey != null && isProcessInstance(execution)) {
+                String processInstanceId = execution.getProcessInstanceId();
+                Context.getCommandContext().getTransactionContext().addTransactionListener(TransactionState.COMMITTED,
+                        commandContext -> update.accept(businessKey, processInstanceId));
+            }
+        };
+    }
+
+    private static boolean isProcessInstance(DelegateExecution execution) {
+        return execution.getId().equals(execution.getProcessInstanceId());
+    }
+}
@@ -0,0 +1,93 @@
+package org.camunda.bpm.demo.claimcheck;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps large String payloads out of process variables.
+ * <p>
+ * {@link #checkIn(String)} returns small payloads unchanged and replaces payloads above the threshold
+ * with a {@value #REFERENCE_PREFIX}&lt;sha256&gt; reference. {@link #resolve(Object)} accepts either form and
+ * loads referenced payloads lazily through a small LRU cache; as payloads are content-addressed, cached
+ * entries never go stale.
+ */
+@Slf4j
+public class ClaimCheckService {
+
+    public static final String REFERENCE_PREFIX = "claim-check:sha256:";
+
+    private final PayloadStore payloadStore;
+    private final int thresholdBytes;
+    private final Map<String, String> cache;
+
+    public ClaimCheckService(PayloadStore payloadStore, int thresholdBytes, int cacheSize) {
+        this.payloadStore = payloadStore;
+        this.thresholdBytes = thresholdBytes;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Returns the value to store as process variable: the payload itself or a claim-check reference
+     */
+    public String checkIn(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= thresholdBytes) {
+            return payload;
+        }
+        try {
+            String key = payloadStore.put(bytes);
+            cache.put(key, payload);
+            log.debug("Checked in payload of {} bytes as {}", bytes.length, key);
+            return REFERENCE_PREFIX + key;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store claim-check payload", e);
+        }
+    }
+
+    /**
+     * Wraps a variable value written by {@link #checkIn(String)}; the store is only hit when the payload is read
+     */
+    public LazyPayload resolve(Object variableValue) {
+        if (variableValue instanceof String && isReference((String) variableValue)) {
+            String key = ((String) variableValue).substring(REFERENCE_PREFIX.length());
+            return new LazyPayload(() -> load(key));
+        }
+        if (variableValue != null && !(variableValue instanceof String)) {
+            throw new IllegalArgumentException("Not a claim-check payload: " + variableValue.getClass().getName());
+        }
+        String inline = (String) variableValue;
+        return new LazyPayload(() -> inline);
+    }
+
+    public static boolean isReference(String value) {
+        return value != null && value.startsWith(REFERENCE_PREFIX);
+    }
+
+    private String load(String key) {
+        String cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            String payload = new String(payloadStore.get(key), StandardCharsets.UTF_8);
+            cache.put(key, payload);
+            return payload;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
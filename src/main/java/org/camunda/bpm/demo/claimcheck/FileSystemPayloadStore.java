@@ -0,0 +1,126 @@
+package org.camunda.bpm.demo.claimcheck;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed {@link PayloadStore} on the local file system.
+ * Files are spread over 256 sub directories by the first hash byte, e.g. {@code <root>/ab/abcdef...}.
+ * Keys come from process variables and thus from message payloads, so only lowercase hex SHA-256 keys are accepted.
+ * Storing a payload again refreshes the file's modification time, which {@link #deleteOlderThan(Instant)} goes by.
+ */
+@Slf4j
+public class FileSystemPayloadStore implements PayloadStore {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public FileSystemPayloadStore(Path root) throws IOException {
+        this.root = Files.createDirectories(root).toAbsolutePath().normalize();
+        log.info("Claim-check payloads are stored in {}", this.root.toAbsolutePath());
+    }
+
+    @Override
+    public String put(byte[] payload) throws IOException {
+        String key = sha256(payload);
+        Path target = resolve(key);
+        if (Files.exists(target)) {
+            // still in use, keep it for another retention period
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            return key;
+        }
+        Files.createDirectories(target.getParent());
+        // Write to a temp file first so readers never see a partially written payload
+        Path temp = Files.createTempFile(target.getParent(), key, ".tmp");
+        try {
+            Files.write(temp, payload);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Same content was stored concurrently, which is fine for a content-addressed store
+            log.debug("Payload {} already stored", key);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return key;
+    }
+
+    @Override
+    public byte[] get(String key) throws IOException {
+        try {
+            return Files.readAllBytes(resolve(key));
+        } catch (NoSuchFileException e) {
+            throw new IOException("No claim-check payload stored for key " + key, e);
+        }
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public int deleteOlderThan(Instant cutoff) throws IOException {
+        List<Path> expired;
+        try (Stream<Path> files = Files.walk(root, 2)) {
+            expired = files.filter(file -> KEY.matcher(file.getFileName().toString()).matches())
+                    .filter(file -> isModifiedBefore(file, cutoff))
+                    .collect(Collectors.toList());
+        }
+        int deleted = 0;
+        for (Path file : expired) {
+            if (Files.deleteIfExists(file)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private static boolean isModifiedBefore(Path file, Instant cutoff) {
+        try {
+            return Files.isRegularFile(file) && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Path resolve(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid claim-check key: " + key);
+        }
+        Path file = root.resolve(key.substring(0, 2)).resolve(key).normalize();
+        if (!file.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid claim-check key: " + key);
+        }
+        return file;
+    }
+
+    static String sha256(byte[] payload) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(payload);
+            char[] hex = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                hex[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX[hash[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.camunda.bpm.demo.claimcheck;
+
+import java.util.function.Supplier;
+
+/**
+ * Payload that is loaded on first access and kept afterwards.
+ * {@link #toString()} returns the payload, so it can be passed to a logger and is only loaded if the log level is enabled.
+ */
+public class LazyPayload {
+
+    private Supplier<String> loader;
+    private String payload;
+
+    LazyPayload(Supplier<String> loader) {
+        this.loader = loader;
+    }
+
+    public synchronized String get() {
+        if (loader != null) {
+            payload = loader.get();
+            loader = null;
+        }
+        return payload;
+    }
+
+    public synchronized boolean isLoaded() {
+        return loader == null;
+    }
+
+    @Override
+    public String toString() {
+        return get();
+    }
+}
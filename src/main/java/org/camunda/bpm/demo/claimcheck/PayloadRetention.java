@@ -0,0 +1,81 @@
+package org.camunda.bpm.demo.claimcheck;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.spring.boot.starter.event.PostDeployEvent;
+import org.springframework.context.event.EventListener;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes claim-check payloads that were not stored again within {@code claim-check.retention}, checking every
+ * {@code claim-check.retention-interval}.
+ * <p>
+ * Payloads are shared by all variables with the same content and are not tracked per process instance, so neither
+ * history cleanup nor archiving removes them. The retention must therefore exceed the longest running instance plus
+ * the time its history is kept; references older than that resolve to a missing payload.
+ */
+@Slf4j
+public class PayloadRetention {
+
+    private final PayloadStore payloadStore;
+    private final Duration retention;
+    private final Duration interval;
+
+    private ScheduledExecutorService scheduler;
+
+    public PayloadRetention(PayloadStore payloadStore, Duration retention, Duration interval) {
+        this.payloadStore = payloadStore;
+        this.retention = retention;
+        this.interval = interval;
+    }
+
+    @EventListener
+    public void onPostDeploy(PostDeployEvent event) {
+        start();
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "claim-check-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::runQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("Claim-check payloads are deleted {} after they were last stored", retention);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Deletes the expired payloads now and returns how many were deleted
+     */
+    public int run() throws IOException {
+        int deleted = payloadStore.deleteOlderThan(Instant.now().minus(retention));
+        log.info("Deleted {} expired claim-check payloads", deleted);
+        return deleted;
+    }
+
+    private void runQuietly() {
+        try {
+            run();
+        } catch (IOException | RuntimeException e) {
+            log.error("Deleting expired claim-check payloads failed", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.camunda.bpm.demo.claimcheck;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Blob backend for the claim-check pattern. Payloads are addressed by their content hash,
+ * so storing the same payload twice yields the same key and stored payloads never change.
+ */
+public interface PayloadStore {
+
+    /**
+     * Stores the payload and returns its content key (lowercase hex SHA-256)
+     */
+    String put(byte[] payload) throws IOException;
+
+    byte[] get(String key) throws IOException;
+
+    boolean contains(String key);
+
+    /**
+     * Deletes the payloads neither stored nor stored again since the cutoff and returns how many were deleted
+     */
+    int deleteOlderThan(Instant cutoff) throws IOException;
+}
@@ -0,0 +1,114 @@
+package org.camunda.bpm.demo.codec;
+
+import org.camunda.bpm.demo.dto.CustomerDto;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Compact, schema-fixed binary layout for {@link CustomerDto}.
+ * <p>
+ * Layout: version byte, presence bitmask (one bit per field), then every present field in declaration order.
+ * Strings are modified UTF-8, the age is a signed var-long and the validation date is its epoch day.
+ */
+@Component
+public class BinaryCustomerCodec implements CustomerCodec {
+
+    private static final int VERSION = 1;
+
+    private static final int FIRSTNAME = 1;
+    private static final int LASTNAME = 1 << 1;
+    private static final int GENDER = 1 << 2;
+    private static final int AGE = 1 << 3;
+    private static final int IS_VALID = 1 << 4;
+    private static final int VALIDATION_DATE = 1 << 5;
+    private static final int DATA_FORMAT = 1 << 6;
+    // The boolean value rides in the bitmask instead of taking a byte of its own
+    private static final int IS_VALID_TRUE = 1 << 7;
+
+    @Override
+    public String getFormat() {
+        return "binary";
+    }
+
+    @Override
+    public boolean isTextual() {
+        return false;
+    }
+
+    @Override
+    public byte[] encode(CustomerDto customer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        int mask = 0;
+        mask |= customer.getFirstname() != null ? FIRSTNAME : 0;
+        mask |= customer.getLastname() != null ? LASTNAME : 0;
+        mask |= customer.getGender() != null ? GENDER : 0;
+        mask |= customer.getAge() != null ? AGE : 0;
+        mask |= customer.getIsValid() != null ? IS_VALID : 0;
+        mask |= Boolean.TRUE.equals(customer.getIsValid()) ? IS_VALID_TRUE : 0;
+        mask |= customer.getValidationDate() != null ? VALIDATION_DATE : 0;
+        mask |= customer.getDataFormat() != null ? DATA_FORMAT : 0;
+
+        out.writeByte(VERSION);
+        out.writeByte(mask);
+        if ((mask & FIRSTNAME) != 0) out.writeUTF(customer.getFirstname());
+        if ((mask & LASTNAME) != 0) out.writeUTF(customer.getLastname());
+        if ((mask & GENDER) != 0) out.writeUTF(customer.getGender());
+        if ((mask & AGE) != 0) writeVarLong(out, customer.getAge());
+        if ((mask & VALIDATION_DATE) != 0) writeVarLong(out, customer.getValidationDate().toEpochDay());
+        if ((mask & DATA_FORMAT) != 0) out.writeUTF(customer.getDataFormat());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public CustomerDto decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary customer version: " + version);
+        }
+        int mask = in.readUnsignedByte();
+
+        CustomerDto customer = new CustomerDto();
+        if ((mask & FIRSTNAME) != 0) customer.setFirstname(in.readUTF());
+        if ((mask & LASTNAME) != 0) customer.setLastname(in.readUTF());
+        if ((mask & GENDER) != 0) customer.setGender(in.readUTF());
+        if ((mask & AGE) != 0) customer.setAge(readVarLong(in));
+        if ((mask & IS_VALID) != 0) customer.setIsValid((mask & IS_VALID_TRUE) != 0);
+        if ((mask & VALIDATION_DATE) != 0) customer.setValidationDate(LocalDate.ofEpochDay(readVarLong(in)));
+        if ((mask & DATA_FORMAT) != 0) customer.setDataFormat(in.readUTF());
+        return customer;
+    }
+
+    /**
+     * Zig-zag encoded variable length long, so small ages and dates take one to three bytes
+     */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        out.writeByte((int) zigZag);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long zigZag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IOException("Malformed var-long in binary customer payload");
+    }
+}
@@ -0,0 +1,22 @@
+package org.camunda.bpm.demo.codec;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CborCustomerCodec extends JacksonCustomerCodec {
+
+    public CborCustomerCodec() {
+        super(new CBORMapper());
+    }
+
+    @Override
+    public String getFormat() {
+        return "cbor";
+    }
+
+    @Override
+    public boolean isTextual() {
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package org.camunda.bpm.demo.codec;
+
+import org.camunda.bpm.demo.dto.CustomerDto;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Serialization format for customers in the data-format process.
+ * Every implementation registered as a Spring bean becomes selectable through the {@code dataFormat} variable.
+ */
+public interface CustomerCodec {
+
+    /**
+     * Value of the {@code dataFormat} process variable this codec handles, e.g. "xml"
+     */
+    String getFormat();
+
+    /**
+     * Whether the encoded payload is readable text (UTF-8) rather than raw bytes
+     */
+    boolean isTextual();
+
+    byte[] encode(CustomerDto customer) throws IOException;
+
+    CustomerDto decode(byte[] payload) throws IOException;
+
+    /**
+     * Encodes the customer into a String that can be stored as a process variable.
+     * Binary payloads are Base64 encoded.
+     */
+    default String encodeToString(CustomerDto customer) throws IOException {
+        byte[] payload = encode(customer);
+        return isTextual() ? new String(payload, StandardCharsets.UTF_8) : Base64.getEncoder().encodeToString(payload);
+    }
+
+    /**
+     * Reverse of {@link #encodeToString(CustomerDto)}
+     */
+    default CustomerDto decodeFromString(String payload) throws IOException {
+        byte[] bytes = isTextual() ? payload.getBytes(StandardCharsets.UTF_8) : Base64.getDecoder().decode(payload);
+        return decode(bytes);
+    }
+}
@@ -0,0 +1,53 @@
+package org.camunda.bpm.demo.codec;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Looks up the {@link CustomerCodec} bean registered for a data format
+ */
+@Component
+@Slf4j
+public class CustomerCodecRegistry {
+
+    private final Map<String, CustomerCodec> codecs = new TreeMap<>();
+
+    public CustomerCodecRegistry(List<CustomerCodec> codecs) {
+        for (CustomerCodec codec : codecs) {
+            String format = normalize(codec.getFormat());
+            CustomerCodec previous = this.codecs.put(format, codec);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate customer codec for format '" + format + "': "
+                        + previous.getClass().getName() + " and " + codec.getClass().getName());
+            }
+        }
+        log.info("Registered customer codecs: {}", this.codecs.keySet());
+    }
+
+    public CustomerCodec getCodec(String format) {
+        CustomerCodec codec = format != null ? codecs.get(normalize(format)) : null;
+        if (codec == null) {
+            throw new IllegalArgumentException("No customer codec registered for data format '" + format
+                    + "', available formats: " + codecs.keySet());
+        }
+        return codec;
+    }
+
+    public boolean supports(String format) {
+        return format != null && codecs.containsKey(normalize(format));
+    }
+
+    public Map<String, CustomerCodec> getCodecs() {
+        return Collections.unmodifiableMap(codecs);
+    }
+
+    private static String normalize(String format) {
+        return format.trim().toLowerCase(Locale.ROOT);
+    }
+}
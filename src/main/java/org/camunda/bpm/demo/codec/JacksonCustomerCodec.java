@@ -0,0 +1,44 @@
+package org.camunda.bpm.demo.codec;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.camunda.bpm.demo.dto.CustomerDto;
+
+import java.io.IOException;
+
+/**
+ * Base class for codecs backed by a Jackson {@link ObjectMapper}.
+ * Reader and writer are created once, so encoding does not resolve serializers per call.
+ */
+public abstract class JacksonCustomerCodec implements CustomerCodec {
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    protected JacksonCustomerCodec(ObjectMapper mapper) {
+        mapper.findAndRegisterModules();
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        this.writer = configureWriter(mapper.writerFor(CustomerDto.class));
+        this.reader = mapper.readerFor(CustomerDto.class);
+    }
+
+    protected ObjectWriter configureWriter(ObjectWriter writer) {
+        return writer;
+    }
+
+    @Override
+    public byte[] encode(CustomerDto customer) throws IOException {
+        return writer.writeValueAsBytes(customer);
+    }
+
+    @Override
+    public CustomerDto decode(byte[] payload) throws IOException {
+        return reader.readValue(payload);
+    }
+}
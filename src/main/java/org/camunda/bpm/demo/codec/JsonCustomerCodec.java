@@ -0,0 +1,22 @@
+package org.camunda.bpm.demo.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JsonCustomerCodec extends JacksonCustomerCodec {
+
+    public JsonCustomerCodec() {
+        super(new ObjectMapper());
+    }
+
+    @Override
+    public String getFormat() {
+        return "json";
+    }
+
+    @Override
+    public boolean isTextual() {
+        return true;
+    }
+}
@@ -0,0 +1,22 @@
+package org.camunda.bpm.demo.codec;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SmileCustomerCodec extends JacksonCustomerCodec {
+
+    public SmileCustomerCodec() {
+        super(new SmileMapper());
+    }
+
+    @Override
+    public String getFormat() {
+        return "smile";
+    }
+
+    @Override
+    public boolean isTextual() {
+        return false;
+    }
+}
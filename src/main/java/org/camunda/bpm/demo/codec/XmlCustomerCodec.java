@@ -0,0 +1,29 @@
+package org.camunda.bpm.demo.codec;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class XmlCustomerCodec extends JacksonCustomerCodec {
+
+    public XmlCustomerCodec() {
+        super(new XmlMapper());
+    }
+
+    @Override
+    protected ObjectWriter configureWriter(ObjectWriter writer) {
+        return writer.withRootName("customer").with(ToXmlGenerator.Feature.WRITE_XML_DECLARATION);
+    }
+
+    @Override
+    public String getFormat() {
+        return "xml";
+    }
+
+    @Override
+    public boolean isTextual() {
+        return true;
+    }
+}
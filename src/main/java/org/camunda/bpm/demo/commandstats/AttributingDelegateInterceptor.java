@@ -0,0 +1,30 @@
+package org.camunda.bpm.demo.commandstats;
+
+import org.camunda.bpm.engine.delegate.BaseDelegateExecution;
+import org.camunda.bpm.engine.impl.delegate.DelegateInvocation;
+import org.camunda.bpm.engine.impl.interceptor.DelegateInterceptor;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+
+/**
+ * Wraps the engine's delegate interceptor to attribute the running command to the process and activity of the first
+ * delegate, listener or expression it invokes
+ */
+public class AttributingDelegateInterceptor implements DelegateInterceptor {
+
+    private final DelegateInterceptor delegate;
+
+    public AttributingDelegateInterceptor(DelegateInterceptor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void handleInvocation(DelegateInvocation invocation) throws Exception {
+        CommandStats stats = CommandStats.current();
+        BaseDelegateExecution execution = invocation.getContextExecution();
+        if (stats != null && execution instanceof ExecutionEntity) {
+            ExecutionEntity executionEntity = (ExecutionEntity) execution;
+            stats.attribute(executionEntity.getProcessDefinition().getKey(), executionEntity.getActivityId());
+        }
+        delegate.handleInvocation(invocation);
+    }
+}
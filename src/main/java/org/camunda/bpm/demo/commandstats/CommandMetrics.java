@@ -0,0 +1,91 @@
+package org.camunda.bpm.demo.commandstats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per command, process and activity: latency, statements, rows and flush size of engine commands, plus counters of
+ * selects repeated within one command ({@code camunda.command.repeated.selects}), the signature of N+1 access.
+ * Each repeated select is logged once per command type.
+ */
+@Slf4j
+public class CommandMetrics {
+
+    private final MeterRegistry registry;
+    private final CommandStatsProperties properties;
+    private final Map<Tags, Meters> meters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> repeatedSelects = new ConcurrentHashMap<>();
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+
+    public CommandMetrics(MeterRegistry registry, CommandStatsProperties properties) {
+        this.registry = registry;
+        this.properties = properties;
+    }
+
+    public void record(CommandStats stats, long nanos) {
+        Meters commandMeters = meters.computeIfAbsent(
+                Tags.of("command", stats.getCommand(), "process", stats.getProcess(), "activity", stats.getActivity()),
+                Meters::new);
+        commandMeters.latency.record(nanos, TimeUnit.NANOSECONDS);
+        commandMeters.selects.record(stats.getSelects());
+        commandMeters.writes.record(stats.getWriteStatements());
+        commandMeters.rowsRead.record(stats.getRowsRead());
+        commandMeters.rowsWritten.record(stats.getRowsWritten());
+        commandMeters.flushSize.record(stats.getFlushSize());
+
+        stats.getSelectCounts().forEach((statement, count) -> {
+            if (count >= properties.getRepeatedSelectThreshold()) {
+                repeated(stats, statement, count);
+            }
+        });
+    }
+
+    private void repeated(CommandStats stats, String statement, int count) {
+        String key = stats.getCommand() + ' ' + statement;
+        repeatedSelects.computeIfAbsent(key, k -> Counter.builder("camunda.command.repeated.selects")
+                .description("Commands that ran the same select at least command-stats.repeated-select-threshold times")
+                .tag("command", stats.getCommand())
+                .tag("statement", statement)
+                .register(registry)).increment();
+        if (reported.add(key)) {
+            log.warn("Possible N+1 access: {} ran {} {} times (process {}, activity {})",
+                    stats.getCommand(), statement, count, stats.getProcess(), stats.getActivity());
+        }
+    }
+
+    private final class Meters {
+
+        private final Timer latency;
+        private final DistributionSummary selects;
+        private final DistributionSummary writes;
+        private final DistributionSummary rowsRead;
+        private final DistributionSummary rowsWritten;
+        private final DistributionSummary flushSize;
+
+        private Meters(Tags tags) {
+            Timer.Builder latencyBuilder = Timer.builder("camunda.command.latency").tags(tags);
+            if (properties.isHistogram()) {
+                latencyBuilder.publishPercentileHistogram();
+            }
+            this.latency = latencyBuilder.register(registry);
+            this.selects = summary("camunda.command.statements", tags.and("kind", "read"));
+            this.writes = summary("camunda.command.statements", tags.and("kind", "write"));
+            this.rowsRead = summary("camunda.command.rows", tags.and("kind", "read"));
+            this.rowsWritten = summary("camunda.command.rows", tags.and("kind", "write"));
+            this.flushSize = summary("camunda.command.flush.size", tags);
+        }
+
+        private DistributionSummary summary(String name, Tags tags) {
+            return DistributionSummary.builder(name).tags(tags).register(registry);
+        }
+    }
+}
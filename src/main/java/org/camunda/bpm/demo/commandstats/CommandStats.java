@@ -0,0 +1,142 @@
+package org.camunda.bpm.demo.commandstats;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What one top-level engine command did: the statements it ran, the rows they touched and the process and activity
+ * it worked on. Held for the current thread while the command runs and filled in by the
+ * {@link StatementCountingInterceptor} and the {@link AttributingDelegateInterceptor}.
+ */
+public class CommandStats {
+
+    static final String NONE = "none";
+
+    private static final ThreadLocal<CommandStats> CURRENT = new ThreadLocal<>();
+
+    private final String command;
+    private final CommandStats outer;
+    private final Map<String, Integer> selectCounts = new HashMap<>();
+
+    private String process;
+    private String activity;
+    private boolean contextSearched;
+    private int selects;
+    private int writes;
+    private int batches;
+    private long rowsRead;
+    private long rowsWritten;
+
+    private CommandStats(String command, CommandStats outer) {
+        this.command = command;
+        this.outer = outer;
+    }
+
+    public static CommandStats current() {
+        return CURRENT.get();
+    }
+
+    static CommandStats start(String command) {
+        CommandStats stats = new CommandStats(command, CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    void end() {
+        if (outer != null) {
+            CURRENT.set(outer);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    void select(String statement, int rows) {
+        selects++;
+        rowsRead += rows;
+        selectCounts.merge(statement, 1, Integer::sum);
+    }
+
+    void write(int rows) {
+        attributeFromCommandContext();
+        writes++;
+        if (rows > 0) {
+            rowsWritten += rows;
+        }
+    }
+
+    void flushed(int statements, long rows) {
+        batches += statements;
+        rowsWritten += rows;
+    }
+
+    void attribute(String process, String activity) {
+        if (this.process == null) {
+            this.process = process;
+            this.activity = activity;
+        } else if (this.activity == null && this.process.equals(process)) {
+            // e.g. a process start listener ran before the first activity
+            this.activity = activity;
+        }
+    }
+
+    /**
+     * Commands that ran no delegate are attributed to the process of an execution they loaded or created
+     */
+    private void attributeFromCommandContext() {
+        if (process != null || contextSearched) {
+            return;
+        }
+        contextSearched = true;
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null) {
+            for (ExecutionEntity execution : commandContext.getDbEntityManager().getCachedEntitiesByType(ExecutionEntity.class)) {
+                if (execution.getProcessDefinitionId() != null) {
+                    attribute(execution.getProcessDefinition().getKey(), null);
+                    return;
+                }
+            }
+        }
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public String getProcess() {
+        return process != null ? process : NONE;
+    }
+
+    public String getActivity() {
+        return activity != null ? activity : NONE;
+    }
+
+    public int getSelects() {
+        return selects;
+    }
+
+    /** Insert, update and delete operations flushed by the command */
+    public int getFlushSize() {
+        return writes;
+    }
+
+    /** JDBC statements sent for the flush: one per batch with JDBC batching, one per operation without */
+    public int getWriteStatements() {
+        return batches > 0 ? batches : writes;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    Map<String, Integer> getSelectCounts() {
+        return selectCounts;
+    }
+}
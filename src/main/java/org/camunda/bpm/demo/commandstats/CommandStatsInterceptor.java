@@ -0,0 +1,58 @@
+package org.camunda.bpm.demo.commandstats;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Outermost interceptor of the engine's command chains. Opens {@link CommandStats} for each command, including
+ * commands started in a new transaction from within another one, and hands them to the {@link CommandMetrics} once the
+ * command's transaction completed. Commands invoked inside an open command context join its stats.
+ */
+public class CommandStatsInterceptor extends CommandInterceptor {
+
+    private static final Map<Class<?>, String> COMMAND_NAMES = new ConcurrentHashMap<>();
+
+    private final CommandMetrics metrics;
+    private final boolean requiresNew;
+
+    public CommandStatsInterceptor(CommandMetrics metrics, boolean requiresNew) {
+        this.metrics = metrics;
+        this.requiresNew = requiresNew;
+    }
+
+    @Override
+    public <T> T execute(Command<T> command) {
+        if (!requiresNew && CommandStats.current() != null) {
+            return next.execute(command);
+        }
+        CommandStats stats = CommandStats.start(COMMAND_NAMES.computeIfAbsent(command.getClass(), CommandStatsInterceptor::commandName));
+        long start = System.nanoTime();
+        try {
+            return next.execute(command);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            stats.end();
+            metrics.record(stats, nanos);
+        }
+    }
+
+    /**
+     * Simple class name; lambdas and anonymous commands are named after the class declaring them
+     */
+    static String commandName(Class<?> type) {
+        String name = type.getName();
+        int lambda = name.indexOf("$$Lambda");
+        if (lambda >= 0) {
+            name = name.substring(0, lambda);
+        }
+        String[] parts = name.substring(name.lastIndexOf('.') + 1).split("\\$");
+        int last = parts.length - 1;
+        while (last > 0 && (parts[last].isEmpty() || Character.isDigit(parts[last].charAt(0)))) {
+            last--;
+        }
+        return parts[last];
+    }
+}
@@ -0,0 +1,45 @@
+package org.camunda.bpm.demo.commandstats;
+
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Installs command profiling: the {@link CommandStatsInterceptor} in front of both command chains, the
+ * {@link StatementCountingInterceptor} on the engine's MyBatis configuration and the
+ * {@link AttributingDelegateInterceptor} around the engine's delegate interceptor
+ */
+public class CommandStatsPlugin extends AbstractProcessEnginePlugin {
+
+    private final CommandMetrics metrics;
+
+    public CommandStatsPlugin(CommandMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        configuration.setCustomPreCommandInterceptorsTxRequired(
+                prepend(new CommandStatsInterceptor(metrics, false), configuration.getCustomPreCommandInterceptorsTxRequired()));
+        configuration.setCustomPreCommandInterceptorsTxRequiresNew(
+                prepend(new CommandStatsInterceptor(metrics, true), configuration.getCustomPreCommandInterceptorsTxRequiresNew()));
+    }
+
+    @Override
+    public void postInit(ProcessEngineConfigurationImpl configuration) {
+        configuration.getSqlSessionFactory().getConfiguration().addInterceptor(new StatementCountingInterceptor());
+        configuration.setDelegateInterceptor(new AttributingDelegateInterceptor(configuration.getDelegateInterceptor()));
+    }
+
+    private static List<CommandInterceptor> prepend(CommandInterceptor interceptor, List<CommandInterceptor> interceptors) {
+        List<CommandInterceptor> result = new ArrayList<>();
+        result.add(interceptor);
+        if (interceptors != null) {
+            result.addAll(interceptors);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,22 @@
+package org.camunda.bpm.demo.commandstats;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Engine command profiling settings, configured under {@code command-stats}
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "command-stats")
+public class CommandStatsProperties {
+
+    private boolean enabled = true;
+
+    /** A command running the same select this often is reported as an N+1 pattern */
+    private int repeatedSelectThreshold = 10;
+
+    /** Publishes latency histogram buckets for percentiles aggregated across nodes */
+    private boolean histogram = false;
+}
@@ -0,0 +1,69 @@
+package org.camunda.bpm.demo.commandstats;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * MyBatis executor plugin counting the engine's statements and the rows they touched into the {@link CommandStats}
+ * of the running command. Selects are counted per mapped statement for N+1 detection.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "flushStatements", args = {})
+})
+public class StatementCountingInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        CommandStats stats = CommandStats.current();
+        if (stats == null) {
+            return result;
+        }
+        if ("flushStatements".equals(invocation.getMethod().getName())) {
+            flushed(stats, result);
+            return result;
+        }
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        if (statement.getSqlCommandType() == SqlCommandType.SELECT) {
+            stats.select(statement.getId(), result instanceof List ? ((List<?>) result).size() : 0);
+        } else {
+            // Batched updates report their rows on flush
+            stats.write(result instanceof Integer ? (Integer) result : 0);
+        }
+        return result;
+    }
+
+    private static void flushed(CommandStats stats, Object result) {
+        if (!(result instanceof List) || ((List<?>) result).isEmpty()) {
+            return;
+        }
+        long rows = 0;
+        List<?> batchResults = (List<?>) result;
+        for (Object batchResult : batchResults) {
+            for (int count : ((BatchResult) batchResult).getUpdateCounts()) {
+                if (count != Statement.SUCCESS_NO_INFO) {
+                    rows += count;
+                }
+            }
+        }
+        stats.flushed(batchResults.size(), rows);
+    }
+}
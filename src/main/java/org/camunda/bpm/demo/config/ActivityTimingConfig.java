@@ -0,0 +1,32 @@
+package org.camunda.bpm.demo.config;
+
+import org.camunda.bpm.demo.activitytiming.ActivityTimingPlugin;
+import org.camunda.bpm.demo.activitytiming.ActivityTimingProperties;
+import org.camunda.bpm.demo.activitytiming.ActivityTimings;
+import org.camunda.bpm.demo.activitytiming.ActivityTimingsEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-activity execution time histograms with {@code activity-timing.enabled}, served by {@code /actuator/activitytimings}
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "activity-timing", name = "enabled", havingValue = "true")
+public class ActivityTimingConfig {
+
+    @Bean
+    public ActivityTimings activityTimings(ActivityTimingProperties properties) {
+        return new ActivityTimings(properties.getMaxOpenActivities(), properties.getOpenActivityTimeToLive());
+    }
+
+    @Bean
+    public ActivityTimingPlugin activityTimingPlugin(ActivityTimings activityTimings, ActivityTimingProperties properties) {
+        return new ActivityTimingPlugin(activityTimings, properties);
+    }
+
+    @Bean
+    public ActivityTimingsEndpoint activityTimingsEndpoint(ActivityTimings activityTimings) {
+        return new ActivityTimingsEndpoint(activityTimings);
+    }
+}
@@ -0,0 +1,20 @@
+package org.camunda.bpm.demo.config;
+
+import org.camunda.bpm.demo.archive.ArchiveProperties;
+import org.camunda.bpm.demo.archive.ArchiveStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Configuration
+@ConditionalOnProperty(prefix = "history-archive", name = "enabled", havingValue = "true")
+public class ArchiveConfig {
+
+    @Bean(destroyMethod = "close")
+    public ArchiveStore archiveStore(ArchiveProperties properties) throws IOException {
+        return new ArchiveStore(Paths.get(properties.getDirectory()), properties.getSegmentSizeBytes());
+    }
+}
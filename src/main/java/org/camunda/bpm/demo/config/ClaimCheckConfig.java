@@ -0,0 +1,57 @@
+package org.camunda.bpm.demo.config;
+
+import org.camunda.bpm.demo.claimcheck.ClaimCheckService;
+import org.camunda.bpm.demo.claimcheck.FileSystemPayloadStore;
+import org.camunda.bpm.demo.claimcheck.PayloadRetention;
+import org.camunda.bpm.demo.claimcheck.PayloadStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@Configuration
+public class ClaimCheckConfig {
+
+    @Value(value = "${claim-check.directory}")
+    private String directory;
+
+    @Value(value = "${claim-check.threshold-bytes}")
+    private int thresholdBytes;
+
+    @Value(value = "${claim-check.cache-size}")
+    private int cacheSize;
+
+    @Value(value = "${claim-check.retention:}")
+    private Duration retention;
+
+    @Value(value = "${claim-check.retention-interval:1h}")
+    private Duration retentionInterval;
+
+    /**
+     * Local file store by default; declare another {@link PayloadStore} bean to use a different blob backend
+     */
+    @Bean
+    @ConditionalOnMissingBean(PayloadStore.class)
+    public PayloadStore payloadStore() throws IOException {
+        return new FileSystemPayloadStore(Paths.get(directory));
+    }
+
+    @Bean
+    public ClaimCheckService claimCheckService(PayloadStore payloadStore) {
+        return new ClaimCheckService(payloadStore, thresholdBytes, cacheSize);
+    }
+
+    /**
+     * Only with a {@code claim-check.retention}; without one stored payloads are kept forever
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "claim-check", name = "retention")
+    public PayloadRetention payloadRetention(PayloadStore payloadStore) {
+        return new PayloadRetention(payloadStore, retention, retentionInterval);
+    }
+}
@@ -0,0 +1,27 @@
+package org.camunda.bpm.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.camunda.bpm.demo.commandstats.CommandMetrics;
+import org.camunda.bpm.demo.commandstats.CommandStatsPlugin;
+import org.camunda.bpm.demo.commandstats.CommandStatsProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Profiles engine commands with {@code command-stats.enabled}
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "command-stats", name = "enabled", havingValue = "true")
+public class CommandStatsConfig {
+
+    @Bean
+    public CommandMetrics commandMetrics(MeterRegistry meterRegistry, CommandStatsProperties properties) {
+        return new CommandMetrics(meterRegistry, properties);
+    }
+
+    @Bean
+    public CommandStatsPlugin commandStatsPlugin(CommandMetrics commandMetrics) {
+        return new CommandStatsPlugin(commandMetrics);
+    }
+}
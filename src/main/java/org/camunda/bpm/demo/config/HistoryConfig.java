@@ -0,0 +1,50 @@
+package org.camunda.bpm.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.camunda.bpm.demo.history.BatchingHistoryEventHandler;
+import org.camunda.bpm.demo.history.BatchingHistoryWriter;
+import org.camunda.bpm.demo.history.HistorySessionPlugin;
+import org.camunda.bpm.demo.history.HistoryStreamProperties;
+import org.camunda.bpm.demo.history.HistoryStreamPublisher;
+import org.camunda.bpm.demo.history.HistoryWriteMetrics;
+import org.camunda.bpm.demo.history.HistoryWriterProperties;
+import org.camunda.bpm.demo.history.StreamingHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Chooses where engine history goes. The {@link org.camunda.bpm.demo.engine.HistoryFilterPlugin} hands filtered
+ * events to the history event handler declared here: the engine's database handler, or the
+ * {@link BatchingHistoryWriter} with {@code history-writer.enabled}, behind the Kafka stream with
+ * {@code history-stream.enabled}.
+ */
+@Configuration
+public class HistoryConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "history-writer", name = "enabled", havingValue = "true")
+    public BatchingHistoryWriter batchingHistoryWriter(HistoryWriterProperties properties, MeterRegistry meterRegistry) {
+        return new BatchingHistoryWriter(properties, meterRegistry);
+    }
+
+    @Bean
+    public HistoryEventHandler historyEventHandler(ObjectProvider<BatchingHistoryWriter> batchingHistoryWriter,
+                                                   HistoryStreamProperties streamProperties, HistoryStreamPublisher publisher,
+                                                   HistoryWriteMetrics metrics) {
+        BatchingHistoryWriter writer = batchingHistoryWriter.getIfAvailable();
+        HistoryEventHandler dbHandler = writer != null ? new BatchingHistoryEventHandler(writer) : new DbHistoryEventHandler();
+        if (streamProperties.isEnabled()) {
+            return new StreamingHistoryEventHandler(dbHandler, publisher, metrics, streamProperties);
+        }
+        return dbHandler;
+    }
+
+    @Bean
+    public HistorySessionPlugin historySessionPlugin(HistoryEventHandler historyEventHandler) {
+        return new HistorySessionPlugin(historyEventHandler);
+    }
+}
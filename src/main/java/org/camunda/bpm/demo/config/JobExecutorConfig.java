@@ -0,0 +1,64 @@
+package org.camunda.bpm.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.camunda.bpm.demo.jobexecutor.JobBulkheads;
+import org.camunda.bpm.demo.jobexecutor.JobExecutorMetrics;
+import org.camunda.bpm.demo.jobexecutor.JobExecutorProperties;
+import org.camunda.bpm.demo.jobexecutor.JobPriorityProperties;
+import org.camunda.bpm.demo.jobexecutor.TunableJobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces the job executor and thread pool of the Camunda starter with the {@link TunableJobExecutor}
+ */
+@Configuration
+public class JobExecutorConfig {
+
+    /**
+     * Same bean name as the starter's pool, so the starter backs off
+     */
+    @Bean(name = "camundaTaskExecutor")
+    public ThreadPoolTaskExecutor camundaTaskExecutor(JobExecutorProperties properties) {
+        ThreadPoolTaskExecutor threadPool = new ThreadPoolTaskExecutor();
+        threadPool.setCorePoolSize(properties.getCorePoolSize());
+        threadPool.setMaxPoolSize(properties.getMaxPoolSize());
+        threadPool.setQueueCapacity(properties.getQueueCapacity());
+        threadPool.setThreadNamePrefix("camunda-job-");
+        threadPool.setWaitForTasksToCompleteOnShutdown(true);
+        return threadPool;
+    }
+
+    @Bean
+    public JobExecutorMetrics jobExecutorMetrics(MeterRegistry meterRegistry) {
+        return new JobExecutorMetrics(meterRegistry);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public JobBulkheads jobBulkheads(JobPriorityProperties properties) {
+        Map<String, ThreadPoolTaskExecutor> threadPools = new LinkedHashMap<>();
+        properties.getBulkheads().forEach((processDefinitionKey, bulkhead) -> {
+            ThreadPoolTaskExecutor threadPool = new ThreadPoolTaskExecutor();
+            threadPool.setCorePoolSize(bulkhead.getThreads());
+            threadPool.setMaxPoolSize(bulkhead.getThreads());
+            threadPool.setQueueCapacity(bulkhead.getQueueCapacity());
+            threadPool.setThreadNamePrefix("camunda-job-" + processDefinitionKey + "-");
+            threadPool.setWaitForTasksToCompleteOnShutdown(true);
+            threadPool.initialize();
+            threadPools.put(processDefinitionKey, threadPool);
+        });
+        return new JobBulkheads(threadPools);
+    }
+
+    @Bean
+    public JobExecutor jobExecutor(@Qualifier("camundaTaskExecutor") ThreadPoolTaskExecutor threadPool,
+                                   JobExecutorProperties properties, JobExecutorMetrics metrics, JobBulkheads bulkheads) {
+        return new TunableJobExecutor(threadPool, properties, metrics, bulkheads);
+    }
+}
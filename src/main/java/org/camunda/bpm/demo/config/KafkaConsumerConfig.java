@@ -1,8 +1,14 @@
 package org.camunda.bpm.demo.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.camunda.bpm.demo.dto.CamundaMessageDto;
+import org.camunda.bpm.demo.dto.ExternalTaskResponseDto;
+import org.camunda.bpm.demo.dto.TaskCommandDto;
+import org.camunda.bpm.demo.tracing.Tracer;
+import org.camunda.bpm.demo.tracing.TracingRecordInterceptor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,6 +16,7 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
@@ -17,8 +24,12 @@ import java.util.Map;
 
 @EnableKafka
 @Configuration
+@RequiredArgsConstructor
 public class KafkaConsumerConfig {
 
+    private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
+
     @Value(value = "${kafka.bootstrap-address}")
     private String bootstrapAddress;
 
@@ -30,6 +41,62 @@ public class KafkaConsumerConfig {
 
     @Bean
     public ConsumerFactory<String, CamundaMessageDto> consumerFactory() {
+        return meteredConsumerFactory(consumerProps());
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, CamundaMessageDto>
+    kafkaListenerContainerFactory() {
+
+        ConcurrentKafkaListenerContainerFactory<String, CamundaMessageDto> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        if (tracer.isEnabled()) {
+            // continues the traces of the messages that start or reach process instances
+            factory.setRecordInterceptor(new TracingRecordInterceptor<>(tracer));
+        }
+        return factory;
+    }
+
+    /**
+     * Batch listener, so the responses of one poll are completed in one engine transaction
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ExternalTaskResponseDto>
+    externalTaskResponseListenerContainerFactory() {
+        return batchListenerContainerFactory(ExternalTaskResponseDto.class);
+    }
+
+    /**
+     * Batch listener, so the commands of one poll are applied in batched engine transactions
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, TaskCommandDto>
+    taskCommandListenerContainerFactory() {
+        return batchListenerContainerFactory(TaskCommandDto.class);
+    }
+
+    private <T> ConcurrentKafkaListenerContainerFactory<String, T> batchListenerContainerFactory(Class<T> valueType) {
+        Map<String, Object> props = consumerProps();
+        // messages may come from producers that do not send Spring type headers
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, valueType.getName());
+        ConcurrentKafkaListenerContainerFactory<String, T> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(meteredConsumerFactory(props));
+        factory.setBatchListener(true);
+        return factory;
+    }
+
+    /**
+     * Publishes the client metrics of the factory's consumers, including the records lag per partition, as kafka.consumer.*
+     */
+    private <T> ConsumerFactory<String, T> meteredConsumerFactory(Map<String, Object> props) {
+        DefaultKafkaConsumerFactory<String, T> consumerFactory = new DefaultKafkaConsumerFactory<>(props);
+        consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return consumerFactory;
+    }
+
+    private Map<String, Object> consumerProps() {
         Map<String, Object> props = new HashMap<>();
         props.put(
                 ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG,
@@ -44,16 +111,6 @@ public class KafkaConsumerConfig {
                 ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
                 JsonDeserializer.class);
         props.put(JsonDeserializer.TRUSTED_PACKAGES, trustedPackage);
-        return new DefaultKafkaConsumerFactory<>(props);
-    }
-
-    @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, CamundaMessageDto>
-    kafkaListenerContainerFactory() {
-
-        ConcurrentKafkaListenerContainerFactory<String, CamundaMessageDto> factory =
-                new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
-        return factory;
+        return props;
     }
 }
\ No newline at end of file
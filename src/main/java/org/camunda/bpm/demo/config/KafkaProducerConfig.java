@@ -1,13 +1,21 @@
 package org.camunda.bpm.demo.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.camunda.bpm.demo.dto.CamundaMessageDto;
+import org.camunda.bpm.demo.dto.ExternalTaskMessageDto;
+import org.camunda.bpm.demo.dto.HistoryEventMessageDto;
+import org.camunda.bpm.demo.dto.TaskCommandResultDto;
+import org.camunda.bpm.demo.metrics.KafkaSendMetrics;
+import org.camunda.bpm.demo.tracing.TracingProducerInterceptor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
@@ -16,8 +24,12 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
+@RequiredArgsConstructor
 public class KafkaProducerConfig {
 
+    private final MeterRegistry meterRegistry;
+    private final KafkaSendMetrics kafkaSendMetrics;
+
     @Value(value = "${kafka.bootstrap-address}")
     private String bootstrapAddress;
 
@@ -26,6 +38,63 @@ public class KafkaProducerConfig {
 
     @Bean
     public ProducerFactory<String, CamundaMessageDto> producerFactory() {
+        return meteredProducerFactory();
+    }
+
+    @Bean
+    public KafkaTemplate<String, CamundaMessageDto> kafkaTemplate() {
+        return meteredTemplate(producerFactory());
+    }
+
+    @Bean
+    public ProducerFactory<String, ExternalTaskMessageDto> externalTaskProducerFactory() {
+        return meteredProducerFactory();
+    }
+
+    @Bean
+    public KafkaTemplate<String, ExternalTaskMessageDto> externalTaskKafkaTemplate() {
+        return meteredTemplate(externalTaskProducerFactory());
+    }
+
+    @Bean
+    public ProducerFactory<String, TaskCommandResultDto> taskCommandResultProducerFactory() {
+        return meteredProducerFactory();
+    }
+
+    @Bean
+    public KafkaTemplate<String, TaskCommandResultDto> taskCommandResultKafkaTemplate() {
+        return meteredTemplate(taskCommandResultProducerFactory());
+    }
+
+    @Bean
+    public ProducerFactory<String, HistoryEventMessageDto> historyEventProducerFactory() {
+        return meteredProducerFactory();
+    }
+
+    @Bean
+    public KafkaTemplate<String, HistoryEventMessageDto> historyEventKafkaTemplate() {
+        return meteredTemplate(historyEventProducerFactory());
+    }
+
+    /**
+     * Publishes the client metrics of the factory's producer, e.g. batch size and request latency, as kafka.producer.*
+     */
+    private <T> ProducerFactory<String, T> meteredProducerFactory() {
+        DefaultKafkaProducerFactory<String, T> producerFactory = new DefaultKafkaProducerFactory<>(producerProps());
+        producerFactory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return producerFactory;
+    }
+
+    /**
+     * Records the per topic send latency for the template's sends, see {@link KafkaSendMetrics}
+     */
+    private <T> KafkaTemplate<String, T> meteredTemplate(ProducerFactory<String, T> producerFactory) {
+        KafkaTemplate<String, T> template = new KafkaTemplate<>(producerFactory);
+        template.setProducerListener(kafkaSendMetrics.listener());
+        return template;
+    }
+
+    private Map<String, Object> producerProps() {
         Map<String, Object> props = new HashMap<>();
         props.put(
                 ProducerConfig.BOOTSTRAP_SERVERS_CONFIG,
@@ -37,11 +106,10 @@ public class KafkaProducerConfig {
                 ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
                 JsonSerializer.class);
         props.put(JsonDeserializer.TRUSTED_PACKAGES, trustedPackage);
-        return new DefaultKafkaProducerFactory<>(props);
-    }
-
-    @Bean
-    public KafkaTemplate<String, CamundaMessageDto> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        // adds the traceparent header to records sent in a traced span
+        props.put(
+                ProducerConfig.INTERCEPTOR_CLASSES_CONFIG,
+                TracingProducerInterceptor.class.getName());
+        return props;
     }
 }
\ No newline at end of file
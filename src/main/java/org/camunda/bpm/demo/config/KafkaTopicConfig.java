@@ -2,6 +2,9 @@ package org.camunda.bpm.demo.config;
 
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.camunda.bpm.demo.consumer.TaskCommandConsumer;
+import org.camunda.bpm.demo.externaltask.KafkaExternalTaskBridge;
+import org.camunda.bpm.demo.history.HistoryStreamPublisher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -42,4 +45,29 @@ public class KafkaTopicConfig {
     public NewTopic dataFormatProcessMessageTopic() {
         return new NewTopic("data-format-process-message-topic", 1, (short) 1);
     }
+
+    @Bean
+    public NewTopic taskCommandTopic() {
+        return new NewTopic(TaskCommandConsumer.COMMAND_TOPIC, 1, (short) 1);
+    }
+
+    @Bean
+    public NewTopic taskCommandResultTopic() {
+        return new NewTopic(TaskCommandConsumer.RESULT_TOPIC, 1, (short) 1);
+    }
+
+    @Bean
+    public NewTopic externalTaskRequestTopic() {
+        return new NewTopic(KafkaExternalTaskBridge.REQUEST_TOPIC, 1, (short) 1);
+    }
+
+    @Bean
+    public NewTopic externalTaskResponseTopic() {
+        return new NewTopic(KafkaExternalTaskBridge.RESPONSE_TOPIC, 1, (short) 1);
+    }
+
+    @Bean
+    public NewTopic historyEventTopic() {
+        return new NewTopic(HistoryStreamPublisher.TOPIC, 1, (short) 1);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package org.camunda.bpm.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.camunda.bpm.demo.datasource.ReadReplicaCommandInterceptor;
+import org.camunda.bpm.demo.datasource.ReadReplicaPlugin;
+import org.camunda.bpm.demo.datasource.ReadReplicaProperties;
+import org.camunda.bpm.demo.datasource.ReplicaLagMonitor;
+import org.camunda.bpm.demo.datasource.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write split with {@code read-replica.enabled}. Declaring datasources here replaces Spring Boot's single
+ * datasource, so the primary is rebuilt from {@code spring.datasource} and stays the application's datasource.
+ * The engine gets a {@link RoutingDataSource} over the primary and the replica pool, picked up by the Camunda
+ * starter as {@code camundaBpmDataSource} with its own transaction manager.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("read-replica.datasource")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("read-replica.datasource.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public DataSource camundaBpmDataSource(DataSource dataSource, @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        return new RoutingDataSource(dataSource, replicaDataSource);
+    }
+
+    @Bean
+    public PlatformTransactionManager camundaBpmTransactionManager(@Qualifier("camundaBpmDataSource") DataSource camundaBpmDataSource) {
+        return new DataSourceTransactionManager(camundaBpmDataSource);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, properties, meterRegistry);
+    }
+
+    @Bean
+    public ReadReplicaPlugin readReplicaPlugin(ReadReplicaProperties properties, ReplicaLagMonitor replicaLagMonitor,
+                                               MeterRegistry meterRegistry) {
+        return new ReadReplicaPlugin(new ReadReplicaCommandInterceptor(properties, replicaLagMonitor, meterRegistry));
+    }
+}
@@ -0,0 +1,47 @@
+package org.camunda.bpm.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.camunda.bpm.demo.tracing.FileSpanExporter;
+import org.camunda.bpm.demo.tracing.SpanExporter;
+import org.camunda.bpm.demo.tracing.Tracer;
+import org.camunda.bpm.demo.tracing.TracingFilter;
+import org.camunda.bpm.demo.tracing.TracingProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Traces the message hops with {@code tracing.enabled}. Without a {@link SpanExporter} the {@link Tracer} creates no
+ * spans, and Kafka sends and correlations carry no trace context.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Local file exporter by default; declare another {@link SpanExporter} bean to send spans elsewhere
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "tracing", name = "enabled", havingValue = "true")
+    @ConditionalOnMissingBean(SpanExporter.class)
+    public FileSpanExporter fileSpanExporter(TracingProperties properties, MeterRegistry meterRegistry) throws IOException {
+        return new FileSpanExporter(properties, meterRegistry);
+    }
+
+    @Bean
+    public Tracer tracer(ObjectProvider<SpanExporter> spanExporter) {
+        return new Tracer(spanExporter.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tracing", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        registration.addUrlPatterns("/message-process/*");
+        return registration;
+    }
+}
@@ -0,0 +1,23 @@
+package org.camunda.bpm.demo.consumer;
+
+import lombok.RequiredArgsConstructor;
+import org.camunda.bpm.demo.dto.ExternalTaskResponseDto;
+import org.camunda.bpm.demo.externaltask.KafkaExternalTaskBridge;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ExternalTaskResponseConsumer {
+
+    private final KafkaExternalTaskBridge bridge;
+
+    @KafkaListener(topics = KafkaExternalTaskBridge.RESPONSE_TOPIC,
+            containerFactory = "externalTaskResponseListenerContainerFactory",
+            autoStartup = "${external-task-bridge.enabled}")
+    public void handleResponses(List<ExternalTaskResponseDto> responses) {
+        bridge.handleResponses(responses);
+    }
+}
@@ -3,6 +3,7 @@ package org.camunda.bpm.demo.consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.camunda.bpm.demo.dto.CamundaMessageDto;
+import org.camunda.bpm.demo.engine.StraightThrough;
 import org.camunda.bpm.engine.RuntimeService;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
@@ -30,6 +31,11 @@ public class MessageProcessConsumer {
 
     @KafkaListener(topics = "data-format-process-message-topic")
     public void startDataFormatProcess(CamundaMessageDto camundaMessageDto){
-        messageService.correlateMessage(camundaMessageDto, MESSAGE_DATAFORMAT);
+        // With the format in the message the instance runs straight through without stopping at the selection task
+        if (camundaMessageDto.getDto() != null && camundaMessageDto.getDto().getDataFormat() != null) {
+            StraightThrough.run(() -> messageService.correlateMessage(camundaMessageDto, MESSAGE_DATAFORMAT));
+        } else {
+            messageService.correlateMessage(camundaMessageDto, MESSAGE_DATAFORMAT);
+        }
     }
 }
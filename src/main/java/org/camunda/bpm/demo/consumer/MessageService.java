@@ -3,16 +3,23 @@ package org.camunda.bpm.demo.consumer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.demo.businesskey.BusinessKeyCache;
 import org.camunda.bpm.demo.dto.CamundaMessageDto;
+import org.camunda.bpm.demo.metrics.CorrelationMetrics;
+import org.camunda.bpm.demo.metrics.CorrelationMetrics.Target;
+import org.camunda.bpm.demo.tracing.TraceContext;
+import org.camunda.bpm.demo.tracing.Tracing;
 import org.camunda.bpm.demo.util.VariablesUtil;
 import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.rest.dto.message.MessageCorrelationResultDto;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
 import org.camunda.bpm.engine.runtime.MessageCorrelationResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResultType;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -20,24 +27,17 @@ import java.util.Map;
 public class MessageService {
 
     private final RuntimeService runtimeService;
+    private final BusinessKeyCache businessKeyCache;
+    private final CorrelationMetrics correlationMetrics;
+
+    // Messages seen to start new instances; they never match an active instance, so the cache is not asked for them
+    private final Set<String> startMessages = ConcurrentHashMap.newKeySet();
 
     public MessageCorrelationResult correlateMessage(CamundaMessageDto camundaMessageDto, String messageName) {
         try {
             log.info("Consuming message {}", messageName);
 
-            MessageCorrelationBuilder messageCorrelationBuilder = runtimeService.createMessageCorrelation(messageName);
-
-            if (camundaMessageDto.getDto() != null) {
-                Map<String, Object> variables = VariablesUtil.toVariableMap(camundaMessageDto.getDto());
-                messageCorrelationBuilder.setVariables(VariablesUtil.toVariableMap(camundaMessageDto.getDto()));
-            }
-
-            // Only set business key if correlationId is not null
-            if (camundaMessageDto.getCorrelationId() != null) {
-                messageCorrelationBuilder.processInstanceBusinessKey(camundaMessageDto.getCorrelationId());
-            }
-
-            MessageCorrelationResult messageResult = messageCorrelationBuilder.correlateWithResult();
+            MessageCorrelationResult messageResult = correlate(camundaMessageDto, messageName);
 
             String messageResultJson = new ObjectMapper().writeValueAsString(MessageCorrelationResultDto.fromMessageCorrelationResult(messageResult));
 
@@ -52,4 +52,66 @@ public class MessageService {
         }
         return null;
     }
+
+    private MessageCorrelationResult correlate(CamundaMessageDto camundaMessageDto, String messageName) {
+        String businessKey = camundaMessageDto.getCorrelationId();
+        String processInstanceId = businessKey == null || startMessages.contains(messageName)
+                ? null : businessKeyCache.getProcessInstanceId(businessKey);
+        if (processInstanceId != null) {
+            long start = System.nanoTime();
+            try {
+                MessageCorrelationResult messageResult = createCorrelation(camundaMessageDto, messageName)
+                        .processInstanceId(processInstanceId)
+                        .correlateWithResult();
+                correlationMetrics.correlated(messageName, Target.PROCESS_INSTANCE_ID, messageResult, System.nanoTime() - start);
+                return messageResult;
+            } catch (MismatchingMessageCorrelationException e) {
+                // Either a start message or the cached instance is gone; the business key decides
+                log.debug("Message {} did not match cached instance {}, correlating by business key", messageName, processInstanceId);
+            } catch (RuntimeException e) {
+                correlationMetrics.failed(messageName, Target.PROCESS_INSTANCE_ID, e, System.nanoTime() - start);
+                throw e;
+            }
+        }
+
+        MessageCorrelationBuilder messageCorrelationBuilder = createCorrelation(camundaMessageDto, messageName);
+
+        // Only set business key if correlationId is not null
+        if (businessKey != null) {
+            messageCorrelationBuilder.processInstanceBusinessKey(businessKey);
+        }
+
+        Target target = businessKey != null ? Target.BUSINESS_KEY : Target.NONE;
+        long start = System.nanoTime();
+        MessageCorrelationResult messageResult;
+        try {
+            messageResult = messageCorrelationBuilder.correlateWithResult();
+        } catch (RuntimeException e) {
+            correlationMetrics.failed(messageName, target, e, System.nanoTime() - start);
+            throw e;
+        }
+        correlationMetrics.correlated(messageName, target, messageResult, System.nanoTime() - start);
+
+        if (messageResult != null && messageResult.getResultType() == MessageCorrelationResultType.ProcessDefinition) {
+            startMessages.add(messageName);
+        } else if (processInstanceId != null && messageResult != null && messageResult.getExecution() != null
+                && !processInstanceId.equals(messageResult.getExecution().getProcessInstanceId())) {
+            businessKeyCache.evict(businessKey, processInstanceId);
+        }
+        return messageResult;
+    }
+
+    private MessageCorrelationBuilder createCorrelation(CamundaMessageDto camundaMessageDto, String messageName) {
+        MessageCorrelationBuilder messageCorrelationBuilder = runtimeService.createMessageCorrelation(messageName);
+
+        if (camundaMessageDto.getDto() != null) {
+            messageCorrelationBuilder.setVariables(VariablesUtil.toVariableMap(camundaMessageDto.getDto()));
+        }
+        // The instance's later sends continue the trace of the message that reached it
+        TraceContext trace = Tracing.current();
+        if (trace != null) {
+            messageCorrelationBuilder.setVariable(Tracing.VARIABLE, trace.toTraceparent());
+        }
+        return messageCorrelationBuilder;
+    }
 }
@@ -0,0 +1,35 @@
+package org.camunda.bpm.demo.consumer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.demo.dto.TaskCommandDto;
+import org.camunda.bpm.demo.dto.TaskCommandResultDto;
+import org.camunda.bpm.demo.taskcommand.TaskCommandService;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * User task commands keyed by business key; one result per command is published to {@value #RESULT_TOPIC}
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskCommandConsumer {
+
+    public static final String COMMAND_TOPIC = "task-command-topic";
+    public static final String RESULT_TOPIC = "task-command-result-topic";
+
+    private final TaskCommandService taskCommandService;
+    private final KafkaTemplate<String, TaskCommandResultDto> resultKafkaTemplate;
+
+    @KafkaListener(topics = COMMAND_TOPIC, containerFactory = "taskCommandListenerContainerFactory")
+    public void handleCommands(List<TaskCommandDto> commands) {
+        log.info("Applying {} task commands", commands.size());
+        for (TaskCommandResultDto result : taskCommandService.apply(commands)) {
+            resultKafkaTemplate.send(RESULT_TOPIC, result.getBusinessKey(), result);
+        }
+    }
+}
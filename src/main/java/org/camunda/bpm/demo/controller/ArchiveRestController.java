@@ -0,0 +1,33 @@
+package org.camunda.bpm.demo.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.camunda.bpm.demo.archive.ArchiveStore;
+import org.camunda.bpm.demo.archive.ArchivedInstance;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnProperty(prefix = "history-archive", name = "enabled", havingValue = "true")
+@RequestMapping("/archive/process-instances")
+@RequiredArgsConstructor
+public class ArchiveRestController {
+
+    private final ArchiveStore archiveStore;
+
+    @GetMapping("/{processInstanceId}")
+    public ResponseEntity<ArchivedInstance> getProcessInstance(@PathVariable String processInstanceId) {
+        return ResponseEntity.of(archiveStore.findByProcessInstanceId(processInstanceId));
+    }
+
+    @GetMapping
+    public List<ArchivedInstance> getProcessInstances(@RequestParam String businessKey) {
+        return archiveStore.findByBusinessKey(businessKey);
+    }
+}
@@ -0,0 +1,54 @@
+package org.camunda.bpm.demo.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Which datasource the current thread's next engine command uses. Query commands are routed to the replica by the
+ * {@link ReadReplicaCommandInterceptor}; code that must read its own writes wraps its queries in
+ * {@link #onPrimary(Supplier)}.
+ */
+public final class DataSourceRouting {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Target> TARGET = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    public static Target current() {
+        Target target = TARGET.get();
+        return target != null ? target : Target.PRIMARY;
+    }
+
+    /**
+     * Runs the action with all its queries on the primary
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            }
+        }
+    }
+
+    static boolean isPrimaryOnly() {
+        return PRIMARY_ONLY.get() != null;
+    }
+
+    static void set(Target target) {
+        TARGET.set(target);
+    }
+
+    static void clear() {
+        TARGET.remove();
+    }
+}
@@ -0,0 +1,41 @@
+package org.camunda.bpm.demo.datasource;
+
+import org.camunda.bpm.engine.impl.AbstractQuery;
+import org.camunda.bpm.engine.impl.AbstractReport;
+import org.camunda.bpm.engine.impl.AbstractNativeQuery;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+
+/**
+ * Groups of read-only engine query APIs that can be served by the read replica, recognized by the query command
+ */
+public enum QueryRoute {
+    HISTORY,
+    TASK,
+    REPORT;
+
+    /**
+     * The route of a query or report command, or null for any other command
+     */
+    public static QueryRoute of(Command<?> command) {
+        if (command instanceof AbstractReport) {
+            return REPORT;
+        }
+        if (!(command instanceof AbstractQuery) && !(command instanceof AbstractNativeQuery)) {
+            return null;
+        }
+        String name = command.getClass().getSimpleName();
+        if (name.startsWith("Native")) {
+            name = name.substring("Native".length());
+        }
+        if (name.contains("Report") || name.contains("Statistics")) {
+            return REPORT;
+        }
+        if (name.startsWith("Historic")) {
+            return HISTORY;
+        }
+        if (name.startsWith("Task")) {
+            return TASK;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,60 @@
+package org.camunda.bpm.demo.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Outermost interceptor of the engine's command chain. Routes query commands of the configured
+ * {@link QueryRoute}s to the replica while the {@link ReplicaLagMonitor} finds it fresh enough. Only top-level
+ * commands are routed: a nested command shares the connection of the command that started it.
+ * <p>
+ * Counts routed queries per route and target as {@code camunda.datasource.queries}.
+ */
+public class ReadReplicaCommandInterceptor extends CommandInterceptor {
+
+    private final ReadReplicaProperties properties;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Map<QueryRoute, Counter> replicaQueries = new EnumMap<>(QueryRoute.class);
+    private final Map<QueryRoute, Counter> primaryQueries = new EnumMap<>(QueryRoute.class);
+
+    public ReadReplicaCommandInterceptor(ReadReplicaProperties properties, ReplicaLagMonitor lagMonitor, MeterRegistry registry) {
+        this.properties = properties;
+        this.lagMonitor = lagMonitor;
+        for (QueryRoute route : QueryRoute.values()) {
+            replicaQueries.put(route, counter(registry, route, DataSourceRouting.Target.REPLICA));
+            primaryQueries.put(route, counter(registry, route, DataSourceRouting.Target.PRIMARY));
+        }
+    }
+
+    @Override
+    public <T> T execute(Command<T> command) {
+        QueryRoute route = Context.getCommandContext() == null ? QueryRoute.of(command) : null;
+        if (route == null || !properties.getRoutes().contains(route)) {
+            return next.execute(command);
+        }
+        if (DataSourceRouting.isPrimaryOnly() || !lagMonitor.isUsable()) {
+            primaryQueries.get(route).increment();
+            return next.execute(command);
+        }
+        replicaQueries.get(route).increment();
+        DataSourceRouting.set(DataSourceRouting.Target.REPLICA);
+        try {
+            return next.execute(command);
+        } finally {
+            DataSourceRouting.clear();
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, QueryRoute route, DataSourceRouting.Target target) {
+        return Counter.builder("camunda.datasource.queries")
+                .tag("route", route.name().toLowerCase())
+                .tag("target", target.name().toLowerCase())
+                .register(registry);
+    }
+}
@@ -0,0 +1,31 @@
+package org.camunda.bpm.demo.datasource;
+
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puts the {@link ReadReplicaCommandInterceptor} in front of the engine's transaction interceptor, so the routing
+ * decision is made before the command's connection is taken
+ */
+public class ReadReplicaPlugin extends AbstractProcessEnginePlugin {
+
+    private final ReadReplicaCommandInterceptor interceptor;
+
+    public ReadReplicaPlugin(ReadReplicaCommandInterceptor interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        List<CommandInterceptor> interceptors = new ArrayList<>();
+        interceptors.add(interceptor);
+        if (configuration.getCustomPreCommandInterceptorsTxRequired() != null) {
+            interceptors.addAll(configuration.getCustomPreCommandInterceptorsTxRequired());
+        }
+        configuration.setCustomPreCommandInterceptorsTxRequired(interceptors);
+    }
+}
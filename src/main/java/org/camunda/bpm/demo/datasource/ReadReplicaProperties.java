@@ -0,0 +1,32 @@
+package org.camunda.bpm.demo.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Read/write split settings, configured under {@code read-replica}. The replica connection itself is configured like
+ * {@code spring.datasource} under {@code read-replica.datasource}, including its own {@code hikari} pool.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "read-replica")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+
+    /** Query APIs served by the replica */
+    private Set<QueryRoute> routes = EnumSet.allOf(QueryRoute.class);
+
+    /** Queries go back to the primary while the replica lags further behind than this */
+    private Duration maxStaleness = Duration.ofSeconds(5);
+
+    /** Returns the replica's lag in milliseconds; without it the replica is assumed to be current */
+    private String lagQuery;
+
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+}
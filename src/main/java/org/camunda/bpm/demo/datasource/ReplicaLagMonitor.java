@@ -0,0 +1,85 @@
+package org.camunda.bpm.demo.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the replica's lag with {@code read-replica.lag-query} every {@code read-replica.lag-check-interval}. The
+ * replica is usable while the last check succeeded and the lag is within {@code read-replica.max-staleness}; a
+ * failing check counts as unusable until the next one succeeds.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+    private final ReadReplicaProperties properties;
+
+    private volatile double lagMillis;
+    private volatile boolean usable;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource replica, ReadReplicaProperties properties, MeterRegistry registry) {
+        this.replica = replica;
+        this.properties = properties;
+        this.usable = properties.getLagQuery() == null;
+        Gauge.builder("camunda.datasource.replica.lag", this, ReplicaLagMonitor::getLagMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    public synchronized void start() {
+        if (scheduler != null || properties.getLagQuery() == null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getLagCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::check, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    public double getLagMillis() {
+        return lagMillis;
+    }
+
+    void check() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(properties.getLagQuery())) {
+            lagMillis = resultSet.next() ? resultSet.getDouble(1) : 0;
+            boolean withinTolerance = lagMillis <= properties.getMaxStaleness().toMillis();
+            if (withinTolerance != usable) {
+                log.info("Read replica {} (lag {} ms)", withinTolerance ? "back in use" : "too stale, using primary", lagMillis);
+            }
+            usable = withinTolerance;
+        } catch (SQLException | RuntimeException e) {
+            if (usable) {
+                log.warn("Read replica lag check failed, using primary", e);
+            }
+            usable = false;
+        }
+    }
+}
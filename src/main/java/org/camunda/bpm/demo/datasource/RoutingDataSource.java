@@ -0,0 +1,28 @@
+package org.camunda.bpm.demo.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The engine's datasource: hands out connections of the primary or the replica pool, as {@link DataSourceRouting}
+ * decided for the current command. The connection is taken when the command's transaction begins.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    public RoutingDataSource(DataSource primary, DataSource replica) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceRouting.Target.PRIMARY, primary);
+        targets.put(DataSourceRouting.Target.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return DataSourceRouting.current();
+    }
+}
@@ -0,0 +1,96 @@
+package org.camunda.bpm.demo.decision;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.engine.variable.VariableMap;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Holds one parsed DMN decision and memoizes its results per input key.
+ * <p>
+ * {@link #load(String, InputStream, VariableMap...)} parses the decision and evaluates the given warm-up inputs, so
+ * all FEEL expressions are compiled before the first real evaluation. Loading a new version drops all memoized
+ * results. The memo only fits decisions whose result depends on nothing but the key.
+ */
+@Slf4j
+public class DecisionCache {
+
+    private final DmnEngine dmnEngine;
+    private final String decisionKey;
+    private final int maxEntries;
+    private final Map<Object, Object> results = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private volatile DmnDecision decision;
+    private volatile String version;
+
+    public DecisionCache(DmnEngine dmnEngine, String decisionKey, int maxEntries) {
+        this.dmnEngine = dmnEngine;
+        this.decisionKey = decisionKey;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Parses the decision from the DMN model and precompiles it by evaluating the warm-up inputs
+     */
+    public synchronized void load(String version, InputStream dmnModel, VariableMap... warmUpInputs) {
+        DmnDecision parsed = dmnEngine.parseDecision(decisionKey, dmnModel);
+        for (VariableMap input : warmUpInputs) {
+            dmnEngine.evaluateDecision(parsed, input);
+        }
+        this.decision = parsed;
+        this.version = version;
+        results.clear();
+        log.info("Loaded decision '{}' version {}", decisionKey, version);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public boolean isLoaded() {
+        return decision != null;
+    }
+
+    /**
+     * Returns the single output value for the key, evaluating the decision with the supplied inputs on a miss
+     */
+    public Object evaluate(Object key, Supplier<VariableMap> inputs) {
+        Object result = results.get(key);
+        if (result != null) {
+            hits.incrementAndGet();
+            return result;
+        }
+        misses.incrementAndGet();
+        DmnDecision current = decision;
+        if (current == null) {
+            throw new IllegalStateException("Decision '" + decisionKey + "' is not loaded");
+        }
+        DmnDecisionResult decisionResult = dmnEngine.evaluateDecision(current, inputs.get());
+        result = decisionResult.getSingleEntry();
+        if (result != null && current == decision) {
+            if (results.size() >= maxEntries) {
+                // Cheap bound instead of LRU bookkeeping on the hit path; entries are recomputed on demand
+                results.clear();
+            }
+            results.put(key, result);
+        }
+        return result;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
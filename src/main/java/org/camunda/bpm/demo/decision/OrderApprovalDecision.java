@@ -0,0 +1,129 @@
+package org.camunda.bpm.demo.decision;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.engine.DecisionService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.spring.boot.starter.event.PostDeployEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order auto-approval rule, decided by the deployed {@value #DECISION_KEY} DMN decision.
+ * <p>
+ * The latest decision version is loaded and precompiled after deployment and then checked in the background every
+ * {@code order-approval.refresh-interval-ms}, so a newly deployed rule version takes effect without restarting the
+ * application. Orders never wait for the repository: they use the last loaded version, with results memoized per
+ * order value by the {@link DecisionCache}. The cache evaluates with a standalone DMN engine, outside the process
+ * engine, so these evaluations write no decision history. Until a version is loaded, orders are decided by the
+ * engine's {@link DecisionService}.
+ */
+@Component
+@Slf4j
+public class OrderApprovalDecision {
+
+    public static final String DECISION_KEY = "order-auto-approval";
+
+    private final RepositoryService repositoryService;
+    private final DecisionService decisionService;
+    private final DecisionCache cache;
+    private final long refreshIntervalMillis;
+
+    private ScheduledExecutorService scheduler;
+
+    public OrderApprovalDecision(ProcessEngine processEngine,
+                                 @Value("${order-approval.cache-size}") int cacheSize,
+                                 @Value("${order-approval.refresh-interval-ms}") long refreshIntervalMillis) {
+        this.repositoryService = processEngine.getRepositoryService();
+        this.decisionService = processEngine.getDecisionService();
+        this.cache = new DecisionCache(DmnEngineConfiguration.createDefaultDmnEngineConfiguration().buildEngine(),
+                DECISION_KEY, cacheSize);
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    @EventListener
+    public void onPostDeploy(PostDeployEvent event) {
+        start();
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-approval-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Whether an order with this value is approved without manual review
+     */
+    public boolean isAutoApproved(long orderValue) {
+        Object orderOk;
+        if (cache.isLoaded()) {
+            orderOk = cache.evaluate(orderValue, () -> Variables.createVariables().putValue("orderValue", orderValue));
+        } else {
+            orderOk = decisionService.evaluateDecisionByKey(DECISION_KEY)
+                    .variables(Variables.createVariables().putValue("orderValue", orderValue))
+                    .evaluate()
+                    .getSingleEntry();
+        }
+        return Boolean.TRUE.equals(orderOk);
+    }
+
+    public DecisionCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Loads the latest deployed version if it is not the loaded one; returns whether a version is loaded
+     */
+    synchronized boolean refresh() {
+        DecisionDefinition definition = repositoryService.createDecisionDefinitionQuery()
+                .decisionDefinitionKey(DECISION_KEY)
+                .latestVersion()
+                .singleResult();
+        if (definition == null) {
+            log.warn("Decision '{}' is not deployed, keeping version {}", DECISION_KEY, cache.getVersion());
+        } else if (!definition.getId().equals(cache.getVersion())) {
+            try (InputStream model = repositoryService.getDecisionModel(definition.getId())) {
+                cache.load(definition.getId(), model,
+                        Variables.createVariables().putValue("orderValue", 0L),
+                        Variables.createVariables().putValue("orderValue", Long.MAX_VALUE));
+            } catch (IOException e) {
+                log.warn("Could not close decision model stream", e);
+            }
+        }
+        return cache.isLoaded();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.error("Refreshing decision '{}' failed, keeping version {}", DECISION_KEY, cache.getVersion(), e);
+        }
+    }
+}
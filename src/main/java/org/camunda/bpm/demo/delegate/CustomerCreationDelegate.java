@@ -0,0 +1,64 @@
+package org.camunda.bpm.demo.delegate;
+
+import org.camunda.bpm.demo.claimcheck.ClaimCheckService;
+import org.camunda.bpm.demo.codec.CustomerCodec;
+import org.camunda.bpm.demo.codec.CustomerCodecRegistry;
+import org.camunda.bpm.demo.dto.CustomerDto;
+import org.camunda.bpm.demo.engine.VariablePolicyRegistry;
+import org.camunda.bpm.demo.variables.VariableAccessor;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delegate for creating customer data in the format selected by the {@code dataFormat} variable.
+ * The serialization itself is done by the {@link CustomerCodec} registered for that format,
+ * large results are stored through the {@link ClaimCheckService} and only referenced from {@code customerData}.
+ */
+@Component("customerCreationDelegate")
+public class CustomerCreationDelegate implements JavaDelegate {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerCreationDelegate.class);
+
+    private final CustomerCodecRegistry codecRegistry;
+    private final ClaimCheckService claimCheckService;
+    private final VariablePolicyRegistry variablePolicy;
+
+    public CustomerCreationDelegate(CustomerCodecRegistry codecRegistry, ClaimCheckService claimCheckService,
+                                    VariablePolicyRegistry variablePolicy) {
+        this.codecRegistry = codecRegistry;
+        this.claimCheckService = claimCheckService;
+        this.variablePolicy = variablePolicy;
+    }
+
+    @Override
+    public void execute(DelegateExecution execution) throws Exception {
+        VariableAccessor variables = VariableAccessor.of(execution);
+        String dataFormat = variables.getString("dataFormat");
+        logger.info("Processing {} customer creation for process instance: {}", dataFormat, execution.getProcessInstanceId());
+
+        try {
+            CustomerCodec codec = codecRegistry.getCodec(dataFormat);
+
+            // Get customer data from process variables
+            CustomerDto customer = variables.bind(CustomerDto.class);
+
+            String customerData = codec.encodeToString(customer);
+
+            // Set variables in process, transient or history-excluded as declared on the BPMN activity
+            variables.set("customerData", claimCheckService.checkIn(customerData))
+                    .set("dataFormat", codec.getFormat())
+                    .set("createdAt", java.time.LocalDateTime.now().toString());
+            variablePolicy.setOutputs(execution, variables.drainWrites());
+
+            logger.info("Successfully created customer {} for: {} {}", codec.getFormat(), customer.getFirstname(), customer.getLastname());
+            logger.debug("Customer {}: {}", codec.getFormat(), customerData);
+
+        } catch (Exception e) {
+            logger.error("Error processing {} customer creation: {}", dataFormat, e.getMessage(), e);
+            throw e;
+        }
+    }
+}
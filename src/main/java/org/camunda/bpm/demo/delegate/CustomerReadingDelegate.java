@@ -1,5 +1,10 @@
 package org.camunda.bpm.demo.delegate;
 
+import org.camunda.bpm.demo.claimcheck.ClaimCheckService;
+import org.camunda.bpm.demo.claimcheck.LazyPayload;
+import org.camunda.bpm.demo.dto.CustomerDto;
+import org.camunda.bpm.demo.engine.VariablePolicyRegistry;
+import org.camunda.bpm.demo.variables.VariableAccessor;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
@@ -14,40 +19,44 @@ public class CustomerReadingDelegate implements JavaDelegate {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomerReadingDelegate.class);
 
+    private final ClaimCheckService claimCheckService;
+    private final VariablePolicyRegistry variablePolicy;
+
+    public CustomerReadingDelegate(ClaimCheckService claimCheckService, VariablePolicyRegistry variablePolicy) {
+        this.claimCheckService = claimCheckService;
+        this.variablePolicy = variablePolicy;
+    }
+
     @Override
     public void execute(DelegateExecution execution) throws Exception {
         logger.info("Reading customer data for process instance: {}", execution.getProcessInstanceId());
 
         try {
-            // Get customer data from process variables
-            String customerData = (String) execution.getVariable("customerData");
-            String dataFormat = (String) execution.getVariable("dataFormat");
-            String createdAt = (String) execution.getVariable("createdAt");
-            
+            // Fetch all variables at once, a claim-check reference is only loaded when logged
+            VariableAccessor variables = VariableAccessor.of(execution);
+            LazyPayload customerData = claimCheckService.resolve(variables.getString("customerData"));
+            String createdAt = variables.getString("createdAt");
+
             // Get original form data
-            String firstname = (String) execution.getVariable("firstname");
-            String lastname = (String) execution.getVariable("lastname");
-            String gender = (String) execution.getVariable("gender");
-            Long age = (Long) execution.getVariable("age");
-            Boolean isValid = (Boolean) execution.getVariable("isValid");
-            String validationDate = (String) execution.getVariable("validationDate");
+            CustomerDto customer = variables.bind(CustomerDto.class);
 
             // Log customer information
             logger.info("=== Customer Data Processing Complete ===");
-            logger.info("Customer Name: {} {}", firstname, lastname);
+            logger.info("Customer Name: {} {}", customer.getFirstname(), customer.getLastname());
             logger.info("Customer Details: Gender={}, Age={}, Valid={}, ValidationDate={}", 
-                       gender, age, isValid, validationDate);
-            logger.info("Data Format: {}", dataFormat);
+                       customer.getGender(), customer.getAge(), customer.getIsValid(), customer.getValidationDate());
+            logger.info("Data Format: {}", customer.getDataFormat());
             logger.info("Created At: {}", createdAt);
-            logger.info("Converted Data: {}", customerData);
+            logger.debug("Converted Data: {}", customerData);
             logger.info("Process Business Key: {}", execution.getBusinessKey());
             logger.info("=== End Customer Data ===");
 
             // Set completion flag
-            execution.setVariable("customerProcessed", true);
-            execution.setVariable("completedAt", java.time.LocalDateTime.now().toString());
+            variables.set("customerProcessed", true)
+                    .set("completedAt", java.time.LocalDateTime.now().toString());
+            variablePolicy.setOutputs(execution, variables.drainWrites());
 
-            logger.info("Customer data reading completed for: {} {}", firstname, lastname);
+            logger.info("Customer data reading completed for: {} {}", customer.getFirstname(), customer.getLastname());
 
         } catch (Exception e) {
             logger.error("Error reading customer data: {}", e.getMessage(), e);
@@ -4,6 +4,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.camunda.bpm.demo.dto.CamundaMessageDto;
+import org.camunda.bpm.demo.tracing.Span;
+import org.camunda.bpm.demo.tracing.TraceContext;
+import org.camunda.bpm.demo.tracing.Tracer;
+import org.camunda.bpm.demo.tracing.Tracing;
 import org.camunda.bpm.demo.util.VariablesUtil;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
@@ -18,11 +22,30 @@ import java.util.Map;
 public class MessageDelegate implements JavaDelegate {
 
     private final KafkaTemplate<String, CamundaMessageDto> kafkaTemplate;
+    private final Tracer tracer;
 
     @Override
     public void execute(DelegateExecution delegateExecution) throws Exception {
         log.info("Executing task {}", delegateExecution.getCurrentActivityId());
         CamundaMessageDto camundaMessageDto = VariablesUtil.buildCamundaMessageDto(delegateExecution.getProcessBusinessKey(), delegateExecution.getVariables());
-        kafkaTemplate.send("service-task-message-topic", camundaMessageDto);
+        // Continues the trace stored by the correlation that reached the instance; the send carries it as header
+        Span span = tracer.start("publish " + delegateExecution.getCurrentActivityId(), Span.Kind.PRODUCER,
+                TraceContext.parse((String) delegateExecution.getVariable(Tracing.VARIABLE)));
+        try (Tracing.Scope scope = Tracing.activate(span)) {
+            // The span lasts until the broker acknowledges the record, not just until the producer buffered it
+            kafkaTemplate.send("service-task-message-topic", camundaMessageDto).addCallback(
+                    result -> tracer.end(span),
+                    failure -> end(span, failure));
+        } catch (RuntimeException e) {
+            end(span, e);
+            throw e;
+        }
+    }
+
+    private void end(Span span, Throwable failure) {
+        if (span != null) {
+            span.setError(failure);
+        }
+        tracer.end(span);
     }
 }
@@ -0,0 +1,27 @@
+package org.camunda.bpm.demo.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * External task pushed to Kafka workers, locked by the bridge until {@link #lockExpirationTime}
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExternalTaskMessageDto implements Serializable {
+
+    private String taskId;
+    private String topicName;
+    private String processInstanceId;
+    private String processDefinitionKey;
+    private String activityId;
+    private String businessKey;
+    private Integer retries;
+    private Date lockExpirationTime;
+    private Map<String, Object> variables;
+}
@@ -0,0 +1,30 @@
+package org.camunda.bpm.demo.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Result of an {@link ExternalTaskMessageDto} reported by a Kafka worker
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExternalTaskResponseDto implements Serializable {
+
+    public enum Outcome {
+        COMPLETE, FAILURE, BPMN_ERROR, EXTEND_LOCK
+    }
+
+    private String taskId;
+    private Outcome outcome;
+    private Map<String, Object> variables;
+    private String errorCode;     // BPMN_ERROR
+    private String errorMessage;  // FAILURE, BPMN_ERROR
+    private String errorDetails;  // FAILURE
+    private Integer retries;      // FAILURE: remaining retries, defaults to one less than before
+    private Long retryTimeout;    // FAILURE
+    private Long lockDuration;    // EXTEND_LOCK
+}
@@ -0,0 +1,26 @@
+package org.camunda.bpm.demo.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Engine history event streamed to history-event-topic; {@link #payload} holds the properties of the history entity
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class HistoryEventMessageDto implements Serializable {
+
+    private String id;
+    private String kind;
+    private String eventType;
+    private String processDefinitionKey;
+    private String processDefinitionId;
+    private String processInstanceId;
+    private String rootProcessInstanceId;
+    private Long sequenceCounter;
+    private Map<String, Object> payload;
+}
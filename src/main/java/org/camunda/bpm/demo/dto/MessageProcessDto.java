@@ -14,4 +14,5 @@ public class MessageProcessDto implements Serializable {
     private Double amount;
     private Boolean preApproved;
     private Boolean processed;
+    private String dataFormat; // data-format process: skips the format selection task when set
 }
@@ -0,0 +1,28 @@
+package org.camunda.bpm.demo.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Command for the active user task of the process instance with {@link #businessKey}; {@link #taskDefinitionKey}
+ * selects the task when the instance has more than one
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCommandDto implements Serializable {
+
+    public enum Action {
+        COMPLETE, CLAIM, SET_VARIABLES
+    }
+
+    private String commandId;
+    private String businessKey;
+    private String taskDefinitionKey;
+    private Action action;
+    private String userId;                  // CLAIM
+    private Map<String, Object> variables;  // COMPLETE, SET_VARIABLES
+}
@@ -0,0 +1,23 @@
+package org.camunda.bpm.demo.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCommandResultDto implements Serializable {
+
+    public enum Status {
+        APPLIED, NOT_FOUND, AMBIGUOUS, REJECTED, FAILED
+    }
+
+    private String commandId;
+    private String businessKey;
+    private String taskId;
+    private TaskCommandDto.Action action;
+    private Status status;
+    private String message;
+}
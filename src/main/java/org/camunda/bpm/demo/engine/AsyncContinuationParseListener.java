@@ -0,0 +1,43 @@
+package org.camunda.bpm.demo.engine;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+
+import java.util.Map;
+
+/**
+ * Adds the async continuations from {@link AsyncContinuationProperties} once a process has been parsed completely,
+ * so activities inside sub processes and event sub processes can be addressed by their id as well
+ */
+@Slf4j
+public class AsyncContinuationParseListener extends AbstractBpmnParseListener {
+
+    private final AsyncContinuationProperties properties;
+
+    public AsyncContinuationParseListener(AsyncContinuationProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void parseProcess(Element processElement, ProcessDefinitionEntity processDefinition) {
+        Map<String, AsyncContinuationProperties.Boundary> boundaries = properties.getBoundaries(processDefinition.getKey());
+        boundaries.forEach((activityId, boundary) -> {
+            ActivityImpl activity = processDefinition.findActivity(activityId);
+            if (activity == null) {
+                log.warn("Async continuation configured for unknown activity {} of process {}", activityId, processDefinition.getKey());
+                return;
+            }
+            if (boundary.isBefore() && !activity.isAsyncBefore()) {
+                activity.setAsyncBefore(true, boundary.isExclusive());
+            }
+            if (boundary.isAfter() && !activity.isAsyncAfter()) {
+                activity.setAsyncAfter(true, boundary.isExclusive());
+            }
+            log.debug("Async continuation of {}.{}: before={}, after={}, exclusive={}", processDefinition.getKey(), activityId,
+                    activity.isAsyncBefore(), activity.isAsyncAfter(), boundary.isExclusive());
+        });
+    }
+}
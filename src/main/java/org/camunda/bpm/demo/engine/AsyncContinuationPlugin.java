@@ -0,0 +1,21 @@
+package org.camunda.bpm.demo.engine;
+
+import lombok.RequiredArgsConstructor;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers the {@link AsyncContinuationParseListener}
+ */
+@Component
+@RequiredArgsConstructor
+public class AsyncContinuationPlugin extends AbstractProcessEnginePlugin {
+
+    private final AsyncContinuationProperties properties;
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        ParseListeners.addPostParseListener(configuration, new AsyncContinuationParseListener(properties));
+    }
+}
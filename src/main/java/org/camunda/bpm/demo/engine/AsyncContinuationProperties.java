@@ -0,0 +1,46 @@
+package org.camunda.bpm.demo.engine;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Async continuations added to deployed models without editing the BPMN, configured under {@code async-continuations}
+ * per process definition key and activity id:
+ * <pre>
+ * async-continuations:
+ *   processes:
+ *     order-process:
+ *       Task_ProcessOrderData:
+ *         before: true
+ *         exclusive: true
+ * </pre>
+ * The configuration is read when a process definition is parsed, i.e. on deployment and when the engine
+ * rebuilds its deployment cache. Boundaries declared in the model itself are left as they are.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "async-continuations")
+public class AsyncContinuationProperties {
+
+    private boolean enabled = true;
+    private Map<String, Map<String, Boundary>> processes = new LinkedHashMap<>();
+
+    public Map<String, Boundary> getBoundaries(String processDefinitionKey) {
+        if (!enabled) {
+            return Collections.emptyMap();
+        }
+        return processes.getOrDefault(processDefinitionKey, Collections.emptyMap());
+    }
+
+    @Data
+    public static class Boundary {
+        private boolean before;
+        private boolean after;
+        private boolean exclusive = true;
+    }
+}
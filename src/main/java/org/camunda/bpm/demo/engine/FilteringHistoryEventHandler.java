@@ -0,0 +1,43 @@
+package org.camunda.bpm.demo.engine;
+
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+
+import java.util.List;
+
+/**
+ * Forwards history events to the delegate handler unless one of the {@link HistoryEventFilter}s rejects them
+ */
+public class FilteringHistoryEventHandler implements HistoryEventHandler {
+
+    private final HistoryEventHandler delegate;
+    private final HistoryEventFilter[] filters;
+
+    public FilteringHistoryEventHandler(HistoryEventHandler delegate, List<HistoryEventFilter> filters) {
+        this.delegate = delegate;
+        this.filters = filters.toArray(new HistoryEventFilter[0]);
+    }
+
+    @Override
+    public void handleEvent(HistoryEvent historyEvent) {
+        if (accept(historyEvent)) {
+            delegate.handleEvent(historyEvent);
+        }
+    }
+
+    @Override
+    public void handleEvents(List<HistoryEvent> historyEvents) {
+        for (HistoryEvent historyEvent : historyEvents) {
+            handleEvent(historyEvent);
+        }
+    }
+
+    private boolean accept(HistoryEvent historyEvent) {
+        for (HistoryEventFilter filter : filters) {
+            if (!filter.accept(historyEvent)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,12 @@
+package org.camunda.bpm.demo.engine;
+
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+
+/**
+ * Decides whether a history event is written. Every filter bean is applied by the {@link FilteringHistoryEventHandler};
+ * an event is only handed to the engine's history handler if all filters accept it.
+ */
+public interface HistoryEventFilter {
+
+    boolean accept(HistoryEvent historyEvent);
+}
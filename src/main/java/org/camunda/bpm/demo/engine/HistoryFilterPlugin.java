@@ -0,0 +1,35 @@
+package org.camunda.bpm.demo.engine;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Puts a {@link FilteringHistoryEventHandler} with all {@link HistoryEventFilter} beans in front of the history event
+ * handler bean, if one is declared, or of the engine's history event handler
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class HistoryFilterPlugin extends AbstractProcessEnginePlugin {
+
+    private final List<HistoryEventFilter> filters;
+    private final ObjectProvider<HistoryEventHandler> historyEventHandlers;
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        HistoryEventHandler historyEventHandler = historyEventHandlers.getIfAvailable(configuration::getHistoryEventHandler);
+        if (historyEventHandler == null) {
+            historyEventHandler = new DbHistoryEventHandler();
+        }
+        configuration.setHistoryEventHandler(new FilteringHistoryEventHandler(historyEventHandler, filters));
+        log.info("History event filters: {}, writing to {}", filters, historyEventHandler.getClass().getSimpleName());
+    }
+}
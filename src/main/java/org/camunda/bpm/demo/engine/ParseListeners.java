@@ -0,0 +1,27 @@
+package org.camunda.bpm.demo.engine;
+
+import lombok.experimental.UtilityClass;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registration of the parse listeners contributed by the engine plugins of this application
+ */
+@UtilityClass
+public class ParseListeners {
+
+    /**
+     * Adds a listener that runs after the engine's own BPMN parse handlers
+     */
+    public void addPostParseListener(ProcessEngineConfigurationImpl configuration, BpmnParseListener parseListener) {
+        List<BpmnParseListener> parseListeners = configuration.getCustomPostBPMNParseListeners();
+        if (parseListeners == null) {
+            parseListeners = new ArrayList<>();
+            configuration.setCustomPostBPMNParseListeners(parseListeners);
+        }
+        parseListeners.add(parseListener);
+    }
+}
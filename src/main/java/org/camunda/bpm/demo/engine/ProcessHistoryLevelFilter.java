@@ -0,0 +1,23 @@
+package org.camunda.bpm.demo.engine;
+
+import lombok.RequiredArgsConstructor;
+import org.camunda.bpm.demo.history.HistoryEventKind;
+import org.camunda.bpm.demo.history.HistoryRetentionProperties;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the history level of {@code history-retention.processes} to the events of each process definition.
+ * Variable events kept at level {@code variables} carry their detail rows, as the engine writes both from one event.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProcessHistoryLevelFilter implements HistoryEventFilter {
+
+    private final HistoryRetentionProperties properties;
+
+    @Override
+    public boolean accept(HistoryEvent historyEvent) {
+        return properties.getLevel(HistoryEventKind.processDefinitionKeyOf(historyEvent)).keeps(HistoryEventKind.of(historyEvent));
+    }
+}
@@ -0,0 +1,34 @@
+package org.camunda.bpm.demo.engine;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks engine work on the current thread as straight-through processing (STP): an instance that runs from
+ * message correlation to its end in one transaction. {@link StraightThroughHistoryFilter} reduces the history
+ * written for such work. Work continued asynchronously by the job executor is not marked.
+ */
+public final class StraightThrough {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private StraightThrough() {
+    }
+
+    public static <T> T run(Supplier<T> work) {
+        Boolean previous = ACTIVE.get();
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                ACTIVE.remove();
+            } else {
+                ACTIVE.set(previous);
+            }
+        }
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+}
@@ -0,0 +1,50 @@
+package org.camunda.bpm.demo.engine;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Optionally cuts history writes for {@link StraightThrough} work, depending on {@code straight-through.history}:
+ * <ul>
+ *   <li>{@code full}: everything is written</li>
+ *   <li>{@code instance}: only the historic process instance, so STP instances can still be found and counted</li>
+ *   <li>{@code none}: nothing is written</li>
+ * </ul>
+ * Only work marked by the data-format Kafka listener is affected; the same instance started any other way keeps the
+ * history of its process. The per-process level of {@code history-retention.processes} is the general mechanism; an
+ * event is written only if both accept it, so this filter can only reduce further what that level lets through.
+ */
+@Component
+@Slf4j
+public class StraightThroughHistoryFilter implements HistoryEventFilter {
+
+    public enum Mode { FULL, INSTANCE, NONE }
+
+    private volatile Mode mode;
+
+    public StraightThroughHistoryFilter(@Value("${straight-through.history:full}") String mode) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        log.info("Straight-through history mode: {}", this.mode);
+    }
+
+    @Override
+    public boolean accept(HistoryEvent historyEvent) {
+        if (mode == Mode.FULL || !StraightThrough.isActive()) {
+            return true;
+        }
+        return mode == Mode.INSTANCE && historyEvent instanceof HistoricProcessInstanceEventEntity;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+}
@@ -0,0 +1,39 @@
+package org.camunda.bpm.demo.engine;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replaces the engine's id generator with the {@link TimeOrderedIdGenerator}. Unordered plugins run after the
+ * starter's own configuration, so this overrides {@code camunda.bpm.id-generator}.
+ * <p>
+ * Nodes sharing a database must have distinct node ids, or they generate the same ids. There is no default node id:
+ * the engine fails to start when the generator is enabled without one.
+ */
+@Component
+@Slf4j
+public class TimeOrderedIdGeneratorPlugin extends AbstractProcessEnginePlugin {
+
+    private final boolean enabled;
+    private final Integer nodeId;
+
+    public TimeOrderedIdGeneratorPlugin(@Value("${time-ordered-ids.enabled:false}") boolean enabled,
+                                        @Value("${time-ordered-ids.node-id:#{null}}") Integer nodeId) {
+        this.enabled = enabled;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        if (enabled) {
+            if (nodeId == null) {
+                throw new IllegalStateException("time-ordered-ids.enabled requires a time-ordered-ids.node-id unique per node");
+            }
+            configuration.setIdGenerator(new TimeOrderedIdGenerator(nodeId));
+            log.info("Using time-ordered ids for node {}", nodeId);
+        }
+    }
+}
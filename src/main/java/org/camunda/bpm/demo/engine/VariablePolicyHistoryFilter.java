@@ -0,0 +1,25 @@
+package org.camunda.bpm.demo.engine;
+
+import lombok.RequiredArgsConstructor;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops variable history events for variables declared history-excluded in the {@link VariablePolicyRegistry}
+ */
+@Component
+@RequiredArgsConstructor
+public class VariablePolicyHistoryFilter implements HistoryEventFilter {
+
+    private final VariablePolicyRegistry registry;
+
+    @Override
+    public boolean accept(HistoryEvent historyEvent) {
+        if (historyEvent instanceof HistoricVariableUpdateEventEntity) {
+            HistoricVariableUpdateEventEntity variableEvent = (HistoricVariableUpdateEventEntity) historyEvent;
+            return !registry.isHistoryExcluded(variableEvent.getProcessDefinitionKey(), variableEvent.getVariableName());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,57 @@
+package org.camunda.bpm.demo.engine;
+
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the {@link VariablePolicyRegistry} extension properties from service tasks, e.g.
+ * <pre>
+ * &lt;camunda:properties&gt;
+ *   &lt;camunda:property name="transientVariables" value="createdAt" /&gt;
+ *   &lt;camunda:property name="historyExcludedVariables" value="customerData" /&gt;
+ * &lt;/camunda:properties&gt;
+ * </pre>
+ */
+public class VariablePolicyParseListener extends AbstractBpmnParseListener {
+
+    private final VariablePolicyRegistry registry;
+
+    public VariablePolicyParseListener(VariablePolicyRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void parseServiceTask(Element serviceTaskElement, ScopeImpl scope, ActivityImpl activity) {
+        Set<String> transientVariables = readProperty(serviceTaskElement, VariablePolicyRegistry.TRANSIENT_VARIABLES);
+        if (!transientVariables.isEmpty()) {
+            activity.setProperty(VariablePolicyRegistry.TRANSIENT_VARIABLES, transientVariables);
+        }
+        Set<String> historyExcluded = readProperty(serviceTaskElement, VariablePolicyRegistry.HISTORY_EXCLUDED_VARIABLES);
+        if (!historyExcluded.isEmpty()) {
+            registry.registerHistoryExcluded(activity.getProcessDefinition().getKey(), historyExcluded);
+        }
+    }
+
+    static Set<String> readProperty(Element element, String propertyName) {
+        Element extensionElements = element.element("extensionElements");
+        Element properties = extensionElements != null ? extensionElements.elementNS(BpmnParse.CAMUNDA_BPMN_EXTENSIONS_NS, "properties") : null;
+        if (properties == null) {
+            return Collections.emptySet();
+        }
+        return properties.elementsNS(BpmnParse.CAMUNDA_BPMN_EXTENSIONS_NS, "property").stream()
+                .filter(property -> propertyName.equals(property.attribute("name")))
+                .flatMap(property -> Arrays.stream(property.attribute("value", "").split(",")))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
@@ -0,0 +1,21 @@
+package org.camunda.bpm.demo.engine;
+
+import lombok.RequiredArgsConstructor;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers the {@link VariablePolicyParseListener}; history exclusion is applied by the {@link VariablePolicyHistoryFilter}
+ */
+@Component
+@RequiredArgsConstructor
+public class VariablePolicyPlugin extends AbstractProcessEnginePlugin {
+
+    private final VariablePolicyRegistry registry;
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        ParseListeners.addPostParseListener(configuration, new VariablePolicyParseListener(registry));
+    }
+}
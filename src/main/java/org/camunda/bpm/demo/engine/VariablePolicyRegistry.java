@@ -0,0 +1,96 @@
+package org.camunda.bpm.demo.engine;
+
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.impl.pvm.PvmActivity;
+import org.camunda.bpm.engine.impl.pvm.delegate.ActivityExecution;
+import org.camunda.bpm.engine.variable.Variables;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Variable persistence policies declared in the BPMN models with extension properties on the activity that writes them:
+ * <ul>
+ *   <li>{@value #TRANSIENT_VARIABLES}: outputs only consumed within the current transaction, never written to the database</li>
+ *   <li>{@value #HISTORY_EXCLUDED_VARIABLES}: runtime variables that are not copied into the history tables</li>
+ * </ul>
+ * Both take a comma separated list of variable names. The policies are collected by {@link VariablePolicyParseListener}.
+ * <p>
+ * Transient outputs are a property of the parsed activity, so they apply to exactly the version that declares them.
+ * History exclusions are keyed by process definition key, because definition ids are only assigned after parsing.
+ * They accumulate over all versions parsed since startup: a name excluded by one version stays excluded for every
+ * version of that key until the engine restarts.
+ */
+@Component
+public class VariablePolicyRegistry {
+
+    public static final String TRANSIENT_VARIABLES = "transientVariables";
+    public static final String HISTORY_EXCLUDED_VARIABLES = "historyExcludedVariables";
+
+    private final Map<String, Set<String>> historyExcludedByProcessKey = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled = true;
+
+    void registerHistoryExcluded(String processDefinitionKey, Set<String> variableNames) {
+        historyExcludedByProcessKey.computeIfAbsent(processDefinitionKey, key -> ConcurrentHashMap.newKeySet())
+                .addAll(variableNames);
+    }
+
+    public boolean isHistoryExcluded(String processDefinitionKey, String variableName) {
+        if (!enabled || processDefinitionKey == null) {
+            return false;
+        }
+        Set<String> excluded = historyExcludedByProcessKey.get(processDefinitionKey);
+        return excluded != null && excluded.contains(variableName);
+    }
+
+    public Set<String> getHistoryExcluded(String processDefinitionKey) {
+        return Collections.unmodifiableSet(historyExcludedByProcessKey.getOrDefault(processDefinitionKey, Collections.emptySet()));
+    }
+
+    /**
+     * Sets an output variable of the current activity, as transient value if the activity declares it transient
+     */
+    public void setOutput(DelegateExecution execution, String variableName, Object value) {
+        if (isTransient(execution, variableName)) {
+            execution.setVariable(variableName, Variables.untypedValue(value, true));
+        } else {
+            execution.setVariable(variableName, value);
+        }
+    }
+
+    /**
+     * Sets several output variables of the current activity with a single {@code setVariables} call
+     */
+    public void setOutputs(DelegateExecution execution, Map<String, Object> outputs) {
+        Map<String, Object> values = new LinkedHashMap<>(outputs.size());
+        outputs.forEach((name, value) ->
+                values.put(name, isTransient(execution, name) ? Variables.untypedValue(value, true) : value));
+        execution.setVariables(values);
+    }
+
+    @SuppressWarnings("unchecked")
+    boolean isTransient(DelegateExecution execution, String variableName) {
+        if (!enabled || !(execution instanceof ActivityExecution)) {
+            return false;
+        }
+        PvmActivity activity = ((ActivityExecution) execution).getActivity();
+        Set<String> transientVariables = activity != null ? (Set<String>) activity.getProperty(TRANSIENT_VARIABLES) : null;
+        return transientVariables != null && transientVariables.contains(variableName);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches all policies off at runtime, e.g. to compare database footprints
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
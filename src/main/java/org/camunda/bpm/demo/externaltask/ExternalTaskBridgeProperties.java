@@ -0,0 +1,32 @@
+package org.camunda.bpm.demo.externaltask;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the {@link KafkaExternalTaskBridge}, configured under {@code external-task-bridge}
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "external-task-bridge")
+public class ExternalTaskBridgeProperties {
+
+    private boolean enabled = false;
+    private List<String> topics = new ArrayList<>();
+    private String workerId = "kafka-bridge";
+    private int maxTasks = 500;
+    private boolean usePriority = true;
+
+    /** Time Kafka workers have to respond before the task is fetched and published again */
+    private long lockDurationMs = 300_000;
+    private long longPollTimeoutMs = 20_000;
+    private int retries = 3;
+
+    public boolean isBridged(String topic) {
+        return enabled && topics.contains(topic);
+    }
+}
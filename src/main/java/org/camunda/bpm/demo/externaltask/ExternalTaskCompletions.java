@@ -0,0 +1,85 @@
+package org.camunda.bpm.demo.externaltask;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.CompleteExternalTaskCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Completes many locked external tasks in one engine transaction
+ */
+@Component
+@Slf4j
+public class ExternalTaskCompletions {
+
+    private final ExternalTaskService externalTaskService;
+    private final CommandExecutor commandExecutor;
+    private final ExternalTaskMetrics metrics;
+
+    public ExternalTaskCompletions(ProcessEngine processEngine, ExternalTaskMetrics metrics) {
+        this.externalTaskService = processEngine.getExternalTaskService();
+        this.commandExecutor = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getCommandExecutorTxRequired();
+        this.metrics = metrics;
+    }
+
+    /**
+     * Completes the tasks locked by the worker; returns the number of tasks completed
+     */
+    public int completeAll(String workerId, List<Completion> completions) {
+        if (completions.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        try {
+            commandExecutor.execute(commandContext -> {
+                for (Completion completion : completions) {
+                    new CompleteExternalTaskCmd(completion.getTaskId(), workerId, completion.getVariables(), null)
+                            .execute(commandContext);
+                }
+                return null;
+            });
+            metrics.completed(System.nanoTime() - start, completions.size());
+            return completions.size();
+        } catch (RuntimeException e) {
+            // one lost lock or deleted instance rolls back the whole batch, so retry the tasks one by one
+            log.warn("Bulk completion of {} external tasks failed, completing them individually: {}", completions.size(), e.getMessage());
+            int completed = 0;
+            for (Completion completion : completions) {
+                long single = System.nanoTime();
+                try {
+                    externalTaskService.complete(completion.getTaskId(), workerId, completion.getVariables());
+                    metrics.completed(System.nanoTime() - single, 1);
+                    completed++;
+                } catch (RuntimeException singleFailure) {
+                    metrics.completionFailed();
+                    log.warn("Completing external task {} failed: {}", completion.getTaskId(), singleFailure.getMessage());
+                }
+            }
+            return completed;
+        }
+    }
+
+    public static class Completion {
+        private final String taskId;
+        private final Map<String, Object> variables;
+
+        public Completion(String taskId, Map<String, Object> variables) {
+            this.taskId = taskId;
+            this.variables = variables;
+        }
+
+        public String getTaskId() {
+            return taskId;
+        }
+
+        public Map<String, Object> getVariables() {
+            return variables;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.camunda.bpm.demo.externaltask;
+
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Business logic for the external tasks of one topic, executed by the {@link ExternalTaskWorker}
+ */
+public interface ExternalTaskHandler {
+
+    String getTopic();
+
+    /**
+     * Variables fetched with the task, {@code null} for all variables
+     */
+    default List<String> getVariableNames() {
+        return null;
+    }
+
+    /**
+     * Handles the locked task and returns the variables to complete it with.
+     * An exception reports a failure and decrements the task's retries.
+     */
+    Map<String, Object> handle(LockedExternalTask task) throws Exception;
+}
@@ -0,0 +1,48 @@
+package org.camunda.bpm.demo.externaltask;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Looks up the {@link ExternalTaskHandler} bean registered for a topic
+ */
+@Component
+@Slf4j
+public class ExternalTaskHandlerRegistry {
+
+    private final Map<String, ExternalTaskHandler> handlers = new TreeMap<>();
+
+    public ExternalTaskHandlerRegistry(List<ExternalTaskHandler> handlers) {
+        for (ExternalTaskHandler handler : handlers) {
+            ExternalTaskHandler previous = this.handlers.put(handler.getTopic(), handler);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate external task handler for topic '" + handler.getTopic() + "': "
+                        + previous.getClass().getName() + " and " + handler.getClass().getName());
+            }
+        }
+        log.info("Registered external task handlers: {}", this.handlers.keySet());
+    }
+
+    public ExternalTaskHandler getHandler(String topic) {
+        ExternalTaskHandler handler = handlers.get(topic);
+        if (handler == null) {
+            throw new IllegalArgumentException("No external task handler registered for topic '" + topic
+                    + "', available topics: " + handlers.keySet());
+        }
+        return handler;
+    }
+
+    public Collection<ExternalTaskHandler> getHandlers() {
+        return Collections.unmodifiableCollection(handlers.values());
+    }
+
+    public boolean isEmpty() {
+        return handlers.isEmpty();
+    }
+}
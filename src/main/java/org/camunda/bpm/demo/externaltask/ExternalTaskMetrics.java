@@ -0,0 +1,113 @@
+package org.camunda.bpm.demo.externaltask;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.camunda.bpm.demo.dto.ExternalTaskResponseDto;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetch, handler and completion meters of the {@link ExternalTaskWorker} and the {@link KafkaExternalTaskBridge}
+ */
+@Component
+public class ExternalTaskMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer fetchLatency;
+    private final Counter fetched;
+    private final Timer completionLatency;
+    private final Counter completed;
+    private final Counter completionFailures;
+    private final Counter lockExtensions;
+    private final Map<String, Timer> handlerDurations = new ConcurrentHashMap<>();
+    private final Map<String, Counter> handlerFailures = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer bridgeFetchLatency;
+    private final Counter published;
+    private final Counter publishFailures;
+    private final Map<ExternalTaskResponseDto.Outcome, Counter> responses = new ConcurrentHashMap<>();
+
+    public ExternalTaskMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.fetchLatency = Timer.builder("camunda.external.task.fetch.latency").register(registry);
+        this.fetched = Counter.builder("camunda.external.task.fetched").register(registry);
+        this.completionLatency = Timer.builder("camunda.external.task.completion.latency")
+                .description("Duration of one bulk completion transaction")
+                .register(registry);
+        this.completed = Counter.builder("camunda.external.task.completed").register(registry);
+        this.completionFailures = Counter.builder("camunda.external.task.completion.failures").register(registry);
+        this.lockExtensions = Counter.builder("camunda.external.task.lock.extensions").register(registry);
+        Gauge.builder("camunda.external.task.in.flight", inFlight, AtomicInteger::get)
+                .description("Fetched tasks not handled yet")
+                .register(registry);
+        this.bridgeFetchLatency = Timer.builder("camunda.external.task.bridge.fetch.latency").register(registry);
+        this.published = Counter.builder("camunda.external.task.bridge.published").register(registry);
+        this.publishFailures = Counter.builder("camunda.external.task.bridge.publish.failures").register(registry);
+    }
+
+    void fetched(long nanos, int tasks) {
+        fetchLatency.record(nanos, TimeUnit.NANOSECONDS);
+        fetched.increment(tasks);
+        inFlight.addAndGet(tasks);
+    }
+
+    void handled(String topic, long nanos) {
+        handlerDurations.computeIfAbsent(topic, key -> Timer.builder("camunda.external.task.handler.duration")
+                .tag("topic", key)
+                .register(registry)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * A fetched task left the worker, handled or handed back after the pool rejected it
+     */
+    void finished() {
+        inFlight.decrementAndGet();
+    }
+
+    void handlerFailed(String topic) {
+        handlerFailures.computeIfAbsent(topic, key -> Counter.builder("camunda.external.task.handler.failures")
+                .tag("topic", key)
+                .register(registry)).increment();
+    }
+
+    void completed(long nanos, int tasks) {
+        completionLatency.record(nanos, TimeUnit.NANOSECONDS);
+        completed.increment(tasks);
+    }
+
+    void completionFailed() {
+        completionFailures.increment();
+    }
+
+    void lockExtended() {
+        lockExtensions.increment();
+    }
+
+    void bridgeFetched(long nanos) {
+        bridgeFetchLatency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void published() {
+        published.increment();
+    }
+
+    void publishFailed() {
+        publishFailures.increment();
+    }
+
+    void response(ExternalTaskResponseDto.Outcome outcome) {
+        responses.computeIfAbsent(outcome, key -> Counter.builder("camunda.external.task.bridge.responses")
+                .tag("outcome", key.name().toLowerCase())
+                .register(registry)).increment();
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
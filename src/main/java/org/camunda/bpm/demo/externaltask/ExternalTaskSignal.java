@@ -0,0 +1,60 @@
+package org.camunda.bpm.demo.externaltask;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Wakes up the external task pollers ({@link ExternalTaskWorker}, {@link KafkaExternalTaskBridge}) while they
+ * long-poll because new external tasks were committed. Every poller waits on its own {@link Subscription},
+ * so a signal is never consumed by another poller.
+ */
+@Component
+public class ExternalTaskSignal {
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    public void signal() {
+        subscriptions.forEach(Subscription::signal);
+    }
+
+    public Subscription subscribe() {
+        Subscription subscription = new Subscription();
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public static class Subscription {
+
+        private final Object monitor = new Object();
+        private boolean signalled;
+
+        /**
+         * Wakes up this poller only, e.g. because enough results are waiting for bulk completion
+         */
+        public void signal() {
+            synchronized (monitor) {
+                signalled = true;
+                monitor.notifyAll();
+            }
+        }
+
+        /**
+         * Waits until signalled or the timeout elapsed, returns whether a signal was received
+         */
+        boolean await(long timeoutMillis) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            synchronized (monitor) {
+                long remaining = timeoutMillis;
+                while (!signalled && remaining > 0) {
+                    monitor.wait(remaining);
+                    remaining = deadline - System.currentTimeMillis();
+                }
+                boolean received = signalled;
+                signalled = false;
+                return received;
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.camunda.bpm.demo.externaltask;
+
+import lombok.RequiredArgsConstructor;
+import org.camunda.bpm.demo.engine.ParseListeners;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.impl.bpmn.behavior.ExternalTaskActivityBehavior;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.springframework.stereotype.Component;
+
+/**
+ * Signals the {@link ExternalTaskSignal} when a transaction that entered an external service task commits,
+ * so the worker fetches new tasks right away instead of waiting for its long-poll timeout
+ */
+@Component
+@RequiredArgsConstructor
+public class ExternalTaskSignalPlugin extends AbstractProcessEnginePlugin {
+
+    private final ExternalTaskSignal signal;
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        ExecutionListener signalOnCommit = execution -> Context.getCommandContext().getTransactionContext()
+                .addTransactionListener(TransactionState.COMMITTED, commandContext -> signal.signal());
+        ParseListeners.addPostParseListener(configuration, new AbstractBpmnParseListener() {
+            @Override
+            public void parseServiceTask(Element serviceTaskElement, ScopeImpl scope, ActivityImpl activity) {
+                if (activity.getActivityBehavior() instanceof ExternalTaskActivityBehavior) {
+                    activity.addListener(ExecutionListener.EVENTNAME_START, signalOnCommit);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,282 @@
+package org.camunda.bpm.demo.externaltask;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.demo.externaltask.ExternalTaskCompletions.Completion;
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
+import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.spring.boot.starter.event.PostDeployEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Embedded worker for the topics of all {@link ExternalTaskHandler} beans.
+ * <p>
+ * A single poller thread locks batches of tasks with one fetchAndLock across all topics, never more than the
+ * bounded handler pool can take, and long-polls after an empty fetch until the {@link ExternalTaskSignal} reports
+ * newly committed tasks. Handlers run in parallel on the pool; locks of tasks still running at half their lock
+ * duration are extended. Results are completed in bulk, many tasks per transaction, by the poller thread.
+ * Topics pushed to Kafka by the {@link KafkaExternalTaskBridge} are left to the bridge.
+ */
+@Component
+@Slf4j
+public class ExternalTaskWorker {
+
+    private final ExternalTaskService externalTaskService;
+    private final ExternalTaskHandlerRegistry handlers;
+    private final ExternalTaskCompletions bulkCompletion;
+    private final ExternalTaskWorkerProperties properties;
+    private final ExternalTaskBridgeProperties bridgeProperties;
+    private final ExternalTaskSignal.Subscription signal;
+    private final ExternalTaskMetrics metrics;
+    private final BlockingQueue<Completion> completions = new LinkedBlockingQueue<>();
+
+    private ThreadPoolExecutor handlerPool;
+    private ScheduledExecutorService lockExtender;
+    private Thread poller;
+    private volatile boolean running;
+
+    public ExternalTaskWorker(ProcessEngine processEngine, ExternalTaskHandlerRegistry handlers, ExternalTaskCompletions bulkCompletion,
+                              ExternalTaskWorkerProperties properties, ExternalTaskBridgeProperties bridgeProperties,
+                              ExternalTaskSignal signal, ExternalTaskMetrics metrics) {
+        this.externalTaskService = processEngine.getExternalTaskService();
+        this.handlers = handlers;
+        this.bulkCompletion = bulkCompletion;
+        this.properties = properties;
+        this.bridgeProperties = bridgeProperties;
+        this.signal = signal.subscribe();
+        this.metrics = metrics;
+    }
+
+    @EventListener
+    public void onPostDeploy(PostDeployEvent event) {
+        start();
+    }
+
+    public synchronized void start() {
+        if (running || !properties.isEnabled() || localHandlers().isEmpty()) {
+            return;
+        }
+        handlerPool = new ThreadPoolExecutor(properties.getHandlerThreads(), properties.getHandlerThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())), namedThreads("external-task-handler-"));
+        lockExtender = Executors.newSingleThreadScheduledExecutor(namedThreads("external-task-lock-"));
+        running = true;
+        poller = namedThreads("external-task-poller-").newThread(this::poll);
+        poller.start();
+        log.info("External task worker {} started for topics {}", properties.getWorkerId(), topics());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        signal.signal();
+        try {
+            poller.join(properties.getLockDurationMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        handlerPool.shutdownNow();
+        lockExtender.shutdownNow();
+        log.info("External task worker {} stopped", properties.getWorkerId());
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void poll() {
+        while (running) {
+            try {
+                flushCompletions();
+                int capacity = properties.getHandlerThreads() + properties.getQueueCapacity() - metrics.getInFlight();
+                int fetched = capacity > 0 ? fetchAndDispatch(Math.min(capacity, properties.getMaxTasks())) : 0;
+                if (fetched == 0) {
+                    boolean pendingResults = !completions.isEmpty() || metrics.getInFlight() > 0;
+                    signal.await(pendingResults ? properties.getCompleteIntervalMs() : properties.getLongPollTimeoutMs());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("External task polling failed: {}", e.getMessage(), e);
+                sleep(properties.getCompleteIntervalMs() * 10);
+            }
+        }
+        handlerPool.shutdown();
+        try {
+            handlerPool.awaitTermination(properties.getLockDurationMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushCompletions();
+    }
+
+    private int fetchAndDispatch(int maxTasks) {
+        long start = System.nanoTime();
+        ExternalTaskQueryBuilder query = externalTaskService.fetchAndLock(maxTasks, properties.getWorkerId(), properties.isUsePriority());
+        for (ExternalTaskHandler handler : localHandlers()) {
+            ExternalTaskQueryTopicBuilder topic = query.topic(handler.getTopic(), properties.getLockDurationMs());
+            if (handler.getVariableNames() != null) {
+                topic.variables(handler.getVariableNames());
+            }
+            query = topic;
+        }
+        List<LockedExternalTask> tasks = query.execute();
+        metrics.fetched(System.nanoTime() - start, tasks.size());
+        tasks.forEach(this::dispatch);
+        return tasks.size();
+    }
+
+    /**
+     * Hands the task to the pool and extends its lock while it runs. A task the pool rejects is unlocked right away,
+     * so it can be fetched again, and the rest of the batch is still dispatched.
+     */
+    private void dispatch(LockedExternalTask task) {
+        LockExtension lockExtension = new LockExtension();
+        try {
+            handlerPool.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    Map<String, Object> variables = handlers.getHandler(task.getTopicName()).handle(task);
+                    completions.add(new Completion(task.getId(), variables));
+                } catch (Exception e) {
+                    metrics.handlerFailed(task.getTopicName());
+                    reportFailure(task, e);
+                } finally {
+                    lockExtension.cancel();
+                    metrics.handled(task.getTopicName(), System.nanoTime() - start);
+                    metrics.finished();
+                    if (completions.size() >= properties.getCompleteBatchSize() || metrics.getInFlight() == 0) {
+                        signal.signal();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            metrics.finished();
+            unlock(task);
+            return;
+        }
+        long extensionPeriod = Math.max(1, properties.getLockDurationMs() / 2);
+        lockExtension.start(() -> lockExtender.scheduleAtFixedRate(() -> extendLock(task),
+                extensionPeriod, extensionPeriod, TimeUnit.MILLISECONDS));
+    }
+
+    private void unlock(LockedExternalTask task) {
+        try {
+            externalTaskService.unlock(task.getId());
+        } catch (RuntimeException e) {
+            log.warn("Unlocking the rejected external task {} failed: {}", task.getId(), e.getMessage());
+        }
+    }
+
+    private void flushCompletions() {
+        List<Completion> batch = new ArrayList<>(properties.getCompleteBatchSize());
+        while (completions.drainTo(batch, properties.getCompleteBatchSize()) > 0) {
+            bulkCompletion.completeAll(properties.getWorkerId(), batch);
+            batch.clear();
+        }
+    }
+
+    private void extendLock(LockedExternalTask task) {
+        try {
+            externalTaskService.extendLock(task.getId(), properties.getWorkerId(), properties.getLockDurationMs());
+            metrics.lockExtended();
+        } catch (RuntimeException e) {
+            log.warn("Extending the lock of external task {} failed: {}", task.getId(), e.getMessage());
+        }
+    }
+
+    private void reportFailure(LockedExternalTask task, Exception failure) {
+        int retries = task.getRetries() != null ? task.getRetries() - 1 : properties.getRetries();
+        StringWriter details = new StringWriter();
+        failure.printStackTrace(new PrintWriter(details));
+        try {
+            externalTaskService.handleFailure(task.getId(), properties.getWorkerId(), failure.getMessage(), details.toString(),
+                    Math.max(0, retries), properties.getRetryTimeoutMs());
+        } catch (RuntimeException e) {
+            log.warn("Reporting the failure of external task {} failed: {}", task.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Handlers of topics that are not pushed to Kafka by the {@link KafkaExternalTaskBridge}
+     */
+    private List<ExternalTaskHandler> localHandlers() {
+        List<ExternalTaskHandler> localHandlers = new ArrayList<>();
+        for (ExternalTaskHandler handler : handlers.getHandlers()) {
+            if (!bridgeProperties.isBridged(handler.getTopic())) {
+                localHandlers.add(handler);
+            }
+        }
+        return localHandlers;
+    }
+
+    private List<String> topics() {
+        List<String> topics = new ArrayList<>();
+        localHandlers().forEach(handler -> topics.add(handler.getTopic()));
+        return topics;
+    }
+
+    /**
+     * Lock extension of one dispatched task, started after the pool accepted it; a handler that finished
+     * before the extension was scheduled prevents it from starting
+     */
+    private static final class LockExtension {
+        private ScheduledFuture<?> future;
+        private boolean cancelled;
+
+        synchronized void start(Supplier<ScheduledFuture<?>> schedule) {
+            if (!cancelled) {
+                future = schedule.get();
+            }
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
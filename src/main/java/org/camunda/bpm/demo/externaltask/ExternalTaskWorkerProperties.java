@@ -0,0 +1,36 @@
+package org.camunda.bpm.demo.externaltask;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the embedded {@link ExternalTaskWorker}, configured under {@code external-task-worker}
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "external-task-worker")
+public class ExternalTaskWorkerProperties {
+
+    private boolean enabled = true;
+    private String workerId = "embedded-worker";
+
+    /** Upper bound of tasks locked by one fetch, further limited by the free handler capacity */
+    private int maxTasks = 50;
+    private boolean usePriority = true;
+    private long lockDurationMs = 30_000;
+
+    /** How long the worker waits for new tasks after an empty fetch, unless it is signalled earlier */
+    private long longPollTimeoutMs = 20_000;
+
+    private int handlerThreads = 4;
+    private int queueCapacity = 50;
+
+    /** Results are completed in one transaction once this many are waiting or the interval elapsed */
+    private int completeBatchSize = 100;
+    private long completeIntervalMs = 50;
+
+    /** Retries of a task that fails for the first time, later failures decrement the task's own retries */
+    private int retries = 3;
+    private long retryTimeoutMs = 10_000;
+}
@@ -0,0 +1,194 @@
+package org.camunda.bpm.demo.externaltask;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.demo.dto.ExternalTaskMessageDto;
+import org.camunda.bpm.demo.dto.ExternalTaskResponseDto;
+import org.camunda.bpm.demo.externaltask.ExternalTaskCompletions.Completion;
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.spring.boot.starter.event.PostDeployEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Pushes the external tasks of the {@code external-task-bridge.topics} to Kafka workers instead of letting every
+ * worker poll the engine tables. One poller per node locks new tasks in batches, woken by the {@link ExternalTaskSignal}
+ * when they are committed, and publishes them to {@value #REQUEST_TOPIC} keyed by process instance id.
+ * Workers report results on {@value #RESPONSE_TOPIC}; completions of one consumed batch share a transaction.
+ * <p>
+ * A task whose lock expires without response, e.g. because the message could not be sent, is locked and published again.
+ */
+@Component
+@Slf4j
+public class KafkaExternalTaskBridge {
+
+    public static final String REQUEST_TOPIC = "external-task-request-topic";
+    public static final String RESPONSE_TOPIC = "external-task-response-topic";
+
+    private final ExternalTaskService externalTaskService;
+    private final ExternalTaskCompletions bulkCompletion;
+    private final ExternalTaskBridgeProperties properties;
+    private final ExternalTaskSignal.Subscription signal;
+    private final ExternalTaskMetrics metrics;
+    private final KafkaTemplate<String, ExternalTaskMessageDto> kafkaTemplate;
+
+    private Thread poller;
+    private volatile boolean running;
+
+    public KafkaExternalTaskBridge(ProcessEngine processEngine, ExternalTaskCompletions bulkCompletion,
+                                   ExternalTaskBridgeProperties properties, ExternalTaskSignal signal, ExternalTaskMetrics metrics,
+                                   KafkaTemplate<String, ExternalTaskMessageDto> kafkaTemplate) {
+        this.externalTaskService = processEngine.getExternalTaskService();
+        this.bulkCompletion = bulkCompletion;
+        this.properties = properties;
+        this.signal = signal.subscribe();
+        this.metrics = metrics;
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    @EventListener
+    public void onPostDeploy(PostDeployEvent event) {
+        start();
+    }
+
+    public synchronized void start() {
+        if (running || !properties.isEnabled() || properties.getTopics().isEmpty()) {
+            return;
+        }
+        running = true;
+        poller = new Thread(this::poll, "external-task-bridge");
+        poller.setDaemon(true);
+        poller.start();
+        log.info("External task bridge {} started for topics {}", properties.getWorkerId(), properties.getTopics());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        signal.signal();
+        try {
+            poller.join(properties.getLongPollTimeoutMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void poll() {
+        while (running) {
+            try {
+                if (fetchAndPublish() == 0) {
+                    signal.await(properties.getLongPollTimeoutMs());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("External task bridge polling failed: {}", e.getMessage(), e);
+                try {
+                    Thread.sleep(1_000);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    int fetchAndPublish() {
+        long start = System.nanoTime();
+        ExternalTaskQueryBuilder query = externalTaskService.fetchAndLock(properties.getMaxTasks(), properties.getWorkerId(), properties.isUsePriority());
+        for (String topic : properties.getTopics()) {
+            query = query.topic(topic, properties.getLockDurationMs());
+        }
+        List<LockedExternalTask> tasks = query.execute();
+        metrics.bridgeFetched(System.nanoTime() - start);
+        for (LockedExternalTask task : tasks) {
+            kafkaTemplate.send(REQUEST_TOPIC, task.getProcessInstanceId(), toMessage(task)).addCallback(
+                    result -> metrics.published(),
+                    failure -> {
+                        log.warn("Publishing external task {} failed, releasing its lock: {}", task.getId(), failure.getMessage());
+                        metrics.publishFailed();
+                        unlock(task.getId());
+                    });
+        }
+        return tasks.size();
+    }
+
+    /**
+     * Applies the responses of one consumed batch; completions are written in one transaction
+     */
+    public void handleResponses(List<ExternalTaskResponseDto> responses) {
+        List<Completion> completions = new ArrayList<>();
+        for (ExternalTaskResponseDto response : responses) {
+            if (response.getTaskId() == null || response.getOutcome() == null) {
+                log.warn("Ignoring external task response without task id or outcome: {}", response);
+                continue;
+            }
+            metrics.response(response.getOutcome());
+            try {
+                switch (response.getOutcome()) {
+                    case COMPLETE:
+                        completions.add(new Completion(response.getTaskId(), response.getVariables()));
+                        break;
+                    case FAILURE:
+                        externalTaskService.handleFailure(response.getTaskId(), properties.getWorkerId(), response.getErrorMessage(),
+                                response.getErrorDetails(), retriesAfterFailure(response),
+                                response.getRetryTimeout() != null ? response.getRetryTimeout() : 0L);
+                        break;
+                    case BPMN_ERROR:
+                        externalTaskService.handleBpmnError(response.getTaskId(), properties.getWorkerId(), response.getErrorCode(),
+                                response.getErrorMessage(), response.getVariables());
+                        break;
+                    case EXTEND_LOCK:
+                        externalTaskService.extendLock(response.getTaskId(), properties.getWorkerId(),
+                                response.getLockDuration() != null ? response.getLockDuration() : properties.getLockDurationMs());
+                        break;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Applying {} of external task {} failed: {}", response.getOutcome(), response.getTaskId(), e.getMessage());
+            }
+        }
+        bulkCompletion.completeAll(properties.getWorkerId(), completions);
+    }
+
+    private int retriesAfterFailure(ExternalTaskResponseDto response) {
+        if (response.getRetries() != null) {
+            return Math.max(0, response.getRetries());
+        }
+        Integer retries = externalTaskService.createExternalTaskQuery().externalTaskId(response.getTaskId()).singleResult().getRetries();
+        return retries != null ? Math.max(0, retries - 1) : properties.getRetries();
+    }
+
+    private void unlock(String taskId) {
+        try {
+            externalTaskService.unlock(taskId);
+        } catch (RuntimeException e) {
+            log.warn("Releasing the lock of external task {} failed: {}", taskId, e.getMessage());
+        }
+    }
+
+    private static ExternalTaskMessageDto toMessage(LockedExternalTask task) {
+        return ExternalTaskMessageDto.builder()
+                .taskId(task.getId())
+                .topicName(task.getTopicName())
+                .processInstanceId(task.getProcessInstanceId())
+                .processDefinitionKey(task.getProcessDefinitionKey())
+                .activityId(task.getActivityId())
+                .businessKey(task.getBusinessKey())
+                .retries(task.getRetries())
+                .lockExpirationTime(task.getLockExpirationTime())
+                .variables(new HashMap<>(task.getVariables()))
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package org.camunda.bpm.demo.externaltask;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Handles "Some Task" ({@code Activity_01v8wfy} in process.bpmn), reached after the boundary message of the user task
+ */
+@Component
+@Slf4j
+public class SomeTaskHandler implements ExternalTaskHandler {
+
+    public static final String TOPIC = "external-task";
+
+    @Override
+    public String getTopic() {
+        return TOPIC;
+    }
+
+    @Override
+    public List<String> getVariableNames() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Map<String, Object> handle(LockedExternalTask task) {
+        log.debug("Handling external task {} of process instance {} (business key {})",
+                task.getId(), task.getProcessInstanceId(), task.getBusinessKey());
+        return Collections.singletonMap("someTaskCompletedAt", new Date());
+    }
+}
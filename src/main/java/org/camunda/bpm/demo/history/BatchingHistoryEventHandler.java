@@ -0,0 +1,69 @@
+package org.camunda.bpm.demo.history;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.Session;
+import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Takes history writes out of the engine transaction: events are collected per command and queued on the
+ * {@link BatchingHistoryWriter} once the transaction committed
+ */
+public class BatchingHistoryEventHandler implements HistoryEventHandler {
+
+    private final BatchingHistoryWriter writer;
+
+    public BatchingHistoryEventHandler(BatchingHistoryWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void handleEvent(HistoryEvent historyEvent) {
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null) {
+            commandContext.getSession(WriterSession.class).add(historyEvent);
+        } else {
+            writer.enqueue(Collections.singletonList(historyEvent));
+        }
+    }
+
+    @Override
+    public void handleEvents(List<HistoryEvent> historyEvents) {
+        for (HistoryEvent historyEvent : historyEvents) {
+            handleEvent(historyEvent);
+        }
+    }
+
+    public SessionFactory sessionFactory() {
+        return new SessionFactory() {
+            @Override
+            public Class<?> getSessionType() {
+                return WriterSession.class;
+            }
+
+            @Override
+            public Session openSession() {
+                return new WriterSession(writer);
+            }
+        };
+    }
+
+    private static class WriterSession extends CommitBufferSession<HistoryEvent> {
+
+        private final BatchingHistoryWriter writer;
+
+        WriterSession(BatchingHistoryWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        protected void committed(List<HistoryEvent> historyEvents) {
+            writer.enqueue(historyEvents);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package org.camunda.bpm.demo.history;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionEvaluationEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.spring.boot.starter.event.PostDeployEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes committed history events to the history tables in batches, off the engine's hot transactions.
+ * <p>
+ * Committing threads append to a lock-free queue; one writer thread flushes when {@code history-writer.batch-size}
+ * events are queued or {@code history-writer.flush-interval-ms} passed. A flush inserts all new rows in one
+ * transaction, where the engine's JDBC batch processing groups them into one batch per table, and applies updates
+ * (ends of activity, task and process instances) in a second one. Only the last update of an entity in a batch is
+ * written, and its start time is taken from the insert of the same batch instead of being read back. An update
+ * that overtook the insert of its entity, queued by a concurrent commit, is retried with the next flushes.
+ * If a transaction fails, its events are written one by one so only the broken ones are lost.
+ */
+@Slf4j
+public class BatchingHistoryWriter {
+
+    private static final int MAX_DEFERRALS = 3;
+
+    private final HistoryWriterProperties properties;
+    private final Queue<HistoryEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final Map<HistoryEvent, Integer> deferred = new IdentityHashMap<>();
+    private final WriterDbHistoryEventHandler dbHandler = new WriterDbHistoryEventHandler();
+    private final Timer flushLatency;
+    private final DistributionSummary batchSizes;
+    private final Counter written;
+    private final Counter failures;
+    private final Counter dropped;
+
+    private CommandExecutor commandExecutor;
+    private Thread flusher;
+    private volatile boolean running;
+
+    public BatchingHistoryWriter(HistoryWriterProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.flushLatency = Timer.builder("camunda.history.writer.flush.latency")
+                .description("Duration of writing one batch of history events")
+                .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("camunda.history.writer.batch.size").register(registry);
+        this.written = Counter.builder("camunda.history.writer.events").register(registry);
+        this.failures = Counter.builder("camunda.history.writer.failures").register(registry);
+        this.dropped = Counter.builder("camunda.history.writer.dropped").register(registry);
+        Gauge.builder("camunda.history.writer.queue.depth", queueSize, AtomicInteger::get).register(registry);
+    }
+
+    @EventListener
+    public void onPostDeploy(PostDeployEvent event) {
+        start(event.getProcessEngine());
+    }
+
+    public synchronized void start(ProcessEngine processEngine) {
+        if (running) {
+            return;
+        }
+        commandExecutor = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getCommandExecutorTxRequiresNew();
+        running = true;
+        flusher = new Thread(this::run, "history-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("History writer started with batches of {} events", properties.getBatchSize());
+    }
+
+    /**
+     * Stops on context close, before the engine and its datasource are destroyed, so queued events can still be written
+     */
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("History writer stopped, {} events left unwritten", queueSize.get());
+    }
+
+    void enqueue(List<HistoryEvent> historyEvents) {
+        if (queueSize.get() + historyEvents.size() > properties.getMaxQueueSize()) {
+            if (properties.getDurability() == HistoryWriterProperties.Durability.BEST_EFFORT || !running) {
+                dropped.increment(historyEvents.size());
+                return;
+            }
+            while (running && queueSize.get() + historyEvents.size() > properties.getMaxQueueSize()) {
+                LockSupport.unpark(flusher);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+        queue.addAll(historyEvents);
+        if (queueSize.addAndGet(historyEvents.size()) >= properties.getBatchSize() && flusher != null) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queueSize.get();
+    }
+
+    private void run() {
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMs());
+        while (running || (properties.isDrainOnShutdown() && (queueSize.get() > 0 || !deferred.isEmpty()))) {
+            if (running && queueSize.get() < properties.getBatchSize()) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("History writer flush failed", e);
+            }
+        }
+    }
+
+    private void flush() {
+        do {
+            List<HistoryEvent> batch = new ArrayList<>(deferred.keySet());
+            for (HistoryEvent historyEvent; batch.size() < properties.getBatchSize() && (historyEvent = queue.poll()) != null; ) {
+                queueSize.decrementAndGet();
+                batch.add(historyEvent);
+            }
+            if (batch.size() == deferred.size()) {
+                if (!running && !deferred.isEmpty()) {
+                    // Nothing new arrives any more; write what is left as the engine would
+                    writeOneByOne(batch);
+                    deferred.clear();
+                }
+                return;
+            }
+            long start = System.nanoTime();
+            write(batch);
+            flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizes.record(batch.size());
+        } while (queueSize.get() >= properties.getBatchSize());
+    }
+
+    private void write(List<HistoryEvent> batch) {
+        List<HistoryEvent> inserts = new ArrayList<>();
+        Map<Map.Entry<Class<?>, String>, HistoryEvent> inserted = new HashMap<>();
+        Map<Map.Entry<Class<?>, String>, HistoryEvent> updates = new LinkedHashMap<>();
+        for (HistoryEvent historyEvent : batch) {
+            if (historyEvent instanceof HistoricVariableUpdateEventEntity || historyEvent instanceof HistoricDecisionEvaluationEvent
+                    || dbHandler.isInitial(historyEvent) || historyEvent.getId() == null) {
+                inserts.add(historyEvent);
+                if (historyEvent.getId() != null) {
+                    inserted.put(key(historyEvent), historyEvent);
+                }
+            } else {
+                updates.remove(key(historyEvent));
+                updates.put(key(historyEvent), historyEvent);
+            }
+        }
+
+        try {
+            commandExecutor.execute(commandContext -> {
+                inserts.forEach(dbHandler::handleEvent);
+                return null;
+            });
+            written.increment(inserts.size());
+        } catch (RuntimeException e) {
+            log.warn("Writing {} history inserts in one transaction failed, writing them one by one: {}", inserts.size(), e.getMessage());
+            failures.increment();
+            writeOneByOne(inserts);
+        }
+        inserts.forEach(deferred::remove);
+
+        if (updates.isEmpty()) {
+            return;
+        }
+        Set<HistoryEvent> applied = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            commandExecutor.execute(commandContext -> {
+                applied.clear();
+                DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+                for (HistoryEvent update : updates.values()) {
+                    if (update instanceof HistoricScopeInstanceEvent && !copyStartTime(update, inserted.get(key(update)), dbEntityManager)) {
+                        continue;
+                    }
+                    dbEntityManager.merge(update);
+                    applied.add(update);
+                }
+                return null;
+            });
+            written.increment(applied.size());
+        } catch (RuntimeException e) {
+            log.warn("Writing {} history updates in one transaction failed, writing them one by one: {}", updates.size(), e.getMessage());
+            failures.increment();
+            applied.clear();
+            writeOneByOne(new ArrayList<>(updates.values()));
+            applied.addAll(updates.values());
+        }
+        for (HistoryEvent update : updates.values()) {
+            if (applied.contains(update)) {
+                deferred.remove(update);
+            } else {
+                defer(update);
+            }
+        }
+    }
+
+    /**
+     * Sets the start time of an instance update, which the engine only knows when it saw the start itself;
+     * false if the start has not been written yet
+     */
+    private static boolean copyStartTime(HistoryEvent update, HistoryEvent insert, DbEntityManager dbEntityManager) {
+        HistoricScopeInstanceEvent start = insert != null ? (HistoricScopeInstanceEvent) insert
+                : (HistoricScopeInstanceEvent) dbEntityManager.selectById(update.getClass(), update.getId());
+        if (start == null) {
+            return false;
+        }
+        ((HistoricScopeInstanceEvent) update).setStartTime(start.getStartTime());
+        return true;
+    }
+
+    private void defer(HistoryEvent update) {
+        int deferrals = deferred.getOrDefault(update, 0) + 1;
+        if (deferrals > MAX_DEFERRALS) {
+            log.warn("No history row for {} {} after {} flushes, writing the update anyway", update.getClass().getSimpleName(),
+                    update.getId(), MAX_DEFERRALS);
+            deferred.remove(update);
+            writeOneByOne(Collections.singletonList(update));
+        } else {
+            deferred.put(update, deferrals);
+        }
+    }
+
+    private void writeOneByOne(List<HistoryEvent> historyEvents) {
+        for (HistoryEvent historyEvent : historyEvents) {
+            try {
+                commandExecutor.execute(commandContext -> {
+                    dbHandler.handleEvent(historyEvent);
+                    return null;
+                });
+                written.increment();
+            } catch (RuntimeException e) {
+                log.error("Dropping history event {} {}: {}", historyEvent.getClass().getSimpleName(), historyEvent.getId(), e.getMessage());
+                dropped.increment();
+            }
+        }
+    }
+
+    private static Map.Entry<Class<?>, String> key(HistoryEvent historyEvent) {
+        return new AbstractMap.SimpleImmutableEntry<>(historyEvent.getClass(), historyEvent.getId());
+    }
+
+    private static class WriterDbHistoryEventHandler extends DbHistoryEventHandler {
+
+        boolean isInitial(HistoryEvent historyEvent) {
+            return isInitialEvent(historyEvent);
+        }
+    }
+}
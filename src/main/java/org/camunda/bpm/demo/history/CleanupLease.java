@@ -0,0 +1,58 @@
+package org.camunda.bpm.demo.history;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Time-limited lock held by one node while it cleans up history, so nodes sharing a database do not delete the same
+ * instances concurrently. Stored as a row of the engine's property table, {@code ACT_GE_PROPERTY}, whose value holds
+ * the zero-padded expiry in epoch millis and the owner. A node takes the lease when it is missing, expired or already
+ * its own, with a single conditional update, and renews it before every batch.
+ */
+@Slf4j
+public class CleanupLease {
+
+    static final String NAME = "demo.history-cleanup.lease";
+
+    private final JdbcTemplate jdbc;
+    private final String table;
+    private final String owner = UUID.randomUUID().toString();
+
+    public CleanupLease(DataSource dataSource, String tablePrefix) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.table = (tablePrefix != null ? tablePrefix : "") + "ACT_GE_PROPERTY";
+    }
+
+    /**
+     * Takes or renews the lease for the given duration; false while another node holds it
+     */
+    public boolean acquire(Duration duration) {
+        long now = System.currentTimeMillis();
+        String value = value(now + duration.toMillis());
+        int updated = jdbc.update("UPDATE " + table + " SET VALUE_ = ?, REV_ = REV_ + 1 WHERE NAME_ = ? AND (VALUE_ < ? OR VALUE_ LIKE ?)",
+                value, NAME, value(now), "%|" + owner);
+        if (updated == 1) {
+            return true;
+        }
+        try {
+            return jdbc.update("INSERT INTO " + table + " (NAME_, VALUE_, REV_) VALUES (?, ?, 1)", NAME, value) == 1;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("History cleanup lease is held by another node");
+            return false;
+        }
+    }
+
+    public void release() {
+        jdbc.update("UPDATE " + table + " SET VALUE_ = ?, REV_ = REV_ + 1 WHERE NAME_ = ? AND VALUE_ LIKE ?",
+                value(0), NAME, "%|" + owner);
+    }
+
+    private String value(long expiresAtMillis) {
+        return String.format("%019d|%s", expiresAtMillis, owner);
+    }
+}
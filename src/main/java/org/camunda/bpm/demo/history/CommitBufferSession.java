@@ -0,0 +1,38 @@
+package org.camunda.bpm.demo.history;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.Session;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects items during one command and hands them over in one call once its transaction committed, so nothing
+ * of a rolled back transaction leaves the engine. Subclasses are looked up by type through
+ * {@code CommandContext#getSession}, see {@link HistorySessionPlugin}.
+ */
+abstract class CommitBufferSession<T> implements Session {
+
+    private List<T> items;
+
+    void add(T item) {
+        if (items == null) {
+            items = new ArrayList<>();
+            List<T> committed = items;
+            Context.getCommandContext().getTransactionContext()
+                    .addTransactionListener(TransactionState.COMMITTED, commandContext -> committed(committed));
+        }
+        items.add(item);
+    }
+
+    protected abstract void committed(List<T> items);
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,199 @@
+package org.camunda.bpm.demo.history;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.demo.datasource.DataSourceRouting;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.spring.boot.starter.event.PostDeployEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Removes the history of finished process instances once their {@code history-retention.processes.*.time-to-live}
+ * passed. Runs every {@code history-retention.cleanup.interval} inside the optional daily window and deletes the
+ * expired instances of each process in batches, one transaction per batch, until none are left or the window closes.
+ * <p>
+ * Reports instances removed per process, rows removed per history table and the duration of runs and batches.
+ * <p>
+ * Every node runs the scheduler, but only the node holding the {@link CleanupLease} cleans up; the others skip the run.
+ */
+@Component
+@Slf4j
+public class HistoryCleanupScheduler {
+
+    private final HistoryService historyService;
+    private final HistoryRetentionProperties properties;
+    private final MeterRegistry registry;
+    private final Timer runDuration;
+    private final Timer batchDuration;
+    private final Map<String, Counter> instancesRemoved = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rowsRemoved = new ConcurrentHashMap<>();
+    private final CleanupLease lease;
+
+    private ScheduledExecutorService scheduler;
+
+    public HistoryCleanupScheduler(ProcessEngine processEngine, HistoryRetentionProperties properties, MeterRegistry registry,
+                                   DataSource dataSource) {
+        this.historyService = processEngine.getHistoryService();
+        this.lease = new CleanupLease(dataSource,
+                ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getDatabaseTablePrefix());
+        this.properties = properties;
+        this.registry = registry;
+        this.runDuration = Timer.builder("camunda.history.cleanup.duration").register(registry);
+        this.batchDuration = Timer.builder("camunda.history.cleanup.batch.duration").register(registry);
+    }
+
+    @EventListener
+    public void onPostDeploy(PostDeployEvent event) {
+        start();
+    }
+
+    public synchronized void start() {
+        HistoryRetentionProperties.Cleanup cleanup = properties.getCleanup();
+        if (scheduler != null || !cleanup.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "history-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = cleanup.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::runInWindow, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("History cleanup scheduled every {} for {}", cleanup.getInterval(), properties.getProcesses().keySet());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void runInWindow() {
+        try {
+            if (properties.getCleanup().isInWindow(LocalTime.now())) {
+                run(true);
+            }
+        } catch (RuntimeException e) {
+            log.error("History cleanup failed", e);
+        }
+    }
+
+    /**
+     * Removes all expired history now, regardless of the window, and returns the instances removed per process.
+     * Returns nothing while another node holds the lease.
+     */
+    public Map<String, Long> run() {
+        return run(false);
+    }
+
+    private Map<String, Long> run(boolean inWindow) {
+        if (!lease.acquire(leaseDuration())) {
+            log.debug("History cleanup skipped, another node holds the lease");
+            return Collections.emptyMap();
+        }
+        long start = System.nanoTime();
+        Map<String, Long> removed = new LinkedHashMap<>();
+        try {
+            properties.getProcesses().forEach((processDefinitionKey, process) -> {
+                if (process.getTimeToLive() != null) {
+                    removed.put(processDefinitionKey, cleanUp(processDefinitionKey, process.getTimeToLive(), inWindow));
+                }
+            });
+        } finally {
+            lease.release();
+        }
+        long nanos = System.nanoTime() - start;
+        runDuration.record(nanos, TimeUnit.NANOSECONDS);
+        log.info("History cleanup removed {} in {} ms", removed, TimeUnit.NANOSECONDS.toMillis(nanos));
+        return removed;
+    }
+
+    private long cleanUp(String processDefinitionKey, Duration timeToLive, boolean inWindow) {
+        Date finishedBefore = new Date(System.currentTimeMillis() - timeToLive.toMillis());
+        long removed = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            if (!lease.acquire(leaseDuration())) {
+                log.warn("History cleanup lease was lost, stopping after {} instances of {}", removed, processDefinitionKey);
+                break;
+            }
+            // Read on the primary: a lagging replica would still return the batch deleted last
+            List<String> processInstanceIds = DataSourceRouting.onPrimary(() -> historyService.createHistoricProcessInstanceQuery()
+                    .processDefinitionKey(processDefinitionKey)
+                    .finishedBefore(finishedBefore)
+                    .listPage(0, properties.getCleanup().getBatchSize()))
+                    .stream()
+                    .map(HistoricProcessInstance::getId)
+                    .collect(Collectors.toList());
+            if (processInstanceIds.isEmpty()) {
+                break;
+            }
+            if (properties.getCleanup().isCountRows()) {
+                countRows(processInstanceIds);
+            }
+            long start = System.nanoTime();
+            historyService.deleteHistoricProcessInstancesBulk(processInstanceIds);
+            batchDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            removed += processInstanceIds.size();
+            instancesRemoved.computeIfAbsent(processDefinitionKey, key -> Counter.builder("camunda.history.cleanup.instances")
+                    .tag("process", key)
+                    .register(registry)).increment(processInstanceIds.size());
+            if (processInstanceIds.size() < properties.getCleanup().getBatchSize()
+                    || (inWindow && !properties.getCleanup().isInWindow(LocalTime.now()))) {
+                break;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Long enough for one batch, renewed before the next; a node that dies releases it by expiry
+     */
+    private Duration leaseDuration() {
+        return properties.getCleanup().getInterval();
+    }
+
+    /**
+     * Counts the rows of the main history tables that the deletion of these instances removes, by process instance id
+     */
+    private void countRows(List<String> processInstanceIds) {
+        String[] ids = processInstanceIds.toArray(new String[0]);
+        countRows("ACT_HI_PROCINST", ids.length);
+        DataSourceRouting.onPrimary(() -> {
+            countRows("ACT_HI_ACTINST", historyService.createHistoricActivityInstanceQuery().processInstanceIdIn(ids).count());
+            countRows("ACT_HI_TASKINST", historyService.createHistoricTaskInstanceQuery().processInstanceIdIn(ids).count());
+            countRows("ACT_HI_VARINST", historyService.createHistoricVariableInstanceQuery().processInstanceIdIn(ids).count());
+            return null;
+        });
+    }
+
+    private void countRows(String table, long rows) {
+        if (rows > 0) {
+            rowsRemoved.computeIfAbsent(table, key -> Counter.builder("camunda.history.cleanup.rows")
+                    .tag("table", key)
+                    .register(registry)).increment(rows);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.camunda.bpm.demo.history;
+
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionEvaluationEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricDetailEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricExternalTaskLogEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricIdentityLinkLogEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricIncidentEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricJobLogEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricTaskInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+
+import java.util.Locale;
+
+/**
+ * The history tables a {@link HistoryEvent} ends up in, named in configuration in lower case with dashes,
+ * e.g. {@code process-instance}
+ */
+public enum HistoryEventKind {
+
+    PROCESS_INSTANCE,
+    ACTIVITY_INSTANCE,
+    TASK_INSTANCE,
+    VARIABLE,
+    INCIDENT,
+    JOB_LOG,
+    EXTERNAL_TASK_LOG,
+    IDENTITY_LINK,
+    DECISION,
+    OTHER;
+
+    public static HistoryEventKind of(HistoryEvent historyEvent) {
+        if (historyEvent instanceof HistoricProcessInstanceEventEntity) {
+            return PROCESS_INSTANCE;
+        } else if (historyEvent instanceof HistoricActivityInstanceEventEntity) {
+            return ACTIVITY_INSTANCE;
+        } else if (historyEvent instanceof HistoricTaskInstanceEventEntity) {
+            return TASK_INSTANCE;
+        } else if (historyEvent instanceof HistoricDetailEventEntity) {
+            return VARIABLE;
+        } else if (historyEvent instanceof HistoricIncidentEventEntity) {
+            return INCIDENT;
+        } else if (historyEvent instanceof HistoricJobLogEventEntity) {
+            return JOB_LOG;
+        } else if (historyEvent instanceof HistoricExternalTaskLogEntity) {
+            return EXTERNAL_TASK_LOG;
+        } else if (historyEvent instanceof HistoricIdentityLinkLogEventEntity) {
+            return IDENTITY_LINK;
+        } else if (historyEvent instanceof HistoricDecisionEvaluationEvent || historyEvent instanceof HistoricDecisionInstanceEntity) {
+            // The engine reports an evaluation as one event holding the instances of all decisions evaluated
+            return DECISION;
+        }
+        return OTHER;
+    }
+
+    /**
+     * The process definition key of the event; for a decision evaluation, the one of the process that evaluated it
+     */
+    public static String processDefinitionKeyOf(HistoryEvent historyEvent) {
+        if (historyEvent instanceof HistoricDecisionEvaluationEvent) {
+            HistoryEvent root = ((HistoricDecisionEvaluationEvent) historyEvent).getRootHistoricDecisionInstance();
+            return root != null ? root.getProcessDefinitionKey() : null;
+        }
+        return historyEvent.getProcessDefinitionKey();
+    }
+
+    public static HistoryEventKind fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown history event kind '" + name + "'", e);
+        }
+    }
+
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,100 @@
+package org.camunda.bpm.demo.history;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * History level and time to live per process definition key, and the {@link HistoryCleanupScheduler} settings,
+ * configured under {@code history-retention}:
+ * <pre>
+ * history-retention:
+ *   processes:
+ *     DataformatDemoProcess:
+ *       level: activity
+ *       time-to-live: 1d
+ *   cleanup:
+ *     window-start: "20:00"
+ *     window-end: "06:00"
+ * </pre>
+ * A process level can only lower the engine's {@code camunda.bpm.history-level}, which decides what is produced at all.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "history-retention")
+public class HistoryRetentionProperties {
+
+    private Map<String, Process> processes = new LinkedHashMap<>();
+    private Cleanup cleanup = new Cleanup();
+
+    public Level getLevel(String processDefinitionKey) {
+        Process process = processDefinitionKey != null ? processes.get(processDefinitionKey) : null;
+        return process != null ? process.getLevel() : Level.FULL;
+    }
+
+    @Data
+    public static class Process {
+        private Level level = Level.FULL;
+
+        /** Finished instances older than this are removed with all their history; null keeps them */
+        private Duration timeToLive;
+    }
+
+    @Data
+    public static class Cleanup {
+        private boolean enabled = true;
+        private Duration interval = Duration.ofMinutes(15);
+
+        /** Daily window in which cleanup runs; without start and end it runs at every interval */
+        private LocalTime windowStart;
+        private LocalTime windowEnd;
+
+        /** Historic process instances deleted per transaction */
+        private int batchSize = 500;
+
+        /**
+         * Reports rows removed per history table, counted by process instance id before each batch is deleted;
+         * costs three indexed count queries per batch
+         */
+        private boolean countRows = false;
+
+        public boolean isInWindow(LocalTime time) {
+            if (windowStart == null || windowEnd == null) {
+                return true;
+            }
+            if (windowStart.isBefore(windowEnd)) {
+                return !time.isBefore(windowStart) && time.isBefore(windowEnd);
+            }
+            return !time.isBefore(windowStart) || time.isBefore(windowEnd);
+        }
+    }
+
+    /**
+     * History levels, as sets of the history kept. {@code variables} keeps variable history, including its detail rows,
+     * but no incidents, decisions or user operations, unlike the engine's {@code audit} level
+     */
+    public enum Level {
+        NONE(EnumSet.noneOf(HistoryEventKind.class)),
+        ACTIVITY(EnumSet.of(HistoryEventKind.PROCESS_INSTANCE, HistoryEventKind.ACTIVITY_INSTANCE, HistoryEventKind.TASK_INSTANCE)),
+        VARIABLES(EnumSet.of(HistoryEventKind.PROCESS_INSTANCE, HistoryEventKind.ACTIVITY_INSTANCE, HistoryEventKind.TASK_INSTANCE,
+                HistoryEventKind.VARIABLE)),
+        FULL(EnumSet.allOf(HistoryEventKind.class));
+
+        private final Set<HistoryEventKind> kinds;
+
+        Level(Set<HistoryEventKind> kinds) {
+            this.kinds = kinds;
+        }
+
+        public boolean keeps(HistoryEventKind kind) {
+            return kinds.contains(kind);
+        }
+    }
+}
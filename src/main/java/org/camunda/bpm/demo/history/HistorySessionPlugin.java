@@ -0,0 +1,39 @@
+package org.camunda.bpm.demo.history;
+
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers the per-command {@link CommitBufferSession}s of the history event handler and the handlers it delegates to
+ */
+public class HistorySessionPlugin extends AbstractProcessEnginePlugin {
+
+    private final List<SessionFactory> sessionFactories = new ArrayList<>();
+
+    public HistorySessionPlugin(HistoryEventHandler historyEventHandler) {
+        collect(historyEventHandler);
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        List<SessionFactory> customSessionFactories = configuration.getCustomSessionFactories() == null
+                ? new ArrayList<>() : new ArrayList<>(configuration.getCustomSessionFactories());
+        customSessionFactories.addAll(sessionFactories);
+        configuration.setCustomSessionFactories(customSessionFactories);
+    }
+
+    private void collect(HistoryEventHandler historyEventHandler) {
+        if (historyEventHandler instanceof StreamingHistoryEventHandler) {
+            StreamingHistoryEventHandler streaming = (StreamingHistoryEventHandler) historyEventHandler;
+            sessionFactories.add(streaming.sessionFactory());
+            collect(streaming.getDbHandler());
+        } else if (historyEventHandler instanceof BatchingHistoryEventHandler) {
+            sessionFactories.add(((BatchingHistoryEventHandler) historyEventHandler).sessionFactory());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.camunda.bpm.demo.history;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the {@link StreamingHistoryEventHandler}, configured under {@code history-stream}
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "history-stream")
+public class HistoryStreamProperties {
+
+    private boolean enabled = false;
+
+    /** {@link HistoryEventKind}s still written to the history tables; empty keeps no history in the database */
+    private List<String> dbKinds = new ArrayList<>();
+
+    /** Process definition keys whose {@link #dbKinds} are written to the database; empty means all */
+    private List<String> dbProcesses = new ArrayList<>();
+}
@@ -0,0 +1,74 @@
+package org.camunda.bpm.demo.history;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.demo.dto.HistoryEventMessageDto;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts history events into {@link HistoryEventMessageDto}s and publishes them to {@value #TOPIC},
+ * keyed by process instance id so the events of an instance stay in order
+ */
+@Component
+@Slf4j
+public class HistoryStreamPublisher {
+
+    public static final String TOPIC = "history-event-topic";
+
+    private final KafkaTemplate<String, HistoryEventMessageDto> kafkaTemplate;
+    private final HistoryWriteMetrics metrics;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .addMixIn(HistoryEvent.class, HistoryEventMixIn.class);
+
+    public HistoryStreamPublisher(@Qualifier("historyEventKafkaTemplate") KafkaTemplate<String, HistoryEventMessageDto> kafkaTemplate,
+                                  HistoryWriteMetrics metrics) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Copies the event right away; the engine may still change the entity before its transaction ends
+     */
+    @SuppressWarnings("unchecked")
+    HistoryEventMessageDto toMessage(HistoryEvent historyEvent) {
+        return HistoryEventMessageDto.builder()
+                .id(historyEvent.getId())
+                .kind(HistoryEventKind.of(historyEvent).getName())
+                .eventType(historyEvent.getEventType())
+                .processDefinitionKey(historyEvent.getProcessDefinitionKey())
+                .processDefinitionId(historyEvent.getProcessDefinitionId())
+                .processInstanceId(historyEvent.getProcessInstanceId())
+                .rootProcessInstanceId(historyEvent.getRootProcessInstanceId())
+                .sequenceCounter(historyEvent.getSequenceCounter())
+                .payload(objectMapper.convertValue(historyEvent, Map.class))
+                .build();
+    }
+
+    void publish(List<HistoryEventMessageDto> messages) {
+        for (HistoryEventMessageDto message : messages) {
+            kafkaTemplate.send(TOPIC, message.getProcessInstanceId(), message).addCallback(
+                    result -> {
+                    },
+                    failure -> {
+                        metrics.publishFailed();
+                        log.warn("Publishing history event {} of instance {} failed: {}",
+                                message.getId(), message.getProcessInstanceId(), failure.getMessage());
+                    });
+        }
+    }
+
+    private abstract static class HistoryEventMixIn {
+
+        @JsonIgnore
+        abstract Object getPersistentState();
+    }
+}
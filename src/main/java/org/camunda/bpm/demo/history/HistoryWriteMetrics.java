@@ -0,0 +1,84 @@
+package org.camunda.bpm.demo.history;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts history events per process definition key and sink, and relates them to the number of ended instances:
+ * {@code camunda.history.events.per.instance} is the write amplification of a process
+ */
+@Component
+public class HistoryWriteMetrics {
+
+    public static final String SINK_DB = "db";
+    public static final String SINK_STREAM = "stream";
+
+    private static final String UNKNOWN_PROCESS = "none";
+
+    private final MeterRegistry registry;
+    private final Map<String, ProcessCounters> processes = new ConcurrentHashMap<>();
+    private final Counter publishFailures;
+
+    public HistoryWriteMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.publishFailures = Counter.builder("camunda.history.stream.publish.failures").register(registry);
+    }
+
+    public void written(String processDefinitionKey, String sink) {
+        ProcessCounters counters = counters(processDefinitionKey);
+        (SINK_DB.equals(sink) ? counters.db : counters.stream).increment();
+    }
+
+    public void instanceEnded(String processDefinitionKey) {
+        counters(processDefinitionKey).endedInstances.increment();
+    }
+
+    void publishFailed() {
+        publishFailures.increment();
+    }
+
+    /**
+     * History events written to the sink per ended instance of the process, 0 before the first instance ended
+     */
+    public double getEventsPerInstance(String processDefinitionKey, String sink) {
+        ProcessCounters counters = counters(processDefinitionKey);
+        long ended = counters.endedInstances.sum();
+        long events = (SINK_DB.equals(sink) ? counters.db : counters.stream).sum();
+        return ended == 0 ? 0 : events / (double) ended;
+    }
+
+    private ProcessCounters counters(String processDefinitionKey) {
+        return processes.computeIfAbsent(processDefinitionKey == null ? UNKNOWN_PROCESS : processDefinitionKey, this::register);
+    }
+
+    private ProcessCounters register(String processDefinitionKey) {
+        ProcessCounters counters = new ProcessCounters();
+        for (String sink : new String[]{SINK_DB, SINK_STREAM}) {
+            Tags tags = Tags.of("process", processDefinitionKey, "sink", sink);
+            FunctionCounter.builder("camunda.history.events", SINK_DB.equals(sink) ? counters.db : counters.stream, LongAdder::sum)
+                    .tags(tags)
+                    .register(registry);
+            Gauge.builder("camunda.history.events.per.instance", this, metrics -> metrics.getEventsPerInstance(processDefinitionKey, sink))
+                    .tags(tags)
+                    .register(registry);
+        }
+        FunctionCounter.builder("camunda.history.instances.ended", counters.endedInstances, LongAdder::sum)
+                .tag("process", processDefinitionKey)
+                .register(registry);
+        return counters;
+    }
+
+    private static class ProcessCounters {
+        private final LongAdder db = new LongAdder();
+        private final LongAdder stream = new LongAdder();
+        private final LongAdder endedInstances = new LongAdder();
+    }
+}
@@ -0,0 +1,36 @@
+package org.camunda.bpm.demo.history;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the {@link BatchingHistoryWriter}, configured under {@code history-writer}
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "history-writer")
+public class HistoryWriterProperties {
+
+    private boolean enabled = false;
+
+    /** History events written per flush */
+    private int batchSize = 500;
+
+    /** Longest time a committed event waits for a batch to fill up */
+    private long flushIntervalMs = 200;
+
+    private int maxQueueSize = 50_000;
+
+    private Durability durability = Durability.BACKPRESSURE;
+
+    /** Writes the events still queued before the application stops */
+    private boolean drainOnShutdown = true;
+
+    public enum Durability {
+        /** Committing threads wait while the queue is full, so no committed history is lost while the node runs */
+        BACKPRESSURE,
+        /** Committing threads never wait; events that do not fit into the queue are dropped and counted */
+        BEST_EFFORT
+    }
+}
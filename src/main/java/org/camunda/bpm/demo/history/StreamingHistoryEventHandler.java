@@ -0,0 +1,110 @@
+package org.camunda.bpm.demo.history;
+
+import org.camunda.bpm.demo.dto.HistoryEventMessageDto;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.Session;
+import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams every history event to Kafka after the engine transaction commits, and only writes the configured subset
+ * ({@code history-stream.db-kinds} of {@code history-stream.db-processes}) to the history tables.
+ * <p>
+ * Events are copied when they occur and buffered per command until it commits; Kafka delivery is
+ * asynchronous and at most once, so the stream is meant for analytics and audit pipelines, not for the engine's own
+ * history queries.
+ */
+public class StreamingHistoryEventHandler implements HistoryEventHandler {
+
+    private final HistoryEventHandler dbHandler;
+    private final HistoryStreamPublisher publisher;
+    private final HistoryWriteMetrics metrics;
+    private final Set<HistoryEventKind> dbKinds;
+    private final Set<String> dbProcesses;
+
+    public StreamingHistoryEventHandler(HistoryEventHandler dbHandler, HistoryStreamPublisher publisher,
+                                        HistoryWriteMetrics metrics, HistoryStreamProperties properties) {
+        this.dbHandler = dbHandler;
+        this.publisher = publisher;
+        this.metrics = metrics;
+        this.dbKinds = properties.getDbKinds().isEmpty() ? Collections.emptySet() : properties.getDbKinds().stream()
+                .map(HistoryEventKind::fromName)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(HistoryEventKind.class)));
+        this.dbProcesses = new HashSet<>(properties.getDbProcesses());
+    }
+
+    @Override
+    public void handleEvent(HistoryEvent historyEvent) {
+        String processDefinitionKey = historyEvent.getProcessDefinitionKey();
+        if (isWrittenToDb(historyEvent)) {
+            dbHandler.handleEvent(historyEvent);
+            metrics.written(processDefinitionKey, HistoryWriteMetrics.SINK_DB);
+        }
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null) {
+            commandContext.getSession(StreamSession.class).add(publisher.toMessage(historyEvent));
+        } else {
+            publisher.publish(Collections.singletonList(publisher.toMessage(historyEvent)));
+        }
+        metrics.written(processDefinitionKey, HistoryWriteMetrics.SINK_STREAM);
+        if (historyEvent instanceof HistoricProcessInstanceEventEntity
+                && HistoryEventTypes.PROCESS_INSTANCE_END.getEventName().equals(historyEvent.getEventType())) {
+            metrics.instanceEnded(processDefinitionKey);
+        }
+    }
+
+    @Override
+    public void handleEvents(List<HistoryEvent> historyEvents) {
+        for (HistoryEvent historyEvent : historyEvents) {
+            handleEvent(historyEvent);
+        }
+    }
+
+    public HistoryEventHandler getDbHandler() {
+        return dbHandler;
+    }
+
+    public SessionFactory sessionFactory() {
+        return new SessionFactory() {
+            @Override
+            public Class<?> getSessionType() {
+                return StreamSession.class;
+            }
+
+            @Override
+            public Session openSession() {
+                return new StreamSession(publisher);
+            }
+        };
+    }
+
+    boolean isWrittenToDb(HistoryEvent historyEvent) {
+        return dbKinds.contains(HistoryEventKind.of(historyEvent))
+                && (dbProcesses.isEmpty() || dbProcesses.contains(HistoryEventKind.processDefinitionKeyOf(historyEvent)));
+    }
+
+    private static class StreamSession extends CommitBufferSession<HistoryEventMessageDto> {
+
+        private final HistoryStreamPublisher publisher;
+
+        StreamSession(HistoryStreamPublisher publisher) {
+            this.publisher = publisher;
+        }
+
+        @Override
+        protected void committed(List<HistoryEventMessageDto> messages) {
+            publisher.publish(messages);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.camunda.bpm.demo.jobexecutor;
+
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.BackoffJobAcquisitionStrategy;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Backoff acquisition strategy whose batch size follows the backlog and the free thread pool capacity:
+ * <ul>
+ *   <li>a full batch doubles the next batch, a partial batch requests as many jobs as were found,
+ *       up to {@code max-jobs-per-acquisition} and down to {@code min-jobs-per-acquisition}</li>
+ *   <li>no more jobs are requested than the thread pool can take; a saturated pool is polled
+ *       every {@code saturation-wait-ms} instead of acquiring</li>
+ * </ul>
+ * The engine's calculation is kept with the adaptive batch size in place of its fixed base: the batch is scaled up by
+ * the backoff level after lock failures and reduced by the batches the pool rejected, then capped by the free capacity.
+ * Idle and backoff wait times are left to the engine's strategy.
+ */
+public class AdaptiveJobAcquisitionStrategy extends BackoffJobAcquisitionStrategy {
+
+    private final TunableJobExecutor jobExecutor;
+    private final int minJobsToAcquire;
+    private final int maxJobsToAcquire;
+    private final long saturationWaitTime;
+    private final Map<String, Integer> batchSizes = new HashMap<>();
+    private boolean saturated;
+
+    public AdaptiveJobAcquisitionStrategy(TunableJobExecutor jobExecutor) {
+        super(jobExecutor);
+        JobExecutorProperties properties = jobExecutor.getProperties();
+        this.jobExecutor = jobExecutor;
+        this.minJobsToAcquire = properties.getMinJobsPerAcquisition();
+        this.maxJobsToAcquire = Math.max(properties.getMinJobsPerAcquisition(), properties.getMaxJobsPerAcquisition());
+        this.saturationWaitTime = properties.getSaturationWaitMs();
+    }
+
+    @Override
+    protected void reconfigureNumberOfJobsToAcquire(JobAcquisitionContext context) {
+        jobsToAcquire.clear();
+        int freeCapacity = jobExecutor.getFreeCapacity();
+        saturated = freeCapacity == 0;
+        double backoffScale = Math.pow(backoffIncreaseFactor, backoffLevel);
+        for (Map.Entry<String, AcquiredJobs> acquiredJobsEntry : context.getAcquiredJobsByEngine().entrySet()) {
+            String engineName = acquiredJobsEntry.getKey();
+            int batchSize = nextBatchSize(batchSizes.getOrDefault(engineName, minJobsToAcquire), acquiredJobsEntry.getValue());
+            batchSizes.put(engineName, batchSize);
+            // as BackoffJobAcquisitionStrategy, based on the adaptive batch size
+            int numJobsToAcquire = (int) (batchSize * backoffScale);
+            List<List<String>> rejectedBatches = context.getRejectedJobsByEngine().get(engineName);
+            if (rejectedBatches != null) {
+                numJobsToAcquire -= rejectedBatches.size();
+            }
+            numJobsToAcquire = Math.max(0, Math.min(numJobsToAcquire, freeCapacity));
+            jobsToAcquire.put(engineName, numJobsToAcquire);
+            jobExecutor.getMetrics().nextBatchSize(numJobsToAcquire);
+        }
+    }
+
+    int nextBatchSize(int currentBatchSize, AcquiredJobs acquiredJobs) {
+        int attempted = acquiredJobs.getNumberOfJobsAttemptedToAcquire();
+        if (attempted == 0) {
+            // nothing was requested while the pool was saturated, nothing learned about the backlog
+            return currentBatchSize;
+        }
+        int acquired = acquiredJobs.size() + acquiredJobs.getNumberOfJobsFailedToLock();
+        int next = acquired >= attempted ? attempted * 2 : acquired;
+        return Math.max(minJobsToAcquire, Math.min(maxJobsToAcquire, next));
+    }
+
+    @Override
+    public long getWaitTime() {
+        return saturated ? saturationWaitTime : super.getWaitTime();
+    }
+
+    @Override
+    public int getNumJobsToAcquire(String processEngine) {
+        Integer numJobsToAcquire = jobsToAcquire.get(processEngine);
+        if (numJobsToAcquire != null) {
+            return numJobsToAcquire;
+        }
+        return saturated ? 0 : batchSizes.getOrDefault(processEngine, minJobsToAcquire);
+    }
+}
@@ -0,0 +1,48 @@
+package org.camunda.bpm.demo.jobexecutor;
+
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobPriorityProvider;
+import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ProcessDefinitionImpl;
+
+/**
+ * Engine job priority provider that falls back to {@link JobPriorityProperties} where neither the job definition
+ * nor the model declares a priority. Priorities are evaluated when a job is created.
+ */
+public class ConfiguredJobPriorityProvider extends DefaultJobPriorityProvider {
+
+    private final JobPriorityProperties properties;
+
+    public ConfiguredJobPriorityProvider(JobPriorityProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected Long getSpecificPriority(ExecutionEntity execution, JobDeclaration<?, ?> param, String jobDefinitionId) {
+        Long priority = super.getSpecificPriority(execution, param, jobDefinitionId);
+        if (priority == null) {
+            String processDefinitionKey = getProcessDefinitionKey(param);
+            if (processDefinitionKey != null && param.getActivityId() != null) {
+                priority = properties.getActivityPriority(processDefinitionKey, param.getActivityId());
+            }
+        }
+        return priority;
+    }
+
+    @Override
+    protected Long getProcessDefinitionPriority(ExecutionEntity execution, JobDeclaration<?, ?> jobDeclaration) {
+        Long priority = super.getProcessDefinitionPriority(execution, jobDeclaration);
+        if (priority == null) {
+            String processDefinitionKey = getProcessDefinitionKey(jobDeclaration);
+            if (processDefinitionKey != null) {
+                priority = properties.getProcessPriority(processDefinitionKey);
+            }
+        }
+        return priority;
+    }
+
+    private static String getProcessDefinitionKey(JobDeclaration<?, ?> jobDeclaration) {
+        ProcessDefinitionImpl processDefinition = jobDeclaration.getProcessDefinition();
+        return processDefinition != null ? processDefinition.getKey() : null;
+    }
+}
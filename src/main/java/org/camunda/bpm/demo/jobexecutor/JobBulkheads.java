@@ -0,0 +1,95 @@
+package org.camunda.bpm.demo.jobexecutor;
+
+import org.camunda.bpm.engine.impl.JobQueryImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquireJobsCommandFactory;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultAcquireJobsCommandFactory;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.runtime.Job;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Dedicated thread pools per process definition key, so a flood of jobs from one process cannot occupy
+ * the threads another process needs. While at least one bulkhead is configured, each acquisition also loads the
+ * process definition keys of the jobs it acquired, with one query in its own transaction; routing a batch then
+ * only looks the keys up by job id.
+ */
+public class JobBulkheads {
+
+    private final Map<String, ThreadPoolTaskExecutor> threadPools;
+    // Acquired jobs not yet routed; a job leaves when its batch is routed
+    private final Map<String, String> processDefinitionKeys = new ConcurrentHashMap<>();
+
+    public JobBulkheads(Map<String, ThreadPoolTaskExecutor> threadPools) {
+        this.threadPools = threadPools;
+    }
+
+    public static JobBulkheads none() {
+        return new JobBulkheads(Collections.emptyMap());
+    }
+
+    public boolean isEmpty() {
+        return threadPools.isEmpty();
+    }
+
+    public Map<String, ThreadPoolTaskExecutor> getThreadPools() {
+        return Collections.unmodifiableMap(threadPools);
+    }
+
+    public void shutdown() {
+        threadPools.values().forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+
+    /**
+     * Acquires jobs like the engine does and remembers the process definition keys of the acquired jobs
+     */
+    public AcquireJobsCommandFactory acquireJobsCommandFactory(JobExecutor jobExecutor) {
+        AcquireJobsCommandFactory engineFactory = new DefaultAcquireJobsCommandFactory(jobExecutor);
+        return numJobsToAcquire -> commandContext -> {
+            AcquiredJobs acquiredJobs = engineFactory.getCommand(numJobsToAcquire).execute(commandContext);
+            Set<String> jobIds = acquiredJobs.getJobIdBatches().stream()
+                    .flatMap(List::stream)
+                    .collect(Collectors.toSet());
+            if (!jobIds.isEmpty()) {
+                remember(new JobQueryImpl().jobIds(jobIds).executeList(commandContext, null));
+            }
+            return acquiredJobs;
+        };
+    }
+
+    void remember(Collection<? extends Job> jobs) {
+        for (Job job : jobs) {
+            // Jobs outside processes, like history cleanup, have no key and run on the shared pool
+            if (job.getProcessDefinitionKey() != null) {
+                processDefinitionKeys.put(job.getId(), job.getProcessDefinitionKey());
+            }
+        }
+    }
+
+    /**
+     * Splits the batch by thread pool, in job order; the {@code null} key stands for the shared pool. A batch usually
+     * holds the exclusive jobs of one process instance and stays whole.
+     */
+    public Map<ThreadPoolTaskExecutor, List<String>> route(List<String> jobIds) {
+        if (threadPools.isEmpty()) {
+            return Collections.singletonMap(null, jobIds);
+        }
+        Map<ThreadPoolTaskExecutor, List<String>> batches = new LinkedHashMap<>();
+        for (String jobId : jobIds) {
+            String processDefinitionKey = processDefinitionKeys.remove(jobId);
+            ThreadPoolTaskExecutor threadPool = processDefinitionKey != null ? threadPools.get(processDefinitionKey) : null;
+            batches.computeIfAbsent(threadPool, pool -> new ArrayList<>()).add(jobId);
+        }
+        return batches;
+    }
+}
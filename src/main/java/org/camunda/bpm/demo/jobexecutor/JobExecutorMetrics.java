@@ -0,0 +1,72 @@
+package org.camunda.bpm.demo.jobexecutor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Job acquisition and execution meters of the {@link TunableJobExecutor}
+ */
+public class JobExecutorMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer acquisitionLatency;
+    private final Counter acquiredJobs;
+    private final Counter emptyAcquisitions;
+    private final Counter lockFailures;
+    private final Counter rejectedJobs;
+    private final AtomicInteger jobsToAcquire = new AtomicInteger();
+
+    public JobExecutorMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.acquisitionLatency = Timer.builder("camunda.job.acquisition.latency")
+                .description("Duration of one job acquisition query including locking")
+                .register(registry);
+        this.acquiredJobs = Counter.builder("camunda.job.acquired").register(registry);
+        this.emptyAcquisitions = Counter.builder("camunda.job.acquisition.empty")
+                .description("Acquisitions that found no executable job")
+                .register(registry);
+        this.lockFailures = Counter.builder("camunda.job.lock.failures")
+                .description("Acquired jobs that were locked by another job executor first")
+                .register(registry);
+        this.rejectedJobs = Counter.builder("camunda.job.rejected")
+                .description("Jobs handed back because the thread pool was saturated")
+                .register(registry);
+        Gauge.builder("camunda.job.acquisition.batch.size", jobsToAcquire, AtomicInteger::get)
+                .description("Number of jobs requested by the next acquisition")
+                .register(registry);
+    }
+
+    void bindThreadPool(ThreadPoolTaskExecutor taskExecutor, String pool) {
+        Gauge.builder("camunda.job.executor.queue.depth", taskExecutor,
+                        executor -> executor.getThreadPoolExecutor().getQueue().size())
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("camunda.job.executor.threads.active", taskExecutor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("pool", pool)
+                .register(registry);
+    }
+
+    void acquisition(long nanos, AcquiredJobs jobs) {
+        acquisitionLatency.record(nanos, TimeUnit.NANOSECONDS);
+        acquiredJobs.increment(jobs.size());
+        lockFailures.increment(jobs.getNumberOfJobsFailedToLock());
+        if (jobs.size() == 0) {
+            emptyAcquisitions.increment();
+        }
+    }
+
+    void rejected(int jobs) {
+        rejectedJobs.increment(jobs);
+    }
+
+    void nextBatchSize(int jobs) {
+        jobsToAcquire.set(jobs);
+    }
+}
@@ -0,0 +1,37 @@
+package org.camunda.bpm.demo.jobexecutor;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Thread pool and acquisition settings of the {@link TunableJobExecutor}, configured under {@code job-executor}.
+ * The number of jobs per acquisition starts at {@code min-jobs-per-acquisition} and adapts between the min and max
+ * depending on how full the previous acquisitions were and how much room is left in the thread pool.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "job-executor")
+public class JobExecutorProperties {
+
+    private int corePoolSize = 3;
+    private int maxPoolSize = 10;
+    private int queueCapacity = 3;
+
+    private int minJobsPerAcquisition = 3;
+    private int maxJobsPerAcquisition = 24;
+    private int lockTimeMs = 300_000;
+
+    /** Wait time after an acquisition that found fewer jobs than requested, growing by the factor up to the maximum */
+    private int waitTimeMs = 5_000;
+    private long maxWaitMs = 60_000;
+    private float waitIncreaseFactor = 2;
+
+    /** Wait time after jobs could not be locked because another node took them, 0 disables backoff */
+    private int backoffTimeMs = 0;
+    private long maxBackoffMs = 0;
+    private int backoffDecreaseThreshold = 100;
+
+    /** Wait time while the thread pool has no room for further jobs */
+    private long saturationWaitMs = 100;
+}
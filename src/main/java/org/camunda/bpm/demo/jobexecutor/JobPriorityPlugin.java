@@ -0,0 +1,23 @@
+package org.camunda.bpm.demo.jobexecutor;
+
+import lombok.RequiredArgsConstructor;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.springframework.stereotype.Component;
+
+/**
+ * Installs the {@link ConfiguredJobPriorityProvider} and makes the job executor acquire jobs by descending priority
+ */
+@Component
+@RequiredArgsConstructor
+public class JobPriorityPlugin extends AbstractProcessEnginePlugin {
+
+    private final JobPriorityProperties properties;
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        configuration.setProducePrioritizedJobs(true);
+        configuration.setJobPriorityProvider(new ConfiguredJobPriorityProvider(properties));
+        configuration.setJobExecutorAcquireByPriority(properties.isAcquireByPriority());
+    }
+}
@@ -0,0 +1,57 @@
+package org.camunda.bpm.demo.jobexecutor;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Job priorities and bulkheads per process definition key, configured under {@code job-priority}:
+ * <pre>
+ * job-priority:
+ *   processes:
+ *     order-process:
+ *       priority: 100
+ *       activities:
+ *         Timer_EmailDelay: 200
+ *   bulkheads:
+ *     order-process:
+ *       threads: 2
+ *       queue-capacity: 10
+ * </pre>
+ * Activity priorities take precedence over the process priority; priorities set on a job definition through
+ * the API still override both. Jobs of a process with a bulkhead run on its own thread pool.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "job-priority")
+public class JobPriorityProperties {
+
+    private boolean acquireByPriority = true;
+    private Map<String, Process> processes = new LinkedHashMap<>();
+    private Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+
+    public Long getProcessPriority(String processDefinitionKey) {
+        Process process = processes.get(processDefinitionKey);
+        return process != null ? process.getPriority() : null;
+    }
+
+    public Long getActivityPriority(String processDefinitionKey, String activityId) {
+        Process process = processes.get(processDefinitionKey);
+        return process != null ? process.getActivities().get(activityId) : null;
+    }
+
+    @Data
+    public static class Process {
+        private Long priority;
+        private Map<String, Long> activities = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class Bulkhead {
+        private int threads = 1;
+        private int queueCapacity = 10;
+    }
+}
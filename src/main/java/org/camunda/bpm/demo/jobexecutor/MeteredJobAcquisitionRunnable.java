@@ -0,0 +1,36 @@
+package org.camunda.bpm.demo.jobexecutor;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionStrategy;
+import org.camunda.bpm.engine.impl.jobexecutor.SequentialJobAcquisitionRunnable;
+
+/**
+ * Engine acquisition loop with the {@link AdaptiveJobAcquisitionStrategy}, timing every acquisition query.
+ * Rounds in which the strategy requested no jobs, because the pool was saturated, run no query and are not recorded.
+ */
+public class MeteredJobAcquisitionRunnable extends SequentialJobAcquisitionRunnable {
+
+    public MeteredJobAcquisitionRunnable(TunableJobExecutor jobExecutor) {
+        super(jobExecutor);
+    }
+
+    @Override
+    protected JobAcquisitionStrategy initializeAcquisitionStrategy() {
+        // called from the super constructor, so only the job executor field is available here
+        return new AdaptiveJobAcquisitionStrategy((TunableJobExecutor) jobExecutor);
+    }
+
+    @Override
+    protected AcquiredJobs acquireJobs(JobAcquisitionContext context, JobAcquisitionStrategy acquisitionStrategy,
+                                       ProcessEngineImpl currentProcessEngine) {
+        if (acquisitionStrategy.getNumJobsToAcquire(currentProcessEngine.getName()) == 0) {
+            return super.acquireJobs(context, acquisitionStrategy, currentProcessEngine);
+        }
+        long start = System.nanoTime();
+        AcquiredJobs acquiredJobs = super.acquireJobs(context, acquisitionStrategy, currentProcessEngine);
+        ((TunableJobExecutor) jobExecutor).getMetrics().acquisition(System.nanoTime() - start, acquiredJobs);
+        return acquiredJobs;
+    }
+}
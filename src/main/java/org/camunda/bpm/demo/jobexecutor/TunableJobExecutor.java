@@ -0,0 +1,88 @@
+package org.camunda.bpm.demo.jobexecutor;
+
+import lombok.Getter;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.NotifyAcquisitionRejectedJobsHandler;
+import org.camunda.bpm.engine.spring.components.jobexecutor.SpringJobExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Spring job executor on a dedicated thread pool, acquiring with the {@link AdaptiveJobAcquisitionStrategy}
+ * and recording {@link JobExecutorMetrics}. Rejected batches are handed back to the acquisition, which then
+ * waits until the pool has room again instead of running jobs on the acquisition thread.
+ * Jobs of processes with a bulkhead run on the bulkhead's pool, see {@link JobBulkheads}.
+ */
+public class TunableJobExecutor extends SpringJobExecutor {
+
+    @Getter
+    private final JobExecutorProperties properties;
+
+    @Getter
+    private final JobExecutorMetrics metrics;
+
+    private final ThreadPoolTaskExecutor threadPool;
+    private final JobBulkheads bulkheads;
+
+    public TunableJobExecutor(ThreadPoolTaskExecutor threadPool, JobExecutorProperties properties, JobExecutorMetrics metrics) {
+        this(threadPool, properties, metrics, JobBulkheads.none());
+    }
+
+    public TunableJobExecutor(ThreadPoolTaskExecutor threadPool, JobExecutorProperties properties, JobExecutorMetrics metrics,
+                              JobBulkheads bulkheads) {
+        this.threadPool = threadPool;
+        this.bulkheads = bulkheads;
+        this.properties = properties;
+        this.metrics = metrics;
+        setTaskExecutor(threadPool);
+        setRejectedJobsHandler(new NotifyAcquisitionRejectedJobsHandler());
+        setMaxJobsPerAcquisition(properties.getMinJobsPerAcquisition());
+        setLockTimeInMillis(properties.getLockTimeMs());
+        setWaitTimeInMillis(properties.getWaitTimeMs());
+        setMaxWait(properties.getMaxWaitMs());
+        setWaitIncreaseFactor(properties.getWaitIncreaseFactor());
+        setBackoffTimeInMillis(properties.getBackoffTimeMs());
+        setMaxBackoff(properties.getMaxBackoffMs());
+        setBackoffDecreaseThreshold(properties.getBackoffDecreaseThreshold());
+        if (!bulkheads.isEmpty()) {
+            setAcquireJobsCmdFactory(bulkheads.acquireJobsCommandFactory(this));
+        }
+        metrics.bindThreadPool(threadPool, "shared");
+        bulkheads.getThreadPools().forEach((processDefinitionKey, bulkhead) -> metrics.bindThreadPool(bulkhead, processDefinitionKey));
+    }
+
+    @Override
+    protected void ensureInitialization() {
+        super.ensureInitialization();
+        acquireJobsRunnable = new MeteredJobAcquisitionRunnable(this);
+    }
+
+    @Override
+    public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+        bulkheads.route(jobIds).forEach((bulkhead, batch) -> execute(bulkhead != null ? bulkhead : threadPool, batch, processEngine));
+    }
+
+    private void execute(ThreadPoolTaskExecutor pool, List<String> jobIds, ProcessEngineImpl processEngine) {
+        try {
+            pool.execute(getExecuteJobsRunnable(jobIds, processEngine));
+        } catch (RejectedExecutionException e) {
+            metrics.rejected(jobIds.size());
+            logRejectedExecution(processEngine, jobIds.size());
+            rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+        }
+    }
+
+    /**
+     * Job batches the shared thread pool can still take without rejecting, counting idle threads up to the maximum and free queue slots.
+     * The pool runs and queues batches, not jobs. A batch holds at least one job (exclusive jobs of one instance share a batch),
+     * so acquiring at most this many jobs yields at most this many batches and is never rejected for lack of room.
+     */
+    public int getFreeCapacity() {
+        ThreadPoolExecutor executor = threadPool.getThreadPoolExecutor();
+        int idleThreads = executor.getMaximumPoolSize() - executor.getActiveCount();
+        return Math.max(0, idleThreads + executor.getQueue().remainingCapacity());
+    }
+}
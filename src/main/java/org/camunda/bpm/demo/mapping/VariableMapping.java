@@ -0,0 +1,168 @@
+package org.camunda.bpm.demo.mapping;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.demo.variables.VariableConverters;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A compiled set of field mappings. Paths are split and converters resolved when the mapping is compiled,
+ * {@link #apply(Object)} only walks the payload and runs the prepared converter chain per field.
+ * Callers read a mapped variable through a {@link Field} of its declared type instead of checking its type.
+ */
+@Slf4j
+public final class VariableMapping {
+
+    private final String name;
+    private final String source;
+    private final List<FieldMapping> fields;
+
+    private VariableMapping(String name, String source, List<FieldMapping> fields) {
+        this.name = name;
+        this.source = source;
+        this.fields = fields;
+    }
+
+    public static VariableMapping compile(String name, VariableMappingProperties.Definition definition) {
+        if (definition.getSource() == null || definition.getSource().isEmpty()) {
+            throw new IllegalArgumentException("Variable mapping '" + name + "' has no source variable");
+        }
+        List<FieldMapping> fields = new ArrayList<>();
+        definition.getFields().forEach((target, expression) -> fields.add(FieldMapping.compile(name, target, expression)));
+        return new VariableMapping(name, definition.getSource(), Collections.unmodifiableList(fields));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Name of the process variable holding the payload
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the typed accessor of a mapped variable, failing unless the mapping declares it with that type
+     */
+    public <T> Field<T> field(String target, Class<T> type) {
+        for (FieldMapping field : fields) {
+            if (field.target.equals(target)) {
+                if (field.javaType != type) {
+                    throw new IllegalArgumentException("Variable mapping '" + name + "' maps " + target + " as "
+                            + field.type + ", not as " + type.getSimpleName());
+                }
+                return new Field<>(target);
+            }
+        }
+        throw new IllegalArgumentException("Variable mapping '" + name + "' has no variable " + target);
+    }
+
+    /**
+     * Maps the payload to variables. Missing values are skipped, values that cannot be converted are logged and skipped.
+     */
+    public Map<String, Object> apply(Object payload) {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        for (FieldMapping field : fields) {
+            Object raw = field.extract(payload);
+            if (raw == null) {
+                continue;
+            }
+            try {
+                Object value = field.converter.apply(raw);
+                if (value != null) {
+                    variables.put(field.target, value);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Mapping '{}': could not convert {} value '{}' for variable {}", name, field.type, raw, field.target);
+            }
+        }
+        return variables;
+    }
+
+    /**
+     * A mapped variable of the type declared in the mapping
+     */
+    public static final class Field<T> {
+        private final String target;
+
+        private Field(String target) {
+            this.target = target;
+        }
+
+        public String getName() {
+            return target;
+        }
+
+        /**
+         * The value in variables returned by {@link VariableMapping#apply(Object)}, or null if it was missing or not convertible
+         */
+        @SuppressWarnings("unchecked")
+        public T get(Map<String, Object> variables) {
+            return (T) variables.get(target);
+        }
+    }
+
+    private static final class FieldMapping {
+        private final String target;
+        private final String[] path;
+        private final String type;
+        private final Class<?> javaType;
+        private final Function<Object, ?> converter;
+
+        private FieldMapping(String target, String[] path, String type, Class<?> javaType) {
+            this.target = target;
+            this.path = path;
+            this.type = type;
+            this.javaType = javaType;
+            this.converter = VariableConverters.forType(javaType);
+        }
+
+        static FieldMapping compile(String mappingName, String target, String expression) {
+            int separator = expression.lastIndexOf(':');
+            String path = separator >= 0 ? expression.substring(0, separator).trim() : expression.trim();
+            String type = separator >= 0 ? expression.substring(separator + 1).trim().toLowerCase(Locale.ROOT) : "string";
+            return new FieldMapping(target, path.split("\\."), type, javaTypeOf(mappingName, target, type));
+        }
+
+        private static Class<?> javaTypeOf(String mappingName, String target, String type) {
+            switch (type) {
+                case "string":
+                    return String.class;
+                case "long":
+                    return Long.class;
+                case "integer":
+                    return Integer.class;
+                case "double":
+                    return Double.class;
+                case "boolean":
+                    return Boolean.class;
+                case "date":
+                    return LocalDate.class;
+                default:
+                    throw new IllegalArgumentException("Variable mapping '" + mappingName + "': unknown type '"
+                            + type + "' for variable " + target);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        Object extract(Object payload) {
+            Object current = payload;
+            for (String segment : path) {
+                if (!(current instanceof Map)) {
+                    return null;
+                }
+                current = ((Map<String, Object>) current).get(segment);
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.camunda.bpm.demo.mapping;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mappings from message payload paths to typed process variables, configured under {@code variable-mapping}:
+ * <pre>
+ * variable-mapping:
+ *   mappings:
+ *     order:
+ *       source: dto
+ *       fields:
+ *         orderValue: orderValue:long
+ * </pre>
+ * Each field maps a target variable to {@code path[:type]} inside the source variable, nested keys separated by dots.
+ * Supported types are string (default), long, integer, double, boolean and date.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "variable-mapping")
+public class VariableMappingProperties {
+
+    private Map<String, Definition> mappings = new LinkedHashMap<>();
+
+    @Data
+    public static class Definition {
+        private String source;
+        private Map<String, String> fields = new LinkedHashMap<>();
+    }
+}
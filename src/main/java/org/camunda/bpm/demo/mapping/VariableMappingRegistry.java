@@ -0,0 +1,33 @@
+package org.camunda.bpm.demo.mapping;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compiles all configured {@link VariableMapping}s once at startup
+ */
+@Component
+@Slf4j
+public class VariableMappingRegistry {
+
+    private final Map<String, VariableMapping> mappings;
+
+    public VariableMappingRegistry(VariableMappingProperties properties) {
+        Map<String, VariableMapping> compiled = new LinkedHashMap<>();
+        properties.getMappings().forEach((name, definition) -> compiled.put(name, VariableMapping.compile(name, definition)));
+        this.mappings = Collections.unmodifiableMap(compiled);
+        log.info("Compiled variable mappings: {}", mappings.keySet());
+    }
+
+    public VariableMapping get(String name) {
+        VariableMapping mapping = mappings.get(name);
+        if (mapping == null) {
+            throw new IllegalArgumentException("No variable mapping configured with name '" + name + "'");
+        }
+        return mapping;
+    }
+}
@@ -0,0 +1,144 @@
+package org.camunda.bpm.demo.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResultType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Latency ({@code camunda.message.correlation.latency}) and outcome counts ({@code camunda.message.correlations}) of
+ * message correlations, tagged by message name, outcome and how the instance was addressed.
+ * <p>
+ * The meters of a message are registered on its first correlation and looked up by name and enum index afterwards,
+ * so recording does not allocate.
+ * <p>
+ * Message names come from the Kafka payload, so they are only used as tag once a message correlated, i.e. once a model
+ * declares it, and only up to {@code correlation-metrics.max-message-names}. Mismatches and failures of other names,
+ * and names beyond the limit, are tagged {@value #OTHER}.
+ */
+@Component
+public class CorrelationMetrics {
+
+    public enum Target {
+        PROCESS_INSTANCE_ID("process-instance-id"),
+        BUSINESS_KEY("business-key"),
+        NONE("none");
+
+        private final String tag;
+
+        Target(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum Outcome {
+        MATCHED, STARTED, MISMATCHED, FAILED;
+
+        private final String tag = name().toLowerCase();
+    }
+
+    private static final int TARGETS = Target.values().length;
+    private static final int OUTCOMES = Outcome.values().length;
+
+    static final String OTHER = "other";
+
+    private final MeterRegistry registry;
+    private final int maxMessageNames;
+    private final Map<String, MessageMeters> meters = new ConcurrentHashMap<>();
+    private final MessageMeters other;
+
+    public CorrelationMetrics(MeterRegistry registry,
+                              @Value("${correlation-metrics.max-message-names:100}") int maxMessageNames) {
+        this.registry = registry;
+        this.maxMessageNames = maxMessageNames;
+        this.other = new MessageMeters(OTHER);
+    }
+
+    /**
+     * Records a correlation that returned, as started if it started a new instance and as matched otherwise
+     */
+    public void correlated(String messageName, Target target, MessageCorrelationResult result, long nanos) {
+        Outcome outcome = result != null && result.getResultType() == MessageCorrelationResultType.ProcessDefinition
+                ? Outcome.STARTED : Outcome.MATCHED;
+        record(messageName, target, outcome, nanos);
+    }
+
+    /**
+     * Records a correlation that threw, as mismatched if no instance or definition matched and as failed otherwise
+     */
+    public void failed(String messageName, Target target, Exception exception, long nanos) {
+        Outcome outcome = exception instanceof MismatchingMessageCorrelationException ? Outcome.MISMATCHED : Outcome.FAILED;
+        record(messageName, target, outcome, nanos);
+    }
+
+    public void record(String messageName, Target target, Outcome outcome, long nanos) {
+        MessageMeters messageMeters = messageName != null ? meters.get(messageName) : other;
+        if (messageMeters == null) {
+            messageMeters = admit(messageName, outcome);
+        }
+        messageMeters.record(target, outcome, nanos);
+    }
+
+    private synchronized MessageMeters admit(String messageName, Outcome outcome) {
+        MessageMeters messageMeters = meters.get(messageName);
+        if (messageMeters != null) {
+            return messageMeters;
+        }
+        boolean correlated = outcome == Outcome.MATCHED || outcome == Outcome.STARTED;
+        if (!correlated || meters.size() >= maxMessageNames) {
+            return other;
+        }
+        messageMeters = new MessageMeters(messageName);
+        meters.put(messageName, messageMeters);
+        return messageMeters;
+    }
+
+    private final class MessageMeters {
+
+        private final String messageName;
+        // one slot per target and outcome, registered on first use so unused combinations do not export empty series
+        private final AtomicReferenceArray<Timer> latencies = new AtomicReferenceArray<>(TARGETS * OUTCOMES);
+        private final AtomicReferenceArray<Counter> outcomes = new AtomicReferenceArray<>(OUTCOMES);
+
+        private MessageMeters(String messageName) {
+            this.messageName = messageName;
+        }
+
+        private void record(Target target, Outcome outcome, long nanos) {
+            int slot = target.ordinal() * OUTCOMES + outcome.ordinal();
+            Timer latency = latencies.get(slot);
+            if (latency == null) {
+                latency = register(target, outcome, slot);
+            }
+            latency.record(nanos, TimeUnit.NANOSECONDS);
+            outcomes.get(outcome.ordinal()).increment();
+        }
+
+        private synchronized Timer register(Target target, Outcome outcome, int slot) {
+            if (outcomes.get(outcome.ordinal()) == null) {
+                outcomes.set(outcome.ordinal(), Counter.builder("camunda.message.correlations")
+                        .description("Message correlations by outcome")
+                        .tag("message", messageName)
+                        .tag("outcome", outcome.tag)
+                        .register(registry));
+            }
+            Timer latency = Timer.builder("camunda.message.correlation.latency")
+                    .description("Duration of message correlations")
+                    .tag("message", messageName)
+                    .tag("outcome", outcome.tag)
+                    .tag("target", target.tag)
+                    .register(registry);
+            latencies.set(slot, latency);
+            return latency;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.camunda.bpm.demo.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.kafka.support.LoggingProducerListener;
+import org.springframework.kafka.support.ProducerListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per topic, the time from send until the broker acknowledged the record ({@code kafka.producer.send.latency}) and
+ * the sends that failed ({@code kafka.producer.send.failures}). The client's own producer metrics
+ * ({@code kafka.producer.*}) cover batching and request latency, but not per topic.
+ * <p>
+ * Recorded by one {@link ProducerListener} shared by the templates, from the create timestamp the producer gives the
+ * record, so sends need no callback of their own and recording does not allocate. The resolution is therefore one
+ * millisecond. Failures are still logged as by the template's default listener.
+ */
+@Component
+public class KafkaSendMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> latencies = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failures = new ConcurrentHashMap<>();
+    private final Listener listener = new Listener();
+
+    public KafkaSendMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * The listener to set on a template; it only reads the topic, so it fits templates of any key and value type
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> ProducerListener<K, V> listener() {
+        return (ProducerListener<K, V>) (ProducerListener<?, ?>) listener;
+    }
+
+    private void acknowledged(String topic, long createTimestamp) {
+        Timer latency = latencies.get(topic);
+        if (latency == null) {
+            latency = latencies.computeIfAbsent(topic, key -> Timer.builder("kafka.producer.send.latency")
+                    .description("Time from send until the broker acknowledged the record")
+                    .tag("topic", key)
+                    .register(registry));
+        }
+        latency.record(Math.max(0, System.currentTimeMillis() - createTimestamp), TimeUnit.MILLISECONDS);
+    }
+
+    private void failed(String topic) {
+        failures.computeIfAbsent(topic, key -> Counter.builder("kafka.producer.send.failures")
+                .tag("topic", key)
+                .register(registry)).increment();
+    }
+
+    private final class Listener extends LoggingProducerListener<Object, Object> {
+
+        @Override
+        public void onSuccess(ProducerRecord<Object, Object> record, RecordMetadata metadata) {
+            if (metadata.hasTimestamp()) {
+                acknowledged(record.topic(), metadata.timestamp());
+            }
+        }
+
+        @Override
+        public void onError(ProducerRecord<Object, Object> record, RecordMetadata metadata, Exception exception) {
+            failed(record.topic());
+            super.onError(record, metadata, exception);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package org.camunda.bpm.demo.taskcommand;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.demo.businesskey.BusinessKeyCache;
+import org.camunda.bpm.demo.datasource.DataSourceRouting;
+import org.camunda.bpm.demo.dto.TaskCommandDto;
+import org.camunda.bpm.demo.dto.TaskCommandResultDto;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.ClaimTaskCmd;
+import org.camunda.bpm.engine.impl.cmd.CompleteTaskCmd;
+import org.camunda.bpm.engine.impl.cmd.SetTaskVariablesCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.task.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies user task commands in batches of up to {@code task-commands.batch-size}, one engine transaction per batch.
+ * <p>
+ * The tasks of a batch are looked up by the instance ids the {@link BusinessKeyCache} knows and with two queries by
+ * business key for the rest. A command for an instance whose task was completed earlier in the same batch starts a
+ * new batch, so it sees the task that followed. Claims of tasks assigned to someone else are rejected before the
+ * batch runs.
+ * <p>
+ * If a command fails, the batch's transaction is rolled back, the command is reported as failed and the remaining
+ * commands are applied again as one batch. No command is retried on its own, but the commands that ran before the
+ * failure run a second time, as does any delegate they reach. Side effects outside the transaction, like the Kafka
+ * send of {@code MessageDelegate}, must therefore be idempotent or tolerated twice by their consumers.
+ */
+@Service
+@Slf4j
+public class TaskCommandService {
+
+    private final TaskService taskService;
+    private final RuntimeService runtimeService;
+    private final CommandExecutor commandExecutor;
+    private final BusinessKeyCache businessKeyCache;
+    private final int batchSize;
+
+    public TaskCommandService(ProcessEngine processEngine, BusinessKeyCache businessKeyCache,
+                              @Value("${task-commands.batch-size}") int batchSize) {
+        this.taskService = processEngine.getTaskService();
+        this.runtimeService = processEngine.getRuntimeService();
+        this.commandExecutor = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getCommandExecutorTxRequired();
+        this.businessKeyCache = businessKeyCache;
+        this.batchSize = batchSize;
+    }
+
+    public List<TaskCommandResultDto> apply(List<TaskCommandDto> commands) {
+        List<TaskCommandResultDto> results = new ArrayList<>(commands.size());
+        for (List<TaskCommandDto> batch : batches(commands)) {
+            results.addAll(applyBatch(batch));
+        }
+        return results;
+    }
+
+    List<List<TaskCommandDto>> batches(List<TaskCommandDto> commands) {
+        List<List<TaskCommandDto>> batches = new ArrayList<>();
+        List<TaskCommandDto> batch = new ArrayList<>();
+        Set<String> completed = new HashSet<>();
+        for (TaskCommandDto command : commands) {
+            if (batch.size() >= batchSize || completed.contains(command.getBusinessKey())) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                completed.clear();
+            }
+            batch.add(command);
+            if (command.getAction() == TaskCommandDto.Action.COMPLETE && command.getBusinessKey() != null) {
+                completed.add(command.getBusinessKey());
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private List<TaskCommandResultDto> applyBatch(List<TaskCommandDto> batch) {
+        // Commands act on the current tasks, so they are never looked up on the read replica
+        Map<String, List<Task>> tasksByBusinessKey = DataSourceRouting.onPrimary(() -> findTasks(batch));
+        List<TaskCommandResultDto> results = new ArrayList<>(batch.size());
+        List<PendingCommand> pending = new ArrayList<>();
+        for (TaskCommandDto command : batch) {
+            TaskCommandResultDto result = result(command);
+            results.add(result);
+            if (validate(command, result)) {
+                Task task = resolveTask(command, tasksByBusinessKey.getOrDefault(command.getBusinessKey(), new ArrayList<>()), result);
+                if (task != null && claimable(command, task, result)) {
+                    result.setTaskId(task.getId());
+                    pending.add(new PendingCommand(result, toEngineCommand(command, task.getId())));
+                }
+            }
+        }
+        List<PendingCommand> remaining = new ArrayList<>(pending);
+        while (!remaining.isEmpty()) {
+            int[] running = {-1};
+            try {
+                commandExecutor.execute(commandContext -> {
+                    for (int i = 0; i < remaining.size(); i++) {
+                        running[0] = i;
+                        remaining.get(i).engineCommand.execute(commandContext);
+                    }
+                    // Failures from here on happen on flush and belong to no single command
+                    running[0] = -1;
+                    return null;
+                });
+                remaining.forEach(command -> command.result.setStatus(TaskCommandResultDto.Status.APPLIED));
+                return results;
+            } catch (RuntimeException e) {
+                if (running[0] < 0) {
+                    log.warn("Task command batch of {} failed on flush: {}", remaining.size(), e.getMessage());
+                    remaining.forEach(command -> failed(command, e));
+                    return results;
+                }
+                PendingCommand failed = remaining.remove(running[0]);
+                failed(failed, e);
+                log.warn("Task command {} failed, applying the other {} commands of its batch again: {}",
+                        failed.result.getCommandId(), remaining.size(), e.getMessage());
+            }
+        }
+        return results;
+    }
+
+    private Map<String, List<Task>> findTasks(List<TaskCommandDto> batch) {
+        Set<String> businessKeys = batch.stream()
+                .map(TaskCommandDto::getBusinessKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, List<Task>> tasksByBusinessKey = new HashMap<>();
+        Map<String, String> businessKeyByInstance = new HashMap<>();
+        Set<String> uncached = new LinkedHashSet<>();
+        for (String businessKey : businessKeys) {
+            String processInstanceId = businessKeyCache.getProcessInstanceId(businessKey);
+            if (processInstanceId != null) {
+                businessKeyByInstance.put(processInstanceId, businessKey);
+            } else {
+                uncached.add(businessKey);
+            }
+        }
+        List<Task> tasks = new ArrayList<>();
+        if (!businessKeyByInstance.isEmpty()) {
+            tasks.addAll(taskService.createTaskQuery()
+                    .processInstanceIdIn(businessKeyByInstance.keySet().toArray(new String[0]))
+                    .active()
+                    .list());
+            // A cached instance without tasks may have ended on another node; ask by business key again
+            Set<String> withTasks = tasks.stream().map(Task::getProcessInstanceId).collect(Collectors.toSet());
+            businessKeyByInstance.forEach((processInstanceId, businessKey) -> {
+                if (!withTasks.contains(processInstanceId)) {
+                    uncached.add(businessKey);
+                }
+            });
+        }
+        if (!uncached.isEmpty()) {
+            List<Task> uncachedTasks = taskService.createTaskQuery()
+                    .processInstanceBusinessKeyIn(uncached.toArray(new String[0]))
+                    .active()
+                    .list();
+            if (!uncachedTasks.isEmpty()) {
+                runtimeService.createProcessInstanceQuery()
+                        .processInstanceIds(uncachedTasks.stream().map(Task::getProcessInstanceId).collect(Collectors.toSet()))
+                        .list()
+                        .forEach(processInstance -> businessKeyByInstance.put(processInstance.getId(), processInstance.getBusinessKey()));
+                tasks.addAll(uncachedTasks);
+            }
+        }
+        for (Task task : tasks) {
+            String businessKey = businessKeyByInstance.get(task.getProcessInstanceId());
+            if (businessKey != null) {
+                tasksByBusinessKey.computeIfAbsent(businessKey, key -> new ArrayList<>()).add(task);
+            }
+        }
+        return tasksByBusinessKey;
+    }
+
+    private static boolean validate(TaskCommandDto command, TaskCommandResultDto result) {
+        String problem = null;
+        if (command.getBusinessKey() == null) {
+            problem = "Business key is missing";
+        } else if (command.getAction() == null) {
+            problem = "Action is missing";
+        } else if (command.getAction() == TaskCommandDto.Action.CLAIM && command.getUserId() == null) {
+            problem = "Claim without user id";
+        } else if (command.getAction() == TaskCommandDto.Action.SET_VARIABLES && command.getVariables() == null) {
+            problem = "No variables to set";
+        }
+        if (problem != null) {
+            result.setStatus(TaskCommandResultDto.Status.REJECTED);
+            result.setMessage(problem);
+            return false;
+        }
+        return true;
+    }
+
+    private static void failed(PendingCommand command, RuntimeException e) {
+        command.result.setStatus(TaskCommandResultDto.Status.FAILED);
+        command.result.setMessage(e.getMessage());
+    }
+
+    private static boolean claimable(TaskCommandDto command, Task task, TaskCommandResultDto result) {
+        if (command.getAction() == TaskCommandDto.Action.CLAIM && task.getAssignee() != null
+                && !task.getAssignee().equals(command.getUserId())) {
+            result.setStatus(TaskCommandResultDto.Status.REJECTED);
+            result.setMessage("Task is already claimed by '" + task.getAssignee() + "'");
+            return false;
+        }
+        return true;
+    }
+
+    private static Task resolveTask(TaskCommandDto command, List<Task> tasks, TaskCommandResultDto result) {
+        List<Task> candidates = command.getTaskDefinitionKey() == null ? tasks : tasks.stream()
+                .filter(task -> command.getTaskDefinitionKey().equals(task.getTaskDefinitionKey()))
+                .collect(Collectors.toList());
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        if (candidates.isEmpty()) {
+            result.setStatus(TaskCommandResultDto.Status.NOT_FOUND);
+            result.setMessage("No active task" + (command.getTaskDefinitionKey() != null ? " '" + command.getTaskDefinitionKey() + "'" : "")
+                    + " for business key '" + command.getBusinessKey() + "'");
+        } else {
+            result.setStatus(TaskCommandResultDto.Status.AMBIGUOUS);
+            result.setMessage(candidates.size() + " active tasks for business key '" + command.getBusinessKey()
+                    + "', set the task definition key");
+        }
+        return null;
+    }
+
+    private static Command<?> toEngineCommand(TaskCommandDto command, String taskId) {
+        switch (command.getAction()) {
+            case COMPLETE:
+                return new CompleteTaskCmd(taskId, command.getVariables());
+            case CLAIM:
+                return new ClaimTaskCmd(taskId, command.getUserId());
+            case SET_VARIABLES:
+                return new SetTaskVariablesCmd(taskId, command.getVariables(), false);
+            default:
+                throw new IllegalArgumentException("Unsupported task command " + command.getAction());
+        }
+    }
+
+    private static TaskCommandResultDto result(TaskCommandDto command) {
+        return TaskCommandResultDto.builder()
+                .commandId(command.getCommandId())
+                .businessKey(command.getBusinessKey())
+                .action(command.getAction())
+                .build();
+    }
+
+    private static class PendingCommand {
+        private final TaskCommandResultDto result;
+        private final Command<?> engineCommand;
+
+        PendingCommand(TaskCommandResultDto result, Command<?> engineCommand) {
+            this.result = result;
+            this.engineCommand = engineCommand;
+        }
+    }
+}
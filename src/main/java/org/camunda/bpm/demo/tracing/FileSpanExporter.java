@@ -0,0 +1,186 @@
+package org.camunda.bpm.demo.tracing;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Local stand-in for an OpenTelemetry collector: appends ended spans to {@code tracing.file} in the OTLP/JSON
+ * format of the collector's file exporter, one {@code resourceSpans} document per line. The file can be replayed
+ * into a collector with its otlpjsonfile receiver or read with jq.
+ * <p>
+ * Ending threads only append to a lock-free queue; a writer thread writes a line when {@code tracing.batch-size}
+ * spans are queued or {@code tracing.flush-interval-ms} passed. Spans beyond {@code tracing.max-queue-size} are
+ * dropped and counted as {@code tracing.spans.dropped}.
+ */
+@Slf4j
+public class FileSpanExporter implements SpanExporter, Closeable {
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final TracingProperties properties;
+    private final Path file;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Queue<Span> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final Counter exported;
+    private final Counter dropped;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public FileSpanExporter(TracingProperties properties, MeterRegistry registry) throws IOException {
+        this.properties = properties;
+        this.file = Paths.get(properties.getFile());
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.exported = Counter.builder("tracing.spans.exported").register(registry);
+        this.dropped = Counter.builder("tracing.spans.dropped").register(registry);
+        this.writer = new Thread(this::run, "span-exporter");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Exporting spans to {}", file);
+    }
+
+    @Override
+    public void export(Span span) {
+        if (!running || queueSize.get() >= properties.getMaxQueueSize()) {
+            dropped.increment();
+            return;
+        }
+        queue.add(span);
+        if (queueSize.incrementAndGet() >= properties.getBatchSize()) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Writes the spans still queued and stops the writer thread
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMs());
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            while (running || queueSize.get() > 0) {
+                if (running && queueSize.get() < properties.getBatchSize()) {
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+                List<Span> batch = new ArrayList<>();
+                for (Span span; batch.size() < properties.getBatchSize() && (span = queue.poll()) != null; ) {
+                    queueSize.decrementAndGet();
+                    batch.add(span);
+                }
+                if (!batch.isEmpty()) {
+                    out.write(toOtlpJson(batch));
+                    out.write(NEWLINE);
+                    out.flush();
+                    exported.increment(batch.size());
+                }
+            }
+        } catch (IOException e) {
+            running = false;
+            log.error("Span export to {} failed, dropping further spans", file, e);
+        }
+    }
+
+    byte[] toOtlpJson(List<Span> spans) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator json = jsonFactory.createGenerator(bytes, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("resourceSpans");
+            json.writeStartObject();
+            json.writeObjectFieldStart("resource");
+            json.writeArrayFieldStart("attributes");
+            writeAttribute(json, "service.name", properties.getServiceName());
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeArrayFieldStart("scopeSpans");
+            json.writeStartObject();
+            json.writeObjectFieldStart("scope");
+            json.writeStringField("name", getClass().getPackageName());
+            json.writeEndObject();
+            json.writeArrayFieldStart("spans");
+            for (Span span : spans) {
+                writeSpan(json, span);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeSpan(JsonGenerator json, Span span) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("traceId", span.getContext().getTraceId());
+        json.writeStringField("spanId", span.getContext().getSpanId());
+        if (span.getParentSpanId() != null) {
+            json.writeStringField("parentSpanId", span.getParentSpanId());
+        }
+        json.writeStringField("name", span.getName());
+        json.writeNumberField("kind", span.getKind().getCode());
+        json.writeStringField("startTimeUnixNano", Long.toString(span.getStartEpochNanos()));
+        json.writeStringField("endTimeUnixNano", Long.toString(span.getEndEpochNanos()));
+        json.writeArrayFieldStart("attributes");
+        for (Map.Entry<String, Object> attribute : span.getAttributes().entrySet()) {
+            writeAttribute(json, attribute.getKey(), attribute.getValue());
+        }
+        json.writeEndArray();
+        if (span.getError() != null) {
+            json.writeObjectFieldStart("status");
+            json.writeNumberField("code", 2);
+            json.writeStringField("message", span.getError());
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+    }
+
+    private static void writeAttribute(JsonGenerator json, String key, Object value) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("key", key);
+        json.writeObjectFieldStart("value");
+        if (value instanceof Integer || value instanceof Long) {
+            // int64 values are strings in OTLP/JSON
+            json.writeStringField("intValue", value.toString());
+        } else if (value instanceof Number) {
+            json.writeNumberField("doubleValue", ((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            json.writeBooleanField("boolValue", (Boolean) value);
+        } else {
+            json.writeStringField("stringValue", String.valueOf(value));
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+}
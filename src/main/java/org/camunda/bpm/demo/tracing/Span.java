@@ -0,0 +1,71 @@
+package org.camunda.bpm.demo.tracing;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One timed stage of a trace, started and ended by the {@link Tracer}. Times are epoch nanoseconds derived from
+ * {@link System#nanoTime()}, so durations are exact and spans of one node line up.
+ */
+@Getter
+public final class Span {
+
+    /** OTLP span kinds, by their protocol number */
+    public enum Kind {
+        INTERNAL(1),
+        SERVER(2),
+        CLIENT(3),
+        PRODUCER(4),
+        CONSUMER(5);
+
+        private final int code;
+
+        Kind(int code) {
+            this.code = code;
+        }
+
+        public int getCode() {
+            return code;
+        }
+    }
+
+    private static final long EPOCH_OFFSET_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) - System.nanoTime();
+
+    private final String name;
+    private final Kind kind;
+    private final TraceContext context;
+    private final String parentSpanId;
+    private final long startEpochNanos;
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private long endEpochNanos;
+    private String error;
+
+    Span(String name, Kind kind, TraceContext parent, long startEpochNanos) {
+        this.name = name;
+        this.kind = kind;
+        this.context = TraceContext.newSpan(parent);
+        this.parentSpanId = parent != null ? parent.getSpanId() : null;
+        this.startEpochNanos = startEpochNanos;
+    }
+
+    static long nowEpochNanos() {
+        return EPOCH_OFFSET_NANOS + System.nanoTime();
+    }
+
+    public Span attribute(String key, Object value) {
+        attributes.put(key, value);
+        return this;
+    }
+
+    public void setError(Throwable throwable) {
+        this.error = throwable.getClass().getSimpleName() + ": " + throwable.getMessage();
+    }
+
+    void end(long endEpochNanos) {
+        this.endEpochNanos = endEpochNanos;
+    }
+}
@@ -0,0 +1,9 @@
+package org.camunda.bpm.demo.tracing;
+
+/**
+ * Receives ended spans; called on the thread that ended the span, so implementations must not block
+ */
+public interface SpanExporter {
+
+    void export(Span span);
+}
@@ -0,0 +1,87 @@
+package org.camunda.bpm.demo.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Trace and span id of a span, as carried between processes in a W3C {@code traceparent}
+ * ({@code 00-<trace id>-<span id>-01}): in the Kafka record header and HTTP header of that name, and in the process
+ * variable {@link Tracing#VARIABLE} between the correlation that reached an instance and its later sends.
+ */
+public final class TraceContext {
+
+    public static final String HEADER = "traceparent";
+
+    private static final int LENGTH = 55;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String traceId;
+    private final String spanId;
+
+    private TraceContext(String traceId, String spanId) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+    }
+
+    /**
+     * Context of a new span: in the trace of the parent, or the first span of a new trace without one
+     */
+    static TraceContext newSpan(TraceContext parent) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String traceId = parent != null ? parent.traceId : hex(random.nextLong() | 1) + hex(random.nextLong());
+        return new TraceContext(traceId, hex(random.nextLong() | 1));
+    }
+
+    /**
+     * Parses a traceparent, returning null if it is missing or malformed so the receiver starts a new trace
+     */
+    public static TraceContext parse(String traceparent) {
+        if (traceparent == null || traceparent.length() != LENGTH || !traceparent.startsWith("00-")
+                || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return null;
+        }
+        String traceId = traceparent.substring(3, 35);
+        String spanId = traceparent.substring(36, 52);
+        if (!isHex(traceId) || !isHex(spanId)) {
+            return null;
+        }
+        return new TraceContext(traceId, spanId);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String toTraceparent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    @Override
+    public String toString() {
+        return toTraceparent();
+    }
+
+    private static String hex(long value) {
+        char[] chars = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    private static boolean isHex(String value) {
+        boolean nonZero = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+            nonZero |= c != '0';
+        }
+        return nonZero;
+    }
+}
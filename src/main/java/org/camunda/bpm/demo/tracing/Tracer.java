@@ -0,0 +1,47 @@
+package org.camunda.bpm.demo.tracing;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts and ends the spans of the traced stages and hands ended spans to the {@link SpanExporter}.
+ * Without an exporter tracing is disabled: no spans are created and callers get null, which all methods here and
+ * {@link Tracing#activate(Span)} accept.
+ */
+public class Tracer {
+
+    private final SpanExporter exporter;
+
+    public Tracer(SpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    public boolean isEnabled() {
+        return exporter != null;
+    }
+
+    /**
+     * Starts a span now, as child of the parent or as the root of a new trace without one
+     */
+    public Span start(String name, Span.Kind kind, TraceContext parent) {
+        return exporter != null ? new Span(name, kind, parent, Span.nowEpochNanos()) : null;
+    }
+
+    public void end(Span span) {
+        if (span != null) {
+            span.end(Span.nowEpochNanos());
+            exporter.export(span);
+        }
+    }
+
+    /**
+     * Starts a span of a stage that began before it could be observed here, e.g. the time a record waited in its
+     * topic, at the given epoch milliseconds
+     */
+    public Span startAt(String name, Span.Kind kind, TraceContext parent, long startEpochMillis) {
+        if (exporter == null) {
+            return null;
+        }
+        long startEpochNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(startEpochMillis), Span.nowEpochNanos());
+        return new Span(name, kind, parent, startEpochNanos);
+    }
+}
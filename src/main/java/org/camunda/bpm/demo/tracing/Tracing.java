@@ -0,0 +1,45 @@
+package org.camunda.bpm.demo.tracing;
+
+/**
+ * The trace context of the span the current thread works in. Kafka sends on the thread carry it as their
+ * {@value TraceContext#HEADER} header (see {@link TracingProducerInterceptor}), and correlations store it in the
+ * process variable {@value #VARIABLE}, so sends of the reached instance continue the trace.
+ */
+public final class Tracing {
+
+    public static final String VARIABLE = "traceparent";
+
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+    private static final Scope NO_SCOPE = () -> { };
+
+    private Tracing() {
+    }
+
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes the span current until the returned scope is closed; a null span, i.e. tracing disabled, changes nothing
+     */
+    public static Scope activate(Span span) {
+        if (span == null) {
+            return NO_SCOPE;
+        }
+        TraceContext previous = CURRENT.get();
+        CURRENT.set(span.getContext());
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,43 @@
+package org.camunda.bpm.demo.tracing;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Runs a request in a current server span, continuing the caller's trace if it sent a
+ * {@value TraceContext#HEADER} header, and returns the span's traceparent so the caller can look up the trace
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Span span = tracer.start(request.getMethod() + " " + request.getRequestURI(), Span.Kind.SERVER,
+                TraceContext.parse(request.getHeader(TraceContext.HEADER)));
+        if (span == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setHeader(TraceContext.HEADER, span.getContext().toTraceparent());
+        try (Tracing.Scope scope = Tracing.activate(span)) {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.setError(e);
+            throw e;
+        } finally {
+            span.attribute("http.response.status_code", response.getStatus());
+            tracer.end(span);
+        }
+    }
+}
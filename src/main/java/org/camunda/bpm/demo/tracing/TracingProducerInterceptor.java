@@ -0,0 +1,36 @@
+package org.camunda.bpm.demo.tracing;
+
+import org.apache.kafka.clients.producer.ProducerInterceptor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Stamps records sent in a traced span with the span's {@value TraceContext#HEADER} header. Kafka calls it on the
+ * sending thread, before serialization, so the span is the one {@link Tracing} holds for the caller.
+ */
+public class TracingProducerInterceptor implements ProducerInterceptor<Object, Object> {
+
+    @Override
+    public ProducerRecord<Object, Object> onSend(ProducerRecord<Object, Object> record) {
+        TraceContext context = Tracing.current();
+        if (context != null && record.headers().lastHeader(TraceContext.HEADER) == null) {
+            record.headers().add(TraceContext.HEADER, context.toTraceparent().getBytes(StandardCharsets.US_ASCII));
+        }
+        return record;
+    }
+
+    @Override
+    public void onAcknowledgement(RecordMetadata metadata, Exception exception) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+    }
+}
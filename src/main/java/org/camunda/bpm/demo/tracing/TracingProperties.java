@@ -0,0 +1,31 @@
+package org.camunda.bpm.demo.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the trace propagation and the {@link FileSpanExporter}, configured under {@code tracing}
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "tracing")
+public class TracingProperties {
+
+    private boolean enabled = false;
+
+    /** Spans are appended to this file as OTLP/JSON lines, one line per exported batch */
+    private String file;
+
+    /** Value of the service.name resource attribute */
+    private String serviceName = "camunda-kafka-demo";
+
+    /** Spans written per line */
+    private int batchSize = 256;
+
+    /** Longest time an ended span waits for a batch to fill up */
+    private long flushIntervalMs = 1000;
+
+    /** Ended spans beyond this many unwritten ones are dropped and counted */
+    private int maxQueueSize = 10_000;
+}
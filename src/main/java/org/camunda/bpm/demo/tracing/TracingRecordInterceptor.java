@@ -0,0 +1,74 @@
+package org.camunda.bpm.demo.tracing;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.record.TimestampType;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Continues the trace of a received record: records the time it spent between send and poll as a
+ * {@code deliver <topic>} span and runs the listener in a current {@code process <topic>} span, both children of the
+ * span in the record's {@value TraceContext#HEADER} header. Records without one start a new trace.
+ */
+public class TracingRecordInterceptor<K, V> implements RecordInterceptor<K, V> {
+
+    private final Tracer tracer;
+    private final ThreadLocal<Span> processing = new ThreadLocal<>();
+    private final ThreadLocal<Tracing.Scope> scope = new ThreadLocal<>();
+
+    public TracingRecordInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public ConsumerRecord<K, V> intercept(ConsumerRecord<K, V> record) {
+        return record;
+    }
+
+    @Override
+    public ConsumerRecord<K, V> intercept(ConsumerRecord<K, V> record, Consumer<K, V> consumer) {
+        if (!tracer.isEnabled()) {
+            return record;
+        }
+        Header header = record.headers().lastHeader(TraceContext.HEADER);
+        TraceContext parent = header != null ? TraceContext.parse(new String(header.value(), StandardCharsets.US_ASCII)) : null;
+        if (record.timestampType() == TimestampType.CREATE_TIME) {
+            Span delivery = tracer.startAt("deliver " + record.topic(), Span.Kind.CONSUMER, parent, record.timestamp());
+            tracer.end(attributes(delivery, record));
+        }
+        Span span = attributes(tracer.start("process " + record.topic(), Span.Kind.CONSUMER, parent), record);
+        processing.set(span);
+        scope.set(Tracing.activate(span));
+        return record;
+    }
+
+    @Override
+    public void failure(ConsumerRecord<K, V> record, Exception exception, Consumer<K, V> consumer) {
+        Span span = processing.get();
+        if (span != null) {
+            span.setError(exception);
+        }
+    }
+
+    @Override
+    public void afterRecord(ConsumerRecord<K, V> record, Consumer<K, V> consumer) {
+        Span span = processing.get();
+        if (span != null) {
+            scope.get().close();
+            scope.remove();
+            processing.remove();
+            tracer.end(span);
+        }
+    }
+
+    private static Span attributes(Span span, ConsumerRecord<?, ?> record) {
+        return span.attribute("messaging.system", "kafka")
+                .attribute("messaging.destination.name", record.topic())
+                .attribute("messaging.kafka.partition", record.partition())
+                .attribute("messaging.kafka.offset", record.offset());
+    }
+}
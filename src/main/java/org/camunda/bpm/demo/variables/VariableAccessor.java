@@ -0,0 +1,120 @@
+package org.camunda.bpm.demo.variables;
+
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.value.SerializableValue;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Typed, prefetching view on the variables of a delegate execution.
+ * <p>
+ * All variables are fetched with a single call and without deserializing object values; only serialized values
+ * that are actually read get deserialized. Writes are buffered and applied with one {@code setVariables} call by
+ * {@link #flush()}. Type mismatches surface as {@link IllegalArgumentException} naming the variable instead of a
+ * {@link ClassCastException}.
+ */
+public class VariableAccessor {
+
+    private final VariableScope scope;
+    private final VariableMap prefetched;
+    private final Map<String, Object> resolved = new HashMap<>();
+    private final Map<String, Object> pendingWrites = new LinkedHashMap<>();
+
+    private VariableAccessor(VariableScope scope) {
+        this.scope = scope;
+        this.prefetched = scope.getVariablesTyped(false);
+    }
+
+    public static VariableAccessor of(VariableScope scope) {
+        return new VariableAccessor(scope);
+    }
+
+    public boolean contains(String name) {
+        return pendingWrites.containsKey(name) || prefetched.containsKey(name);
+    }
+
+    public Object get(String name) {
+        if (pendingWrites.containsKey(name)) {
+            return pendingWrites.get(name);
+        }
+        return resolved.computeIfAbsent(name, this::resolve);
+    }
+
+    public <T> T get(String name, Class<T> type) {
+        try {
+            return VariableConverters.forType(type).apply(get(name));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Variable '" + name + "' is not a " + type.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    public String getString(String name) {
+        return get(name, String.class);
+    }
+
+    public Long getLong(String name) {
+        return get(name, Long.class);
+    }
+
+    public Boolean getBoolean(String name) {
+        return get(name, Boolean.class);
+    }
+
+    /**
+     * Binds the variables named after the DTO properties into a new DTO instance
+     */
+    public <T> T bind(Class<T> type) {
+        return VariableBinding.of(type).read(name -> contains(name) ? get(name) : null);
+    }
+
+    /**
+     * Buffers a write; it is visible to later reads through this accessor and applied by {@link #flush()}
+     */
+    public VariableAccessor set(String name, Object value) {
+        pendingWrites.put(name, value);
+        return this;
+    }
+
+    /**
+     * Buffers writes for all non-null properties of the DTO
+     */
+    @SuppressWarnings("unchecked")
+    public <T> VariableAccessor setAll(T dto) {
+        VariableBinding.of((Class<T>) dto.getClass()).write(dto, pendingWrites);
+        return this;
+    }
+
+    /**
+     * Returns and clears the buffered writes, for callers that apply them themselves
+     */
+    public Map<String, Object> drainWrites() {
+        Map<String, Object> writes = new LinkedHashMap<>(pendingWrites);
+        pendingWrites.clear();
+        return writes;
+    }
+
+    /**
+     * Applies all buffered writes with a single {@code setVariables} call
+     */
+    public void flush() {
+        if (!pendingWrites.isEmpty()) {
+            scope.setVariables(drainWrites());
+        }
+    }
+
+    private Object resolve(String name) {
+        TypedValue value = prefetched.getValueTyped(name);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof SerializableValue && !((SerializableValue) value).isDeserialized()) {
+            TypedValue deserialized = scope.getVariableTyped(name, true);
+            return deserialized != null ? deserialized.getValue() : null;
+        }
+        return value.getValue();
+    }
+}
@@ -0,0 +1,112 @@
+package org.camunda.bpm.demo.variables;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Maps process variables onto the bean properties of a DTO, with the property name as variable name.
+ * Introspection and converter lookup happen once per type; use {@link #of(Class)} to get the cached binding.
+ */
+public final class VariableBinding<T> {
+
+    private static final Map<Class<?>, VariableBinding<?>> BINDINGS = new ConcurrentHashMap<>();
+
+    private final Constructor<T> constructor;
+    private final List<Property> properties;
+    private final Set<String> variableNames;
+
+    private VariableBinding(Class<T> type) {
+        try {
+            this.constructor = type.getDeclaredConstructor();
+            List<Property> bound = new ArrayList<>();
+            Set<String> names = new LinkedHashSet<>();
+            BeanInfo info = Introspector.getBeanInfo(type, Object.class);
+            for (PropertyDescriptor pd : info.getPropertyDescriptors()) {
+                if (pd.getReadMethod() != null && pd.getWriteMethod() != null) {
+                    bound.add(new Property(pd.getName(), pd.getReadMethod(), pd.getWriteMethod(),
+                            VariableConverters.forType(pd.getPropertyType())));
+                    names.add(pd.getName());
+                }
+            }
+            this.properties = Collections.unmodifiableList(bound);
+            this.variableNames = Collections.unmodifiableSet(names);
+        } catch (IntrospectionException | NoSuchMethodException e) {
+            throw new IllegalArgumentException("Cannot bind process variables to " + type.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> VariableBinding<T> of(Class<T> type) {
+        return (VariableBinding<T>) BINDINGS.computeIfAbsent(type, VariableBinding::new);
+    }
+
+    /**
+     * Names of the variables this binding reads and writes
+     */
+    public Set<String> getVariableNames() {
+        return variableNames;
+    }
+
+    /**
+     * Creates the DTO from the variables the lookup returns by name, missing variables (null) leave the property null
+     */
+    public T read(Function<String, Object> variables) {
+        try {
+            T target = constructor.newInstance();
+            for (Property property : properties) {
+                Object value = variables.apply(property.name);
+                if (value != null) {
+                    property.writer.invoke(target, property.converter.apply(value));
+                }
+            }
+            return target;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot bind process variables to " + constructor.getDeclaringClass().getName(), e);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cannot bind process variables to "
+                    + constructor.getDeclaringClass().getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes all non-null properties of the DTO into the given map
+     */
+    public void write(T source, Map<String, Object> variables) {
+        try {
+            for (Property property : properties) {
+                Object value = property.reader.invoke(source);
+                if (value != null) {
+                    variables.put(property.name, value);
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot read " + constructor.getDeclaringClass().getName(), e);
+        }
+    }
+
+    private static final class Property {
+        private final String name;
+        private final Method reader;
+        private final Method writer;
+        private final Function<Object, ?> converter;
+
+        private Property(String name, Method reader, Method writer, Function<Object, ?> converter) {
+            this.name = name;
+            this.reader = reader;
+            this.writer = writer;
+            this.converter = converter;
+        }
+    }
+}
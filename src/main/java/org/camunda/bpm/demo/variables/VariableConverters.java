@@ -0,0 +1,121 @@
+package org.camunda.bpm.demo.variables;
+
+import lombok.experimental.UtilityClass;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Converts raw variable values into the Java types used by delegates and DTOs.
+ * A converter is resolved once per target type, so callers hold on to it instead of re-checking types per call.
+ * <p>
+ * Values of untyped payloads, e.g. JSON, arrive as Integer, Long, Double or String for the same field, so a converter
+ * still looks at the class of each value. It looks the conversion up by that exact class; only the first value of a
+ * class walks the supported source types, and the result is cached for the class.
+ */
+@UtilityClass
+public class VariableConverters {
+
+    private final Map<Class<?>, Function<Object, ?>> CONVERTERS = new HashMap<>();
+
+    static {
+        CONVERTERS.put(String.class, new Converter<>(String.class)
+                .from(Object.class, Object::toString));
+        CONVERTERS.put(Long.class, new Converter<>(Long.class)
+                .from(Number.class, Number::longValue)
+                .from(String.class, text -> Long.parseLong(text.trim())));
+        CONVERTERS.put(Integer.class, new Converter<>(Integer.class)
+                .from(Number.class, number -> Math.toIntExact(number.longValue()))
+                .from(String.class, text -> Math.toIntExact(Long.parseLong(text.trim()))));
+        CONVERTERS.put(Double.class, new Converter<>(Double.class)
+                .from(Number.class, Number::doubleValue)
+                .from(String.class, text -> Double.parseDouble(text.trim())));
+        CONVERTERS.put(Boolean.class, new Converter<>(Boolean.class)
+                .from(String.class, text -> Boolean.parseBoolean(text.trim())));
+        // The start form submits a Date, Kafka messages and tests pass an ISO String
+        CONVERTERS.put(LocalDate.class, new Converter<>(LocalDate.class)
+                .from(Date.class, date -> date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate())
+                .from(String.class, text -> LocalDate.parse(text.trim())));
+        CONVERTERS.put(Date.class, new Converter<>(Date.class)
+                .from(LocalDate.class, VariableConverters::toDate)
+                .from(String.class, text -> toDate(LocalDate.parse(text.trim()))));
+        CONVERTERS.put(long.class, CONVERTERS.get(Long.class));
+        CONVERTERS.put(int.class, CONVERTERS.get(Integer.class));
+        CONVERTERS.put(double.class, CONVERTERS.get(Double.class));
+        CONVERTERS.put(boolean.class, CONVERTERS.get(Boolean.class));
+    }
+
+    /**
+     * Returns the converter for the target type; types without a dedicated converter are cast
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Function<Object, T> forType(Class<T> type) {
+        Function<Object, ?> converter = CONVERTERS.get(type);
+        if (converter != null) {
+            return (Function<Object, T>) converter;
+        }
+        return value -> {
+            if (value == null || type.isInstance(value)) {
+                return type.cast(value);
+            }
+            throw new IllegalArgumentException("Cannot convert " + value.getClass().getName() + " to " + type.getName());
+        };
+    }
+
+    private Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Converts to one target type from the registered source types. Blank strings convert to null.
+     */
+    private static final class Converter<T> implements Function<Object, T> {
+
+        private final Class<T> type;
+        // registration order, walked once per value class
+        private final Map<Class<?>, Function<Object, T>> sources = new LinkedHashMap<>();
+        private final Map<Class<?>, Function<Object, T>> byValueClass = new ConcurrentHashMap<>();
+
+        private Converter(Class<T> type) {
+            this.type = type;
+            sources.put(type, type::cast);
+        }
+
+        private <S> Converter<T> from(Class<S> source, Function<S, T> conversion) {
+            if (source == String.class) {
+                sources.put(source, value -> ((String) value).trim().isEmpty() ? null : conversion.apply(source.cast(value)));
+            } else {
+                sources.put(source, value -> conversion.apply(source.cast(value)));
+            }
+            return this;
+        }
+
+        @Override
+        public T apply(Object value) {
+            if (value == null) {
+                return null;
+            }
+            Function<Object, T> conversion = byValueClass.get(value.getClass());
+            if (conversion == null) {
+                conversion = resolve(value.getClass());
+            }
+            return conversion.apply(value);
+        }
+
+        private Function<Object, T> resolve(Class<?> valueClass) {
+            for (Map.Entry<Class<?>, Function<Object, T>> source : sources.entrySet()) {
+                if (source.getKey().isAssignableFrom(valueClass)) {
+                    byValueClass.put(valueClass, source.getValue());
+                    return source.getValue();
+                }
+            }
+            throw new IllegalArgumentException("Cannot convert " + valueClass.getName() + " to " + type.getSimpleName());
+        }
+    }
+}
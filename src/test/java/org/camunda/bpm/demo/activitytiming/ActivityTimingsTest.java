@@ -0,0 +1,118 @@
+package org.camunda.bpm.demo.activitytiming;
+
+import org.HdrHistogram.Histogram;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ActivityTimingsTest {
+
+    private ActivityTimings timings;
+    private ActivityTimingListener listener;
+
+    @BeforeEach
+    void setUp() {
+        timings = new ActivityTimings(2, Duration.ofHours(1));
+        listener = new ActivityTimingListener(timings, timings.histogram("order-process", "Task_SendEmail", "Send delivery confirmation email"));
+    }
+
+    @Test
+    void notify_ShouldRecordTimeFromStartToEnd() throws Exception {
+        // When
+        listener.notify(execution("ai-1", ExecutionListener.EVENTNAME_START));
+        Thread.sleep(5);
+        listener.notify(execution("ai-1", ExecutionListener.EVENTNAME_END));
+
+        // Then
+        Histogram histogram = timings.getHistograms("order-process").iterator().next().snapshot();
+        assertEquals(1, histogram.getTotalCount());
+        assertTrue(histogram.getMaxValue() >= 5_000);
+        assertEquals(0, timings.getOpenActivities());
+    }
+
+    @Test
+    void notify_WithCanceledActivity_ShouldCountWithoutRecording() {
+        // Given
+        ExecutionEntity canceled = mock(ExecutionEntity.class);
+        when(canceled.getActivityInstanceId()).thenReturn("ai-1");
+        when(canceled.getEventName()).thenReturn(ExecutionListener.EVENTNAME_END);
+        when(canceled.isCanceled()).thenReturn(true);
+
+        // When
+        listener.notify(execution("ai-1", ExecutionListener.EVENTNAME_START));
+        listener.notify(canceled);
+
+        // Then
+        ActivityHistogram histogram = timings.getHistograms("order-process").iterator().next();
+        assertEquals(0, histogram.snapshot().getTotalCount());
+        assertEquals(1, histogram.getCanceled());
+    }
+
+    @Test
+    void notify_BeyondOpenLimit_ShouldEvictOldestStarts() {
+        // Given - distinct start times, so the oldest start is known
+        long now = System.nanoTime();
+        timings.started("ai-1", now);
+        timings.started("ai-2", now + 1);
+
+        // When
+        timings.started("ai-3", now + 2);
+        listener.notify(execution("ai-1", ExecutionListener.EVENTNAME_END));
+        listener.notify(execution("ai-3", ExecutionListener.EVENTNAME_END));
+
+        // Then
+        assertEquals(1, timings.getOpenActivities());
+        assertEquals(1, timings.getEvicted());
+        assertEquals(1, timings.getHistograms("order-process").iterator().next().snapshot().getTotalCount());
+    }
+
+    @Test
+    void started_ShouldEvictExpiredStarts() {
+        // Given
+        long now = System.nanoTime();
+        long hour = Duration.ofHours(1).toNanos();
+        timings.started("ai-1", now);
+
+        // When
+        timings.started("ai-2", now + hour + 1);
+        timings.started("ai-3", now + hour + 2);
+
+        // Then
+        assertEquals(2, timings.getOpenActivities());
+        assertEquals(1, timings.getEvicted());
+    }
+
+    @Test
+    void activities_ShouldReportPercentilesInMilliseconds() {
+        // Given
+        ActivityHistogram histogram = timings.histogram("order-process", "Task_SendEmail", "Send delivery confirmation email");
+        for (int i = 1; i <= 1_000; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+
+        // When
+        Map<String, Object> summary = new ActivityTimingsEndpoint(timings).activities("order-process").get("Task_SendEmail");
+
+        // Then
+        assertEquals("Send delivery confirmation email", summary.get("name"));
+        assertEquals(1_000L, summary.get("count"));
+        assertEquals(500.0, (Double) summary.get("p50Ms"), 1.0);
+        assertEquals(990.0, (Double) summary.get("p99Ms"), 1.0);
+        assertEquals(999.0, (Double) summary.get("p999Ms"), 1.0);
+    }
+
+    private static DelegateExecution execution(String activityInstanceId, String eventName) {
+        DelegateExecution execution = mock(DelegateExecution.class);
+        when(execution.getActivityInstanceId()).thenReturn(activityInstanceId);
+        when(execution.getEventName()).thenReturn(eventName);
+        return execution;
+    }
+}
@@ -0,0 +1,138 @@
+package org.camunda.bpm.demo.archive;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiveStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private ArchiveStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new ArchiveStore(directory, 64 * 1024);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void findByProcessInstanceId_ShouldReturnAppendedInstance() throws IOException {
+        // Given
+        ArchivedInstance instance = instance("pi-1", "order-1");
+        instance.getVariables().add(ArchivedInstance.Variable.builder().name("amount").typeName("long").value(42).build());
+
+        // When
+        store.append(Collections.singletonList(instance));
+
+        // Then
+        ArchivedInstance archived = store.findByProcessInstanceId("pi-1").orElseThrow(AssertionError::new);
+        assertEquals("order-1", archived.getBusinessKey());
+        assertEquals(instance.getEndTime(), archived.getEndTime());
+        assertEquals("task", archived.getActivities().get(0).getActivityId());
+        assertEquals(42, archived.getVariables().get(0).getValue());
+        assertFalse(store.findByProcessInstanceId("pi-2").isPresent());
+    }
+
+    @Test
+    void findByBusinessKey_ShouldReturnLatestRecordOfEachInstance() throws IOException {
+        // Given
+        store.append(Arrays.asList(instance("pi-1", "order-1"), instance("pi-2", "order-1"), instance("pi-3", "order-2")));
+        ArchivedInstance again = instance("pi-1", "order-1");
+        again.setState("COMPLETED_AGAIN");
+
+        // When
+        store.append(Collections.singletonList(again));
+
+        // Then
+        List<ArchivedInstance> archived = store.findByBusinessKey("order-1");
+        assertEquals(Arrays.asList("pi-2", "pi-1"), archived.stream().map(ArchivedInstance::getProcessInstanceId).collect(Collectors.toList()));
+        assertEquals("COMPLETED_AGAIN", archived.get(1).getState());
+        assertTrue(store.findByBusinessKey("order-3").isEmpty());
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void reopen_ShouldRebuildIndexAcrossSegments() throws IOException {
+        // Given - more records than fit into one segment and the initial index mapping
+        List<ArchivedInstance> instances = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            instances.add(instance("pi-" + i, "order-" + (i % 100)));
+        }
+        store.append(instances);
+        store.close();
+
+        // When
+        store = new ArchiveStore(directory, 64 * 1024);
+
+        // Then
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.filter(file -> file.getFileName().toString().startsWith("segment-")).count() > 1);
+        }
+        assertEquals(5_000, store.size());
+        assertEquals("order-99", store.findByProcessInstanceId("pi-4999").get().getBusinessKey());
+        assertEquals(50, store.findByBusinessKey("order-7").size());
+    }
+
+    @Test
+    void reopen_ShouldRebuildLostLookupTables() throws IOException {
+        // Given
+        store.append(Arrays.asList(instance("pi-1", "order-1"), instance("pi-2", "order-1")));
+        store.append(Collections.singletonList(instance("pi-1", "order-1")));
+        store.close();
+        Files.delete(directory.resolve("process-instance-ids.idx"));
+        Files.delete(directory.resolve("business-keys.idx"));
+
+        // When
+        store = new ArchiveStore(directory, 64 * 1024);
+
+        // Then
+        assertEquals(2, store.size());
+        assertTrue(store.contains("pi-2"));
+        assertEquals(Arrays.asList("pi-2", "pi-1"),
+                store.findByBusinessKey("order-1").stream().map(ArchivedInstance::getProcessInstanceId).collect(Collectors.toList()));
+    }
+
+    private static ArchivedInstance instance(String processInstanceId, String businessKey) {
+        Date start = new Date(1_600_000_000_000L);
+        Date end = new Date(1_600_000_001_000L);
+        ArchivedInstance instance = ArchivedInstance.builder()
+                .processInstanceId(processInstanceId)
+                .businessKey(businessKey)
+                .processDefinitionKey("order-process")
+                .processDefinitionId("order-process:1:1")
+                .state("COMPLETED")
+                .startTime(start)
+                .endTime(end)
+                .durationInMillis(1_000L)
+                .build();
+        instance.getActivities().add(ArchivedInstance.Activity.builder()
+                .id(processInstanceId + "-task")
+                .activityId("task")
+                .activityType("userTask")
+                .startTime(start)
+                .endTime(end)
+                .durationInMillis(1_000L)
+                .build());
+        return instance;
+    }
+}
@@ -0,0 +1,49 @@
+package org.camunda.bpm.demo.archive;
+
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HistoryArchiverTest {
+
+    @Test
+    void toVariable_ShouldKeepPrimitivesAndDatesAsMillis() {
+        assertEquals(42L, HistoryArchiver.toVariable(variable(Variables.longValue(42L))).getValue());
+        assertEquals("json", HistoryArchiver.toVariable(variable(Variables.stringValue("json"))).getValue());
+        assertEquals(1000L, HistoryArchiver.toVariable(variable(Variables.dateValue(new Date(1000L)))).getValue());
+        assertNull(HistoryArchiver.toVariable(variable(Variables.untypedNullValue())).getValue());
+    }
+
+    @Test
+    void toVariable_ShouldEncodeBytesAndFilesAsBase64() {
+        byte[] content = "customer".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("Y3VzdG9tZXI=", HistoryArchiver.toVariable(variable(Variables.byteArrayValue(content))).getValue());
+        assertEquals("Y3VzdG9tZXI=", HistoryArchiver.toVariable(variable(
+                Variables.fileValue("customer.txt").file(content).create())).getValue());
+    }
+
+    @Test
+    void toVariable_ShouldArchiveObjectsSerialized() {
+        TypedValue customer = Variables.serializedObjectValue("{\"firstname\":\"Jane\"}")
+                .serializationDataFormat(Variables.SerializationDataFormats.JSON)
+                .objectTypeName("org.camunda.bpm.demo.dto.CustomerDto")
+                .create();
+
+        assertEquals("{\"firstname\":\"Jane\"}", HistoryArchiver.toVariable(variable(customer)).getValue());
+    }
+
+    private static HistoricVariableInstance variable(TypedValue value) {
+        HistoricVariableInstance variable = mock(HistoricVariableInstance.class);
+        when(variable.getName()).thenReturn("customerData");
+        when(variable.getTypedValue()).thenReturn(value);
+        return variable;
+    }
+}
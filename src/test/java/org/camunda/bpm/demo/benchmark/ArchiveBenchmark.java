@@ -0,0 +1,87 @@
+package org.camunda.bpm.demo.benchmark;
+
+import org.camunda.bpm.demo.archive.ArchiveStore;
+import org.camunda.bpm.demo.archive.ArchivedInstance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Append throughput, compression ratio and point lookup latency of the history archive for instances shaped like a
+ * finished order: a dozen activities, a user task and a few variables
+ */
+class ArchiveBenchmark {
+
+    private static final int INSTANCES = 200_000;
+    private static final int BATCH = 200;
+    private static final int WARMUP = 10_000;
+    private static final int LOOKUPS = 100_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void measureArchive() throws Exception {
+        try (ArchiveStore store = new ArchiveStore(directory, 64L * 1024 * 1024)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < INSTANCES; i += BATCH) {
+                List<ArchivedInstance> batch = new ArrayList<>(BATCH);
+                for (int j = i; j < i + BATCH; j++) {
+                    batch.add(instance(j));
+                }
+                store.append(batch);
+            }
+            double appendNanos = (System.nanoTime() - start) / (double) INSTANCES;
+
+            double byIdNanos = BenchmarkSupport.nanosPerOperation(WARMUP, LOOKUPS,
+                    () -> store.findByProcessInstanceId("pi-" + ThreadLocalRandom.current().nextInt(INSTANCES)));
+            double byKeyNanos = BenchmarkSupport.nanosPerOperation(WARMUP, LOOKUPS,
+                    () -> store.findByBusinessKey("order-" + ThreadLocalRandom.current().nextInt(INSTANCES)));
+
+            BenchmarkSupport.printRow("%-12s %14s %14s %12s %16s %16s", "instances", "us/append", "bytes/inst",
+                    "ratio", "us/lookup id", "us/lookup key");
+            BenchmarkSupport.printRow("%-12d %14.1f %14.1f %12.2f %16.1f %16.1f", INSTANCES, appendNanos / 1000,
+                    store.getCompressedBytes() / (double) INSTANCES,
+                    store.getRawBytes() / (double) store.getCompressedBytes(), byIdNanos / 1000, byKeyNanos / 1000);
+        }
+    }
+
+    private static ArchivedInstance instance(int i) {
+        long end = 1_600_000_000_000L + i * 1_000L;
+        ArchivedInstance instance = ArchivedInstance.builder()
+                .processInstanceId("pi-" + i)
+                .businessKey("order-" + i)
+                .processDefinitionKey("order-process")
+                .processDefinitionId("order-process:1:1")
+                .state("COMPLETED")
+                .startTime(new Date(end - 60_000))
+                .endTime(new Date(end))
+                .durationInMillis(60_000L)
+                .build();
+        for (int a = 0; a < 12; a++) {
+            instance.getActivities().add(ArchivedInstance.Activity.builder()
+                    .id("ai-" + i + "-" + a)
+                    .activityId("Activity_" + a)
+                    .activityType(a == 6 ? "userTask" : "serviceTask")
+                    .startTime(new Date(end - 60_000 + a * 5_000))
+                    .endTime(new Date(end - 55_000 + a * 5_000))
+                    .durationInMillis(5_000L)
+                    .build());
+        }
+        instance.getTasks().add(ArchivedInstance.Task.builder()
+                .id("task-" + i)
+                .taskDefinitionKey("Activity_6")
+                .name("Process order")
+                .assignee("demo")
+                .build());
+        instance.getVariables().add(ArchivedInstance.Variable.builder().name("customerId").typeName("string").value("customer-" + (i % 1000)).build());
+        instance.getVariables().add(ArchivedInstance.Variable.builder().name("amount").typeName("long").value(i % 5000).build());
+        instance.getVariables().add(ArchivedInstance.Variable.builder().name("approved").typeName("boolean").value(true).build());
+        return instance;
+    }
+}
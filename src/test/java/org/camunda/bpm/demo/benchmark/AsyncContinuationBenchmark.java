@@ -0,0 +1,64 @@
+package org.camunda.bpm.demo.benchmark;
+
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.consumer.MessageProcessConsumer;
+import org.camunda.bpm.demo.engine.AsyncContinuationProperties;
+import org.camunda.bpm.demo.util.TestDataBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares consumer-side ingestion throughput and end-to-end completion time of straight-through data-format
+ * instances with and without an async boundary in front of the format gateway. Each run redeploys the model,
+ * as the boundaries are applied when a definition is parsed.
+ */
+class AsyncContinuationBenchmark extends BaseIntegrationTest {
+
+    private static final String PROCESS_KEY = "DataformatDemoProcess";
+    private static final String ACTIVITY_ID = "ExclusiveGateway_06znf1b";
+    private static final int INSTANCES = 1_000;
+
+    @Autowired
+    private MessageProcessConsumer consumer;
+
+    @Autowired
+    private AsyncContinuationProperties properties;
+
+    @Test
+    void compareThroughput() {
+        try {
+            BenchmarkSupport.printRow("%-12s %18s %18s", "async before", "ingested/s", "completed/s");
+            for (boolean async : new boolean[]{false, true}) {
+                configure(async);
+                long start = System.nanoTime();
+                for (int i = 0; i < INSTANCES; i++) {
+                    consumer.startDataFormatProcess(TestDataBuilder.createStraightThroughDataFormatMessage(null, "json"));
+                }
+                long ingested = System.nanoTime();
+                await().atMost(5, TimeUnit.MINUTES).until(() ->
+                        runtimeService.createProcessInstanceQuery().processDefinitionKey(PROCESS_KEY).count() == 0);
+                long completed = System.nanoTime();
+                BenchmarkSupport.printRow("%-12s %18.1f %18.1f", async,
+                        INSTANCES * 1e9 / (ingested - start), INSTANCES * 1e9 / (completed - start));
+            }
+        } finally {
+            configure(false);
+        }
+    }
+
+    private void configure(boolean async) {
+        properties.getProcesses().remove(PROCESS_KEY);
+        if (async) {
+            AsyncContinuationProperties.Boundary boundary = new AsyncContinuationProperties.Boundary();
+            boundary.setBefore(true);
+            properties.getProcesses().put(PROCESS_KEY, Collections.singletonMap(ACTIVITY_ID, boundary));
+        }
+        repositoryService.createDeployment()
+                .name("async-continuation-benchmark")
+                .addClasspathResource("data-format.bpmn")
+                .deploy();
+    }
+}
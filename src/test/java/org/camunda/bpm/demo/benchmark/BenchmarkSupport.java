@@ -0,0 +1,34 @@
+package org.camunda.bpm.demo.benchmark;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Minimal timing harness for the *Benchmark classes, which only run with {@code mvn test -Pbenchmark}.
+ * Numbers are indicative; they are meant for comparing alternatives within one run, not across machines.
+ */
+public final class BenchmarkSupport {
+
+    // Written to so the JIT cannot drop the measured work as dead code
+    private static volatile Object blackhole;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Runs the operation {@code warmup} times, then {@code iterations} times and returns the mean nanoseconds per call
+     */
+    public static double nanosPerOperation(int warmup, int iterations, Callable<?> operation) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            blackhole = operation.call();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            blackhole = operation.call();
+        }
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+
+    public static void printRow(String format, Object... values) {
+        System.out.println(String.format(format, values));
+    }
+}
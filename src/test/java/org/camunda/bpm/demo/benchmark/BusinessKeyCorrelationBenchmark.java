@@ -0,0 +1,58 @@
+package org.camunda.bpm.demo.benchmark;
+
+import org.camunda.bpm.demo.businesskey.BusinessKeyCache;
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Compares correlating "MessageBoundary" in process.bpmn by business key with correlating it by the process instance
+ * id from the {@link BusinessKeyCache}, against a backlog of active instances, and prints the cache hit ratio
+ */
+class BusinessKeyCorrelationBenchmark extends BaseIntegrationTest {
+
+    private static final int BACKLOG = 5_000;
+    private static final int CORRELATIONS = 500;
+
+    @Autowired
+    private BusinessKeyCache businessKeyCache;
+
+    @Test
+    void correlateByBusinessKeyAndById() throws Exception {
+        for (int i = 0; i < BACKLOG; i++) {
+            runtimeService.startProcessInstanceByKey("KafkaDemo", "business-key-backlog-" + i);
+        }
+        for (int i = 0; i < 2 * CORRELATIONS; i++) {
+            runtimeService.startProcessInstanceByKey("KafkaDemo", "business-key-benchmark-" + i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < CORRELATIONS; i++) {
+            runtimeService.createMessageCorrelation("MessageBoundary")
+                    .processInstanceBusinessKey("business-key-benchmark-" + i)
+                    .correlateWithResult();
+        }
+        long byBusinessKey = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = CORRELATIONS; i < 2 * CORRELATIONS; i++) {
+            String processInstanceId = businessKeyCache.getProcessInstanceId("business-key-benchmark-" + i);
+            assertNotNull(processInstanceId);
+            runtimeService.createMessageCorrelation("MessageBoundary")
+                    .processInstanceId(processInstanceId)
+                    .correlateWithResult();
+        }
+        long byId = System.nanoTime() - start;
+
+        double lookup = BenchmarkSupport.nanosPerOperation(10_000, 100_000,
+                () -> businessKeyCache.getProcessInstanceId("business-key-backlog-0"));
+
+        BenchmarkSupport.printRow("%-20s %16s %16s", "addressed by", "us/correlation", "cache hit ratio");
+        BenchmarkSupport.printRow("%-20s %16.1f %16s", "business key", byBusinessKey / 1e3 / CORRELATIONS, "-");
+        BenchmarkSupport.printRow("%-20s %16.1f %16.2f", "cached instance id", byId / 1e3 / CORRELATIONS,
+                businessKeyCache.getHitRatio());
+        BenchmarkSupport.printRow("%-20s %16.3f", "cache lookup", lookup / 1e3);
+    }
+}
@@ -0,0 +1,52 @@
+package org.camunda.bpm.demo.benchmark;
+
+import org.camunda.bpm.demo.codec.BinaryCustomerCodec;
+import org.camunda.bpm.demo.codec.CborCustomerCodec;
+import org.camunda.bpm.demo.codec.CustomerCodec;
+import org.camunda.bpm.demo.codec.JsonCustomerCodec;
+import org.camunda.bpm.demo.codec.SmileCustomerCodec;
+import org.camunda.bpm.demo.codec.XmlCustomerCodec;
+import org.camunda.bpm.demo.dto.CustomerDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares encode/decode speed and payload size of every {@link CustomerCodec} on a typical {@link CustomerDto}
+ */
+class CustomerCodecBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    void compareCodecs() throws Exception {
+        CustomerDto customer = CustomerDto.builder()
+            .firstname("Johanna")
+            .lastname("Schmidt-Oberhauser")
+            .gender("female")
+            .age(37L)
+            .isValid(true)
+            .validationDate(LocalDate.of(2024, 6, 15))
+            .build();
+
+        List<CustomerCodec> codecs = Arrays.asList(new XmlCustomerCodec(), new JsonCustomerCodec(),
+            new CborCustomerCodec(), new SmileCustomerCodec(), new BinaryCustomerCodec());
+
+        BenchmarkSupport.printRow("%-8s %10s %14s %14s %16s", "format", "bytes", "variable chars", "encode ns/op", "decode ns/op");
+        for (CustomerCodec codec : codecs) {
+            byte[] payload = codec.encode(customer);
+            assertEquals(customer, codec.decode(payload));
+
+            double encodeNanos = BenchmarkSupport.nanosPerOperation(WARMUP, ITERATIONS, () -> codec.encode(customer));
+            double decodeNanos = BenchmarkSupport.nanosPerOperation(WARMUP, ITERATIONS, () -> codec.decode(payload));
+
+            BenchmarkSupport.printRow("%-8s %10d %14d %14.0f %16.0f", codec.getFormat(), payload.length,
+                codec.encodeToString(customer).length(), encodeNanos, decodeNanos);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.camunda.bpm.demo.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load test of the embedded external task worker: creates a backlog of "Some Task" instances in process.bpmn
+ * and measures how fast the worker drains it, together with its fetch and bulk completion meters
+ */
+class ExternalTaskWorkerBenchmark extends BaseIntegrationTest {
+
+    private static final int INSTANCES = 5_000;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void drainBacklog() {
+        double completedBefore = meterRegistry.get("camunda.external.task.completed").counter().count();
+        long start = System.nanoTime();
+        for (int i = 0; i < INSTANCES; i++) {
+            runtimeService.createProcessInstanceByKey("KafkaDemo")
+                    .businessKey("external-task-load-" + i)
+                    .startBeforeActivity("Activity_01v8wfy")
+                    .execute();
+        }
+        long created = System.nanoTime();
+        await().atMost(5, TimeUnit.MINUTES).until(() -> runtimeService.createExternalTaskQuery().count() == 0);
+        long drained = System.nanoTime();
+
+        Timer fetch = meterRegistry.get("camunda.external.task.fetch.latency").timer();
+        Timer completion = meterRegistry.get("camunda.external.task.completion.latency").timer();
+        double completed = meterRegistry.get("camunda.external.task.completed").counter().count() - completedBefore;
+        BenchmarkSupport.printRow("%-12s %14s %14s %16s %18s", "instances", "created/s", "completed/s", "fetch ms (mean)", "tasks/completion");
+        BenchmarkSupport.printRow("%-12d %14.1f %14.1f %16.2f %18.1f", INSTANCES,
+                INSTANCES * 1e9 / (created - start), INSTANCES * 1e9 / (drained - start),
+                fetch.mean(TimeUnit.MILLISECONDS), completed / Math.max(1, completion.count()));
+        assertEquals(INSTANCES, completed, 0.0);
+    }
+}
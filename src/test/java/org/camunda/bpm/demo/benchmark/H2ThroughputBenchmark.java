@@ -0,0 +1,12 @@
+package org.camunda.bpm.demo.benchmark;
+
+/**
+ * {@link PersistenceThroughputBenchmark} against the default in-memory H2 database
+ */
+class H2ThroughputBenchmark extends PersistenceThroughputBenchmark {
+
+    @Override
+    protected String database() {
+        return "h2";
+    }
+}
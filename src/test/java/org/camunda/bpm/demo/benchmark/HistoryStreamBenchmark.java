@@ -0,0 +1,45 @@
+package org.camunda.bpm.demo.benchmark;
+
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.consumer.MessageProcessConsumer;
+import org.camunda.bpm.demo.history.HistoryWriteMetrics;
+import org.camunda.bpm.demo.util.TestDataBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Write amplification of data-format instances with history streaming: history events per instance streamed to Kafka
+ * versus written to the history tables, next to the end-to-end latency of an instance
+ */
+@TestPropertySource(properties = "history-stream.enabled=true")
+class HistoryStreamBenchmark extends BaseIntegrationTest {
+
+    private static final String PROCESS = "DataformatDemoProcess";
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    private MessageProcessConsumer consumer;
+
+    @Autowired
+    private HistoryWriteMetrics metrics;
+
+    @Test
+    void measureWriteAmplification() throws Exception {
+        double nanos = BenchmarkSupport.nanosPerOperation(WARMUP, ITERATIONS, () -> {
+            consumer.startDataFormatProcess(TestDataBuilder.createStraightThroughDataFormatMessage(null, "json"));
+            return null;
+        });
+        long instances = historyService.createHistoricProcessInstanceQuery().processDefinitionKey(PROCESS).count();
+        long activityRows = historyService.createHistoricActivityInstanceQuery().processDefinitionId(
+                repositoryService.createProcessDefinitionQuery().processDefinitionKey(PROCESS).latestVersion().singleResult().getId()).count();
+
+        BenchmarkSupport.printRow("%-24s %14s %16s %14s %18s", "process", "us/instance", "streamed/instance",
+                "db/instance", "activity rows/inst");
+        BenchmarkSupport.printRow("%-24s %14.1f %16.1f %14.1f %18.1f", PROCESS, nanos / 1000,
+                metrics.getEventsPerInstance(PROCESS, HistoryWriteMetrics.SINK_STREAM),
+                metrics.getEventsPerInstance(PROCESS, HistoryWriteMetrics.SINK_DB),
+                instances == 0 ? 0.0 : activityRows / (double) instances);
+    }
+}
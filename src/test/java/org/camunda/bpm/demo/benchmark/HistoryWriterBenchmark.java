@@ -0,0 +1,65 @@
+package org.camunda.bpm.demo.benchmark;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.consumer.MessageProcessConsumer;
+import org.camunda.bpm.demo.history.BatchingHistoryWriter;
+import org.camunda.bpm.demo.util.TestDataBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end latency of straight-through data-format instances with the batching history writer, together with the
+ * writer's flush latency percentiles, batch sizes and peak queue depth. Compare the latency with
+ * {@link StraightThroughBenchmark}, which writes history inside the engine transaction.
+ */
+@TestPropertySource(properties = "history-writer.enabled=true")
+class HistoryWriterBenchmark extends BaseIntegrationTest {
+
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    private MessageProcessConsumer consumer;
+
+    @Autowired
+    private BatchingHistoryWriter writer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void measureFlushes() throws Exception {
+        int[] peakQueueDepth = {0};
+        double nanos = BenchmarkSupport.nanosPerOperation(WARMUP, ITERATIONS, () -> {
+            consumer.startDataFormatProcess(TestDataBuilder.createStraightThroughDataFormatMessage(null, "json"));
+            peakQueueDepth[0] = Math.max(peakQueueDepth[0], writer.getQueueDepth());
+            return null;
+        });
+        await().atMost(1, TimeUnit.MINUTES).until(() -> writer.getQueueDepth() == 0);
+
+        Timer flushLatency = meterRegistry.get("camunda.history.writer.flush.latency").timer();
+        DistributionSummary batchSize = meterRegistry.get("camunda.history.writer.batch.size").summary();
+        BenchmarkSupport.printRow("%-14s %10s %10s %10s %10s %12s %12s", "us/instance", "flushes", "p50 ms", "p99 ms",
+                "max ms", "events/batch", "peak queue");
+        ValueAtPercentile[] percentiles = flushLatency.takeSnapshot().percentileValues();
+        BenchmarkSupport.printRow("%-14.1f %10d %10.2f %10.2f %10.2f %12.1f %12d", nanos / 1000, flushLatency.count(),
+                percentile(percentiles, 0.5), percentile(percentiles, 0.99), flushLatency.max(TimeUnit.MILLISECONDS),
+                batchSize.mean(), peakQueueDepth[0]);
+    }
+
+    private static double percentile(ValueAtPercentile[] percentiles, double percentile) {
+        for (ValueAtPercentile value : percentiles) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,70 @@
+package org.camunda.bpm.demo.benchmark;
+
+import org.camunda.bpm.demo.engine.TimeOrderedIdGenerator;
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.persistence.StrongUuidGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares the engine's default UUID ids with {@link TimeOrderedIdGenerator} ids: generation cost, and batched insert
+ * throughput into an H2 table shaped like {@code ACT_HI_ACTINST} that already holds a large history
+ */
+class IdGeneratorBenchmark {
+
+    private static final int HISTORY_ROWS = 1_000_000;
+    private static final int MEASURED_ROWS = 200_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Test
+    void compareIdGenerators() throws Exception {
+        Map<String, IdGenerator> generators = new LinkedHashMap<>();
+        generators.put("strong-uuid", new StrongUuidGenerator());
+        generators.put("time-ordered", new TimeOrderedIdGenerator(0));
+
+        BenchmarkSupport.printRow("%-14s %12s %18s", "generator", "ns/id", "inserts/s (large)");
+        for (Map.Entry<String, IdGenerator> entry : generators.entrySet()) {
+            IdGenerator generator = entry.getValue();
+            double nanosPerId = BenchmarkSupport.nanosPerOperation(100_000, 1_000_000, generator::getNextId);
+            BenchmarkSupport.printRow("%-14s %12.1f %18.0f", entry.getKey(), nanosPerId, insertsPerSecond(entry.getKey(), generator));
+        }
+    }
+
+    private static double insertsPerSecond(String name, IdGenerator generator) throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:id-benchmark-" + name, "sa", "")) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table ACT_HI_ACTINST (ID_ varchar(64) not null primary key, "
+                        + "PROC_INST_ID_ varchar(64), ACT_ID_ varchar(255), START_TIME_ timestamp)");
+            }
+            insert(connection, generator, HISTORY_ROWS);
+            long start = System.nanoTime();
+            insert(connection, generator, MEASURED_ROWS);
+            return MEASURED_ROWS * 1e9 / (System.nanoTime() - start);
+        }
+    }
+
+    private static void insert(Connection connection, IdGenerator generator, int rows) throws Exception {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into ACT_HI_ACTINST (ID_, PROC_INST_ID_, ACT_ID_, START_TIME_) values (?, ?, ?, current_timestamp)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setString(1, generator.getNextId());
+                insert.setString(2, "instance-" + i / 10);
+                insert.setString(3, "Activity_" + i % 10);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.camunda.bpm.demo.benchmark;
+
+import org.camunda.bpm.demo.decision.DecisionCache;
+import org.camunda.bpm.demo.decision.OrderApprovalDecision;
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-order cost of the order auto-approval decision: a plain DMN evaluation compared with the memoizing
+ * {@link DecisionCache}, for a realistic spread of order values (mostly repeated price points) and for all distinct values
+ */
+class OrderApprovalDecisionBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    void compareEvaluationCost() throws Exception {
+        DmnEngine dmnEngine = DmnEngineConfiguration.createDefaultDmnEngineConfiguration().buildEngine();
+        DmnDecision decision = dmnEngine.parseDecision(OrderApprovalDecision.DECISION_KEY, model());
+        DecisionCache cache = new DecisionCache(dmnEngine, OrderApprovalDecision.DECISION_KEY, 10_000);
+        cache.load("benchmark", model(), Variables.createVariables().putValue("orderValue", 0L));
+
+        double plain = BenchmarkSupport.nanosPerOperation(WARMUP, ITERATIONS, () -> {
+            long orderValue = pricePoint();
+            return dmnEngine.evaluateDecision(decision, Variables.createVariables().putValue("orderValue", orderValue)).getSingleEntry();
+        });
+        double cachedPricePoints = BenchmarkSupport.nanosPerOperation(WARMUP, ITERATIONS, () -> {
+            long orderValue = pricePoint();
+            return cache.evaluate(orderValue, () -> Variables.createVariables().putValue("orderValue", orderValue));
+        });
+        double cachedDistinct = BenchmarkSupport.nanosPerOperation(WARMUP, ITERATIONS, () -> {
+            long orderValue = ThreadLocalRandom.current().nextLong(1_000_000);
+            return cache.evaluate(orderValue, () -> Variables.createVariables().putValue("orderValue", orderValue));
+        });
+
+        BenchmarkSupport.printRow("%-28s %12s", "evaluation", "us/order");
+        BenchmarkSupport.printRow("%-28s %12.2f", "DMN engine, no cache", plain / 1000);
+        BenchmarkSupport.printRow("%-28s %12.2f", "cached, 2000 price points", cachedPricePoints / 1000);
+        BenchmarkSupport.printRow("%-28s %12.2f", "cached, distinct values", cachedDistinct / 1000);
+        BenchmarkSupport.printRow("cache hits %d, misses %d", cache.getHits(), cache.getMisses());
+    }
+
+    private static long pricePoint() {
+        return ThreadLocalRandom.current().nextInt(2000);
+    }
+
+    private static InputStream model() {
+        return OrderApprovalDecisionBenchmark.class.getClassLoader().getResourceAsStream("order-approval.dmn");
+    }
+}
@@ -0,0 +1,92 @@
+package org.camunda.bpm.demo.benchmark;
+
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.consumer.MessageProcessConsumer;
+import org.camunda.bpm.demo.util.TestDataBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Correlations per second ("MessageBoundary" of process.bpmn, by business key) and straight-through data-format
+ * instance completions per second, single-threaded and from {@link #THREADS} threads. Subclasses pick the database;
+ * compare the rows printed by {@link H2ThroughputBenchmark} and {@link PostgresThroughputBenchmark}.
+ */
+abstract class PersistenceThroughputBenchmark extends BaseIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int WARMUP = 200;
+    private static final int CORRELATIONS = 2_000;
+    private static final int COMPLETIONS = 4_000;
+
+    @Autowired
+    private MessageProcessConsumer consumer;
+
+    protected abstract String database();
+
+    @Test
+    void measureThroughput() throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            runtimeService.startProcessInstanceByKey("KafkaDemo", "throughput-warmup-" + i);
+            correlate("throughput-warmup-" + i);
+            complete();
+        }
+        for (int i = 0; i < 2 * CORRELATIONS; i++) {
+            runtimeService.startProcessInstanceByKey("KafkaDemo", "throughput-" + i);
+        }
+
+        double correlations = perSecond(CORRELATIONS, 1, i -> correlate("throughput-" + i));
+        double correlationsParallel = perSecond(CORRELATIONS, THREADS, i -> correlate("throughput-" + (CORRELATIONS + i)));
+        double completions = perSecond(COMPLETIONS, 1, i -> complete());
+        double completionsParallel = perSecond(COMPLETIONS, THREADS, i -> complete());
+
+        BenchmarkSupport.printRow("%-12s %18s %18s %18s %18s", "database", "correlations/s", "correlations/s x" + THREADS,
+                "completions/s", "completions/s x" + THREADS);
+        BenchmarkSupport.printRow("%-12s %18.0f %18.0f %18.0f %18.0f", database(), correlations, correlationsParallel,
+                completions, completionsParallel);
+    }
+
+    private void correlate(String businessKey) {
+        runtimeService.createMessageCorrelation("MessageBoundary")
+                .processInstanceBusinessKey(businessKey)
+                .correlateWithResult();
+    }
+
+    private void complete() {
+        consumer.startDataFormatProcess(TestDataBuilder.createStraightThroughDataFormatMessage(null, "json"));
+    }
+
+    private static double perSecond(int operations, int threads, IndexedOperation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = thread; i < operations; i += threads) {
+                        operation.run(i);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return operations / ((System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexedOperation {
+        void run(int index) throws Exception;
+    }
+}
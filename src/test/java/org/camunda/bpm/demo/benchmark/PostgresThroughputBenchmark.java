@@ -0,0 +1,23 @@
+package org.camunda.bpm.demo.benchmark;
+
+import org.camunda.bpm.demo.config.EmbeddedPostgresSupport;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * {@link PersistenceThroughputBenchmark} with the {@code production} profile against an embedded PostgreSQL server
+ */
+@ActiveProfiles("production")
+class PostgresThroughputBenchmark extends PersistenceThroughputBenchmark {
+
+    @DynamicPropertySource
+    static void configurePostgres(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.configureProperties(registry);
+    }
+
+    @Override
+    protected String database() {
+        return "postgresql";
+    }
+}
@@ -0,0 +1,48 @@
+package org.camunda.bpm.demo.benchmark;
+
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.consumer.MessageProcessConsumer;
+import org.camunda.bpm.demo.engine.StraightThroughHistoryFilter;
+import org.camunda.bpm.demo.util.TestDataBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * End-to-end latency of a straight-through data-format instance, from message correlation to process end,
+ * for every straight-through history mode. The listener method is called directly so Kafka transport is not measured.
+ */
+class StraightThroughBenchmark extends BaseIntegrationTest {
+
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    private MessageProcessConsumer consumer;
+
+    @Autowired
+    private StraightThroughHistoryFilter historyFilter;
+
+    @Test
+    void measureLatency() throws Exception {
+        StraightThroughHistoryFilter.Mode configured = historyFilter.getMode();
+        try {
+            BenchmarkSupport.printRow("%-10s %14s %16s", "history", "us/instance", "running after");
+            for (StraightThroughHistoryFilter.Mode mode : Arrays.asList(StraightThroughHistoryFilter.Mode.values())) {
+                historyFilter.setMode(mode);
+                double nanos = BenchmarkSupport.nanosPerOperation(WARMUP, ITERATIONS, () -> {
+                    consumer.startDataFormatProcess(TestDataBuilder.createStraightThroughDataFormatMessage(null, "json"));
+                    return null;
+                });
+                long running = runtimeService.createProcessInstanceQuery().processDefinitionKey("DataformatDemoProcess").count();
+                BenchmarkSupport.printRow("%-10s %14.1f %16d", mode, nanos / 1000, running);
+                assertEquals(0, running);
+            }
+        } finally {
+            historyFilter.setMode(configured);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.camunda.bpm.demo.benchmark;
+
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.engine.VariablePolicyRegistry;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures history rows and bytes written per data-format instance with the variable policies
+ * (transient / history-excluded variables) switched on and off. Keeps full history for the process, so the application
+ * level of {@code history-retention} does not hide the rows measured.
+ */
+@TestPropertySource(properties = "history-retention.processes.DataformatDemoProcess.level=full")
+class VariableFootprintBenchmark extends BaseIntegrationTest {
+
+    private static final int INSTANCES = 200;
+
+    @Autowired
+    private VariablePolicyRegistry variablePolicy;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void compareFootprint() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        try {
+            variablePolicy.setEnabled(false);
+            Footprint before = measure(jdbc, runInstances());
+
+            variablePolicy.setEnabled(true);
+            Footprint after = measure(jdbc, runInstances());
+
+            BenchmarkSupport.printRow("%-10s %14s %14s %14s %14s", "policies", "varinst rows", "detail rows", "bytearray rows", "bytes");
+            BenchmarkSupport.printRow("%-10s %14.1f %14.1f %14.1f %14.0f", "off", before.varinstRows, before.detailRows, before.byteArrayRows, before.bytes);
+            BenchmarkSupport.printRow("%-10s %14.1f %14.1f %14.1f %14.0f", "on", after.varinstRows, after.detailRows, after.byteArrayRows, after.bytes);
+        } finally {
+            variablePolicy.setEnabled(true);
+        }
+    }
+
+    private List<String> runInstances() {
+        List<String> processInstanceIds = new ArrayList<>();
+        for (int i = 0; i < INSTANCES; i++) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("firstname", "Footprint");
+            variables.put("lastname", "Customer-" + i);
+            variables.put("gender", "female");
+            variables.put("age", 30L + i % 40);
+            variables.put("isValid", true);
+            variables.put("validationDate", LocalDate.now().toString());
+            ProcessInstance instance = runtimeService.startProcessInstanceByKey("DataformatDemoProcess", variables);
+            Task task = taskService.createTaskQuery().processInstanceId(instance.getId()).singleResult();
+            taskService.complete(task.getId(), Collections.singletonMap("dataFormat", i % 2 == 0 ? "xml" : "json"));
+            processInstanceIds.add(instance.getId());
+        }
+        return processInstanceIds;
+    }
+
+    private Footprint measure(JdbcTemplate jdbc, List<String> processInstanceIds) {
+        Footprint footprint = new Footprint();
+        for (String id : processInstanceIds) {
+            footprint.varinstRows += count(jdbc, "select count(*) from ACT_HI_VARINST where PROC_INST_ID_ = ?", id);
+            footprint.detailRows += count(jdbc, "select count(*) from ACT_HI_DETAIL where PROC_INST_ID_ = ?", id);
+            footprint.byteArrayRows += count(jdbc, "select count(*) from ACT_GE_BYTEARRAY where ROOT_PROC_INST_ID_ = ?", id);
+            footprint.bytes += count(jdbc, "select coalesce(sum(coalesce(length(TEXT_), 0) + coalesce(length(TEXT2_), 0)), 0) "
+                    + "from ACT_HI_VARINST where PROC_INST_ID_ = ?", id);
+            footprint.bytes += count(jdbc, "select coalesce(sum(coalesce(length(TEXT_), 0) + coalesce(length(TEXT2_), 0)), 0) "
+                    + "from ACT_HI_DETAIL where PROC_INST_ID_ = ?", id);
+            footprint.bytes += count(jdbc, "select coalesce(sum(octet_length(BYTES_)), 0) from ACT_GE_BYTEARRAY where ROOT_PROC_INST_ID_ = ?", id);
+        }
+        footprint.varinstRows /= processInstanceIds.size();
+        footprint.detailRows /= processInstanceIds.size();
+        footprint.byteArrayRows /= processInstanceIds.size();
+        footprint.bytes /= processInstanceIds.size();
+        return footprint;
+    }
+
+    private static long count(JdbcTemplate jdbc, String sql, String processInstanceId) {
+        Long value = jdbc.queryForObject(sql, Long.class, processInstanceId);
+        return value != null ? value : 0L;
+    }
+
+    private static class Footprint {
+        double varinstRows;
+        double detailRows;
+        double byteArrayRows;
+        double bytes;
+    }
+}
@@ -0,0 +1,61 @@
+package org.camunda.bpm.demo.businesskey;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessKeyCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private BusinessKeyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new BusinessKeyCache(2, registry);
+    }
+
+    @Test
+    void getProcessInstanceId_WithStartedInstance_ShouldHit() {
+        cache.started("order-1", "instance-1");
+
+        assertEquals("instance-1", cache.getProcessInstanceId("order-1"));
+        assertNull(cache.getProcessInstanceId("order-2"));
+        assertEquals(0.5, cache.getHitRatio(), 0.0);
+        assertEquals(1.0, registry.get("camunda.business.key.cache.hits").counter().count(), 0.0);
+    }
+
+    @Test
+    void getProcessInstanceId_WithEndedInstance_ShouldMiss() {
+        cache.started("order-1", "instance-1");
+        cache.ended("order-1", "instance-1");
+
+        assertNull(cache.getProcessInstanceId("order-1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void getProcessInstanceId_WithSeveralInstances_ShouldNotPickOne() {
+        cache.started("order-1", "instance-1");
+        cache.started("order-1", "instance-2");
+
+        assertNull(cache.getProcessInstanceId("order-1"));
+
+        cache.evict("order-1", "instance-1");
+        assertEquals("instance-2", cache.getProcessInstanceId("order-1"));
+    }
+
+    @Test
+    void started_BeyondMaxEntries_ShouldDropLeastRecentlyUsed() {
+        cache.started("order-1", "instance-1");
+        cache.started("order-2", "instance-2");
+        cache.getProcessInstanceId("order-1");
+        cache.started("order-3", "instance-3");
+
+        assertEquals(2, cache.size());
+        assertEquals("instance-1", cache.getProcessInstanceId("order-1"));
+        assertNull(cache.getProcessInstanceId("order-2"));
+    }
+}
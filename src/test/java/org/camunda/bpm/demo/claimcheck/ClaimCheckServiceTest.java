@@ -0,0 +1,133 @@
+package org.camunda.bpm.demo.claimcheck;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClaimCheckServiceTest {
+
+    @TempDir
+    Path storeDirectory;
+
+    private FileSystemPayloadStore payloadStore;
+    private ClaimCheckService claimCheckService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        payloadStore = new FileSystemPayloadStore(storeDirectory);
+        claimCheckService = new ClaimCheckService(payloadStore, 16, 2);
+    }
+
+    @Test
+    void checkIn_WithSmallPayload_ShouldKeepPayloadInline() {
+        // When
+        String value = claimCheckService.checkIn("small");
+
+        // Then
+        assertEquals("small", value);
+        assertEquals("small", claimCheckService.resolve(value).get());
+    }
+
+    @Test
+    void checkIn_WithLargePayload_ShouldStoreReference() throws IOException {
+        // Given
+        String payload = "<customer>a payload above the threshold</customer>";
+
+        // When
+        String value = claimCheckService.checkIn(payload);
+
+        // Then
+        assertTrue(ClaimCheckService.isReference(value));
+        String key = value.substring(ClaimCheckService.REFERENCE_PREFIX.length());
+        assertTrue(payloadStore.contains(key));
+        assertEquals(payload, claimCheckService.resolve(value).get());
+    }
+
+    @Test
+    void checkIn_SamePayloadTwice_ShouldStoreOnce() throws IOException {
+        // Given
+        String payload = "{\"firstname\":\"duplicate payload\"}";
+
+        // When
+        String first = claimCheckService.checkIn(payload);
+        String second = claimCheckService.checkIn(payload);
+
+        // Then
+        assertEquals(first, second);
+        try (Stream<Path> files = Files.walk(storeDirectory)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void resolve_ShouldLoadLazilyFromStore() {
+        // Given: a reference written by another node, so nothing is cached here
+        String reference = claimCheckService.checkIn("a payload that exceeds sixteen bytes");
+        ClaimCheckService otherNode = new ClaimCheckService(payloadStore, 16, 2);
+
+        // When
+        LazyPayload payload = otherNode.resolve(reference);
+
+        // Then
+        assertFalse(payload.isLoaded());
+        assertEquals("a payload that exceeds sixteen bytes", payload.toString());
+        assertTrue(payload.isLoaded());
+    }
+
+    @Test
+    void resolve_WithUnknownKey_ShouldFailOnRead() {
+        // Given
+        LazyPayload payload = claimCheckService.resolve(ClaimCheckService.REFERENCE_PREFIX + "0".repeat(64));
+
+        // Then
+        assertThrows(RuntimeException.class, payload::get);
+    }
+
+    @Test
+    void checkIn_WithNull_ShouldReturnNull() {
+        assertNull(claimCheckService.checkIn(null));
+        assertNull(claimCheckService.resolve(null).get());
+    }
+
+    @Test
+    void resolve_WithKeyOutsideTheStore_ShouldFail() {
+        // Given - 64 characters that walk up out of the store root
+        String traversal = ClaimCheckService.REFERENCE_PREFIX + "../../../../../../../../../../../../../../../../../etc/passwd/./";
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> claimCheckService.resolve(traversal).get());
+        assertThrows(IllegalArgumentException.class, () -> payloadStore.contains("A".repeat(64)));
+    }
+
+    @Test
+    void resolve_WithNonStringValue_ShouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> claimCheckService.resolve(42L));
+    }
+
+    @Test
+    void deleteOlderThan_ShouldOnlyDeletePayloadsNotStoredSince() throws IOException {
+        // Given
+        String expired = payloadStore.put("an expired payload".getBytes());
+        Path expiredFile = storeDirectory.resolve(expired.substring(0, 2)).resolve(expired);
+        Files.setLastModifiedTime(expiredFile, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        String recent = payloadStore.put("a recent payload".getBytes());
+
+        // When
+        int deleted = payloadStore.deleteOlderThan(Instant.now().minus(Duration.ofDays(1)));
+
+        // Then
+        assertEquals(1, deleted);
+        assertFalse(payloadStore.contains(expired));
+        assertTrue(payloadStore.contains(recent));
+    }
+}
@@ -0,0 +1,106 @@
+package org.camunda.bpm.demo.codec;
+
+import org.camunda.bpm.demo.dto.CustomerDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerCodecTest {
+
+    static List<CustomerCodec> codecs() {
+        return Arrays.asList(new XmlCustomerCodec(), new JsonCustomerCodec(), new CborCustomerCodec(),
+                new SmileCustomerCodec(), new BinaryCustomerCodec());
+    }
+
+    @ParameterizedTest
+    @MethodSource("codecs")
+    void encodeToString_ThenDecode_ShouldRoundTripAllFields(CustomerCodec codec) throws Exception {
+        // Given
+        CustomerDto customer = CustomerDto.builder()
+            .firstname("Jane")
+            .lastname("O'Neil & <Sons>")
+            .gender("female")
+            .age(42L)
+            .isValid(true)
+            .validationDate(LocalDate.of(2024, 2, 29))
+            .build();
+
+        // When
+        String payload = codec.encodeToString(customer);
+        CustomerDto decoded = codec.decodeFromString(payload);
+
+        // Then
+        assertEquals(customer, decoded);
+    }
+
+    @ParameterizedTest
+    @MethodSource("codecs")
+    void encode_WithNullFields_ShouldRoundTripNulls(CustomerCodec codec) throws Exception {
+        // Given
+        CustomerDto customer = CustomerDto.builder().firstname("Only").isValid(false).build();
+
+        // When
+        CustomerDto decoded = codec.decode(codec.encode(customer));
+
+        // Then
+        assertEquals(customer, decoded);
+    }
+
+    @Test
+    void xmlCodec_ShouldUseCustomerRootElement() throws Exception {
+        // When
+        String xml = new XmlCustomerCodec().encodeToString(CustomerDto.builder().firstname("John").build());
+
+        // Then
+        assertTrue(xml.startsWith("<?xml"));
+        assertTrue(xml.contains("<customer><firstname>John</firstname></customer>"));
+    }
+
+    @Test
+    void binaryCodec_ShouldBeSmallestFormat() throws Exception {
+        // Given
+        CustomerDto customer = CustomerDto.builder().firstname("John").lastname("Doe").gender("male")
+            .age(30L).isValid(true).validationDate(LocalDate.of(2024, 1, 1)).build();
+        int binarySize = new BinaryCustomerCodec().encode(customer).length;
+
+        // Then
+        for (CustomerCodec codec : codecs()) {
+            assertTrue(binarySize <= codec.encode(customer).length, codec.getFormat());
+        }
+    }
+
+    @Test
+    void registry_ShouldResolveCodecCaseInsensitive() {
+        // Given
+        CustomerCodecRegistry registry = new CustomerCodecRegistry(codecs());
+
+        // Then
+        assertEquals("xml", registry.getCodec("XML").getFormat());
+        assertTrue(registry.supports("smile"));
+        assertFalse(registry.supports("yaml"));
+        assertEquals(5, registry.getCodecs().size());
+    }
+
+    @Test
+    void registry_WithUnknownFormat_ShouldThrow() {
+        // Given
+        CustomerCodecRegistry registry = new CustomerCodecRegistry(codecs());
+
+        // Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> registry.getCodec("yaml"));
+        assertTrue(exception.getMessage().contains("yaml"));
+        assertThrows(IllegalArgumentException.class, () -> registry.getCodec(null));
+    }
+
+    @Test
+    void registry_WithDuplicateFormat_ShouldFailFast() {
+        assertThrows(IllegalStateException.class,
+            () -> new CustomerCodecRegistry(Arrays.asList(new JsonCustomerCodec(), new JsonCustomerCodec())));
+    }
+}
@@ -0,0 +1,180 @@
+package org.camunda.bpm.demo.commandstats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CommandStatsInterceptorTest {
+
+    private MeterRegistry registry;
+    private Executor executor;
+    private StatementCountingInterceptor statementInterceptor;
+    private CommandStatsInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new SimpleMeterRegistry();
+        CommandStatsProperties properties = new CommandStatsProperties();
+        properties.setRepeatedSelectThreshold(3);
+        CommandMetrics metrics = new CommandMetrics(registry, properties);
+        executor = mock(Executor.class);
+        doReturn(Arrays.asList("a", "b")).when(executor).query(any(), any(), any(), any());
+        when(executor.update(any(), any())).thenReturn(1);
+        statementInterceptor = new StatementCountingInterceptor();
+        interceptor = new CommandStatsInterceptor(metrics, false);
+        interceptor.setNext(new CommandInterceptor() {
+            @Override
+            public <T> T execute(Command<T> command) {
+                return command.execute(null);
+            }
+        });
+    }
+
+    @Test
+    void execute_ShouldRecordStatementsRowsAndLatencyPerCommand() {
+        // When
+        interceptor.execute(new CorrelateCmd(2, 3));
+
+        // Then
+        assertEquals(1, registry.get("camunda.command.latency").tag("command", "CorrelateCmd").tag("process", "none").timer().count());
+        assertEquals(2, registry.get("camunda.command.statements").tag("command", "CorrelateCmd").tag("kind", "read").summary().totalAmount());
+        assertEquals(3, registry.get("camunda.command.statements").tag("kind", "write").summary().totalAmount());
+        assertEquals(4, registry.get("camunda.command.rows").tag("kind", "read").summary().totalAmount());
+        assertEquals(3, registry.get("camunda.command.rows").tag("kind", "write").summary().totalAmount());
+        assertEquals(3, registry.get("camunda.command.flush.size").summary().totalAmount());
+        assertTrue(registry.find("camunda.command.repeated.selects").counters().isEmpty());
+        assertNull(CommandStats.current());
+    }
+
+    @Test
+    void execute_WithRepeatedSelect_ShouldCountNPlusOne() {
+        // When
+        interceptor.execute(new CorrelateCmd(5, 0));
+
+        // Then
+        assertEquals(1, registry.get("camunda.command.repeated.selects")
+            .tag("command", "CorrelateCmd")
+            .tag("statement", "selectExecution")
+            .counter().count());
+    }
+
+    @Test
+    void execute_WithJdbcBatching_ShouldCountBatchesAndRowsOnFlush() throws Exception {
+        // Given - batched updates report their rows when the batch is flushed
+        when(executor.update(any(), any())).thenReturn(Integer.MIN_VALUE + 1002);
+        BatchResult batch = new BatchResult(statement("insertHistoricActivityInstanceEvent", SqlCommandType.INSERT), "insert");
+        batch.setUpdateCounts(new int[]{1, 1, 1});
+        when(executor.flushStatements()).thenReturn(Collections.singletonList(batch));
+
+        // When
+        interceptor.execute(commandContext -> {
+            try {
+                write(3);
+                invoke(Executor.class.getMethod("flushStatements"));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        });
+
+        // Then
+        String command = CommandStatsInterceptor.commandName(getClass());
+        assertEquals(1, registry.get("camunda.command.statements").tag("command", command).tag("kind", "write").summary().totalAmount());
+        assertEquals(3, registry.get("camunda.command.flush.size").tag("command", command).summary().totalAmount());
+        assertEquals(3, registry.get("camunda.command.rows").tag("command", command).tag("kind", "write").summary().totalAmount());
+    }
+
+    @Test
+    void execute_WithNestedCommand_ShouldJoinOuterStats() {
+        // When
+        interceptor.execute(commandContext -> interceptor.execute(new CorrelateCmd(1, 0)));
+
+        // Then
+        assertTrue(registry.find("camunda.command.latency").tag("command", "CorrelateCmd").timers().isEmpty());
+        assertEquals(1, registry.get("camunda.command.statements").tag("kind", "read").summary().totalAmount());
+    }
+
+    @Test
+    void commandName_ShouldUseSimpleNameAndNameLambdasAfterDeclaringClass() {
+        Command<Object> lambda = commandContext -> null;
+        Command<Object> anonymous = new Command<Object>() {
+            @Override
+            public Object execute(org.camunda.bpm.engine.impl.interceptor.CommandContext commandContext) {
+                return null;
+            }
+        };
+
+        assertEquals("CommandStatsInterceptorTest", CommandStatsInterceptor.commandName(lambda.getClass()));
+        assertEquals("CommandStatsInterceptorTest", CommandStatsInterceptor.commandName(anonymous.getClass()));
+        assertEquals("CorrelateCmd", CommandStatsInterceptor.commandName(CorrelateCmd.class));
+    }
+
+    private void write(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            invoke(Executor.class.getMethod("update", MappedStatement.class, Object.class),
+                statement("updateExecution", SqlCommandType.UPDATE), null);
+        }
+    }
+
+    private void select(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            invoke(Executor.class.getMethod("query", MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class),
+                statement("selectExecution", SqlCommandType.SELECT), null, RowBounds.DEFAULT, null);
+        }
+    }
+
+    private void invoke(java.lang.reflect.Method method, Object... args) throws Exception {
+        try {
+            statementInterceptor.intercept(new Invocation(executor, method, args));
+        } catch (Exception e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    private static MappedStatement statement(String id, SqlCommandType type) {
+        return new MappedStatement.Builder(new Configuration(), id, mock(SqlSource.class), type).build();
+    }
+
+    private class CorrelateCmd implements Command<Object> {
+
+        private final int selects;
+        private final int writes;
+
+        CorrelateCmd(int selects, int writes) {
+            this.selects = selects;
+            this.writes = writes;
+        }
+
+        @Override
+        public Object execute(org.camunda.bpm.engine.impl.interceptor.CommandContext commandContext) {
+            try {
+                select(selects);
+                write(writes);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.camunda.bpm.demo.consumer;
 
 import org.camunda.bpm.demo.dto.CamundaMessageDto;
+import org.camunda.bpm.demo.engine.StraightThrough;
 import org.camunda.bpm.demo.util.TestDataBuilder;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.runtime.MessageCorrelationResult;
@@ -11,6 +12,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -32,8 +37,8 @@ class MessageProcessConsumerTest {
 
     @BeforeEach
     void setUp() {
-        // Setup common mock behaviors
-        when(messageService.correlateMessage(any(CamundaMessageDto.class), any(String.class)))
+        // Setup common mock behaviors, lenient as the straight-through tests stub their own answer
+        lenient().when(messageService.correlateMessage(any(CamundaMessageDto.class), any(String.class)))
             .thenReturn(messageCorrelationResult);
     }
 
@@ -167,4 +172,39 @@ class MessageProcessConsumerTest {
         // Then
         verify(messageService).correlateMessage(orderWithNullDto, "MessageOrderDemo");
     }
-} 
\ No newline at end of file
+
+    @Test
+    void startDataFormatProcess_WithDataFormat_ShouldCorrelateStraightThrough() {
+        // Given
+        CamundaMessageDto stpMessage = TestDataBuilder.createStraightThroughDataFormatMessage("stp-123", "json");
+        AtomicBoolean straightThrough = new AtomicBoolean();
+        when(messageService.correlateMessage(stpMessage, "MessageDataFormatDemo")).thenAnswer(invocation -> {
+            straightThrough.set(StraightThrough.isActive());
+            return messageCorrelationResult;
+        });
+
+        // When
+        messageProcessConsumer.startDataFormatProcess(stpMessage);
+
+        // Then
+        assertTrue(straightThrough.get());
+        assertFalse(StraightThrough.isActive());
+    }
+
+    @Test
+    void startDataFormatProcess_WithoutDataFormat_ShouldNotRunStraightThrough() {
+        // Given
+        CamundaMessageDto message = TestDataBuilder.createStartProcessMessage("no-stp-123");
+        AtomicBoolean straightThrough = new AtomicBoolean();
+        when(messageService.correlateMessage(message, "MessageDataFormatDemo")).thenAnswer(invocation -> {
+            straightThrough.set(StraightThrough.isActive());
+            return messageCorrelationResult;
+        });
+
+        // When
+        messageProcessConsumer.startDataFormatProcess(message);
+
+        // Then
+        assertFalse(straightThrough.get());
+    }
+}
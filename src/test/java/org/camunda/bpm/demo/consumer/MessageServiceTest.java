@@ -1,7 +1,10 @@
 package org.camunda.bpm.demo.consumer;
 
+import org.camunda.bpm.demo.businesskey.BusinessKeyCache;
 import org.camunda.bpm.demo.dto.CamundaMessageDto;
 import org.camunda.bpm.demo.dto.MessageProcessDto;
+import org.camunda.bpm.demo.metrics.CorrelationMetrics;
+import org.camunda.bpm.demo.metrics.CorrelationMetrics.Target;
 import org.camunda.bpm.demo.util.TestDataBuilder;
 import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
 import org.camunda.bpm.engine.RuntimeService;
@@ -18,6 +21,7 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -33,16 +37,22 @@ class MessageServiceTest {
     @Mock
     private MessageCorrelationResult messageCorrelationResult;
 
+    @Mock
+    private BusinessKeyCache businessKeyCache;
+
+    @Mock
+    private CorrelationMetrics correlationMetrics;
+
     @InjectMocks
     private MessageService messageService;
 
     @BeforeEach
     void setUp() {
-        when(runtimeService.createMessageCorrelation(any(String.class)))
+        lenient().when(runtimeService.createMessageCorrelation(any(String.class)))
             .thenReturn(messageCorrelationBuilder);
         lenient().when(messageCorrelationBuilder.setVariables(any(Map.class)))
             .thenReturn(messageCorrelationBuilder);
-        when(messageCorrelationBuilder.processInstanceBusinessKey(any(String.class)))
+        lenient().when(messageCorrelationBuilder.processInstanceBusinessKey(any(String.class)))
             .thenReturn(messageCorrelationBuilder);
         when(messageCorrelationBuilder.correlateWithResult())
             .thenReturn(messageCorrelationResult);
@@ -144,6 +154,8 @@ class MessageServiceTest {
         // Then
         assertNull(result);
         verify(runtimeService).createMessageCorrelation(messageName);
+        verify(correlationMetrics).failed(eq(messageName), eq(Target.BUSINESS_KEY),
+            any(MismatchingMessageCorrelationException.class), anyLong());
     }
 
     @Test
@@ -193,4 +205,44 @@ class MessageServiceTest {
         verify(messageCorrelationBuilder).processInstanceBusinessKey("minimal-123");
         verify(messageCorrelationBuilder, never()).setVariables(any(Map.class));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void correlateMessage_WithCachedInstance_ShouldCorrelateById() {
+        // Given
+        CamundaMessageDto testMessage = TestDataBuilder.createStartProcessMessage("cached-123");
+        when(businessKeyCache.getProcessInstanceId("cached-123")).thenReturn("instance-1");
+        when(messageCorrelationBuilder.processInstanceId("instance-1")).thenReturn(messageCorrelationBuilder);
+
+        // When
+        MessageCorrelationResult result = messageService.correlateMessage(testMessage, "MessageBoundary");
+
+        // Then
+        assertNotNull(result);
+        verify(messageCorrelationBuilder).processInstanceId("instance-1");
+        verify(messageCorrelationBuilder, never()).processInstanceBusinessKey(any(String.class));
+        verify(correlationMetrics).correlated(eq("MessageBoundary"), eq(Target.PROCESS_INSTANCE_ID), eq(messageCorrelationResult), anyLong());
+    }
+
+    @Test
+    void correlateMessage_WithStaleCachedInstance_ShouldFallBackToBusinessKey() {
+        // Given
+        CamundaMessageDto testMessage = TestDataBuilder.createStartProcessMessage("stale-123");
+        MessageCorrelationBuilder byId = mock(MessageCorrelationBuilder.class);
+        when(runtimeService.createMessageCorrelation("MessageBoundary"))
+            .thenReturn(byId)
+            .thenReturn(messageCorrelationBuilder);
+        lenient().when(byId.setVariables(any(Map.class))).thenReturn(byId);
+        when(byId.processInstanceId("gone-1")).thenReturn(byId);
+        when(byId.correlateWithResult()).thenThrow(new MismatchingMessageCorrelationException("No matching process instance"));
+        when(businessKeyCache.getProcessInstanceId("stale-123")).thenReturn("gone-1");
+
+        // When
+        MessageCorrelationResult result = messageService.correlateMessage(testMessage, "MessageBoundary");
+
+        // Then
+        assertNotNull(result);
+        verify(messageCorrelationBuilder).processInstanceBusinessKey("stale-123");
+        verify(correlationMetrics).correlated(eq("MessageBoundary"), eq(Target.BUSINESS_KEY), eq(messageCorrelationResult), anyLong());
+        verify(correlationMetrics, never()).failed(any(), any(), any(), anyLong());
+    }
+}
@@ -0,0 +1,137 @@
+package org.camunda.bpm.demo.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.impl.HistoricProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.HistoricProcessInstanceReportImpl;
+import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadReplicaCommandInterceptorTest {
+
+    private ReadReplicaProperties properties;
+    private MeterRegistry registry;
+    private JdbcDataSource replica;
+    private CapturingInterceptor next;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReadReplicaProperties();
+        properties.setMaxStaleness(Duration.ofSeconds(5));
+        registry = new SimpleMeterRegistry();
+        replica = new JdbcDataSource();
+        replica.setURL("jdbc:h2:mem:read-replica-test");
+        next = new CapturingInterceptor();
+    }
+
+    @Test
+    void of_ShouldRecognizeQueryRoutes() {
+        assertEquals(QueryRoute.HISTORY, QueryRoute.of(new HistoricProcessInstanceQueryImpl()));
+        assertEquals(QueryRoute.TASK, QueryRoute.of(new TaskQueryImpl()));
+        assertEquals(QueryRoute.REPORT, QueryRoute.of(new HistoricProcessInstanceReportImpl(null)));
+        assertNull(QueryRoute.of(new ProcessInstanceQueryImpl()));
+        assertNull(QueryRoute.of(commandContext -> null));
+    }
+
+    @Test
+    void execute_WithQueryOfConfiguredRoute_ShouldUseReplica() {
+        // Given
+        properties.setRoutes(EnumSet.of(QueryRoute.HISTORY));
+        ReadReplicaCommandInterceptor interceptor = interceptor();
+
+        // When / Then
+        interceptor.execute(new HistoricProcessInstanceQueryImpl());
+        assertEquals(DataSourceRouting.Target.REPLICA, next.target);
+        assertEquals(DataSourceRouting.Target.PRIMARY, DataSourceRouting.current());
+
+        interceptor.execute(new TaskQueryImpl());
+        assertEquals(DataSourceRouting.Target.PRIMARY, next.target);
+
+        interceptor.execute(commandContext -> null);
+        assertEquals(DataSourceRouting.Target.PRIMARY, next.target);
+        assertEquals(1, registry.get("camunda.datasource.queries").tag("route", "history").tag("target", "replica").counter().count());
+    }
+
+    @Test
+    void execute_OnPrimary_ShouldKeepQueryOnPrimary() {
+        // Given
+        ReadReplicaCommandInterceptor interceptor = interceptor();
+
+        // When
+        DataSourceRouting.onPrimary(() -> interceptor.execute(new TaskQueryImpl()));
+
+        // Then
+        assertEquals(DataSourceRouting.Target.PRIMARY, next.target);
+        assertEquals(1, registry.get("camunda.datasource.queries").tag("route", "task").tag("target", "primary").counter().count());
+    }
+
+    @Test
+    void execute_WithStaleReplica_ShouldFallBackToPrimaryUntilCaughtUp() {
+        // Given - the replica reports 10 s lag against 5 s tolerance
+        properties.setLagQuery("SELECT 10000");
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replica, properties, registry);
+        ReadReplicaCommandInterceptor interceptor = new ReadReplicaCommandInterceptor(properties, lagMonitor, registry);
+        interceptor.setNext(next);
+
+        // When
+        lagMonitor.check();
+        interceptor.execute(new HistoricProcessInstanceQueryImpl());
+
+        // Then
+        assertFalse(lagMonitor.isUsable());
+        assertEquals(DataSourceRouting.Target.PRIMARY, next.target);
+        assertEquals(10_000, registry.get("camunda.datasource.replica.lag").gauge().value());
+
+        // When - it caught up
+        properties.setLagQuery("SELECT 100");
+        lagMonitor.check();
+        interceptor.execute(new HistoricProcessInstanceQueryImpl());
+
+        // Then
+        assertEquals(DataSourceRouting.Target.REPLICA, next.target);
+    }
+
+    @Test
+    void check_WithFailingLagQuery_ShouldMarkReplicaUnusable() {
+        // Given
+        properties.setLagQuery("SELECT 0");
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replica, properties, registry);
+        lagMonitor.check();
+        assertTrue(lagMonitor.isUsable());
+
+        // When
+        properties.setLagQuery("SELECT FROM nowhere");
+        lagMonitor.check();
+
+        // Then
+        assertFalse(lagMonitor.isUsable());
+    }
+
+    private ReadReplicaCommandInterceptor interceptor() {
+        ReadReplicaCommandInterceptor interceptor = new ReadReplicaCommandInterceptor(properties,
+                new ReplicaLagMonitor(replica, properties, registry), registry);
+        interceptor.setNext(next);
+        return interceptor;
+    }
+
+    private static class CapturingInterceptor extends CommandInterceptor {
+
+        private DataSourceRouting.Target target;
+
+        @Override
+        public <T> T execute(Command<T> command) {
+            target = DataSourceRouting.current();
+            return null;
+        }
+    }
+}
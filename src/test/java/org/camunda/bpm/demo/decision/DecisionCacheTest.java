@@ -0,0 +1,81 @@
+package org.camunda.bpm.demo.decision;
+
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecisionCacheTest {
+
+    private DecisionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        DmnEngine dmnEngine = DmnEngineConfiguration.createDefaultDmnEngineConfiguration().buildEngine();
+        cache = new DecisionCache(dmnEngine, OrderApprovalDecision.DECISION_KEY, 100);
+        cache.load("v1", orderApprovalModel(), Variables.createVariables().putValue("orderValue", 0L));
+    }
+
+    @Test
+    void evaluate_ShouldApplyOrderApprovalRules() {
+        assertEquals(true, evaluate(500L));
+        assertEquals(true, evaluate(999L));
+        assertEquals(false, evaluate(1000L));
+        assertEquals(false, evaluate(1500L));
+    }
+
+    @Test
+    void evaluate_WithSameInput_ShouldHitCache() {
+        // Given
+        AtomicInteger inputsBuilt = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            cache.evaluate(250L, () -> {
+                inputsBuilt.incrementAndGet();
+                return Variables.createVariables().putValue("orderValue", 250L);
+            });
+        }
+
+        // Then
+        assertEquals(1, inputsBuilt.get());
+        assertEquals(1, cache.getMisses());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    void load_NewVersion_ShouldDropMemoizedResults() {
+        // Given
+        evaluate(250L);
+
+        // When
+        cache.load("v2", orderApprovalModel());
+        evaluate(250L);
+
+        // Then
+        assertEquals("v2", cache.getVersion());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void evaluate_BeforeLoad_ShouldFail() {
+        DecisionCache empty = new DecisionCache(DmnEngineConfiguration.createDefaultDmnEngineConfiguration().buildEngine(),
+            OrderApprovalDecision.DECISION_KEY, 10);
+        assertThrows(IllegalStateException.class,
+            () -> empty.evaluate(1L, () -> Variables.createVariables().putValue("orderValue", 1L)));
+    }
+
+    private Object evaluate(long orderValue) {
+        return cache.evaluate(orderValue, () -> Variables.createVariables().putValue("orderValue", orderValue));
+    }
+
+    static InputStream orderApprovalModel() {
+        return DecisionCacheTest.class.getClassLoader().getResourceAsStream("order-approval.dmn");
+    }
+}
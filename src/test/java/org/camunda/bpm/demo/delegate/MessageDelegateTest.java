@@ -1,6 +1,7 @@
 package org.camunda.bpm.demo.delegate;
 
 import org.camunda.bpm.demo.dto.CamundaMessageDto;
+import org.camunda.bpm.demo.tracing.Tracer;
 import org.camunda.bpm.demo.dto.MessageProcessDto;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +12,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.SettableListenableFuture;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -29,11 +32,16 @@ class MessageDelegateTest {
     @Mock
     private DelegateExecution delegateExecution;
 
+    @Mock
+    private Tracer tracer;
+
     @InjectMocks
     private MessageDelegate messageDelegate;
 
     private Map<String, Object> processVariables;
 
+    private SettableListenableFuture<SendResult<String, CamundaMessageDto>> sendResult;
+
     @BeforeEach
     void setUp() {
         processVariables = new HashMap<>();
@@ -45,6 +53,19 @@ class MessageDelegateTest {
         when(delegateExecution.getProcessBusinessKey()).thenReturn("test-business-key");
         when(delegateExecution.getVariables()).thenReturn(processVariables);
         when(delegateExecution.getCurrentActivityId()).thenReturn("Activity_0tcd2jw");
+        sendResult = new SettableListenableFuture<>();
+        lenient().when(kafkaTemplate.send(any(), any(CamundaMessageDto.class))).thenReturn(sendResult);
+    }
+
+    @Test
+    void execute_ShouldEndPublishSpanWhenSendCompletes() throws Exception {
+        // When
+        messageDelegate.execute(delegateExecution);
+
+        // Then
+        verify(tracer, never()).end(any());
+        sendResult.set(null);
+        verify(tracer).end(any());
     }
 
     @Test
@@ -209,4 +230,4 @@ class MessageDelegateTest {
         // Then
         verify(kafkaTemplate).send(eq("service-task-message-topic"), any(CamundaMessageDto.class));
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+package org.camunda.bpm.demo.engine;
+
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncContinuationParseListenerTest {
+
+    private AsyncContinuationProperties properties;
+    private AsyncContinuationParseListener listener;
+    private ProcessDefinitionEntity processDefinition;
+    private ActivityImpl serviceTask;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AsyncContinuationProperties();
+        listener = new AsyncContinuationParseListener(properties);
+        processDefinition = new ProcessDefinitionEntity();
+        processDefinition.setKey("order-process");
+        serviceTask = processDefinition.createActivity("Task_ProcessOrderData");
+    }
+
+    @Test
+    void configuredBoundaries_ShouldBeAddedToActivity() {
+        AsyncContinuationProperties.Boundary boundary = new AsyncContinuationProperties.Boundary();
+        boundary.setBefore(true);
+        boundary.setAfter(true);
+        configure("order-process", "Task_ProcessOrderData", boundary);
+
+        listener.parseProcess(null, processDefinition);
+
+        assertTrue(serviceTask.isAsyncBefore());
+        assertTrue(serviceTask.isAsyncAfter());
+    }
+
+    @Test
+    void otherProcess_ShouldRemainSynchronous() {
+        AsyncContinuationProperties.Boundary boundary = new AsyncContinuationProperties.Boundary();
+        boundary.setBefore(true);
+        configure("DataformatDemoProcess", "Task_ProcessOrderData", boundary);
+
+        listener.parseProcess(null, processDefinition);
+
+        assertFalse(serviceTask.isAsyncBefore());
+        assertFalse(serviceTask.isAsyncAfter());
+    }
+
+    @Test
+    void disabled_ShouldRemainSynchronous() {
+        AsyncContinuationProperties.Boundary boundary = new AsyncContinuationProperties.Boundary();
+        boundary.setBefore(true);
+        configure("order-process", "Task_ProcessOrderData", boundary);
+        properties.setEnabled(false);
+
+        listener.parseProcess(null, processDefinition);
+
+        assertFalse(serviceTask.isAsyncBefore());
+    }
+
+    @Test
+    void unknownActivity_ShouldBeIgnored() {
+        AsyncContinuationProperties.Boundary boundary = new AsyncContinuationProperties.Boundary();
+        boundary.setBefore(true);
+        configure("order-process", "Task_DoesNotExist", boundary);
+
+        assertDoesNotThrow(() -> listener.parseProcess(null, processDefinition));
+        assertFalse(serviceTask.isAsyncBefore());
+    }
+
+    private void configure(String processDefinitionKey, String activityId, AsyncContinuationProperties.Boundary boundary) {
+        Map<String, AsyncContinuationProperties.Boundary> boundaries = new LinkedHashMap<>();
+        boundaries.put(activityId, boundary);
+        properties.getProcesses().put(processDefinitionKey, boundaries);
+    }
+}
@@ -0,0 +1,109 @@
+package org.camunda.bpm.demo.engine;
+
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FilteringHistoryEventHandlerTest {
+
+    @Mock
+    private HistoryEventHandler delegate;
+
+    private VariablePolicyRegistry registry;
+    private FilteringHistoryEventHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        registry = new VariablePolicyRegistry();
+        registry.registerHistoryExcluded("DataformatDemoProcess", new HashSet<>(Collections.singletonList("customerData")));
+        handler = new FilteringHistoryEventHandler(delegate, Arrays.asList(
+            new VariablePolicyHistoryFilter(registry),
+            event -> !"rejected-instance".equals(event.getProcessInstanceId())));
+    }
+
+    @Test
+    void handleEvent_WithExcludedVariable_ShouldDropEvent() {
+        // Given
+        HistoryEvent event = variableEvent("DataformatDemoProcess", "customerData");
+
+        // When
+        handler.handleEvent(event);
+
+        // Then
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void handleEvent_WithSameVariableInOtherProcess_ShouldForwardEvent() {
+        // Given
+        HistoryEvent event = variableEvent("order-process", "customerData");
+
+        // When
+        handler.handleEvent(event);
+
+        // Then
+        verify(delegate).handleEvent(event);
+    }
+
+    @Test
+    void handleEvents_ShouldOnlyForwardNonExcludedEvents() {
+        // Given
+        HistoryEvent excluded = variableEvent("DataformatDemoProcess", "customerData");
+        HistoryEvent kept = variableEvent("DataformatDemoProcess", "firstname");
+        HistoryEvent activity = new HistoricActivityInstanceEventEntity();
+
+        // When
+        handler.handleEvents(Arrays.asList(excluded, kept, activity));
+
+        // Then
+        verify(delegate).handleEvent(kept);
+        verify(delegate).handleEvent(activity);
+        verify(delegate, never()).handleEvent(excluded);
+    }
+
+    @Test
+    void handleEvent_WithPoliciesDisabled_ShouldForwardEverything() {
+        // Given
+        registry.setEnabled(false);
+        HistoryEvent event = variableEvent("DataformatDemoProcess", "customerData");
+
+        // When
+        handler.handleEvent(event);
+
+        // Then
+        verify(delegate).handleEvent(event);
+    }
+
+    @Test
+    void handleEvent_RejectedByAnyFilter_ShouldDropEvent() {
+        // Given
+        HistoryEvent event = variableEvent("DataformatDemoProcess", "firstname");
+        event.setProcessInstanceId("rejected-instance");
+
+        // When
+        handler.handleEvent(event);
+
+        // Then
+        verifyNoInteractions(delegate);
+    }
+
+    private HistoryEvent variableEvent(String processDefinitionKey, String variableName) {
+        HistoricVariableUpdateEventEntity event = new HistoricVariableUpdateEventEntity();
+        event.setProcessDefinitionKey(processDefinitionKey);
+        event.setVariableName(variableName);
+        return event;
+    }
+}
@@ -0,0 +1,75 @@
+package org.camunda.bpm.demo.engine;
+
+import org.camunda.bpm.demo.history.HistoryRetentionProperties;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricIncidentEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessHistoryLevelFilterTest {
+
+    private HistoryRetentionProperties properties;
+    private ProcessHistoryLevelFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HistoryRetentionProperties();
+        properties.getProcesses().put("activity-process", process(HistoryRetentionProperties.Level.ACTIVITY));
+        properties.getProcesses().put("variables-process", process(HistoryRetentionProperties.Level.VARIABLES));
+        properties.getProcesses().put("silent-process", process(HistoryRetentionProperties.Level.NONE));
+        filter = new ProcessHistoryLevelFilter(properties);
+    }
+
+    @Test
+    void accept_AtActivityLevel_ShouldKeepOnlyInstances() {
+        assertTrue(filter.accept(event(new HistoricActivityInstanceEventEntity(), "activity-process")));
+        assertFalse(filter.accept(event(new HistoricVariableUpdateEventEntity(), "activity-process")));
+        assertFalse(filter.accept(event(new HistoricIncidentEventEntity(), "activity-process")));
+    }
+
+    @Test
+    void accept_AtAuditLevel_ShouldAlsoKeepVariables() {
+        assertTrue(filter.accept(event(new HistoricVariableUpdateEventEntity(), "variables-process")));
+        assertFalse(filter.accept(event(new HistoricIncidentEventEntity(), "variables-process")));
+    }
+
+    @Test
+    void accept_AtNoneLevel_ShouldDropEverything() {
+        assertFalse(filter.accept(event(new HistoricActivityInstanceEventEntity(), "silent-process")));
+    }
+
+    @Test
+    void accept_WithUnconfiguredProcess_ShouldKeepEverything() {
+        assertTrue(filter.accept(event(new HistoricIncidentEventEntity(), "order-process")));
+        assertTrue(filter.accept(event(new HistoricVariableUpdateEventEntity(), null)));
+    }
+
+    @Test
+    void cleanupWindow_OverMidnight_ShouldWrapAround() {
+        HistoryRetentionProperties.Cleanup cleanup = new HistoryRetentionProperties.Cleanup();
+        assertTrue(cleanup.isInWindow(LocalTime.NOON));
+
+        cleanup.setWindowStart(LocalTime.of(20, 0));
+        cleanup.setWindowEnd(LocalTime.of(6, 0));
+        assertTrue(cleanup.isInWindow(LocalTime.of(23, 30)));
+        assertTrue(cleanup.isInWindow(LocalTime.of(5, 59)));
+        assertFalse(cleanup.isInWindow(LocalTime.NOON));
+    }
+
+    private static HistoryRetentionProperties.Process process(HistoryRetentionProperties.Level level) {
+        HistoryRetentionProperties.Process process = new HistoryRetentionProperties.Process();
+        process.setLevel(level);
+        return process;
+    }
+
+    private static HistoryEvent event(HistoryEvent event, String processDefinitionKey) {
+        event.setProcessDefinitionKey(processDefinitionKey);
+        return event;
+    }
+}
@@ -0,0 +1,86 @@
+package org.camunda.bpm.demo.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdGeneratorTest {
+
+    private static final long NOW = TimeOrderedIdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    @Test
+    void getNextId_ShouldSortByCreationOrder() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7, clock::get);
+
+        String previous = generator.getNextId();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 100 == 0) {
+                clock.incrementAndGet();
+            }
+            String id = generator.getNextId();
+            assertEquals(TimeOrderedIdGenerator.ID_LENGTH, id.length());
+            assertTrue(id.compareTo(previous) > 0, id + " should sort after " + previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void getNextId_WithClockMovingBackwards_ShouldStayOrdered() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, clock::get);
+
+        String first = generator.getNextId();
+        clock.addAndGet(-5_000);
+        String second = generator.getNextId();
+
+        assertTrue(second.compareTo(first) > 0);
+    }
+
+    @Test
+    void getNextId_BeyondSequenceCapacity_ShouldStayUnique() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, () -> NOW);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(ids.add(generator.getNextId()));
+        }
+    }
+
+    @Test
+    void getNextId_FromManyThreads_ShouldBeUnique() throws InterruptedException {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(generator.getNextId());
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(8 * 20_000, ids.size());
+    }
+
+    @Test
+    void getNextId_ShouldCarryNodeId() {
+        assertEquals(513, TimeOrderedIdGenerator.nodeOf(new TimeOrderedIdGenerator(513).getNextId()));
+    }
+
+    @Test
+    void constructor_WithNodeIdOutOfRange_ShouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE_ID + 1));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(-1));
+    }
+}
@@ -0,0 +1,97 @@
+package org.camunda.bpm.demo.externaltask;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.demo.dto.ExternalTaskMessageDto;
+import org.camunda.bpm.demo.dto.ExternalTaskResponseDto;
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaExternalTaskBridgeTest {
+
+    @Mock
+    private ProcessEngine processEngine;
+
+    @Mock
+    private ExternalTaskService externalTaskService;
+
+    @Mock
+    private ExternalTaskCompletions bulkCompletion;
+
+    @Mock
+    private KafkaTemplate<String, ExternalTaskMessageDto> kafkaTemplate;
+
+    private KafkaExternalTaskBridge bridge;
+
+    @BeforeEach
+    void setUp() {
+        when(processEngine.getExternalTaskService()).thenReturn(externalTaskService);
+        ExternalTaskBridgeProperties properties = new ExternalTaskBridgeProperties();
+        properties.setTopics(Collections.singletonList("external-task"));
+        bridge = new KafkaExternalTaskBridge(processEngine, bulkCompletion, properties, new ExternalTaskSignal(),
+                new ExternalTaskMetrics(new SimpleMeterRegistry()), kafkaTemplate);
+    }
+
+    @Test
+    void completeResponses_ShouldBeCompletedInOneBatch() {
+        bridge.handleResponses(Arrays.asList(
+                response("task-1", ExternalTaskResponseDto.Outcome.COMPLETE),
+                response("task-2", ExternalTaskResponseDto.Outcome.COMPLETE)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ExternalTaskCompletions.Completion>> completions = ArgumentCaptor.forClass(List.class);
+        verify(bulkCompletion).completeAll(eq("kafka-bridge"), completions.capture());
+        assertEquals(Arrays.asList("task-1", "task-2"),
+                Arrays.asList(completions.getValue().get(0).getTaskId(), completions.getValue().get(1).getTaskId()));
+    }
+
+    @Test
+    void failureResponse_ShouldReportFailureWithGivenRetries() {
+        ExternalTaskResponseDto failure = response("task-1", ExternalTaskResponseDto.Outcome.FAILURE);
+        failure.setErrorMessage("Warehouse unavailable");
+        failure.setRetries(2);
+        failure.setRetryTimeout(5_000L);
+
+        bridge.handleResponses(Collections.singletonList(failure));
+
+        verify(externalTaskService).handleFailure("task-1", "kafka-bridge", "Warehouse unavailable", null, 2, 5_000L);
+        verify(bulkCompletion).completeAll(eq("kafka-bridge"), eq(Collections.emptyList()));
+    }
+
+    @Test
+    void extendLockResponse_ShouldExtendLock() {
+        ExternalTaskResponseDto extendLock = response("task-1", ExternalTaskResponseDto.Outcome.EXTEND_LOCK);
+        extendLock.setLockDuration(60_000L);
+
+        bridge.handleResponses(Collections.singletonList(extendLock));
+
+        verify(externalTaskService).extendLock("task-1", "kafka-bridge", 60_000L);
+    }
+
+    @Test
+    void responseWithoutTaskId_ShouldBeIgnored() {
+        bridge.handleResponses(Collections.singletonList(response(null, ExternalTaskResponseDto.Outcome.COMPLETE)));
+
+        verifyNoInteractions(externalTaskService);
+        verify(bulkCompletion).completeAll(eq("kafka-bridge"), eq(Collections.emptyList()));
+    }
+
+    private static ExternalTaskResponseDto response(String taskId, ExternalTaskResponseDto.Outcome outcome) {
+        return ExternalTaskResponseDto.builder().taskId(taskId).outcome(outcome).build();
+    }
+}
@@ -0,0 +1,105 @@
+package org.camunda.bpm.demo.history;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionEvaluationEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StreamingHistoryEventHandlerTest {
+
+    @Mock
+    private HistoryEventHandler dbHandler;
+
+    @Mock
+    private HistoryStreamPublisher publisher;
+
+    private HistoryWriteMetrics metrics;
+    private StreamingHistoryEventHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new HistoryWriteMetrics(new SimpleMeterRegistry());
+        HistoryStreamProperties properties = new HistoryStreamProperties();
+        properties.setDbKinds(Arrays.asList("process-instance", "incident"));
+        properties.setDbProcesses(Collections.singletonList("order-process"));
+        handler = new StreamingHistoryEventHandler(dbHandler, publisher, metrics, properties);
+    }
+
+    @Test
+    void handleEvent_WithConfiguredKindAndProcess_ShouldWriteToDbAndStream() {
+        HistoryEvent event = processInstanceEvent("order-process", HistoryEventTypes.PROCESS_INSTANCE_START);
+
+        handler.handleEvent(event);
+
+        verify(dbHandler).handleEvent(event);
+        verify(publisher).publish(anyList());
+    }
+
+    @Test
+    void handleEvent_WithOtherKindOrProcess_ShouldOnlyStream() {
+        HistoryEvent variableUpdate = new HistoricVariableUpdateEventEntity();
+        variableUpdate.setProcessDefinitionKey("order-process");
+        HistoryEvent otherProcess = processInstanceEvent("DataFormatDemo", HistoryEventTypes.PROCESS_INSTANCE_START);
+
+        handler.handleEvent(variableUpdate);
+        handler.handleEvent(otherProcess);
+
+        verifyNoInteractions(dbHandler);
+        verify(publisher, times(2)).publish(anyList());
+    }
+
+    @Test
+    void handleEvent_ShouldReportEventsPerEndedInstance() {
+        for (int i = 0; i < 3; i++) {
+            HistoryEvent activity = new HistoricActivityInstanceEventEntity();
+            activity.setProcessDefinitionKey("order-process");
+            handler.handleEvent(activity);
+        }
+        handler.handleEvent(processInstanceEvent("order-process", HistoryEventTypes.PROCESS_INSTANCE_END));
+
+        assertEquals(4.0, metrics.getEventsPerInstance("order-process", HistoryWriteMetrics.SINK_STREAM), 0.0);
+        assertEquals(1.0, metrics.getEventsPerInstance("order-process", HistoryWriteMetrics.SINK_DB), 0.0);
+    }
+
+    @Test
+    void kindFromName_WithUnknownName_ShouldFail() {
+        assertEquals(HistoryEventKind.JOB_LOG, HistoryEventKind.fromName("job-log"));
+        assertThrows(IllegalArgumentException.class, () -> HistoryEventKind.fromName("comments"));
+    }
+
+    @Test
+    void kindOf_DecisionEvaluation_ShouldBeDecisionOfTheEvaluatingProcess() {
+        HistoricDecisionInstanceEntity decision = new HistoricDecisionInstanceEntity();
+        decision.setProcessDefinitionKey("order-process");
+        HistoricDecisionEvaluationEvent evaluation = new HistoricDecisionEvaluationEvent();
+        evaluation.setRootHistoricDecisionInstance(decision);
+
+        assertEquals(HistoryEventKind.DECISION, HistoryEventKind.of(evaluation));
+        assertEquals("order-process", HistoryEventKind.processDefinitionKeyOf(evaluation));
+    }
+
+    private static HistoryEvent processInstanceEvent(String processDefinitionKey, HistoryEventTypes type) {
+        HistoricProcessInstanceEventEntity event = new HistoricProcessInstanceEventEntity();
+        event.setProcessDefinitionKey(processDefinitionKey);
+        event.setEventType(type.getEventName());
+        return event;
+    }
+}
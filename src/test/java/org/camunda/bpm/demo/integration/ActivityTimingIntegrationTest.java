@@ -0,0 +1,38 @@
+package org.camunda.bpm.demo.integration;
+
+import org.camunda.bpm.demo.activitytiming.ActivityTimingsEndpoint;
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.consumer.MessageProcessConsumer;
+import org.camunda.bpm.demo.util.TestDataBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActivityTimingIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MessageProcessConsumer consumer;
+
+    @Autowired
+    private ActivityTimingsEndpoint endpoint;
+
+    @Test
+    void activityTimings_ShouldCoverActivitiesOfCompletedInstances() {
+        // When
+        consumer.startDataFormatProcess(TestDataBuilder.createStraightThroughDataFormatMessage("activity-timing-1", "json"));
+
+        // Then
+        await().until(() -> {
+            Map<String, Object> logCustomer = endpoint.activities("DataformatDemoProcess").get("Task_1p179ep");
+            return logCustomer != null && (Long) logCustomer.get("count") >= 1;
+        });
+        Map<String, Map<String, Object>> activities = endpoint.activities("DataformatDemoProcess");
+        Map<String, Object> logCustomer = activities.get("Task_1p179ep");
+        assertEquals("Log customer", logCustomer.get("name"));
+        assertTrue((Long) activities.get("Task_1x6a2xs").get("count") >= 1);
+        assertTrue(endpoint.activities("order-process").containsKey("Task_SendEmail"));
+    }
+}
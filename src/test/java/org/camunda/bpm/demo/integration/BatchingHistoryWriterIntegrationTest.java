@@ -0,0 +1,90 @@
+package org.camunda.bpm.demo.integration;
+
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.consumer.MessageProcessConsumer;
+import org.camunda.bpm.demo.history.BatchingHistoryWriter;
+import org.camunda.bpm.demo.util.TestDataBuilder;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = {
+    "history-writer.enabled=true",
+    "history-writer.flush-interval-ms=20",
+    "straight-through.history=full"
+})
+class BatchingHistoryWriterIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MessageProcessConsumer consumer;
+
+    @Autowired
+    private BatchingHistoryWriter writer;
+
+    @Test
+    void straightThroughInstance_ShouldBeWrittenWithStartAndEnd() {
+        // Given
+        String businessKey = "history-writer-stp-1";
+
+        // When - starts and ends all activities in one transaction
+        consumer.startDataFormatProcess(TestDataBuilder.createStraightThroughDataFormatMessage(businessKey, "json"));
+
+        // Then
+        HistoricProcessInstance historicInstance = awaitEndedInstance(businessKey);
+        assertNotNull(historicInstance.getStartTime());
+        assertNotNull(historicInstance.getDurationInMillis());
+        assertAllActivitiesEnded(historicInstance.getId());
+    }
+
+    @Test
+    void instanceEndedInLaterTransaction_ShouldUpdateWrittenStart() {
+        // Given
+        String businessKey = "history-writer-task-1";
+        ProcessInstance instance = runtimeService.startProcessInstanceByKey("KafkaDemo", businessKey);
+        await().until(() -> historyService.createHistoricActivityInstanceQuery()
+            .processInstanceId(instance.getId())
+            .activityId("Activity_0zhduij")
+            .count() == 1);
+
+        // When
+        Task task = taskService.createTaskQuery().processInstanceId(instance.getId()).singleResult();
+        taskService.complete(task.getId());
+
+        // Then
+        HistoricProcessInstance historicInstance = awaitEndedInstance(businessKey);
+        assertAllActivitiesEnded(historicInstance.getId());
+        assertEquals(0, writer.getQueueDepth());
+    }
+
+    private HistoricProcessInstance awaitEndedInstance(String businessKey) {
+        await().until(() -> {
+            HistoricProcessInstance historicInstance = historyService.createHistoricProcessInstanceQuery()
+                .processInstanceBusinessKey(businessKey)
+                .singleResult();
+            return historicInstance != null && historicInstance.getEndTime() != null;
+        });
+        return historyService.createHistoricProcessInstanceQuery().processInstanceBusinessKey(businessKey).singleResult();
+    }
+
+    private void assertAllActivitiesEnded(String processInstanceId) {
+        await().untilAsserted(() -> {
+            List<HistoricActivityInstance> activities = historyService.createHistoricActivityInstanceQuery()
+                .processInstanceId(processInstanceId)
+                .list();
+            assertFalse(activities.isEmpty());
+            for (HistoricActivityInstance activity : activities) {
+                assertNotNull(activity.getStartTime(), activity.getActivityId());
+                assertNotNull(activity.getEndTime(), activity.getActivityId());
+                assertNotNull(activity.getDurationInMillis(), activity.getActivityId());
+            }
+        });
+    }
+}
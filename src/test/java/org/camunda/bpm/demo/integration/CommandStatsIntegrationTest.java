@@ -0,0 +1,45 @@
+package org.camunda.bpm.demo.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.consumer.MessageProcessConsumer;
+import org.camunda.bpm.demo.util.TestDataBuilder;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandStatsIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MessageProcessConsumer consumer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void commands_ShouldBeProfiledPerCommandAndProcess() {
+        // Given
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("KafkaDemo", "command-stats-1");
+
+        // When
+        runtimeService.createMessageCorrelation("MessageBoundary")
+            .processInstanceId(processInstance.getId())
+            .correlateWithResult();
+        consumer.startDataFormatProcess(TestDataBuilder.createStraightThroughDataFormatMessage("command-stats-2", "json"));
+
+        // Then
+        Timer correlation = meterRegistry.get("camunda.command.latency")
+            .tag("command", "CorrelateMessageCmd")
+            .tag("process", "KafkaDemo")
+            .timer();
+        assertTrue(correlation.count() >= 1);
+        assertTrue(meterRegistry.get("camunda.command.statements")
+            .tag("command", "CorrelateMessageCmd")
+            .tag("kind", "write")
+            .summary().totalAmount() > 0);
+        assertFalse(meterRegistry.find("camunda.command.latency").tag("process", "DataformatDemoProcess").timers().isEmpty());
+    }
+}
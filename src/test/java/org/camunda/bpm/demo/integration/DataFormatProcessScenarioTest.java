@@ -47,6 +47,7 @@ public class DataFormatProcessScenarioTest extends BaseIntegrationTest {
     private static final String GATEWAY_DATAFORMAT = "ExclusiveGateway_06znf1b";
     private static final String TASK_CREATE_XML = "Task_03zh96w";
     private static final String TASK_CREATE_JSON = "Task_1x6a2xs";
+    private static final String TASK_CREATE_OTHER_FORMAT = "Task_CreateCustomerOtherFormat";
     private static final String TASK_LOG_CUSTOMER = "Task_1p179ep";
     private static final String END_EVENT_ID = "EndEvent_1nrs79a";
 
@@ -156,6 +157,45 @@ public class DataFormatProcessScenarioTest extends BaseIntegrationTest {
         verify(dataFormatProcess).hasCompleted(TASK_CREATE_JSON);
     }
 
+    @Test
+    public void testScenario_CborFormat_ShouldUseOtherFormatPath() {
+        // Given: A customer choosing a format without a dedicated branch
+        Map<String, Object> customerData = createCompleteCustomerData();
+
+        // When: Process is started and CBOR format is selected
+        when(dataFormatProcess.waitsAtUserTask(USER_TASK_SELECT_FORMAT))
+            .thenReturn(task -> task.complete(withVariables("dataFormat", "cbor")));
+
+        // Then: The default branch encodes the customer with the registered codec
+        run(dataFormatProcess)
+            .startByKey(PROCESS_KEY, customerData)
+            .execute();
+
+        verify(dataFormatProcess).hasCompleted(TASK_CREATE_OTHER_FORMAT);
+        verify(dataFormatProcess).hasCompleted(TASK_LOG_CUSTOMER);
+        verify(dataFormatProcess).hasFinished(END_EVENT_ID);
+        verify(dataFormatProcess, never()).hasCompleted(TASK_CREATE_XML);
+        verify(dataFormatProcess, never()).hasCompleted(TASK_CREATE_JSON);
+    }
+
+    @Test
+    public void testStraightThrough_WithDataFormatAtStart_ShouldSkipUserTask() {
+        // Given: The start variables already contain the format
+        Map<String, Object> customerData = createCompleteCustomerData();
+        customerData.put("dataFormat", "json");
+
+        // When: Process is started
+        run(dataFormatProcess)
+            .startByKey(PROCESS_KEY, customerData)
+            .execute();
+
+        // Then: The selection task is skipped and the instance finishes without a wait state
+        verify(dataFormatProcess, never()).hasStarted(USER_TASK_SELECT_FORMAT);
+        verify(dataFormatProcess).hasCompleted(TASK_CREATE_JSON);
+        verify(dataFormatProcess).hasCompleted(TASK_LOG_CUSTOMER);
+        verify(dataFormatProcess).hasFinished(END_EVENT_ID);
+    }
+
     @Test
     public void testScenario_InvalidCustomer_ShouldStillProcess() {
         // Given: An invalid customer (isValid = false)
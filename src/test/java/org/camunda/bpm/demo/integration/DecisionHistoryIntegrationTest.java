@@ -0,0 +1,43 @@
+package org.camunda.bpm.demo.integration;
+
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.decision.OrderApprovalDecision;
+import org.camunda.bpm.engine.DecisionService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = {
+    "history-stream.enabled=true",
+    "history-stream.db-kinds=process-instance,decision"
+})
+class DecisionHistoryIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private ProcessEngine processEngine;
+
+    @Test
+    void evaluatedDecision_WithDecisionDbKind_ShouldBeWrittenToHistory() {
+        // Given
+        DecisionService decisionService = processEngine.getDecisionService();
+        long before = historyService.createHistoricDecisionInstanceQuery()
+            .decisionDefinitionKey(OrderApprovalDecision.DECISION_KEY)
+            .count();
+
+        // When
+        boolean orderOk = decisionService.evaluateDecisionTableByKey(OrderApprovalDecision.DECISION_KEY)
+            .variables(Variables.createVariables().putValue("orderValue", 500L))
+            .evaluate()
+            .getSingleEntry();
+
+        // Then
+        assertTrue(orderOk);
+        assertEquals(before + 1, historyService.createHistoricDecisionInstanceQuery()
+            .decisionDefinitionKey(OrderApprovalDecision.DECISION_KEY)
+            .count());
+    }
+}
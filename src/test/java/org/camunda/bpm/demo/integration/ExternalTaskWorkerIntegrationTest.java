@@ -0,0 +1,38 @@
+package org.camunda.bpm.demo.integration;
+
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.externaltask.ExternalTaskWorker;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalTaskWorkerIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private ExternalTaskWorker worker;
+
+    @Test
+    void externalTask_ShouldBeCompletedByEmbeddedWorker() {
+        // Given
+        String businessKey = "external-task-worker-1";
+        assertTrue(worker.isRunning());
+
+        // When - Instance enters "Some Task" as after the boundary message
+        ProcessInstance instance = runtimeService.createProcessInstanceByKey("KafkaDemo")
+                .businessKey(businessKey)
+                .startBeforeActivity("Activity_01v8wfy")
+                .execute();
+
+        // Then
+        waitForProcessInstanceCompletion(businessKey);
+        assertEquals(0, runtimeService.createExternalTaskQuery().processInstanceId(instance.getId()).count());
+        HistoricVariableInstance completedAt = historyService.createHistoricVariableInstanceQuery()
+                .processInstanceId(instance.getId())
+                .variableName("someTaskCompletedAt")
+                .singleResult();
+        assertNotNull(completedAt);
+    }
+}
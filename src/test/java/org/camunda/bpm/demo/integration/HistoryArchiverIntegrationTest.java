@@ -0,0 +1,57 @@
+package org.camunda.bpm.demo.integration;
+
+import org.camunda.bpm.demo.archive.ArchiveStore;
+import org.camunda.bpm.demo.archive.ArchivedInstance;
+import org.camunda.bpm.demo.archive.HistoryArchiver;
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.consumer.MessageProcessConsumer;
+import org.camunda.bpm.demo.util.TestDataBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = {
+    "history-archive.enabled=true",
+    "history-archive.archive-after=1ms",
+    "history-archive.processes=DataformatDemoProcess",
+    "history-archive.directory=${java.io.tmpdir}/camunda-kafka-demo/history-archive-test",
+    "history-retention.processes.DataformatDemoProcess.level=full",
+    "straight-through.history=full"
+})
+class HistoryArchiverIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MessageProcessConsumer consumer;
+
+    @Autowired
+    private HistoryArchiver archiver;
+
+    @Autowired
+    private ArchiveStore archiveStore;
+
+    @Test
+    void archive_ShouldMoveFinishedInstanceIntoArchive() {
+        // Given
+        String businessKey = "history-archive-1";
+        consumer.startDataFormatProcess(TestDataBuilder.createStraightThroughDataFormatMessage(businessKey, "json"));
+        String processInstanceId = historyService.createHistoricProcessInstanceQuery()
+            .processInstanceBusinessKey(businessKey)
+            .singleResult()
+            .getId();
+        long activities = historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).count();
+
+        // When - the instance is due a millisecond after it ended
+        await().until(() -> archiver.archive() > 0 && archiveStore.contains(processInstanceId));
+
+        // Then
+        assertEquals(0, historyService.createHistoricProcessInstanceQuery().processInstanceBusinessKey(businessKey).count());
+        ArchivedInstance archived = archiveStore.findByProcessInstanceId(processInstanceId).orElseThrow(AssertionError::new);
+        assertEquals(businessKey, archived.getBusinessKey());
+        assertEquals(activities, archived.getActivities().size());
+        assertFalse(archived.getVariables().isEmpty());
+        assertTrue(archiveStore.findByBusinessKey(businessKey).stream()
+            .anyMatch(instance -> processInstanceId.equals(instance.getProcessInstanceId())));
+    }
+}
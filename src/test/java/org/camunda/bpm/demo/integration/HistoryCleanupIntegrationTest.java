@@ -0,0 +1,78 @@
+package org.camunda.bpm.demo.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.consumer.MessageProcessConsumer;
+import org.camunda.bpm.demo.history.CleanupLease;
+import org.camunda.bpm.demo.history.HistoryCleanupScheduler;
+import org.camunda.bpm.demo.util.TestDataBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = {
+    "history-retention.processes.DataformatDemoProcess.time-to-live=1ms",
+    "history-retention.cleanup.enabled=false",
+    "history-retention.cleanup.count-rows=true",
+    "straight-through.history=full"
+})
+class HistoryCleanupIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MessageProcessConsumer consumer;
+
+    @Autowired
+    private HistoryCleanupScheduler cleanupScheduler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void run_ShouldRemoveExpiredHistoryOnlyOfConfiguredProcesses() {
+        // Given
+        String businessKey = "history-cleanup-1";
+        consumer.startDataFormatProcess(TestDataBuilder.createStraightThroughDataFormatMessage(businessKey, "json"));
+        String processInstanceId = historyService.createHistoricProcessInstanceQuery()
+            .processInstanceBusinessKey(businessKey)
+            .singleResult()
+            .getId();
+        assertTrue(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).count() > 0);
+
+        // When - the instance expires a millisecond after it ended
+        await().until(() -> {
+            Map<String, Long> removed = cleanupScheduler.run();
+            assertFalse(removed.containsKey("KafkaDemo"));
+            return removed.getOrDefault("DataformatDemoProcess", 0L) > 0;
+        });
+
+        // Then
+        assertEquals(0, historyService.createHistoricProcessInstanceQuery().processInstanceBusinessKey(businessKey).count());
+        assertEquals(0, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).count());
+        assertTrue(meterRegistry.get("camunda.history.cleanup.rows").tag("table", "ACT_HI_ACTINST").counter().count() > 0);
+    }
+
+    @Test
+    void run_ShouldSkipWhileAnotherNodeHoldsTheLease() {
+        // Given - another node's lease
+        CleanupLease otherNode = new CleanupLease(dataSource, null);
+        assertTrue(otherNode.acquire(Duration.ofMinutes(1)));
+        try {
+            // When / Then
+            assertFalse(new CleanupLease(dataSource, null).acquire(Duration.ofMinutes(1)));
+            assertTrue(cleanupScheduler.run().isEmpty());
+            assertTrue(otherNode.acquire(Duration.ofMinutes(1)));
+        } finally {
+            otherNode.release();
+        }
+        assertTrue(new CleanupLease(dataSource, null).acquire(Duration.ofMillis(1)));
+    }
+}
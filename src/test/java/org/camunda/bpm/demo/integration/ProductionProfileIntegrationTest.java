@@ -0,0 +1,71 @@
+package org.camunda.bpm.demo.integration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.config.EmbeddedPostgresSupport;
+import org.camunda.bpm.demo.consumer.MessageProcessConsumer;
+import org.camunda.bpm.demo.util.TestDataBuilder;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("production")
+class ProductionProfileIntegrationTest extends BaseIntegrationTest {
+
+    @DynamicPropertySource
+    static void configurePostgres(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.configureProperties(registry);
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ProcessEngine processEngine;
+
+    @Autowired
+    private MessageProcessConsumer consumer;
+
+    @Test
+    void productionProfile_ShouldUsePooledPostgresWithJdbcBatching() throws Exception {
+        // Then
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        assertEquals(20, hikari.getMaximumPoolSize());
+        assertEquals("true", hikari.getDataSourceProperties().getProperty("reWriteBatchedInserts"));
+        ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+        assertEquals("postgres", configuration.getDatabaseType());
+        assertTrue(configuration.isJdbcBatchProcessing());
+    }
+
+    @Test
+    void productionProfile_ShouldCompleteInstancesAndCorrelateMessages() {
+        // Given
+        String businessKey = "production-profile-1";
+        consumer.startDataFormatProcess(TestDataBuilder.createStraightThroughDataFormatMessage(businessKey, "json"));
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("KafkaDemo", "production-profile-2");
+
+        // When
+        runtimeService.createMessageCorrelation("MessageBoundary")
+            .processInstanceId(processInstance.getId())
+            .correlate();
+
+        // Then
+        assertNotNull(historyService.createHistoricProcessInstanceQuery()
+            .processInstanceBusinessKey(businessKey)
+            .singleResult()
+            .getEndTime());
+        assertEquals(1, historyService.createHistoricActivityInstanceQuery()
+            .processInstanceId(processInstance.getId())
+            .activityType("boundaryMessage")
+            .count());
+    }
+}
@@ -0,0 +1,52 @@
+package org.camunda.bpm.demo.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.util.TestDataBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class PrometheusMetricsIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void prometheusEndpoint_ShouldServeCorrelationKafkaAndJobMetrics() throws Exception {
+        // When
+        mockMvc.perform(post("/message-process/start")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(TestDataBuilder.createStartProcessMessage("prometheus-1"))))
+                .andExpect(status().isOk());
+
+        // Then
+        await().until(() -> scrape().contains("camunda_message_correlations_total{")
+                && scrape().contains("kafka_producer_send_latency_seconds_count{"));
+        String scrape = scrape();
+        assertTrue(scrape.contains("camunda_message_correlation_latency_seconds_count{"));
+        assertTrue(scrape.contains("message=\"MessageKafkaDemo\""));
+        assertTrue(scrape.contains("outcome=\"started\""));
+        assertTrue(scrape.contains("kafka_producer_send_latency_seconds_count{"));
+        assertTrue(scrape.contains("topic=\"start-process-message-topic\""));
+        assertTrue(scrape.contains("kafka_consumer_fetch_manager_records_lag"));
+        assertTrue(scrape.contains("camunda_job_"));
+    }
+
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
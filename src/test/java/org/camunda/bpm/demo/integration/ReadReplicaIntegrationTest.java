@@ -0,0 +1,50 @@
+package org.camunda.bpm.demo.integration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.datasource.DataSourceRouting;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = "read-replica.enabled=true")
+class ReadReplicaIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void queries_ShouldBeServedByReplicaPool() {
+        // Given
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("KafkaDemo", "read-replica-1");
+        double replicaQueries = queries("task", "replica");
+
+        // When
+        long tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).count();
+        long activities = historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count();
+        long primaryTasks = DataSourceRouting.onPrimary(() -> taskService.createTaskQuery().processInstanceId(processInstance.getId()).count());
+
+        // Then
+        assertEquals(1, tasks);
+        assertEquals(1, primaryTasks);
+        assertTrue(activities > 0);
+        assertTrue(queries("task", "replica") > replicaQueries);
+        assertTrue(queries("history", "replica") > 0);
+        assertTrue(queries("task", "primary") > 0);
+        assertTrue(replicaDataSource.getHikariPoolMXBean().getTotalConnections() > 0);
+        assertTrue(replicaDataSource.isReadOnly());
+    }
+
+    private double queries(String route, String target) {
+        return meterRegistry.get("camunda.datasource.queries").tag("route", route).tag("target", target).counter().count();
+    }
+}
@@ -0,0 +1,119 @@
+package org.camunda.bpm.demo.integration;
+
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.dto.TaskCommandDto;
+import org.camunda.bpm.demo.dto.TaskCommandResultDto;
+import org.camunda.bpm.demo.taskcommand.TaskCommandService;
+import org.camunda.bpm.engine.task.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCommandIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TaskCommandService taskCommandService;
+
+    @Test
+    void commands_ShouldBeAppliedInOrderWithOneResultEach() {
+        // Given - Two orders waiting at "Process order"
+        startOrder("task-command-1");
+        startOrder("task-command-2");
+
+        // When
+        List<TaskCommandResultDto> results = taskCommandService.apply(Arrays.asList(
+                command("c1", "task-command-1", null, TaskCommandDto.Action.CLAIM, "demo"),
+                command("c2", "task-command-1", null, TaskCommandDto.Action.COMPLETE, null, true),
+                command("c3", "task-command-1", "Task_DeliverOrder", TaskCommandDto.Action.COMPLETE, null),
+                command("c4", "task-command-2", "Task_ProcessOrder", TaskCommandDto.Action.COMPLETE, null, false),
+                command("c5", "task-command-unknown", null, TaskCommandDto.Action.COMPLETE, null),
+                command("c6", "task-command-2", null, null, null)));
+
+        // Then
+        assertEquals(6, results.size());
+        assertEquals(TaskCommandResultDto.Status.APPLIED, results.get(0).getStatus());
+        assertEquals(TaskCommandResultDto.Status.APPLIED, results.get(1).getStatus());
+        assertEquals(TaskCommandResultDto.Status.APPLIED, results.get(2).getStatus());
+        assertEquals(TaskCommandResultDto.Status.APPLIED, results.get(3).getStatus());
+        assertEquals(TaskCommandResultDto.Status.NOT_FOUND, results.get(4).getStatus());
+        assertEquals(TaskCommandResultDto.Status.REJECTED, results.get(5).getStatus());
+        assertEquals("c3", results.get(2).getCommandId());
+
+        // Order 1 was delivered and waits for the email timer, order 2 was cancelled
+        assertEquals(Collections.singletonList("Timer_EmailDelay"), runtimeService.getActiveActivityIds(
+                runtimeService.createProcessInstanceQuery().processInstanceBusinessKey("task-command-1").singleResult().getId()));
+        assertEquals(0, runtimeService.createProcessInstanceQuery().processInstanceBusinessKey("task-command-2").count());
+    }
+
+    @Test
+    void setVariables_ShouldKeepTaskOpen() {
+        startOrder("task-command-3");
+
+        List<TaskCommandResultDto> results = taskCommandService.apply(Collections.singletonList(TaskCommandDto.builder()
+                .commandId("c1")
+                .businessKey("task-command-3")
+                .action(TaskCommandDto.Action.SET_VARIABLES)
+                .variables(Collections.singletonMap("customerEmail", "warehouse@example.com"))
+                .build()));
+
+        assertEquals(TaskCommandResultDto.Status.APPLIED, results.get(0).getStatus());
+        Task task = taskService.createTaskQuery().processInstanceBusinessKey("task-command-3").singleResult();
+        assertEquals(task.getId(), results.get(0).getTaskId());
+        assertEquals("warehouse@example.com", taskService.getVariable(task.getId(), "customerEmail"));
+    }
+
+    @Test
+    void failingCommand_ShouldFailAloneAndRejectForeignClaims() {
+        // Given - order 6 was claimed by someone else
+        startOrder("task-command-4");
+        startOrder("task-command-5");
+        startOrder("task-command-6");
+        taskService.claim(taskService.createTaskQuery().processInstanceBusinessKey("task-command-6").singleResult().getId(), "other");
+        TaskCommandDto notABoolean = command("c2", "task-command-5", null, TaskCommandDto.Action.COMPLETE, null);
+        notABoolean.setVariables(Collections.singletonMap("orderOk", "maybe"));
+
+        // When
+        List<TaskCommandResultDto> results = taskCommandService.apply(Arrays.asList(
+                command("c1", "task-command-4", null, TaskCommandDto.Action.CLAIM, "demo"),
+                notABoolean,
+                command("c3", "task-command-6", null, TaskCommandDto.Action.CLAIM, "demo")));
+
+        // Then - the gateway rejects order 5, the claim of order 4 is applied in the batch run again
+        assertEquals(TaskCommandResultDto.Status.APPLIED, results.get(0).getStatus());
+        assertEquals(TaskCommandResultDto.Status.FAILED, results.get(1).getStatus());
+        assertEquals(TaskCommandResultDto.Status.REJECTED, results.get(2).getStatus());
+        assertEquals("demo", taskService.createTaskQuery().processInstanceBusinessKey("task-command-4").singleResult().getAssignee());
+        assertEquals("Task_ProcessOrder",
+                taskService.createTaskQuery().processInstanceBusinessKey("task-command-5").singleResult().getTaskDefinitionKey());
+        assertEquals("other", taskService.createTaskQuery().processInstanceBusinessKey("task-command-6").singleResult().getAssignee());
+    }
+
+    private void startOrder(String businessKey) {
+        runtimeService.createMessageCorrelation("MessageOrderDemo")
+                .processInstanceBusinessKey(businessKey)
+                .correlateStartMessage();
+    }
+
+    private static TaskCommandDto command(String commandId, String businessKey, String taskDefinitionKey,
+                                          TaskCommandDto.Action action, String userId) {
+        return TaskCommandDto.builder()
+                .commandId(commandId)
+                .businessKey(businessKey)
+                .taskDefinitionKey(taskDefinitionKey)
+                .action(action)
+                .userId(userId)
+                .build();
+    }
+
+    private static TaskCommandDto command(String commandId, String businessKey, String taskDefinitionKey,
+                                          TaskCommandDto.Action action, String userId, boolean orderOk) {
+        TaskCommandDto command = command(commandId, businessKey, taskDefinitionKey, action, userId);
+        command.setVariables(Collections.singletonMap("orderOk", orderOk));
+        return command;
+    }
+}
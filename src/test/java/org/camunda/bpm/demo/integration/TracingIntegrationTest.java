@@ -0,0 +1,91 @@
+package org.camunda.bpm.demo.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.demo.tracing.TraceContext;
+import org.camunda.bpm.demo.tracing.Tracing;
+import org.camunda.bpm.demo.util.TestDataBuilder;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "tracing.enabled=true",
+        "tracing.file=${java.io.tmpdir}/camunda-kafka-demo/traces/tracing-integration-test.jsonl",
+        "tracing.flush-interval-ms=50"
+})
+class TracingIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void messageHops_ShouldBeTracedFromRestRequestToServiceTaskMessage() throws Exception {
+        // Given
+        String correlationId = "tracing-1";
+
+        // When
+        String traceparent = mockMvc.perform(post("/message-process/start")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(TestDataBuilder.createStartProcessMessage(correlationId))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(TraceContext.HEADER);
+        String traceId = TraceContext.parse(traceparent).getTraceId();
+
+        await().until(() -> runtimeService.createProcessInstanceQuery().processInstanceBusinessKey(correlationId).count() == 1);
+        ProcessInstance processInstance = runtimeService.createProcessInstanceQuery().processInstanceBusinessKey(correlationId).singleResult();
+        String stored = (String) runtimeService.getVariable(processInstance.getId(), Tracing.VARIABLE);
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        taskService.complete(task.getId());
+
+        // Then
+        assertEquals(traceId, TraceContext.parse(stored).getTraceId());
+        await().ignoreExceptions().until(() -> spans(traceId).containsKey("publish Activity_0tcd2jw"));
+        Map<String, JsonNode> spans = spans(traceId);
+        String rest = spans.get("POST /message-process/start").get("spanId").asText();
+        assertEquals(rest, spans.get("deliver start-process-message-topic").get("parentSpanId").asText());
+        JsonNode process = spans.get("process start-process-message-topic");
+        assertEquals(rest, process.get("parentSpanId").asText());
+        assertEquals(TraceContext.parse(stored).getSpanId(), process.get("spanId").asText());
+        assertEquals(process.get("spanId").asText(), spans.get("publish Activity_0tcd2jw").get("parentSpanId").asText());
+    }
+
+    private Map<String, JsonNode> spans(String traceId) throws IOException {
+        Path file = Paths.get(System.getProperty("java.io.tmpdir"), "camunda-kafka-demo", "traces", "tracing-integration-test.jsonl");
+        Map<String, JsonNode> spans = new HashMap<>();
+        if (!Files.exists(file)) {
+            return spans;
+        }
+        List<String> lines = Files.readAllLines(file);
+        for (String line : lines) {
+            for (JsonNode span : objectMapper.readTree(line).at("/resourceSpans/0/scopeSpans/0/spans")) {
+                if (traceId.equals(span.get("traceId").asText())) {
+                    spans.put(span.get("name").asText(), span);
+                }
+            }
+        }
+        return spans;
+    }
+}
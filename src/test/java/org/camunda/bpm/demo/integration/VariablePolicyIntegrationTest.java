@@ -0,0 +1,87 @@
+package org.camunda.bpm.demo.integration;
+
+import org.camunda.bpm.demo.config.BaseIntegrationTest;
+import org.camunda.bpm.engine.history.HistoricVariableUpdate;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VariablePolicyIntegrationTest extends BaseIntegrationTest {
+
+    private static final String PROCESS_KEY = "TransientOutputProcess";
+
+    // "Create customer" declares createdAt transient, the next step copies it, the user task keeps the instance running
+    private static final String MODEL = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<bpmn:definitions xmlns:bpmn=\"http://www.omg.org/spec/BPMN/20100524/MODEL\""
+            + " xmlns:camunda=\"http://camunda.org/schema/1.0/bpmn\" id=\"Definitions_TransientOutput\""
+            + " targetNamespace=\"http://bpmn.io/schema/bpmn\">\n"
+            + "  <bpmn:process id=\"" + PROCESS_KEY + "\" isExecutable=\"true\">\n"
+            + "    <bpmn:startEvent id=\"Start\" />\n"
+            + "    <bpmn:sequenceFlow id=\"Flow_1\" sourceRef=\"Start\" targetRef=\"Task_Create\" />\n"
+            + "    <bpmn:serviceTask id=\"Task_Create\" camunda:delegateExpression=\"#{customerCreationDelegate}\">\n"
+            + "      <bpmn:extensionElements>\n"
+            + "        <camunda:properties>\n"
+            + "          <camunda:property name=\"transientVariables\" value=\"createdAt\" />\n"
+            + "        </camunda:properties>\n"
+            + "      </bpmn:extensionElements>\n"
+            + "    </bpmn:serviceTask>\n"
+            + "    <bpmn:sequenceFlow id=\"Flow_2\" sourceRef=\"Task_Create\" targetRef=\"Task_Read\" />\n"
+            + "    <bpmn:serviceTask id=\"Task_Read\""
+            + " camunda:expression=\"${execution.setVariable('createdAtSeen', createdAt)}\" />\n"
+            + "    <bpmn:sequenceFlow id=\"Flow_3\" sourceRef=\"Task_Read\" targetRef=\"Task_Wait\" />\n"
+            + "    <bpmn:userTask id=\"Task_Wait\" />\n"
+            + "    <bpmn:sequenceFlow id=\"Flow_4\" sourceRef=\"Task_Wait\" targetRef=\"End\" />\n"
+            + "    <bpmn:endEvent id=\"End\" />\n"
+            + "  </bpmn:process>\n"
+            + "</bpmn:definitions>";
+
+    private String deploymentId;
+
+    @BeforeEach
+    void deployModel() {
+        deploymentId = repositoryService.createDeployment()
+                .addString("transient-output.bpmn", MODEL)
+                .deploy()
+                .getId();
+    }
+
+    @AfterEach
+    void deleteModel() {
+        repositoryService.deleteDeployment(deploymentId, true);
+    }
+
+    @Test
+    void transientOutput_ShouldBeReadableByNextStepButNeverPersisted() {
+        // When
+        ProcessInstance instance = runtimeService.startProcessInstanceByKey(PROCESS_KEY, "transient-output-1",
+                Variables.createVariables()
+                        .putValue("firstname", "Jane")
+                        .putValue("lastname", "Doe")
+                        .putValue("age", 30L)
+                        .putValue("isValid", true)
+                        .putValue("dataFormat", "json"));
+
+        // Then - the next step read the value
+        Object createdAtSeen = runtimeService.getVariable(instance.getId(), "createdAtSeen");
+        assertNotNull(createdAtSeen);
+
+        // Then - not in ACT_RU_VARIABLE
+        assertEquals(0, runtimeService.createVariableInstanceQuery()
+                .processInstanceIdIn(instance.getId()).variableName("createdAt").count());
+        assertEquals(1, runtimeService.createVariableInstanceQuery()
+                .processInstanceIdIn(instance.getId()).variableName("dataFormat").count());
+
+        // Then - not in ACT_HI_VARINST nor ACT_HI_DETAIL, while the copy is
+        assertEquals(0, historyService.createHistoricVariableInstanceQuery()
+                .processInstanceId(instance.getId()).variableName("createdAt").count());
+        assertEquals(1, historyService.createHistoricVariableInstanceQuery()
+                .processInstanceId(instance.getId()).variableName("createdAtSeen").count());
+        assertTrue(historyService.createHistoricDetailQuery()
+                .processInstanceId(instance.getId()).variableUpdates().list().stream()
+                .noneMatch(detail -> "createdAt".equals(((HistoricVariableUpdate) detail).getVariableName())));
+    }
+}
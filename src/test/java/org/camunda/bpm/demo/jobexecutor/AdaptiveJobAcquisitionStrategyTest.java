@@ -0,0 +1,109 @@
+package org.camunda.bpm.demo.jobexecutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdaptiveJobAcquisitionStrategyTest {
+
+    private static final String ENGINE = "default";
+
+    private ThreadPoolTaskExecutor threadPool;
+    private AdaptiveJobAcquisitionStrategy strategy;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        JobExecutorProperties properties = new JobExecutorProperties();
+        properties.setCorePoolSize(2);
+        properties.setMaxPoolSize(2);
+        properties.setQueueCapacity(30);
+        properties.setMinJobsPerAcquisition(3);
+        properties.setMaxJobsPerAcquisition(12);
+        threadPool = new ThreadPoolTaskExecutor();
+        threadPool.setCorePoolSize(properties.getCorePoolSize());
+        threadPool.setMaxPoolSize(properties.getMaxPoolSize());
+        threadPool.setQueueCapacity(properties.getQueueCapacity());
+        threadPool.initialize();
+        TunableJobExecutor jobExecutor = new TunableJobExecutor(threadPool, properties, new JobExecutorMetrics(new SimpleMeterRegistry()));
+        strategy = new AdaptiveJobAcquisitionStrategy(jobExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        threadPool.shutdown();
+    }
+
+    @Test
+    void fullBatches_ShouldGrowUpToMaximum() {
+        assertEquals(6, acquire(3, 3));
+        assertEquals(12, acquire(6, 6));
+        assertEquals(12, acquire(12, 12));
+    }
+
+    @Test
+    void partialBatch_ShouldRequestWhatWasFound() {
+        acquire(3, 3);
+        assertEquals(4, acquire(6, 4));
+    }
+
+    @Test
+    void emptyBatch_ShouldFallBackToMinimum() {
+        acquire(3, 3);
+        assertEquals(3, acquire(6, 0));
+    }
+
+    @Test
+    void rejectedBatches_ShouldReduceNextBatch() {
+        // When
+        AcquiredJobs acquiredJobs = new AcquiredJobs(3);
+        for (int i = 0; i < 3; i++) {
+            acquiredJobs.addJobIdBatch(Collections.singletonList("job-" + i));
+        }
+        JobAcquisitionContext context = new JobAcquisitionContext();
+        context.submitAcquiredJobs(ENGINE, acquiredJobs);
+        context.submitRejectedBatch(ENGINE, Collections.singletonList("job-0"));
+        strategy.reconfigure(context);
+
+        // Then - the doubled batch minus the rejected one
+        assertEquals(5, strategy.getNumJobsToAcquire(ENGINE));
+    }
+
+    @Test
+    void saturatedPool_ShouldNotAcquire() {
+        for (int i = 0; i < 32; i++) {
+            threadPool.execute(this::awaitRelease);
+        }
+        assertEquals(0, acquire(3, 3));
+        assertEquals(100, strategy.getWaitTime());
+    }
+
+    private int acquire(int attempted, int found) {
+        AcquiredJobs acquiredJobs = new AcquiredJobs(attempted);
+        for (int i = 0; i < found; i++) {
+            acquiredJobs.addJobIdBatch(Collections.singletonList("job-" + i));
+        }
+        JobAcquisitionContext context = new JobAcquisitionContext();
+        context.submitAcquiredJobs(ENGINE, acquiredJobs);
+        strategy.reconfigure(context);
+        return strategy.getNumJobsToAcquire(ENGINE);
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
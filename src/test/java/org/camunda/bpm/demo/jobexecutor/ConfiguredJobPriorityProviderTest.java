@@ -0,0 +1,55 @@
+package org.camunda.bpm.demo.jobexecutor;
+
+import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class ConfiguredJobPriorityProviderTest {
+
+    @Mock
+    private JobDeclaration<?, ?> jobDeclaration;
+
+    private ConfiguredJobPriorityProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        JobPriorityProperties.Process orderProcess = new JobPriorityProperties.Process();
+        orderProcess.setPriority(100L);
+        orderProcess.getActivities().put("Timer_EmailDelay", 200L);
+        JobPriorityProperties properties = new JobPriorityProperties();
+        properties.getProcesses().put("order-process", orderProcess);
+        provider = new ConfiguredJobPriorityProvider(properties);
+    }
+
+    @Test
+    void configuredActivity_ShouldGetActivityPriority() {
+        declare("order-process", "Timer_EmailDelay");
+
+        assertEquals(200L, provider.getSpecificPriority(null, jobDeclaration, null));
+        assertEquals(100L, provider.getProcessDefinitionPriority(null, jobDeclaration));
+    }
+
+    @Test
+    void otherActivity_ShouldOnlyGetProcessPriority() {
+        declare("order-process", "Task_SendEmail");
+
+        assertNull(provider.getSpecificPriority(null, jobDeclaration, null));
+        assertEquals(100L, provider.getProcessDefinitionPriority(null, jobDeclaration));
+    }
+
+    private void declare(String processDefinitionKey, String activityId) {
+        ProcessDefinitionEntity processDefinition = new ProcessDefinitionEntity();
+        processDefinition.setKey(processDefinitionKey);
+        lenient().when(jobDeclaration.getProcessDefinition()).thenReturn(processDefinition);
+        lenient().when(jobDeclaration.getActivityId()).thenReturn(activityId);
+    }
+}
@@ -0,0 +1,61 @@
+package org.camunda.bpm.demo.jobexecutor;
+
+import org.camunda.bpm.engine.runtime.Job;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobBulkheadsTest {
+
+    private final ThreadPoolTaskExecutor orderPool = new ThreadPoolTaskExecutor();
+
+    private JobBulkheads bulkheads;
+
+    @BeforeEach
+    void setUp() {
+        bulkheads = new JobBulkheads(Collections.singletonMap("order-process", orderPool));
+    }
+
+    @Test
+    void route_MixedBatch_ShouldSplitByThreadPool() {
+        // Given
+        bulkheads.remember(Arrays.asList(job("job-1", "order-process"), job("job-2", "DataformatDemoProcess"),
+                job("job-3", "order-process"), job("job-4", null)));
+
+        // When
+        Map<ThreadPoolTaskExecutor, List<String>> batches = bulkheads.route(Arrays.asList("job-1", "job-2", "job-3", "job-4"));
+
+        // Then
+        assertEquals(Arrays.asList("job-1", "job-3"), batches.get(orderPool));
+        assertEquals(Arrays.asList("job-2", "job-4"), batches.get(null));
+    }
+
+    @Test
+    void route_UnknownJobs_ShouldUseSharedPool() {
+        // Given - routed once already, so the key is forgotten
+        bulkheads.remember(Collections.singletonList(job("job-1", "order-process")));
+        bulkheads.route(Collections.singletonList("job-1"));
+
+        // When
+        Map<ThreadPoolTaskExecutor, List<String>> batches = bulkheads.route(Collections.singletonList("job-1"));
+
+        // Then
+        assertEquals(Collections.singletonMap(null, Collections.singletonList("job-1")), batches);
+    }
+
+    private static Job job(String id, String processDefinitionKey) {
+        Job job = mock(Job.class);
+        when(job.getId()).thenReturn(id);
+        when(job.getProcessDefinitionKey()).thenReturn(processDefinitionKey);
+        return job;
+    }
+}
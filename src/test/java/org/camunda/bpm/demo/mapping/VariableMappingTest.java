@@ -0,0 +1,100 @@
+package org.camunda.bpm.demo.mapping;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VariableMappingTest {
+
+    @Test
+    void apply_ShouldFollowNestedPathsAndConvertTypes() {
+        // Given
+        VariableMapping mapping = VariableMapping.compile("test", definition(
+            "orderValue", "order.value:long",
+            "express", "order.express:boolean",
+            "deliveryDate", "delivery.date:date",
+            "customerId", "customer"));
+        Map<String, Object> order = new HashMap<>();
+        order.put("value", "1200");
+        order.put("express", "true");
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("order", order);
+        payload.put("delivery", Collections.singletonMap("date", "2024-12-24"));
+        payload.put("customer", 42);
+
+        // When
+        Map<String, Object> variables = mapping.apply(payload);
+
+        // Then
+        assertEquals(1200L, variables.get("orderValue"));
+        assertEquals(true, variables.get("express"));
+        assertEquals(LocalDate.of(2024, 12, 24), variables.get("deliveryDate"));
+        assertEquals("42", variables.get("customerId"));
+    }
+
+    @Test
+    void apply_WithMissingOrInvalidValues_ShouldSkipThem() {
+        // Given
+        VariableMapping mapping = VariableMapping.compile("test", definition(
+            "orderValue", "orderValue:long",
+            "customerEmail", "customer.email"));
+
+        // When
+        Map<String, Object> variables = mapping.apply(Collections.singletonMap("orderValue", "not-a-number"));
+
+        // Then
+        assertTrue(variables.isEmpty());
+    }
+
+    @Test
+    void field_ShouldReadMappedValueAsDeclaredType() {
+        // Given
+        VariableMapping mapping = VariableMapping.compile("test", definition("orderValue", "orderValue:long"));
+        VariableMapping.Field<Long> orderValue = mapping.field("orderValue", Long.class);
+
+        // When
+        Long fromInteger = orderValue.get(mapping.apply(Collections.singletonMap("orderValue", 250)));
+        Long fromDouble = orderValue.get(mapping.apply(Collections.singletonMap("orderValue", 1500.0)));
+        Long fromString = orderValue.get(mapping.apply(Collections.singletonMap("orderValue", " 42 ")));
+
+        // Then
+        assertEquals(250L, fromInteger);
+        assertEquals(1500L, fromDouble);
+        assertEquals(42L, fromString);
+        assertNull(orderValue.get(mapping.apply(Collections.singletonMap("orderValue", ""))));
+    }
+
+    @Test
+    void field_WithOtherTypeOrUnknownName_ShouldFail() {
+        VariableMapping mapping = VariableMapping.compile("test", definition("orderValue", "orderValue:long"));
+
+        assertThrows(IllegalArgumentException.class, () -> mapping.field("orderValue", Double.class));
+        assertThrows(IllegalArgumentException.class, () -> mapping.field("customerId", String.class));
+    }
+
+    @Test
+    void compile_WithUnknownType_ShouldFail() {
+        assertThrows(IllegalArgumentException.class,
+            () -> VariableMapping.compile("test", definition("orderValue", "orderValue:money")));
+    }
+
+    @Test
+    void registry_WithUnknownMapping_ShouldFail() {
+        VariableMappingRegistry registry = new VariableMappingRegistry(new VariableMappingProperties());
+        assertThrows(IllegalArgumentException.class, () -> registry.get("order"));
+    }
+
+    private VariableMappingProperties.Definition definition(String... targetAndExpression) {
+        VariableMappingProperties.Definition definition = new VariableMappingProperties.Definition();
+        definition.setSource("dto");
+        for (int i = 0; i < targetAndExpression.length; i += 2) {
+            definition.getFields().put(targetAndExpression[i], targetAndExpression[i + 1]);
+        }
+        return definition;
+    }
+}
@@ -0,0 +1,100 @@
+package org.camunda.bpm.demo.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.demo.metrics.CorrelationMetrics.Target;
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResultType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CorrelationMetricsTest {
+
+    private MeterRegistry registry;
+    private CorrelationMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new CorrelationMetrics(registry, 2);
+    }
+
+    @Test
+    void correlated_ShouldTagStartedAndMatchedOutcomes() {
+        // Given
+        MessageCorrelationResult started = mock(MessageCorrelationResult.class);
+        when(started.getResultType()).thenReturn(MessageCorrelationResultType.ProcessDefinition);
+        MessageCorrelationResult matched = mock(MessageCorrelationResult.class);
+        when(matched.getResultType()).thenReturn(MessageCorrelationResultType.Execution);
+
+        // When
+        metrics.correlated("MessageKafkaDemo", Target.BUSINESS_KEY, started, 2_000_000);
+        metrics.correlated("MessageBoundary", Target.PROCESS_INSTANCE_ID, matched, 1_000_000);
+        metrics.correlated("MessageBoundary", Target.PROCESS_INSTANCE_ID, matched, 3_000_000);
+
+        // Then
+        assertEquals(1, registry.get("camunda.message.correlations")
+                .tag("message", "MessageKafkaDemo").tag("outcome", "started").counter().count());
+        assertEquals(2, registry.get("camunda.message.correlations")
+                .tag("message", "MessageBoundary").tag("outcome", "matched").counter().count());
+        assertEquals(4, registry.get("camunda.message.correlation.latency")
+                .tag("message", "MessageBoundary").tag("outcome", "matched").tag("target", "process-instance-id")
+                .timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    void failed_ShouldSeparateMismatchesFromFailures() {
+        // Given
+        metrics.correlated("MessageKafkaDemo", Target.BUSINESS_KEY, null, 1_000);
+
+        // When
+        metrics.failed("MessageKafkaDemo", Target.BUSINESS_KEY, new MismatchingMessageCorrelationException("none"), 1_000);
+        metrics.failed("MessageKafkaDemo", Target.NONE, new IllegalStateException("broken"), 1_000);
+
+        // Then
+        assertEquals(1, registry.get("camunda.message.correlations").tag("outcome", "mismatched").counter().count());
+        assertEquals(1, registry.get("camunda.message.correlation.latency")
+                .tag("outcome", "failed").tag("target", "none").timer().count());
+    }
+
+    @Test
+    void record_ShouldOnlyRegisterUsedCombinations() {
+        // When
+        metrics.record("MessageOrder", Target.BUSINESS_KEY, CorrelationMetrics.Outcome.STARTED, 1_000);
+
+        // Then
+        assertEquals(1, registry.find("camunda.message.correlation.latency").timers().size());
+        assertEquals(1, registry.find("camunda.message.correlations").counters().size());
+    }
+
+    @Test
+    void failed_OfNameThatNeverCorrelated_ShouldBeTaggedOther() {
+        // When
+        metrics.failed("random-" + System.nanoTime(), Target.BUSINESS_KEY,
+                new MismatchingMessageCorrelationException("none"), 1_000);
+
+        // Then
+        assertEquals(1, registry.get("camunda.message.correlations")
+                .tag("message", CorrelationMetrics.OTHER).tag("outcome", "mismatched").counter().count());
+        assertEquals(1, registry.find("camunda.message.correlations").counters().size());
+    }
+
+    @Test
+    void correlated_BeyondMessageNameLimit_ShouldBeTaggedOther() {
+        // When
+        metrics.correlated("MessageKafkaDemo", Target.BUSINESS_KEY, null, 1_000);
+        metrics.correlated("MessageBoundary", Target.BUSINESS_KEY, null, 1_000);
+        metrics.correlated("MessageOrder", Target.BUSINESS_KEY, null, 1_000);
+
+        // Then
+        assertNull(registry.find("camunda.message.correlations").tag("message", "MessageOrder").counter());
+        assertEquals(1, registry.get("camunda.message.correlations")
+                .tag("message", CorrelationMetrics.OTHER).tag("outcome", "matched").counter().count());
+    }
+}
@@ -0,0 +1,66 @@
+package org.camunda.bpm.demo.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.ProducerListener;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaSendMetricsTest {
+
+    private MeterRegistry registry;
+    private KafkaSendMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new KafkaSendMetrics(registry);
+    }
+
+    @Test
+    void onSuccess_ShouldRecordLatencySinceTheRecordWasCreated() {
+        // Given
+        ProducerListener<String, String> listener = metrics.listener();
+        long createTimestamp = System.currentTimeMillis() - 50;
+
+        // When
+        listener.onSuccess(new ProducerRecord<>("some-topic", "value"), metadata(createTimestamp));
+
+        // Then
+        assertEquals(1, registry.get("kafka.producer.send.latency").tag("topic", "some-topic").timer().count());
+        assertTrue(registry.get("kafka.producer.send.latency").tag("topic", "some-topic").timer()
+                .totalTime(TimeUnit.MILLISECONDS) >= 50);
+    }
+
+    @Test
+    void onError_ShouldCountFailedSends() {
+        // Given
+        ProducerListener<String, String> listener = metrics.listener();
+
+        // When
+        listener.onError(new ProducerRecord<>("some-topic", "value"), null, new IllegalStateException("broker down"));
+
+        // Then
+        assertEquals(1, registry.get("kafka.producer.send.failures").tag("topic", "some-topic").counter().count());
+        assertNull(registry.find("kafka.producer.send.latency").timer());
+    }
+
+    @Test
+    void listener_ShouldBeSharedByAllTemplates() {
+        ProducerListener<String, String> first = metrics.listener();
+        ProducerListener<String, Integer> second = metrics.listener();
+
+        assertSame(first, second);
+    }
+
+    private static RecordMetadata metadata(long timestamp) {
+        return new RecordMetadata(new TopicPartition("some-topic", 0), 0, 0, timestamp, 0, 5);
+    }
+}
@@ -0,0 +1,55 @@
+package org.camunda.bpm.demo.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSpanExporterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void close_ShouldWriteQueuedSpansAsOtlpJsonLines() throws Exception {
+        // Given
+        TracingProperties properties = new TracingProperties();
+        properties.setFile(directory.resolve("traces/spans.jsonl").toString());
+        properties.setFlushIntervalMs(60_000);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        FileSpanExporter exporter = new FileSpanExporter(properties, registry);
+        Tracer tracer = new Tracer(exporter);
+        Span parent = tracer.start("POST /message-process/start", Span.Kind.SERVER, null);
+        Span child = tracer.start("process start-process-message-topic", Span.Kind.CONSUMER, parent.getContext())
+                .attribute("messaging.kafka.offset", 42L);
+        child.setError(new IllegalStateException("no instance"));
+
+        // When
+        tracer.end(child);
+        tracer.end(parent);
+        exporter.close();
+
+        // Then
+        List<String> lines = Files.readAllLines(Path.of(properties.getFile()));
+        assertEquals(1, lines.size());
+        JsonNode resourceSpans = new ObjectMapper().readTree(lines.get(0)).at("/resourceSpans/0");
+        assertEquals("camunda-kafka-demo", resourceSpans.at("/resource/attributes/0/value/stringValue").asText());
+        JsonNode spans = resourceSpans.at("/scopeSpans/0/spans");
+        assertEquals(2, spans.size());
+        JsonNode exportedChild = spans.get(0);
+        assertEquals(parent.getContext().getSpanId(), exportedChild.get("parentSpanId").asText());
+        assertEquals(5, exportedChild.get("kind").asInt());
+        assertEquals("42", exportedChild.at("/attributes/0/value/intValue").asText());
+        assertEquals(2, exportedChild.at("/status/code").asInt());
+        assertFalse(spans.get(1).has("parentSpanId"));
+        assertEquals(2, registry.get("tracing.spans.exported").counter().count());
+    }
+}
@@ -0,0 +1,87 @@
+package org.camunda.bpm.demo.tracing;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingTest {
+
+    private final List<Span> exported = new ArrayList<>();
+    private final Tracer tracer = new Tracer(exported::add);
+
+    @Test
+    void traceparent_ShouldRoundTripAndRejectMalformedValues() {
+        // Given
+        String traceparent = "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01";
+
+        // Then
+        TraceContext context = TraceContext.parse(traceparent);
+        assertEquals("0af7651916cd43dd8448eb211c80319c", context.getTraceId());
+        assertEquals("b7ad6b7169203331", context.getSpanId());
+        assertEquals(traceparent, context.toTraceparent());
+        assertNull(TraceContext.parse(null));
+        assertNull(TraceContext.parse("01-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01"));
+        assertNull(TraceContext.parse("00-00000000000000000000000000000000-b7ad6b7169203331-01"));
+        assertNull(TraceContext.parse("00-0AF7651916CD43DD8448EB211C80319C-b7ad6b7169203331-01"));
+    }
+
+    @Test
+    void start_ShouldContinueTheParentTraceOrStartANewOne() {
+        // Given
+        Span root = tracer.start("root", Span.Kind.SERVER, null);
+
+        // When
+        Span child = tracer.start("child", Span.Kind.CONSUMER, root.getContext());
+        tracer.end(child);
+
+        // Then
+        assertNull(root.getParentSpanId());
+        assertEquals(root.getContext().getTraceId(), child.getContext().getTraceId());
+        assertEquals(root.getContext().getSpanId(), child.getParentSpanId());
+        assertNotEquals(root.getContext().getSpanId(), child.getContext().getSpanId());
+        assertTrue(child.getEndEpochNanos() >= child.getStartEpochNanos());
+        assertEquals(List.of(child), exported);
+    }
+
+    @Test
+    void producerInterceptor_ShouldStampRecordsSentInTheCurrentSpan() {
+        // Given
+        TracingProducerInterceptor interceptor = new TracingProducerInterceptor();
+        Span span = tracer.start("publish", Span.Kind.PRODUCER, null);
+
+        // When
+        ProducerRecord<Object, Object> traced;
+        try (Tracing.Scope scope = Tracing.activate(span)) {
+            traced = interceptor.onSend(new ProducerRecord<>("topic", "value"));
+        }
+        ProducerRecord<Object, Object> untraced = interceptor.onSend(new ProducerRecord<>("topic", "value"));
+
+        // Then
+        Header header = traced.headers().lastHeader(TraceContext.HEADER);
+        assertEquals(span.getContext().toTraceparent(), new String(header.value(), StandardCharsets.US_ASCII));
+        assertNull(untraced.headers().lastHeader(TraceContext.HEADER));
+        assertNull(Tracing.current());
+    }
+
+    @Test
+    void disabledTracer_ShouldCreateNoSpans() {
+        // Given
+        Tracer disabled = new Tracer(null);
+
+        // When
+        Span span = disabled.start("root", Span.Kind.SERVER, null);
+        disabled.end(span);
+
+        // Then
+        assertNull(span);
+        try (Tracing.Scope scope = Tracing.activate(span)) {
+            assertNull(Tracing.current());
+        }
+    }
+}
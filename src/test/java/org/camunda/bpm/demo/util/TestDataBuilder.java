@@ -128,6 +128,19 @@ public class TestDataBuilder {
             .build();
     }
 
+    /**
+     * Creates a data-format message that already names the format, so the instance runs straight through
+     */
+    public static CamundaMessageDto createStraightThroughDataFormatMessage(String correlationId, String dataFormat) {
+        return CamundaMessageDto.builder()
+            .correlationId(correlationId)
+            .dto(MessageProcessDto.builder()
+                .requester("stp-requester")
+                .dataFormat(dataFormat)
+                .build())
+            .build();
+    }
+
     /**
      * Creates test data variations for parameterized tests
      */
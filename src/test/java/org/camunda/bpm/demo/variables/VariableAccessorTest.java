@@ -0,0 +1,101 @@
+package org.camunda.bpm.demo.variables;
+
+import org.camunda.bpm.demo.dto.CustomerDto;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VariableAccessorTest {
+
+    @Mock
+    private DelegateExecution execution;
+
+    @Test
+    void bind_ShouldPrefetchOnceAndConvertTypes() {
+        // Given
+        VariableMap variables = Variables.createVariables()
+            .putValue("firstname", "John")
+            .putValue("lastname", "Doe")
+            .putValue("age", 42) // Integer instead of Long
+            .putValue("isValid", true)
+            .putValue("validationDate", "2024-03-01");
+        when(execution.getVariablesTyped(false)).thenReturn(variables);
+
+        // When
+        VariableAccessor accessor = VariableAccessor.of(execution);
+        CustomerDto customer = accessor.bind(CustomerDto.class);
+
+        // Then
+        assertEquals("John", customer.getFirstname());
+        assertEquals("Doe", customer.getLastname());
+        assertEquals(42L, customer.getAge());
+        assertTrue(customer.getIsValid());
+        assertEquals(LocalDate.of(2024, 3, 1), customer.getValidationDate());
+        assertNull(customer.getGender());
+        verify(execution, times(1)).getVariablesTyped(false);
+        verify(execution, never()).getVariable(anyString());
+    }
+
+    @Test
+    void get_WithWrongType_ShouldNameTheVariable() {
+        // Given
+        when(execution.getVariablesTyped(false)).thenReturn(Variables.createVariables().putValue("age", "forty"));
+
+        // When
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> VariableAccessor.of(execution).getLong("age"));
+
+        // Then
+        assertTrue(exception.getMessage().contains("'age'"));
+    }
+
+    @Test
+    void flush_ShouldWriteAllBufferedVariablesAtOnce() {
+        // Given
+        when(execution.getVariablesTyped(false)).thenReturn(Variables.createVariables());
+        VariableAccessor accessor = VariableAccessor.of(execution);
+
+        // When
+        accessor.set("customerProcessed", true)
+            .setAll(CustomerDto.builder().firstname("Jane").age(30L).build());
+        accessor.flush();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(execution, times(1)).setVariables(captor.capture());
+        verify(execution, never()).setVariable(anyString(), any());
+        assertEquals(true, captor.getValue().get("customerProcessed"));
+        assertEquals("Jane", captor.getValue().get("firstname"));
+        assertEquals(30L, captor.getValue().get("age"));
+        assertEquals(3, captor.getValue().size());
+    }
+
+    @Test
+    void get_ShouldSeeBufferedWrites() {
+        // Given
+        when(execution.getVariablesTyped(false)).thenReturn(Variables.createVariables().putValue("dataFormat", "xml"));
+        VariableAccessor accessor = VariableAccessor.of(execution);
+
+        // When
+        accessor.set("dataFormat", "json");
+
+        // Then
+        assertEquals("json", accessor.getString("dataFormat"));
+        assertTrue(accessor.contains("dataFormat"));
+        assertFalse(accessor.contains("missing"));
+    }
+}